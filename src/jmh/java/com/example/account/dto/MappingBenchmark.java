@@ -0,0 +1,98 @@
+package com.example.account.dto;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.AccountType;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 엔티티 -> DTO -> 응답 변환과 JSON 직렬화
+ * - ObjectMapper 는 스프링과 같은 설정(Jackson2ObjectMapperBuilder)으로 만든다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MappingBenchmark {
+    private Transaction transaction;
+    private Account account;
+    private List<AccountDto> accountDtos;
+    private UseBalance.Response useBalanceResponse;
+    private List<AccountInfo> accountInfos;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        AccountUser accountUser = AccountUser.builder()
+                .name("pobi").build();
+        accountUser.setId(12L);
+        account = Account.builder()
+                .accountUser(accountUser)
+                .accountType(AccountType.CHECKING)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012")
+                .build();
+        account.setCreatedAt(LocalDateTime.now());
+        transaction = Transaction.builder()
+                .account(account)
+                .transactionType(TransactionType.USE)
+                .transactionResultType(TransactionResultType.S)
+                .transactionId("8f0e2a3c9b1d4e5f8a7b6c5d4e3f2a1b")
+                .transactedAt(LocalDateTime.now())
+                .amount(1000L)
+                .balanceSnapShot(9000L)
+                .build();
+
+        // 한 사용자의 최대 계좌 수 (10)
+        accountDtos = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            accountDtos.add(AccountDto.fromEntity(account));
+        }
+        useBalanceResponse = UseBalance.Response.from(TransactionDto.fromEntity(transaction));
+        accountInfos = accountDtos.stream().map(AccountInfo::from).collect(Collectors.toList());
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public UseBalance.Response transactionToUseBalanceResponse() {
+        return UseBalance.Response.from(TransactionDto.fromEntity(transaction));
+    }
+
+    @Benchmark
+    public AccountInfo accountToAccountInfo() {
+        return AccountInfo.from(AccountDto.fromEntity(account));
+    }
+
+    @Benchmark
+    public List<AccountInfo> accountDtosToAccountInfos() {
+        return accountDtos.stream().map(AccountInfo::from).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serializeUseBalanceResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(useBalanceResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeAccountInfos() throws Exception {
+        return objectMapper.writeValueAsBytes(accountInfos);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.account.dto;
+
+import com.example.account.type.TransactionResultType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔액 사용 요청/응답의 JSON / CBOR 직렬화, 역직렬화 비교
+ * - 앱과 같은 방식(Jackson2ObjectMapperBuilder + Blackbird)으로 mapper 생성
+ * - payload 크기는 setUp 에서 한번 출력
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PayloadBenchmark {
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private UseBalance.Request request;
+    private UseBalance.Response response;
+    private byte[] jsonRequest;
+    private byte[] cborRequest;
+    private byte[] jsonResponse;
+    private byte[] cborResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        jsonMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new BlackbirdModule()).build();
+        cborMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new BlackbirdModule())
+                .factory(new CBORFactory()).build();
+        request = new UseBalance.Request(12L, "1000000012", 1000L);
+        response = new UseBalance.Response("1000000012", TransactionResultType.S,
+                "8f0e2a3c9b1d4e5f8a7b6c5d4e3f2a1b", 1000L, LocalDateTime.now());
+        jsonRequest = jsonMapper.writeValueAsBytes(request);
+        cborRequest = cborMapper.writeValueAsBytes(request);
+        jsonResponse = jsonMapper.writeValueAsBytes(response);
+        cborResponse = cborMapper.writeValueAsBytes(response);
+        System.out.printf("%nrequest json=%dB cbor=%dB, response json=%dB cbor=%dB%n",
+                jsonRequest.length, cborRequest.length, jsonResponse.length, cborResponse.length);
+    }
+
+    @Benchmark
+    public byte[] writeResponseJson() throws Exception {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] writeResponseCbor() throws Exception {
+        return cborMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public UseBalance.Request readRequestJson() throws Exception {
+        return jsonMapper.readValue(jsonRequest, UseBalance.Request.class);
+    }
+
+    @Benchmark
+    public UseBalance.Request readRequestCbor() throws Exception {
+        return cborMapper.readValue(cborRequest, UseBalance.Request.class);
+    }
+
+    @Benchmark
+    public UseBalance.Response readResponseJson() throws Exception {
+        return jsonMapper.readValue(jsonResponse, UseBalance.Response.class);
+    }
+
+    @Benchmark
+    public UseBalance.Response readResponseCbor() throws Exception {
+        return cborMapper.readValue(cborResponse, UseBalance.Response.class);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.account.dto;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.AccountType;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거래 API 3종의 엔티티 -> 응답 bytes 경로, 변경 전(builder 체인 + 기본 ObjectMapper) / 후 비교
+ * - 조회(after)는 projection 으로 TransactionDto 를 바로 받으므로 엔티티 단계가 없다
+ * - 호출당 할당량은 gc 프로파일러의 gc.alloc.rate.norm 으로 확인 (build.gradle jmh.profilers)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransactionResponseBenchmark {
+    private Transaction transaction;
+    private TransactionDto projection;
+    private ObjectMapper plainMapper;
+    private ObjectMapper blackbirdMapper;
+
+    @Setup
+    public void setUp() {
+        AccountUser accountUser = AccountUser.builder()
+                .name("pobi").build();
+        accountUser.setId(12L);
+        Account account = Account.builder()
+                .accountUser(accountUser)
+                .accountType(AccountType.CHECKING)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012")
+                .build();
+        transaction = Transaction.builder()
+                .account(account)
+                .transactionType(TransactionType.USE)
+                .transactionResultType(TransactionResultType.S)
+                .transactionId("8f0e2a3c9b1d4e5f8a7b6c5d4e3f2a1b")
+                .transactedAt(LocalDateTime.now())
+                .amount(1000L)
+                .balanceSnapShot(9000L)
+                .build();
+        projection = TransactionDto.fromEntity(transaction);
+        plainMapper = Jackson2ObjectMapperBuilder.json().build();
+        blackbirdMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+    }
+
+    @Benchmark
+    public byte[] useBalanceBefore() throws Exception {
+        TransactionDto transactionDto = builderDto(transaction);
+        return plainMapper.writeValueAsBytes(UseBalance.Response.builder()
+                .accountNumber(transactionDto.getAccountNumber())
+                .transactionResult(transactionDto.getTransactionResultType())
+                .transactionId(transactionDto.getTransactionId())
+                .amount(transactionDto.getAmount())
+                .transactedAt(transactionDto.getTransactedAt())
+                .build());
+    }
+
+    @Benchmark
+    public byte[] useBalanceAfter() throws Exception {
+        return blackbirdMapper.writeValueAsBytes(UseBalance.Response.from(TransactionDto.fromEntity(transaction)));
+    }
+
+    @Benchmark
+    public byte[] cancelBalanceBefore() throws Exception {
+        TransactionDto transactionDto = builderDto(transaction);
+        return plainMapper.writeValueAsBytes(CancelBalance.Response.builder()
+                .accountNumber(transactionDto.getAccountNumber())
+                .transactionResult(transactionDto.getTransactionResultType())
+                .transactionId(transactionDto.getTransactionId())
+                .amount(transactionDto.getAmount())
+                .transactedAt(transactionDto.getTransactedAt())
+                .build());
+    }
+
+    @Benchmark
+    public byte[] cancelBalanceAfter() throws Exception {
+        return blackbirdMapper.writeValueAsBytes(CancelBalance.Response.from(TransactionDto.fromEntity(transaction)));
+    }
+
+    @Benchmark
+    public byte[] queryTransactionBefore() throws Exception {
+        TransactionDto transactionDto = builderDto(transaction);
+        return plainMapper.writeValueAsBytes(QueryTransactionResponse.builder()
+                .accountNumber(transactionDto.getAccountNumber())
+                .transactionType(transactionDto.getTransactionType())
+                .transactionResult(transactionDto.getTransactionResultType())
+                .transactionId(transactionDto.getTransactionId())
+                .amount(transactionDto.getAmount())
+                .transactedAt(transactionDto.getTransactedAt())
+                .build());
+    }
+
+    @Benchmark
+    public byte[] queryTransactionAfter() throws Exception {
+        return blackbirdMapper.writeValueAsBytes(QueryTransactionResponse.from(projection));
+    }
+
+    // 변경 전 TransactionDto.fromEntity
+    private static TransactionDto builderDto(Transaction transaction) {
+        return TransactionDto.builder()
+                .accountNumber(transaction.getAccount().getAccountNumber())
+                .transactionType(transaction.getTransactionType())
+                .transactionResultType(transaction.getTransactionResultType())
+                .amount(transaction.getAmount())
+                .balanceSnapShot(transaction.getBalanceSnapShot())
+                .transactionId(transaction.getTransactionId())
+                .transactedAt(transaction.getTransactedAt())
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.account.exception;
+
+import com.example.account.type.ErrorCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비즈니스 실패 경로 : 깊은 호출 스택(컨트롤러 -> AOP 프록시 -> 서비스)에서 던지고 잡기
+ * - stackful : 변경 전 AccountException (stack trace 생성)
+ * - stackless : new AccountException(code)
+ * - cached    : AccountException.of(code)
+ * ./gradlew jmh -PjmhIncludes=FailurePathBenchmark (-prof gc 로 할당량 비교)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FailurePathBenchmark {
+
+    // 스프링 요청 처리시 서비스까지의 스택 깊이는 대략 100 이상
+    @Param({"20", "120"})
+    private int depth;
+
+    @Benchmark
+    public ErrorCode stackful() {
+        try {
+            throwAt(depth, 0);
+        } catch (RuntimeException e) {
+            return ((StackfulAccountException) e).errorCode;
+        }
+        return null;
+    }
+
+    @Benchmark
+    public ErrorCode stackless() {
+        try {
+            throwAt(depth, 1);
+        } catch (AccountException e) {
+            return e.getErrorCode();
+        }
+        return null;
+    }
+
+    @Benchmark
+    public ErrorCode cached() {
+        try {
+            throwAt(depth, 2);
+        } catch (AccountException e) {
+            return e.getErrorCode();
+        }
+        return null;
+    }
+
+    private static void throwAt(int depth, int mode) {
+        if (depth > 0) {
+            throwAt(depth - 1, mode);
+            return;
+        }
+        switch (mode) {
+            case 0:
+                throw new StackfulAccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            case 1:
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            default:
+                throw AccountException.of(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+    }
+
+    // 변경 전 AccountException 과 같은 형태
+    private static class StackfulAccountException extends RuntimeException {
+        private final ErrorCode errorCode;
+        private final String errorMessage;
+
+        private StackfulAccountException(ErrorCode errorCode) {
+            this.errorCode = errorCode;
+            this.errorMessage = errorCode.getDescription();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.account.service;
+
+import com.example.account.type.AccountType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌번호 / 거래 id 생성
+ * - generateAccountNumber 는 계좌 생성시 중복이 없을때 까지 반복 호출된다
+ * - generateTransactionId 는 거래(성공/실패) 저장마다 호출된다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IdGenerationBenchmark {
+
+    @Param({"CHECKING", "CERTIFICATE_OF_DEPOSIT"})
+    private AccountType accountType;
+
+    @Benchmark
+    public String generateAccountNumber() {
+        return AccountService.generateAccountNumber(accountType);
+    }
+
+    @Benchmark
+    public String generateTransactionId() {
+        return TransactionService.generateTransactionId();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.account.service;
+
+import com.example.account.metrics.AccountMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import redis.embedded.RedisServer;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LockService lock/unlock 왕복 (embedded redis)
+ * - uncontended : 스레드마다 다른 계좌 -> Redis 왕복 비용
+ * - contended   : 모든 스레드가 같은 계좌 -> pub/sub 대기 포함
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LockServiceBenchmark {
+    private static final int REDIS_PORT = 6390;
+
+    @State(Scope.Benchmark)
+    public static class Redis {
+        private RedisServer redisServer;
+        private RedissonClient redissonClient;
+        private LockService lockService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            redisServer = new RedisServer(REDIS_PORT);
+            redisServer.start();
+            Config config = new Config();
+            config.useSingleServer().setAddress("redis://127.0.0.1:" + REDIS_PORT);
+            redissonClient = Redisson.create(config);
+            lockService = new LockService(redissonClient, new AccountMetrics(new SimpleMeterRegistry()));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            redissonClient.shutdown();
+            redisServer.stop();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Account {
+        private String accountNumber;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            accountNumber = String.valueOf(ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_999_999_999L));
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void uncontended(Redis redis, Account account) {
+        redis.lockService.lock(account.accountNumber);
+        redis.lockService.unlock(account.accountNumber);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void contended(Redis redis) {
+        redis.lockService.lock("1000000000");
+        redis.lockService.unlock("1000000000");
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.account.load;
+
+import com.example.account.AccountApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 플랫폼 스레드 / 가상 스레드 실행 모드의 동시성 한계 비교용 부하 테스트
+ * - 같은 JVM 에서 앱(embedded redis + H2)을 띄우고, 가장 큰 동시 요청 수만큼 실제 계좌를 만든 뒤
+ *   동시 요청 수를 단계적으로 올리며 /transaction/use 를 한번에 발사한다
+ * - 요청마다 다른 계좌를 사용해 락 경합 없이 "요청 스레드 점유" 만 측정한다
+ *   (컨트롤러의 3초 sleep + 락 + DB 호출 동안 스레드를 붙잡고 있음)
+ * - 플랫폼 스레드(기본 200개)는 동시 요청이 풀 크기를 넘으면 대기열이 생겨 p99 가 계단식으로 증가
+ * - 응답 status / errorCode 로 성공, 실패를 세고 단계마다 전부 성공했는지,
+ *   끝나고 DB 의 성공 거래 수와 잔액 합계가 성공 응답 수와 맞는지 확인 (하나라도 어긋나면 실패로 종료)
+ * - 단계마다 JFR jdk.VirtualThreadPinned 이벤트 수를 센다 (JDK 21, 가상 스레드 모드)
+ *
+ * 사용법
+ *   ./gradlew loadTest -PloadTestArgs="--label=platform"
+ *   ./gradlew loadTest -PvirtualThreads -PloadTestArgs="--label=virtual --virtual=true"
+ *   (-PvirtualThreads 면 -Djdk.tracePinnedThreads=short 로 pinning 된 stack trace 도 출력)
+ */
+public class ConcurrencyLoadTest {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int ACCOUNTS_PER_USER = 10;
+    private static final int SETUP_CONCURRENCY = 32;
+    private static final long INITIAL_BALANCE = 1_000_000_000L;
+    private static final long AMOUNT = 1000L;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final List<Long> accountUserIds = new ArrayList<>();
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    private ConcurrencyLoadTest(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String label = option(args, "label", "unknown");
+        boolean virtual = Boolean.parseBoolean(option(args, "virtual", "false"));
+        int[] levels = Arrays.stream(option(args, "concurrency", "100,200,500,1000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        int accounts = Arrays.stream(levels).max().orElse(0);
+
+        ConfigurableApplicationContext context = startApplication(virtual);
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            ConcurrencyLoadTest loadTest = new ConcurrencyLoadTest("http://localhost:" + port);
+            loadTest.createAccounts(seedUsers(jdbcTemplate,
+                    (accounts + ACCOUNTS_PER_USER - 1) / ACCOUNTS_PER_USER), accounts);
+
+            System.out.printf("%-10s %12s %8s %8s %8s %8s %12s %10s %10s %10s%n",
+                    "mode", "concurrency", "ok", "failed", "errors", "pinned",
+                    "req/s", "p50(ms)", "p99(ms)", "max(ms)");
+            List<String> problems = new ArrayList<>();
+            long totalOk = 0;
+            for (int level : levels) {
+                Result result = loadTest.runLevel(level);
+                totalOk += result.ok;
+                System.out.printf("%-10s %12d %8d %8d %8d %8d %12.1f %10d %10d %10d%n",
+                        label, level, result.ok, result.failed(), result.errors, result.pinned,
+                        result.throughput(), result.percentile(0.50), result.percentile(0.99),
+                        result.percentile(1.0));
+                if (result.ok != level) {
+                    problems.add("concurrency " + level + " : " + result.ok + "/" + level
+                            + " succeeded, errorCodes=" + result.errorCodes
+                            + ", transport errors=" + result.errors);
+                }
+            }
+            problems.addAll(verifyDatabase(jdbcTemplate, accounts, totalOk));
+            if (!problems.isEmpty()) {
+                problems.forEach(System.out::println);
+                throw new IllegalStateException(problems.size() + " load test check(s) failed");
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(boolean virtual) throws IOException {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(AccountApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        "logging.level.com.example.account=OFF",
+                        "account.rate-limit.enabled=false",
+                        "account.jfr.auto-enabled=false",
+                        "account.failure-journal.spool-dir="
+                                + Files.createTempDirectory("concurrency-load-journal"));
+        if (virtual) {
+            // VirtualThreadConfig 는 -PvirtualThreads 빌드에만 포함된다
+            builder.profiles("virtual");
+        }
+        return builder.run();
+    }
+
+    // 유저 API 가 없으므로 DB 에 직접 넣는다 (유저당 계좌 10개 제한)
+    private static List<Long> seedUsers(JdbcTemplate jdbcTemplate, int users) {
+        List<Object[]> names = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            names.add(new Object[]{"concurrency-" + i});
+        }
+        jdbcTemplate.batchUpdate("insert into account_user(id, name, created_at, updated_at) "
+                + "values (next value for hibernate_sequence, ?, now(), now())", names);
+        return jdbcTemplate.queryForList(
+                "select id from account_user where name like 'concurrency-%' order by id", Long.class);
+    }
+
+    private void createAccounts(List<Long> userIds, int accounts) throws InterruptedException {
+        Semaphore permits = new Semaphore(SETUP_CONCURRENCY);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(accounts);
+        for (int i = 0; i < accounts; i++) {
+            long userId = userIds.get(i / ACCOUNTS_PER_USER);
+            permits.acquire();
+            futures.add(client.sendAsync(post("/account",
+                                    "{\"userId\":" + userId + ",\"initialBalance\":" + INITIAL_BALANCE
+                                            + ",\"accountType\":\"CHECKING\"}"),
+                            HttpResponse.BodyHandlers.ofString())
+                    .thenAccept(response -> {
+                        JsonNode body = parse(response.body());
+                        if (body != null && body.hasNonNull("accountNumber")) {
+                            synchronized (accountNumbers) {
+                                accountNumbers.add(body.get("accountNumber").asText());
+                                accountUserIds.add(userId);
+                            }
+                        }
+                    })
+                    .whenComplete((ignored, e) -> permits.release()));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+        if (accountNumbers.size() != accounts) {
+            throw new IllegalStateException("Created " + accountNumbers.size() + "/" + accounts + " accounts");
+        }
+    }
+
+    private Result runLevel(int concurrency) throws IOException {
+        Result result = new Result();
+        try (Recording recording = new Recording()) {
+            // JDK 21 미만에서는 없는 이벤트라 0 으로 나온다
+            recording.enable(PINNED_EVENT).withoutThreshold();
+            recording.start();
+
+            List<CompletableFuture<Outcome>> futures = new ArrayList<>(concurrency);
+            long begin = System.nanoTime();
+            for (int i = 0; i < concurrency; i++) {
+                long start = System.nanoTime();
+                futures.add(client.sendAsync(useRequest(i), HttpResponse.BodyHandlers.ofString())
+                        .thenApply(response -> new Outcome(System.nanoTime() - start, errorCode(response))));
+            }
+            for (CompletableFuture<Outcome> future : futures) {
+                try {
+                    result.record(future.join());
+                } catch (Exception e) {
+                    result.errors++;
+                }
+            }
+            result.elapsedNanos = System.nanoTime() - begin;
+
+            recording.stop();
+            result.pinned = countPinned(recording);
+        }
+        return result;
+    }
+
+    private static long countPinned(Recording recording) throws IOException {
+        Path file = Files.createTempFile("concurrency-load", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .map(RecordedEvent::getEventType)
+                    .filter(type -> PINNED_EVENT.equals(type.getName()))
+                    .count();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // 성공한 사용 거래 수와 차감된 잔액이 성공 응답 수와 같은지 (실패 거래는 저널이 비동기로 기록하므로 제외)
+    private static List<String> verifyDatabase(JdbcTemplate jdbcTemplate, int accounts, long totalOk) {
+        List<String> problems = new ArrayList<>();
+        Long saved = jdbcTemplate.queryForObject("select count(*) from transaction "
+                + "where transaction_type = 'USE' and transaction_result_type = 'S'", Long.class);
+        if (saved == null || saved != totalOk) {
+            problems.add("saved USE/S transactions " + saved + " != successful responses " + totalOk);
+        }
+        Long balance = jdbcTemplate.queryForObject("select coalesce(sum(balance), 0) from account", Long.class);
+        long expected = accounts * INITIAL_BALANCE - totalOk * AMOUNT;
+        if (balance == null || balance != expected) {
+            problems.add("total balance " + balance + " != expected " + expected);
+        }
+        return problems;
+    }
+
+    private HttpRequest useRequest(int index) {
+        return post("/transaction/use", "{\"userId\":" + accountUserIds.get(index)
+                + ",\"accountNumber\":\"" + accountNumbers.get(index)
+                + "\",\"amount\":" + AMOUNT + "}");
+    }
+
+    private String errorCode(HttpResponse<String> response) {
+        if (response.statusCode() >= 400) {
+            return "HTTP_" + response.statusCode();
+        }
+        // 비즈니스 에러도 200 + ErrorResponse 로 내려온다
+        JsonNode body = parse(response.body());
+        if (body == null) {
+            return "UNPARSEABLE_BODY";
+        }
+        if (body.hasNonNull("errorCode")) {
+            return body.get("errorCode").asText();
+        }
+        return null;
+    }
+
+    private JsonNode parse(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
+
+    private static class Outcome {
+        private final long latencyNanos;
+        private final String errorCode;
+
+        Outcome(long latencyNanos, String errorCode) {
+            this.latencyNanos = latencyNanos;
+            this.errorCode = errorCode;
+        }
+    }
+
+    private static class Result {
+        private final List<Long> latencies = new ArrayList<>();
+        private final Map<String, Integer> errorCodes = new TreeMap<>();
+        private int ok;
+        private int errors;
+        private long pinned;
+        private long elapsedNanos;
+
+        void record(Outcome outcome) {
+            latencies.add(outcome.latencyNanos);
+            if (outcome.errorCode == null) {
+                ok++;
+            } else {
+                errorCodes.merge(outcome.errorCode, 1, Integer::sum);
+            }
+        }
+
+        int failed() {
+            return errorCodes.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        double throughput() {
+            return ok / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        long percentile(double p) {
+            if (latencies.isEmpty()) {
+                return 0L;
+            }
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000L;
+        }
+    }
+}
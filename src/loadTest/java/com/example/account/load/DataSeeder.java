@@ -0,0 +1,618 @@
+package com.example.account.load;
+
+import com.example.account.AccountApplication;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.AccountType;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 벤치마크용 대량 데이터 생성기 (유저 / 계좌 / 계좌번호 / 거래)
+ * - 유저를 partitions 개 구간으로 나눠 병렬로 JDBC batch insert (구간마다 커넥션 하나)
+ * - 구간마다 SplittableRandom(seed, partition) 을 쓰므로 스레드 수와 무관하게 같은 seed 면 같은 데이터
+ * - id 는 직접 지정 (1 단계에서 구간별 건수를 먼저 세고 구간별 시작 id 를 정함), 끝나면 hibernate_sequence 를 그 뒤로 재시작
+ * - 계좌번호는 AccountType prefix(4자리) + 6자리 일련번호 -> 타입별 최대 1,000,000 계좌
+ * - 거래 시각 : 계좌 개설일 이후, 최근일수록 많고 낮 시간대에 몰리도록 생성 (기준 시각 --baseTime)
+ *   잔액 스냅샷은 시각 순으로 실제 잔액을 따라가며 계산 (잔액 부족이면 실패 거래)
+ *   사용취소는 앞선 1년 이내의 성공한 사용 거래를 골라 만든다 (원거래 id, 원거래 cancelled 표시)
+ *   해지 계좌는 남은 잔액을 마지막 사용 거래로 모두 쓴 뒤 해지 (잔액 0 = 마지막 스냅샷)
+ *
+ * 사용법 (파일 DB 에 만들고 앱을 같은 DB 로 실행)
+ *   ./gradlew seedData -PseedArgs="--users=1000000 --jdbcUrl=jdbc:h2:file:./seed/account"
+ *   ./gradlew bootRun --args="--spring.datasource.url=jdbc:h2:file:./seed/account
+ *       --spring.r2dbc.url=r2dbc:h2:file:///./seed/account --spring.jpa.hibernate.ddl-auto=update --spring.sql.init.mode=never"
+ *
+ * 옵션 (기본값)
+ *   --users=100000 --transactionsPerAccount=10 --historyDays=730 --seed=42
+ *   --baseTime=<오늘 0시> (생성 기준 시각, 같은 데이터를 다시 만들려면 출력된 값을 지정)
+ *   --partitions=64 (데이터 모양을 결정, 바꾸면 다른 데이터) --threads=<코어 수> (속도만 결정)
+ */
+public class DataSeeder {
+    private static final int MAX_ACCOUNTS_PER_USER = 10;
+    private static final int ACCOUNT_NUMBER_SPACE = 1_000_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int COMMIT_INTERVAL = 50_000;
+    private static final long INITIAL_BALANCE_MAX = 5_000_000L;
+    // 시간대별 거래 가중치 (0시 ~ 23시)
+    private static final double[] HOURLY_WEIGHTS = {
+            1, 0.6, 0.4, 0.3, 0.3, 0.5, 1.2, 2.5, 4, 5, 5.5, 6,
+            7, 6.5, 5.5, 5, 5, 5.5, 6.5, 7, 6.5, 5, 3.5, 2
+    };
+    private static final double[] HOURLY_CDF = cumulative(HOURLY_WEIGHTS);
+
+    private final DataSource dataSource;
+    private final int users;
+    private final int partitions;
+    private final int threads;
+    private final double transactionsPerAccount;
+    private final int historyDays;
+    private final long seed;
+    private final LocalDateTime now;
+
+    public DataSeeder(DataSource dataSource, int users, int partitions, int threads,
+                      double transactionsPerAccount, int historyDays, long seed, LocalDateTime baseTime) {
+        this.dataSource = dataSource;
+        this.users = users;
+        this.partitions = Math.min(partitions, users);
+        this.threads = threads;
+        this.transactionsPerAccount = transactionsPerAccount;
+        this.historyDays = historyDays;
+        this.seed = seed;
+        this.now = baseTime.withNano(0);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.parseInt(option(args, "users", "100000"));
+        double transactionsPerAccount = Double.parseDouble(option(args, "transactionsPerAccount", "10"));
+        int historyDays = Integer.parseInt(option(args, "historyDays", "730"));
+        long seed = Long.parseLong(option(args, "seed", "42"));
+        int partitions = Integer.parseInt(option(args, "partitions", "64"));
+        int threads = Integer.parseInt(option(args, "threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        String jdbcUrl = option(args, "jdbcUrl", "jdbc:h2:file:./seed/account");
+        LocalDateTime baseTime = LocalDateTime.parse(option(args, "baseTime",
+                LocalDate.now().atStartOfDay().toString()));
+        System.out.println("seed base time : --baseTime=" + baseTime);
+
+        // 스키마는 앱(hibernate)이 만들게 하고 DataSource 만 빌려 쓴다
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AccountApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + jdbcUrl,
+                        "spring.r2dbc.url=" + jdbcUrl.replaceFirst("^jdbc:h2:file:", "r2dbc:h2:file:///"),
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        // data.sql 의 고정 id 유저가 다시 실행시 중복되지 않도록
+                        "spring.sql.init.mode=never",
+                        "account.jfr.auto-enabled=false",
+                        "account.grpc.enabled=false")
+                .run()) {
+            new DataSeeder(context.getBean(DataSource.class), users, partitions, threads,
+                    transactionsPerAccount, historyDays, seed, baseTime).seed();
+        }
+    }
+
+    public void seed() throws Exception {
+        long started = System.nanoTime();
+
+        // 1 단계 : 구간별 유저/타입별 계좌/거래 건수 (계좌 난수열만 사용하므로 빠름)
+        Plan[] plans = new Plan[partitions];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Plan>> planned = new ArrayList<>(partitions);
+            for (int p = 0; p < partitions; p++) {
+                int partition = p;
+                planned.add(executor.submit(() -> plan(partition)));
+            }
+            for (int p = 0; p < partitions; p++) {
+                plans[p] = planned.get(p).get();
+            }
+
+            Offsets base = baseOffsets();
+            long[] typeCounts = new long[AccountType.values().length];
+            long accountIdBase = base.accountId;
+            long accountNumberIdBase = base.accountNumberId;
+            long transactionIdBase = base.transactionId;
+            for (Plan plan : plans) {
+                plan.accountIdBase = accountIdBase;
+                plan.accountNumberIdBase = accountNumberIdBase;
+                plan.transactionIdBase = transactionIdBase;
+                plan.typeBase = typeCounts.clone();
+                accountIdBase += plan.accounts;
+                accountNumberIdBase += plan.accounts;
+                transactionIdBase += plan.transactions;
+                for (int t = 0; t < typeCounts.length; t++) {
+                    typeCounts[t] += plan.typeCounts[t];
+                }
+            }
+            for (AccountType accountType : AccountType.values()) {
+                if (typeCounts[accountType.ordinal()] + base.typeNumbers[accountType.ordinal()]
+                        > ACCOUNT_NUMBER_SPACE) {
+                    throw new IllegalArgumentException("Account number space exhausted for " + accountType
+                            + " (max " + ACCOUNT_NUMBER_SPACE + " per type), reduce --users");
+                }
+            }
+            for (int p = 0; p < partitions; p++) {
+                for (int t = 0; t < typeCounts.length; t++) {
+                    plans[p].typeBase[t] += base.typeNumbers[t];
+                }
+                plans[p].userIdBase = base.userId + (long) p * users / partitions;
+            }
+
+            // 2 단계 : 같은 난수열을 다시 돌리면서 실제 insert
+            List<Future<?>> written = new ArrayList<>(partitions);
+            for (Plan plan : plans) {
+                written.add(executor.submit(() -> {
+                    write(plan);
+                    return null;
+                }));
+            }
+            for (Future<?> future : written) {
+                future.get();
+            }
+
+            restartSequence(Math.max(Math.max(accountIdBase, accountNumberIdBase),
+                    Math.max(transactionIdBase, base.userId + users)));
+        } finally {
+            executor.shutdown();
+        }
+
+        long accounts = Arrays.stream(plans).mapToLong(plan -> plan.accounts).sum();
+        long transactions = Arrays.stream(plans).mapToLong(plan -> plan.transactions).sum();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("seeded users=%d accounts=%d transactions=%d in %.1fs (%.0f rows/s)%n",
+                users, accounts, transactions, seconds, (users + accounts * 2 + transactions) / seconds);
+    }
+
+    private Plan plan(int partition) {
+        Plan plan = new Plan(partition);
+        SplittableRandom accountRandom = accountRandom(partition);
+        for (int u = plan.firstUser; u < plan.lastUser; u++) {
+            int accountCount = accountCount(accountRandom);
+            for (int a = 0; a < accountCount; a++) {
+                AccountDraw draw = drawAccount(accountRandom);
+                plan.accounts++;
+                plan.typeCounts[draw.accountType.ordinal()]++;
+                plan.transactions += draw.maxTransactions();
+            }
+        }
+        return plan;
+    }
+
+    private void write(Plan plan) throws SQLException {
+        SplittableRandom accountRandom = accountRandom(plan.partition);
+        SplittableRandom transactionRandom = new SplittableRandom(seed ^ (0x5DEECE66DL * (plan.partition + 1)));
+        long[] typeNext = plan.typeBase.clone();
+        long accountId = plan.accountIdBase;
+        long accountNumberId = plan.accountNumberIdBase;
+        long transactionId = plan.transactionIdBase;
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement userInsert = connection.prepareStatement(
+                     "insert into account_user(id, name, created_at, updated_at) values (?, ?, ?, ?)");
+             PreparedStatement accountInsert = connection.prepareStatement(
+                     "insert into account(id, account_user_id, account_number, account_type, account_status, "
+                             + "balance, event_sequence, registered_at, un_registerd_at, created_at, updated_at) "
+                             + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement accountNumberInsert = connection.prepareStatement(
+                     "insert into account_number(id, account_number, created_at, updated_at) values (?, ?, ?, ?)");
+             PreparedStatement transactionInsert = connection.prepareStatement(
+                     "insert into transaction(id, transaction_type, transaction_result_type, account_id, amount, "
+                             + "balance_snap_shot, transaction_id, transacted_at, "
+                             + "original_transaction_id, cancelled, created_at, updated_at) "
+                             + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            connection.setAutoCommit(false);
+            // FK 순서 (유저 -> 계좌 -> 거래) 대로 flush
+            Batches batches = new Batches(connection,
+                    userInsert, accountInsert, accountNumberInsert, transactionInsert);
+
+            for (int u = plan.firstUser; u < plan.lastUser; u++) {
+                long userId = plan.userIdBase + (u - plan.firstUser);
+                Timestamp userCreatedAt = Timestamp.valueOf(now.minusDays(historyDays + 30));
+                userInsert.setLong(1, userId);
+                userInsert.setString(2, "seed-" + u);
+                userInsert.setTimestamp(3, userCreatedAt);
+                userInsert.setTimestamp(4, userCreatedAt);
+                userInsert.addBatch();
+                batches.added();
+
+                int accountCount = accountCount(accountRandom);
+                for (int a = 0; a < accountCount; a++) {
+                    AccountDraw draw = drawAccount(accountRandom);
+                    String accountNumber = draw.accountType.getDescription()
+                            + String.format("%06d", typeNext[draw.accountType.ordinal()]++);
+
+                    // 거래를 시각 순으로 만들면서 잔액을 따라간다 (계좌 잔액이 정해진 뒤 insert)
+                    History history = history(transactionRandom, draw);
+                    long balance = history.balance;
+
+                    Timestamp registeredAt = Timestamp.valueOf(draw.registeredAt);
+                    Timestamp unRegisteredAt = draw.unregistered
+                            ? Timestamp.valueOf(min(history.lastAt(draw.registeredAt).plusDays(1), now))
+                            : null;
+                    accountInsert.setLong(1, accountId);
+                    accountInsert.setLong(2, userId);
+                    accountInsert.setString(3, accountNumber);
+                    accountInsert.setString(4, draw.accountType.name());
+                    accountInsert.setString(5,
+                            (draw.unregistered ? AccountStatus.UNREGISTERED : AccountStatus.IN_USE).name());
+                    accountInsert.setLong(6, balance);
+                    // 개설 1 + 성공 거래 + 해지 1 (Account.eventSequence 와 같은 규칙)
+                    accountInsert.setLong(7, 1 + history.successes + (draw.unregistered ? 1 : 0));
+                    accountInsert.setTimestamp(8, registeredAt);
+                    accountInsert.setTimestamp(9, unRegisteredAt);
+                    accountInsert.setTimestamp(10, registeredAt);
+                    accountInsert.setTimestamp(11, registeredAt);
+                    accountInsert.addBatch();
+                    batches.added();
+
+                    accountNumberInsert.setLong(1, accountNumberId++);
+                    accountNumberInsert.setString(2, accountNumber);
+                    accountNumberInsert.setTimestamp(3, registeredAt);
+                    accountNumberInsert.setTimestamp(4, registeredAt);
+                    accountNumberInsert.addBatch();
+                    batches.added();
+
+                    // 해지 계좌에서 쓰지 않은 거래 슬롯의 id 는 비워둔다 (1 단계에서 최대 건수로 잡음)
+                    long nextTransactionId = transactionId + draw.maxTransactions();
+                    for (int t = 0; t < history.count; t++) {
+                        Timestamp transactedAt = Timestamp.valueOf(history.times[t]);
+                        transactionInsert.setLong(1, transactionId++);
+                        transactionInsert.setString(2, history.types[t].name());
+                        transactionInsert.setString(3,
+                                (history.successful[t] ? TransactionResultType.S : TransactionResultType.F).name());
+                        transactionInsert.setLong(4, accountId);
+                        transactionInsert.setLong(5, history.amounts[t]);
+                        transactionInsert.setLong(6, history.snapshots[t]);
+                        transactionInsert.setString(7, history.transactionIds[t]);
+                        transactionInsert.setTimestamp(8, transactedAt);
+                        if (history.originals[t] >= 0) {
+                            transactionInsert.setString(9, history.transactionIds[history.originals[t]]);
+                        } else {
+                            transactionInsert.setNull(9, Types.VARCHAR);
+                        }
+                        transactionInsert.setBoolean(10, history.cancelled[t]);
+                        transactionInsert.setTimestamp(11, transactedAt);
+                        transactionInsert.setTimestamp(12, transactedAt);
+                        transactionInsert.addBatch();
+                        batches.added();
+                    }
+                    transactionId = nextTransactionId;
+                    accountId++;
+                }
+            }
+            batches.flush();
+            connection.commit();
+        }
+        System.out.printf("partition %d done (users %d~%d)%n", plan.partition, plan.firstUser, plan.lastUser - 1);
+    }
+
+    /**
+     * 한 계좌의 거래 내역 (시각 순)
+     * - 3% 는 사용취소 : 1년 이내의 아직 취소되지 않은 성공한 사용 거래 중 하나를 같은 금액으로 취소, 없으면 사용
+     * - 해지 계좌는 남은 잔액을 마지막 사용 거래로 모두 써서 잔액 0 으로 끝낸다
+     */
+    private History history(SplittableRandom random, AccountDraw draw) {
+        History history = new History(draw.maxTransactions());
+        for (int t = 0; t < draw.transactionCount; t++) {
+            history.times[t] = transactedAt(random, draw.registeredAt);
+        }
+        Arrays.sort(history.times, 0, draw.transactionCount);
+
+        long balance = draw.initialBalance;
+        for (int t = 0; t < draw.transactionCount; t++) {
+            history.transactionIds[t] = transactionId(random);
+            int original = random.nextInt(100) < 3 ? cancelTarget(random, history, t) : -1;
+            history.originals[t] = original;
+            if (original >= 0) {
+                history.types[t] = TransactionType.CANCEL;
+                history.amounts[t] = history.amounts[original];
+                history.successful[t] = true;
+                history.cancelled[original] = true;
+                balance += history.amounts[t];
+            } else {
+                history.types[t] = TransactionType.USE;
+                history.amounts[t] = amount(random);
+                history.successful[t] = history.amounts[t] <= balance;
+                if (history.successful[t]) {
+                    balance -= history.amounts[t];
+                }
+            }
+            if (history.successful[t]) {
+                history.successes++;
+            }
+            history.snapshots[t] = balance;
+        }
+        history.count = draw.transactionCount;
+
+        if (draw.unregistered && balance > 0) {
+            int t = history.count++;
+            history.times[t] = min(history.lastAt(draw.registeredAt).plusMinutes(1), now);
+            history.transactionIds[t] = transactionId(random);
+            history.originals[t] = -1;
+            history.types[t] = TransactionType.USE;
+            history.amounts[t] = balance;
+            history.successful[t] = true;
+            history.successes++;
+            balance = 0;
+            history.snapshots[t] = balance;
+        }
+        history.balance = balance;
+        return history;
+    }
+
+    // 1년(취소 기한) 이내의 취소 가능한 사용 거래 중 하나, 없으면 -1
+    private int cancelTarget(SplittableRandom random, History history, int t) {
+        LocalDateTime oldest = history.times[t].minusYears(1);
+        int candidates = 0;
+        for (int j = 0; j < t; j++) {
+            if (history.isCancellable(j, oldest)) {
+                candidates++;
+            }
+        }
+        if (candidates == 0) {
+            return -1;
+        }
+        int pick = random.nextInt(candidates);
+        for (int j = 0; j < t; j++) {
+            if (history.isCancellable(j, oldest) && pick-- == 0) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    // 1, 2 단계가 같은 값을 뽑도록 계좌 관련 난수는 이 스트림에서만 뽑는다
+    private SplittableRandom accountRandom(int partition) {
+        return new SplittableRandom(seed * 31 + partition);
+    }
+
+    // 대부분 1~3개, 가끔 최대 10개
+    private int accountCount(SplittableRandom random) {
+        int count = 1;
+        while (count < MAX_ACCOUNTS_PER_USER && random.nextInt(100) < 45) {
+            count++;
+        }
+        return count;
+    }
+
+    private AccountDraw drawAccount(SplittableRandom random) {
+        AccountDraw draw = new AccountDraw();
+        int type = random.nextInt(100);
+        draw.accountType = type < 55 ? AccountType.CHECKING
+                : type < 80 ? AccountType.SAVING
+                : type < 92 ? AccountType.MONEY_MARKET
+                : AccountType.CERTIFICATE_OF_DEPOSIT;
+        draw.registeredAt = now.minusDays(1 + random.nextInt(historyDays))
+                .withHour(hour(random))
+                .withMinute(random.nextInt(60))
+                .withSecond(random.nextInt(60));
+        draw.unregistered = random.nextInt(100) < 5;
+        draw.initialBalance = random.nextLong(INITIAL_BALANCE_MAX);
+        // 지수분포 + 1% 는 20배 (거래가 몰리는 계좌)
+        double mean = random.nextInt(100) == 0 ? transactionsPerAccount * 20 : transactionsPerAccount;
+        draw.transactionCount = (int) (-Math.log(1 - random.nextDouble()) * mean);
+        return draw;
+    }
+
+    // 개설일 ~ 현재 사이, 최근일수록 많이
+    private LocalDateTime transactedAt(SplittableRandom random, LocalDateTime registeredAt) {
+        long spanDays = Math.max(1, Duration.between(registeredAt, now).toDays());
+        long daysAgo = (long) (spanDays * Math.pow(random.nextDouble(), 2));
+        LocalDateTime time = now.minusDays(daysAgo)
+                .withHour(hour(random))
+                .withMinute(random.nextInt(60))
+                .withSecond(random.nextInt(60));
+        if (time.isBefore(registeredAt)) {
+            return registeredAt.plusMinutes(1 + random.nextInt(60));
+        }
+        return time.isAfter(now) ? now : time;
+    }
+
+    private int hour(SplittableRandom random) {
+        int index = Arrays.binarySearch(HOURLY_CDF, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, 23);
+    }
+
+    // 로그정규 분포 (중앙값 약 8,000원), 요청 검증 범위 10 ~ 1,000,000,000
+    private long amount(SplittableRandom random) {
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble()))
+                * Math.cos(2 * Math.PI * random.nextDouble());
+        long amount = (long) Math.exp(9 + 1.3 * gaussian);
+        return Math.max(10, Math.min(1_000_000_000L, amount / 10 * 10));
+    }
+
+    private String transactionId(SplittableRandom random) {
+        return String.format("%016x%016x", random.nextLong(), random.nextLong());
+    }
+
+    private Offsets baseOffsets() throws SQLException {
+        Offsets offsets = new Offsets();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            offsets.userId = nextId(statement, "account_user");
+            offsets.accountId = nextId(statement, "account");
+            offsets.accountNumberId = nextId(statement, "account_number");
+            offsets.transactionId = nextId(statement, "transaction");
+            for (AccountType accountType : AccountType.values()) {
+                // 이미 있는 계좌번호 뒤로 이어서 발급
+                try (ResultSet resultSet = statement.executeQuery(
+                        "select coalesce(max(cast(substring(account_number, 5) as int)) + 1, 0) "
+                                + "from account_number where account_number like '"
+                                + accountType.getDescription() + "%'")) {
+                    resultSet.next();
+                    offsets.typeNumbers[accountType.ordinal()] = resultSet.getLong(1);
+                }
+            }
+        }
+        return offsets;
+    }
+
+    private long nextId(Statement statement, String table) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("select coalesce(max(id), 0) + 1 from " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    // 이후 JPA insert 가 직접 넣은 id 와 겹치지 않도록
+    private void restartSequence(long next) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("alter sequence hibernate_sequence restart with " + next);
+        }
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double sum = Arrays.stream(weights).sum();
+        double[] cdf = new double[weights.length];
+        double acc = 0;
+        for (int i = 0; i < weights.length; i++) {
+            acc += weights[i] / sum;
+            cdf[i] = acc;
+        }
+        return cdf;
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
+
+    private class Plan {
+        private final int partition;
+        private final int firstUser;
+        private final int lastUser;
+        private final long[] typeCounts = new long[AccountType.values().length];
+        private long accounts;
+        private long transactions;
+        private long userIdBase;
+        private long accountIdBase;
+        private long accountNumberIdBase;
+        private long transactionIdBase;
+        private long[] typeBase;
+
+        private Plan(int partition) {
+            this.partition = partition;
+            this.firstUser = (int) ((long) partition * users / partitions);
+            this.lastUser = (int) ((long) (partition + 1) * users / partitions);
+        }
+    }
+
+    private static class AccountDraw {
+        private AccountType accountType;
+        private LocalDateTime registeredAt;
+        private boolean unregistered;
+        private long initialBalance;
+        private int transactionCount;
+
+        // 해지 계좌는 잔액을 비우는 사용 거래 하나가 더 있을 수 있다
+        private int maxTransactions() {
+            return transactionCount + (unregistered ? 1 : 0);
+        }
+    }
+
+    private static class History {
+        private final LocalDateTime[] times;
+        private final String[] transactionIds;
+        private final TransactionType[] types;
+        private final long[] amounts;
+        private final long[] snapshots;
+        private final boolean[] successful;
+        private final boolean[] cancelled;
+        // 사용취소의 원거래 index (없으면 -1)
+        private final int[] originals;
+        private int count;
+        private int successes;
+        private long balance;
+
+        private History(int capacity) {
+            times = new LocalDateTime[capacity];
+            transactionIds = new String[capacity];
+            types = new TransactionType[capacity];
+            amounts = new long[capacity];
+            snapshots = new long[capacity];
+            successful = new boolean[capacity];
+            cancelled = new boolean[capacity];
+            originals = new int[capacity];
+        }
+
+        private boolean isCancellable(int index, LocalDateTime oldest) {
+            return types[index] == TransactionType.USE && successful[index] && !cancelled[index]
+                    && !times[index].isBefore(oldest);
+        }
+
+        private LocalDateTime lastAt(LocalDateTime registeredAt) {
+            return count == 0 ? registeredAt : times[count - 1];
+        }
+    }
+
+    private static class Offsets {
+        private long userId;
+        private long accountId;
+        private long accountNumberId;
+        private long transactionId;
+        private final long[] typeNumbers = new long[AccountType.values().length];
+    }
+
+    // 쌓인 행이 BATCH_SIZE 가 되면 모든 statement 를 등록 순서대로 실행, COMMIT_INTERVAL 마다 commit
+    private static class Batches {
+        private final Connection connection;
+        private final PreparedStatement[] statements;
+        private int pending;
+        private int uncommitted;
+
+        private Batches(Connection connection, PreparedStatement... statements) {
+            this.connection = connection;
+            this.statements = statements;
+        }
+
+        private void added() throws SQLException {
+            if (++pending >= BATCH_SIZE) {
+                flush();
+            }
+            if (++uncommitted >= COMMIT_INTERVAL) {
+                flush();
+                connection.commit();
+                uncommitted = 0;
+            }
+        }
+
+        private void flush() throws SQLException {
+            for (PreparedStatement statement : statements) {
+                statement.executeBatch();
+            }
+            pending = 0;
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package com.example.account.load;
+
+import com.example.account.AccountApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 운영과 비슷한 부하를 로컬에서 재현하는 open-loop 부하 발생기
+ * - 기본은 앱(embedded redis + H2)을 같은 JVM 에서 띄운다 (--baseUrl 을 주면 실행중인 서버 사용)
+ * - 부하 유저/계좌를 만든 뒤 /account, /transaction/use, /transaction/cancel, /transaction/{id} 를 섞어서 호출
+ * - 계좌 선택은 Zipf 분포 (소수 인기 계좌에 요청 집중 -> 계좌 락 경합 재현)
+ * - 도착률 고정(open-loop) : 응답을 기다리지 않고 정해진 시각에 보낸다.
+ *   지연시간은 "보냈어야 할 시각" 부터 재므로 서버가 밀려도 지연이 가려지지 않는다 (coordinated omission 보정)
+ *
+ * 사용법
+ *   ./gradlew loadHarness -PloadHarnessArgs="--rate=100 --duration=60 --zipf=1.2 --mix=use:70,cancel:10,query:15,create:5"
+ *
+ * 옵션 (기본값)
+ *   --rate=50            초당 요청 수 (전체)
+ *   --duration=60        측정 시간(초), --warmup=10 워밍업(초, 집계 제외)
+ *   --arrival=poisson    poisson | uniform (요청 간격)
+ *   --mix=use:70,cancel:10,query:15,create:5
+ *   --accounts=200       부하용 계좌 수, --accountsPerUser=5 (나머지는 create 요청 몫)
+ *   --zipf=1.1           Zipf 지수 (0 = 균등)
+ *   --rateLimit=false    in-process 앱의 rate limit 사용 여부
+ *   --maxInFlight=20000  클라이언트 동시 요청 상한 (넘으면 dropped 로 집계)
+ *   --seed=42, --hgrmDir=<dir> (API 별 HdrHistogram 분포 파일 출력)
+ *   --seedUsers=0        부하 전에 DataSeeder 로 채울 유저 수 (인덱스/테이블 크기 영향 확인용, in-process 앱만)
+ *   --baseUrl=http://... --userIds=1,2,3 (외부 서버 사용시)
+ */
+public class LoadHarness {
+    private static final String LOCK_FAILURE = "ACCOUNT_TRANSACTION_LOCK";
+    private static final int SETUP_CONCURRENCY = 32;
+    private static final int RECENT_TRANSACTIONS = 4096;
+
+    enum Operation {
+        CREATE, USE, CANCEL, QUERY
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    // 취소 대상 (한번 취소하면 빠짐) / 조회 대상 (최근 거래 id 링버퍼)
+    private final ConcurrentLinkedQueue<UsedTransaction> cancelCandidates = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger cancelCandidateCount = new AtomicInteger();
+    private final AtomicReferenceArray<String> recentTransactionIds = new AtomicReferenceArray<>(RECENT_TRANSACTIONS);
+    private final AtomicLong recentTransactionSeq = new AtomicLong();
+
+    private final String baseUrl;
+    private final long[] userIds;
+    private final List<String> accountNumbers = new ArrayList<>();
+    private final List<Long> accountUserIds = new ArrayList<>();
+
+    private LoadHarness(String baseUrl, long[] userIds) {
+        this.baseUrl = baseUrl;
+        this.userIds = userIds;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation.name().toLowerCase()));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(option(args, "rate", "50"));
+        long durationSeconds = Long.parseLong(option(args, "duration", "60"));
+        long warmupSeconds = Long.parseLong(option(args, "warmup", "10"));
+        boolean poisson = "poisson".equals(option(args, "arrival", "poisson"));
+        double[] mix = parseMix(option(args, "mix", "use:70,cancel:10,query:15,create:5"));
+        int accounts = Integer.parseInt(option(args, "accounts", "200"));
+        int accountsPerUser = Integer.parseInt(option(args, "accountsPerUser", "5"));
+        double zipfExponent = Double.parseDouble(option(args, "zipf", "1.1"));
+        boolean rateLimit = Boolean.parseBoolean(option(args, "rateLimit", "false"));
+        int maxInFlight = Integer.parseInt(option(args, "maxInFlight", "20000"));
+        long seed = Long.parseLong(option(args, "seed", "42"));
+        String hgrmDir = option(args, "hgrmDir", null);
+        String externalBaseUrl = option(args, "baseUrl", null);
+        int seedUsers = Integer.parseInt(option(args, "seedUsers", "0"));
+
+        ConfigurableApplicationContext context = null;
+        LoadHarness harness;
+        if (externalBaseUrl == null) {
+            context = startApplication(rateLimit);
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            if (seedUsers > 0) {
+                new DataSeeder(context.getBean(DataSource.class), seedUsers, 64,
+                        Runtime.getRuntime().availableProcessors(), 10, 730, seed,
+                        LocalDate.now().atStartOfDay()).seed();
+            }
+            int users = (accounts + accountsPerUser - 1) / accountsPerUser;
+            harness = new LoadHarness("http://localhost:" + port,
+                    seedUsers(context.getBean(JdbcTemplate.class), users));
+        } else {
+            harness = new LoadHarness(externalBaseUrl,
+                    Arrays.stream(option(args, "userIds", "1,2,3").split(","))
+                            .mapToLong(Long::parseLong)
+                            .toArray());
+        }
+
+        try {
+            harness.createAccounts(accounts, accountsPerUser);
+            ZipfDistribution zipf = new ZipfDistribution(harness.accountNumbers.size(), zipfExponent);
+            System.out.printf("accounts=%d zipf=%.2f (top 1 account=%.1f%%, top 10 accounts=%.1f%% of requests)%n",
+                    harness.accountNumbers.size(), zipfExponent,
+                    zipf.headShare(1) * 100, zipf.headShare(10) * 100);
+
+            harness.run(rate, poisson, mix, zipf, maxInFlight, seed,
+                    TimeUnit.SECONDS.toNanos(warmupSeconds), TimeUnit.SECONDS.toNanos(durationSeconds));
+            harness.report(durationSeconds, hgrmDir);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(boolean rateLimit) throws IOException {
+        return new SpringApplicationBuilder(AccountApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        "logging.level.com.example.account=OFF",
+                        "account.rate-limit.enabled=" + rateLimit,
+                        "account.jfr.auto-enabled=false",
+                        "account.grpc.port=0",
+                        "account.failure-journal.spool-dir="
+                                + Files.createTempDirectory("load-harness-journal"))
+                .run();
+    }
+
+    // 유저 API 가 없으므로 DB 에 직접 넣는다 (id 는 hibernate_sequence 에서 받아 엔티티 id 와 겹치지 않게)
+    private static long[] seedUsers(JdbcTemplate jdbcTemplate, int users) {
+        List<Object[]> names = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            names.add(new Object[]{"load-" + i});
+        }
+        jdbcTemplate.batchUpdate("insert into account_user(id, name, created_at, updated_at) "
+                + "values (next value for hibernate_sequence, ?, now(), now())", names);
+        return jdbcTemplate.queryForList("select id from account_user where name like 'load-%' order by id",
+                        Long.class)
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private void createAccounts(int accounts, int accountsPerUser) throws InterruptedException {
+        Semaphore permits = new Semaphore(SETUP_CONCURRENCY);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(accounts);
+        int total = Math.min(accounts, userIds.length * accountsPerUser);
+        for (int i = 0; i < total; i++) {
+            long userId = userIds[i / accountsPerUser];
+            permits.acquire();
+            futures.add(client.sendAsync(post("/account",
+                                    "{\"userId\":" + userId
+                                            + ",\"initialBalance\":1000000000,\"accountType\":\"CHECKING\"}"),
+                            HttpResponse.BodyHandlers.ofString())
+                    .thenAccept(response -> {
+                        JsonNode body = parse(response.body());
+                        if (body != null && body.hasNonNull("accountNumber")) {
+                            synchronized (accountNumbers) {
+                                accountNumbers.add(body.get("accountNumber").asText());
+                                accountUserIds.add(userId);
+                            }
+                        }
+                    })
+                    .whenComplete((ignored, e) -> permits.release()));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+        if (accountNumbers.isEmpty()) {
+            throw new IllegalStateException("No accounts could be created at " + baseUrl);
+        }
+    }
+
+    private void run(double rate, boolean poisson, double[] mix, ZipfDistribution zipf, int maxInFlight,
+                     long seed, long warmupNanos, long durationNanos) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(seed);
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+
+        long intended = start;
+        while (intended < end) {
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = pick(mix, random.nextDouble());
+            if (inFlight.get() >= maxInFlight) {
+                // 여기서 기다리면 open-loop 가 깨지므로 보내지 않고 집계만
+                dropped.incrementAndGet();
+            } else {
+                fire(operation, intended, intended >= measureFrom, zipf, random);
+            }
+            intended += poisson
+                    ? (long) (-Math.log(1 - random.nextDouble()) * intervalNanos)
+                    : (long) intervalNanos;
+        }
+
+        // 보낸 요청이 모두 끝날때 까지 대기
+        long drainDeadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(100);
+        }
+    }
+
+    private void fire(Operation operation, long intendedStart, boolean measured,
+                      ZipfDistribution zipf, SplittableRandom random) {
+        OperationStats operationStats = stats.get(operation);
+        HttpRequest request = buildRequest(operation, zipf, random);
+        if (request == null) {
+            if (measured) {
+                operationStats.recordSkipped();
+            }
+            return;
+        }
+
+        inFlight.incrementAndGet();
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, e) -> {
+                    long completed = System.nanoTime();
+                    inFlight.decrementAndGet();
+                    if (e != null) {
+                        if (measured) {
+                            operationStats.recordTransportError();
+                        }
+                        return;
+                    }
+                    JsonNode body = parse(response.body());
+                    String errorCode = errorCode(response, body);
+                    if (errorCode == null && operation == Operation.USE) {
+                        rememberTransaction(body);
+                    }
+                    if (measured) {
+                        operationStats.record(intendedStart, sent, completed, errorCode);
+                    }
+                });
+    }
+
+    private HttpRequest buildRequest(Operation operation, ZipfDistribution zipf, SplittableRandom random) {
+        switch (operation) {
+            case CREATE:
+                return post("/account", "{\"userId\":" + userIds[random.nextInt(userIds.length)]
+                        + ",\"initialBalance\":0,\"accountType\":\"SAVING\"}");
+            case USE:
+                int index = zipf.sample(random);
+                return post("/transaction/use", "{\"userId\":" + accountUserIds.get(index)
+                        + ",\"accountNumber\":\"" + accountNumbers.get(index)
+                        + "\",\"amount\":" + random.nextLong(10, 10_000) + "}");
+            case CANCEL:
+                UsedTransaction used = cancelCandidates.poll();
+                if (used == null) {
+                    return null;
+                }
+                cancelCandidateCount.decrementAndGet();
+                return post("/transaction/cancel", "{\"transactionId\":\"" + used.transactionId
+                        + "\",\"accountNumber\":\"" + used.accountNumber
+                        + "\",\"amount\":" + used.amount + "}");
+            case QUERY:
+                long seq = recentTransactionSeq.get();
+                if (seq == 0) {
+                    return null;
+                }
+                String transactionId = recentTransactionIds.get(
+                        (int) (random.nextLong(Math.min(seq, RECENT_TRANSACTIONS))));
+                if (transactionId == null) {
+                    return null;
+                }
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/transaction/" + transactionId))
+                        .timeout(Duration.ofSeconds(60))
+                        .GET()
+                        .build();
+            default:
+                throw new IllegalArgumentException(operation.name());
+        }
+    }
+
+    private void rememberTransaction(JsonNode body) {
+        String transactionId = body.path("transactionId").asText(null);
+        if (transactionId == null) {
+            return;
+        }
+        long seq = recentTransactionSeq.getAndIncrement();
+        recentTransactionIds.set((int) (seq % RECENT_TRANSACTIONS), transactionId);
+        if (cancelCandidateCount.incrementAndGet() <= RECENT_TRANSACTIONS) {
+            cancelCandidates.add(new UsedTransaction(transactionId,
+                    body.path("accountNumber").asText(), body.path("amount").asLong()));
+        } else {
+            cancelCandidateCount.decrementAndGet();
+        }
+    }
+
+    private void report(long durationSeconds, String hgrmDir) throws IOException {
+        System.out.println();
+        System.out.printf("%-7s %9s %9s %8s %9s %8s %9s %9s %9s %9s %9s %9s %11s%n",
+                "api", "total", "ok", "errors", "transport", "skipped", "req/s",
+                "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "raw p99(ms)");
+        for (OperationStats operationStats : stats.values()) {
+            System.out.printf("%-7s %9d %9d %8d %9d %8d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %11.1f%n",
+                    operationStats.getName(), operationStats.getTotal(), operationStats.getSuccess(),
+                    operationStats.getErrors(), operationStats.getTransportErrors(), operationStats.getSkipped(),
+                    (double) operationStats.getTotal() / durationSeconds,
+                    operationStats.correctedMillis(50), operationStats.correctedMillis(90),
+                    operationStats.correctedMillis(99), operationStats.correctedMillis(99.9),
+                    operationStats.correctedMillis(100), operationStats.rawMillis(99));
+        }
+
+        System.out.println();
+        OperationStats use = stats.get(Operation.USE);
+        long lockFailures = stats.values().stream()
+                .mapToLong(operationStats -> operationStats.getErrorCount(LOCK_FAILURE))
+                .sum();
+        long total = stats.values().stream().mapToLong(OperationStats::getTotal).sum();
+        System.out.printf("%s : %d (use %.2f%%, all %.2f%%)%n", LOCK_FAILURE, lockFailures,
+                percent(use.getErrorCount(LOCK_FAILURE), use.getTotal()), percent(lockFailures, total));
+        System.out.printf("dropped (client maxInFlight) : %d%n", dropped.get());
+        for (OperationStats operationStats : stats.values()) {
+            if (!operationStats.getErrorCodes().isEmpty()) {
+                System.out.printf("%s errors : %s%n", operationStats.getName(), operationStats.getErrorCodes());
+            }
+        }
+
+        if (hgrmDir != null) {
+            Path dir = Files.createDirectories(Paths.get(hgrmDir));
+            for (OperationStats operationStats : stats.values()) {
+                try (PrintStream out = new PrintStream(
+                        Files.newOutputStream(dir.resolve(operationStats.getName() + ".hgrm")))) {
+                    // 단위 ms
+                    operationStats.getCorrected().outputPercentileDistribution(out, 1000.0);
+                }
+            }
+            System.out.println("histograms written to " + dir.toAbsolutePath());
+        }
+    }
+
+    private String errorCode(HttpResponse<String> response, JsonNode body) {
+        if (response.statusCode() >= 400) {
+            return "HTTP_" + response.statusCode();
+        }
+        // 비즈니스 에러도 200 + ErrorResponse 로 내려온다
+        if (body != null && body.hasNonNull("errorCode")) {
+            return body.get("errorCode").asText();
+        }
+        return null;
+    }
+
+    private JsonNode parse(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static Operation pick(double[] cumulativeMix, double value) {
+        for (int i = 0; i < cumulativeMix.length; i++) {
+            if (value < cumulativeMix[i]) {
+                return Operation.values()[i];
+            }
+        }
+        return Operation.USE;
+    }
+
+    // "use:70,cancel:10" -> Operation 순서의 누적 비율
+    private static double[] parseMix(String mix) {
+        double[] weights = new double[Operation.values().length];
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.split(":");
+            weights[Operation.valueOf(pair[0].trim().toUpperCase()).ordinal()] = Double.parseDouble(pair[1]);
+        }
+        double sum = Arrays.stream(weights).sum();
+        double[] cumulative = new double[weights.length];
+        double acc = 0;
+        for (int i = 0; i < weights.length; i++) {
+            acc += weights[i] / sum;
+            cumulative[i] = acc;
+        }
+        return cumulative;
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : part * 100.0 / total;
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
+
+    private static class UsedTransaction {
+        private final String transactionId;
+        private final String accountNumber;
+        private final long amount;
+
+        private UsedTransaction(String transactionId, String accountNumber, long amount) {
+            this.transactionId = transactionId;
+            this.accountNumber = accountNumber;
+            this.amount = amount;
+        }
+    }
+}
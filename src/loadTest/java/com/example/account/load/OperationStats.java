@@ -0,0 +1,98 @@
+package com.example.account.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * API 하나에 대한 결과 집계
+ * - corrected : 원래 보냈어야 할 시각(intended start) 부터 측정 -> coordinated omission 보정
+ * - raw       : 실제로 보낸 시각부터 측정 (비교용)
+ */
+class OperationStats {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final String name;
+    private final Histogram corrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram raw = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder success = new LongAdder();
+    private final LongAdder transportErrors = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final Map<String, LongAdder> errorCodes = new ConcurrentHashMap<>();
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    void record(long intendedStartNanos, long sentNanos, long completedNanos, String errorCode) {
+        corrected.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS,
+                TimeUnit.NANOSECONDS.toMicros(completedNanos - intendedStartNanos)));
+        raw.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS,
+                TimeUnit.NANOSECONDS.toMicros(completedNanos - sentNanos)));
+        if (errorCode == null) {
+            success.increment();
+        } else {
+            errorCodes.computeIfAbsent(errorCode, code -> new LongAdder()).increment();
+        }
+    }
+
+    void recordTransportError() {
+        transportErrors.increment();
+    }
+
+    void recordSkipped() {
+        skipped.increment();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Histogram getCorrected() {
+        return corrected;
+    }
+
+    long getTotal() {
+        return corrected.getTotalCount() + transportErrors.sum();
+    }
+
+    long getSuccess() {
+        return success.sum();
+    }
+
+    long getErrors() {
+        return errorCodes.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    long getTransportErrors() {
+        return transportErrors.sum();
+    }
+
+    long getSkipped() {
+        return skipped.sum();
+    }
+
+    long getErrorCount(String errorCode) {
+        LongAdder count = errorCodes.get(errorCode);
+        return count == null ? 0 : count.sum();
+    }
+
+    Map<String, Long> getErrorCodes() {
+        Map<String, Long> counts = new TreeMap<>();
+        errorCodes.forEach((code, count) -> counts.put(code, count.sum()));
+        return counts;
+    }
+
+    double correctedMillis(double percentile) {
+        return corrected.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double rawMillis(double percentile) {
+        return raw.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.account.load;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 0 ~ n-1 인덱스를 Zipf 분포로 뽑는다 (0 번이 가장 인기 있는 계좌)
+ * - P(k) ∝ 1 / (k+1)^exponent, exponent 가 0 이면 균등 분포
+ * - 누적 분포를 미리 계산해 두고 이진 탐색 (O(log n))
+ */
+class ZipfDistribution {
+    private final double[] cdf;
+
+    ZipfDistribution(int n, double exponent) {
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        int k = index >= 0 ? index : -index - 1;
+        return Math.min(k, cdf.length - 1);
+    }
+
+    /**
+     * 상위 top 개 인덱스가 차지하는 요청 비율
+     */
+    double headShare(int top) {
+        return cdf[Math.min(top, cdf.length) - 1];
+    }
+}
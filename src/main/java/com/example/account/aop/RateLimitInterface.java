@@ -0,0 +1,10 @@
+package com.example.account.aop;
+
+public interface RateLimitInterface {
+    String getAccountNumber();
+
+    // 사용자 정보가 없는 요청(거래 취소 등)은 계좌 기준으로만 제한
+    default Long getUserId() {
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.account.aop;
+
+import java.lang.annotation.*;
+
+/**
+ * API 한번 호출에 허용되는 SQL 문 수 (N+1 회귀 방지)
+ * reads  : select + 시퀀스 조회
+ * writes : insert / update / delete (JDBC batch 는 한번으로 셈)
+ * 실제 검사는 테스트(SqlBudgetIntegrationTest)에서 한다
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlBudget {
+    int reads();
+
+    int writes() default 0;
+}
@@ -0,0 +1,26 @@
+package com.example.account.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * application/cbor 요청/응답 지원 (내부 호출용 바이너리 포맷)
+ * - Content-Type / Accept 로 JSON 과 협상, 같은 DTO 와 @Valid 검증을 그대로 사용
+ * - Boot 의 ObjectMapper 설정(모듈, 날짜 포맷)을 그대로 쓰도록 Jackson2ObjectMapperBuilder 로 생성
+ */
+@Configuration
+public class CborConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter mappingJackson2CborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+        ObjectMapper cborMapper = jackson2ObjectMapperBuilder.createXmlMapper(false)
+                .factory(new CBORFactory())
+                .build();
+        return new MappingJackson2CborHttpMessageConverter(cborMapper);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.account.config;
+
+import com.example.account.type.ErrorCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 비즈니스 실패(AccountException) 로그 설정
+ * 락 실패, 잔액 부족 같이 자주 나는 코드는 레벨을 낮추거나 일부만 남긴다 (메트릭은 전부 집계)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.error-log")
+public class ErrorLogProperties {
+    private LogLevel defaultLevel = LogLevel.WARN;
+    // 0 ~ 1, 로그를 남길 비율
+    private double defaultSampleRate = 1.0;
+    private Map<ErrorCode, Rule> codes = new EnumMap<>(ErrorCode.class);
+
+    @Getter
+    @Setter
+    public static class Rule {
+        private LogLevel level;
+        private Double sampleRate;
+    }
+}
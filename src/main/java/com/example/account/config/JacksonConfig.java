@@ -0,0 +1,19 @@
+package com.example.account.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Boot 가 Module 빈을 ObjectMapper 에 등록한다
+ * Blackbird : getter/생성자 호출을 리플렉션 대신 LambdaMetafactory 로 생성한 코드로 처리
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
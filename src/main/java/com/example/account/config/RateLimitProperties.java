@@ -0,0 +1,46 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Component
+@Validated
+@ConfigurationProperties(prefix = "account.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    // Redis 에서 한번에 받아와 로컬에 보관할 토큰 수
+    private int localBatch = 5;
+    // 로컬에 보관한 토큰의 유효시간
+    private long localTtlMillis = 1000L;
+    @Valid
+    private Map<String, Endpoint> endpoints = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Endpoint {
+        @Valid
+        private Bucket user;
+        @Valid
+        private Bucket account;
+    }
+
+    @Getter
+    @Setter
+    public static class Bucket {
+        @Positive
+        private long capacity;
+        // 0 이면 lua 스크립트의 만료시간 계산이 inf 가 되어 스크립트가 실패 -> fail-open 되므로 기동시 막는다
+        @Positive
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.account.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.ReactiveTransactionManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+/**
+ * JPA(servlet) 와 R2DBC(reactive) 가 같은 H2 메모리 DB 를 같이 사용하기 위한 설정
+ * - 트랜잭션 매니저가 두개가 되므로 JPA 쪽을 기본(@Primary) 으로 두고
+ *   reactive 서비스는 "reactiveTransactionManager" 를 이름으로 지정해서 사용
+ * - data.sql 은 기존처럼 JDBC 로 실행 (R2DBC 초기화기가 대신 잡지 않도록 직접 등록)
+ */
+@Configuration
+public class ReactiveDataConfig {
+
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    @Bean
+    public ReactiveTransactionManager reactiveTransactionManager(ConnectionFactory connectionFactory) {
+        return new R2dbcTransactionManager(connectionFactory);
+    }
+
+    @Bean
+    public SqlDataSourceScriptDatabaseInitializer dataSourceScriptDatabaseInitializer(
+            DataSource dataSource,
+            SqlInitializationProperties properties
+    ) {
+        return new SqlDataSourceScriptDatabaseInitializer(dataSource, properties);
+    }
+}
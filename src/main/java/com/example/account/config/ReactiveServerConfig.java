@@ -0,0 +1,20 @@
+package com.example.account.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * reactive 프로필에서는 Tomcat 이 classpath 에 있어도 Netty 로 서버를 띄운다
+ * (이벤트 루프 스레드 = CPU 코어 수)
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -2,6 +2,7 @@ package com.example.account.config;
 
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
+import org.redisson.api.RedissonReactiveClient;
 import org.redisson.config.Config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -19,7 +20,14 @@ public class RedisRepositoryConfig {
     public RedissonClient redisClient(){
         Config config = new Config();
         config.useSingleServer().setAddress("redis://"+redisHost+":"+redisPort);
+        // lua 스크립트(락, rate limit) 를 EVALSHA 로 호출
+        config.setUseScriptCache(true);
         return Redisson.create(config);
     }
 
+    @Bean
+    public RedissonReactiveClient redissonReactiveClient(RedissonClient redisClient){
+        return redisClient.reactive();
+    }
+
 }
@@ -0,0 +1,112 @@
+package com.example.account.config;
+
+import com.example.account.metrics.AccountMetrics;
+import com.example.account.metrics.RequestTiming;
+import com.example.account.metrics.TimingPhase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 RequestTiming 을 시작/종료
+ * - Server-Timing 헤더는 body 를 쓰기 직전 ServerTimingResponseAdvice 에서 추가
+ * - JSON 직렬화 시간은 헤더가 나간 뒤에 끝나므로 느린 요청 로그에만 포함
+ * - 요청 처리 스레드의 힙 할당량을 account.api.allocation 으로 기록 (JSON 직렬화 포함)
+ * - Mono 를 반환하는 /reactive API 는 async 로 시작된 뒤 다른 스레드에서 끝나므로 할당량/느린 요청 로그에서 제외
+ *   (async dispatch 는 필터를 다시 타지 않아 Server-Timing 헤더도 붙지 않는다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+    private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+
+    private final AccountMetrics accountMetrics;
+
+    @Value("${account.timing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${account.timing.slow-request-ms:1000}")
+    private long slowRequestMillis;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.begin();
+        long allocatedBefore = allocatedBytes();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                record(request, response, timing, allocatedBefore);
+            }
+            RequestTiming.end();
+        }
+    }
+
+    private void record(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            RequestTiming timing,
+            long allocatedBefore
+    ) {
+        long allocated = allocatedBefore < 0 ? -1 : allocatedBytes() - allocatedBefore;
+        Object uriPattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (allocated >= 0 && uriPattern != null) {
+            accountMetrics.recordRequestAllocation(uriPattern.toString(), allocated);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(timing.getElapsedNanos());
+        if (elapsedMillis >= slowRequestMillis) {
+            log.warn("slow_request method={} uri={} status={} total_ms={} lock_ms={} db_ms={} db_calls={} svc_ms={} json_ms={} alloc_kb={}",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    response.getStatus(),
+                    elapsedMillis,
+                    millis(timing, TimingPhase.LOCK),
+                    millis(timing, TimingPhase.DB),
+                    timing.getCount(TimingPhase.DB),
+                    millis(timing, TimingPhase.SERVICE),
+                    millis(timing, TimingPhase.JSON),
+                    allocated / 1024);
+        }
+    }
+
+    // 가상 스레드 등 지원하지 않으면 -1
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads;
+            }
+        }
+        return null;
+    }
+
+    private static long millis(RequestTiming timing, TimingPhase phase) {
+        return TimeUnit.NANOSECONDS.toMillis(timing.getNanos(phase));
+    }
+}
@@ -1,22 +1,32 @@
 package com.example.account.controller;
 
+import com.example.account.aop.AccountLock;
+import com.example.account.aop.SqlBudget;
 import com.example.account.domain.Account;
 import com.example.account.dto.AccountInfo;
 import com.example.account.dto.CreateAccount;
 import com.example.account.dto.DeleteAccount;
+import com.example.account.dto.UpdateDailyLimit;
 import com.example.account.service.AccountService;
+import com.example.account.service.AccountStreamService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.validation.Valid;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @RestController
+@Timed("account.api")
 @RequiredArgsConstructor
 public class AccountController {
     private final AccountService accountService;
+    private final AccountStreamService accountStreamService;
     @PostMapping("/account")
+    // 유저, 계좌 수, 계좌번호 중복(재시도 1회 허용), 시퀀스 3 / 계좌번호, 계좌, outbox insert
+    @SqlBudget(reads = 7, writes = 3)
     public CreateAccount.Response createAccount(
             @RequestBody @Valid CreateAccount.Request request
     ){
@@ -29,6 +39,8 @@ public class AccountController {
         );
     }
     @DeleteMapping("/account")
+    // 유저, 계좌, 시퀀스 / 계좌 update, outbox insert
+    @SqlBudget(reads = 3, writes = 2)
     public DeleteAccount.Response deleteAccount(
             @RequestBody @Valid DeleteAccount.Request request
     ){
@@ -40,15 +52,44 @@ public class AccountController {
         );
     }
 
+    @PutMapping("/account/daily-limit")
+    // 유저, 계좌 / 계좌 update
+    @SqlBudget(reads = 2, writes = 1)
+    // 사용 거래와 같은 계좌 행을 갱신하므로 같은 락으로 직렬화
+    @AccountLock
+    public UpdateDailyLimit.Response updateDailyLimit(
+            @RequestBody @Valid UpdateDailyLimit.Request request
+    ){
+        return UpdateDailyLimit.Response.from(
+                accountService.updateDailyLimit(
+                        request.getUserId(),
+                        request.getAccountNumber(),
+                        request.getDailyLimit()
+                )
+        );
+    }
+
     @GetMapping("/account")
+    // 유저, 계좌 목록 (계좌의 유저는 이미 영속성 컨텍스트에 있음)
+    @SqlBudget(reads = 2)
     public List<AccountInfo> getAccountByUserId(
             @RequestParam("user_id") Long userId
     ){
         return accountService.getAccountByUserId(userId)
-                .stream().map(accountDto -> AccountInfo.builder()
-                        .accountNumber(accountDto.getAccountNumber())
-                        .balance(accountDto.getBalance())
-                        .build())
+                .stream().map(AccountInfo::from)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * 계좌 잔액 변경 스트림 (SSE)
+     * 처음에 snapshot(현재 계좌 목록), 이후 account / unregistered / resync 이벤트
+     */
+    @GetMapping("/account/stream")
+    // 유저, 계좌 목록 (snapshot)
+    @SqlBudget(reads = 2)
+    public SseEmitter streamAccounts(
+            @RequestParam("user_id") Long userId
+    ){
+        return accountStreamService.subscribe(userId);
+    }
 }
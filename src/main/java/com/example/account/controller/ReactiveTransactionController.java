@@ -0,0 +1,87 @@
+package com.example.account.controller;
+
+import com.example.account.aop.RateLimitInterface;
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.QueryTransactionResponse;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.service.RateLimitService;
+import com.example.account.service.ReactiveLockService;
+import com.example.account.service.ReactiveTransactionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.validation.Valid;
+
+/**
+ * TransactionController 의 reactive 버전 (/reactive 하위)
+ * - @RateLimit AOP 대신 RateLimitService 를 직접 확인 (Redis 호출은 이벤트 루프 밖에서), 제한되면 거래를 만들지 않는다
+ * - @AccountLock AOP 대신 ReactiveLockService 로 사용/취소의 락 구간을 감싼다 (admission control 포함)
+ * - 실패 거래 저장도 락 안에서 처리 (servlet 버전과 동일), 에러로 끝나도 락은 해제
+ * */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/reactive")
+public class ReactiveTransactionController {
+    private final ReactiveTransactionService transactionService;
+    private final ReactiveLockService lockService;
+    private final RateLimitService rateLimitService;
+
+    @PostMapping("/transaction/use")
+    public Mono<UseBalance.Response> useBalance(
+            @Valid @RequestBody UseBalance.Request request
+    ){
+        return checkRateLimit("use", request)
+                .then(lockService.withLock(request.getAccountNumber(), Mono.defer(() ->
+                transactionService.useBalance(
+                                request.getUserId(),
+                                request.getAccountNumber(),
+                                request.getAmount())
+                        .map(UseBalance.Response::from)
+                        .onErrorResume(AccountException.class, e -> {
+                            log.error("Failed to use balance. ");
+                            return transactionService.saveFailedUseTransaction(
+                                    request.getAccountNumber(),
+                                    request.getAmount()
+                            ).then(Mono.error(e));
+                        }))));
+    }
+
+    @PostMapping("/transaction/cancel")
+    public Mono<CancelBalance.Response> cancelBalance(
+            @Valid @RequestBody CancelBalance.Request request
+    ){
+        return checkRateLimit("cancel", request)
+                .then(lockService.withLock(request.getAccountNumber(), Mono.defer(() ->
+                transactionService.cancleBalance(
+                                request.getTransactionId(),
+                                request.getAccountNumber(),
+                                request.getAmount())
+                        .map(CancelBalance.Response::from)
+                        .onErrorResume(AccountException.class, e -> {
+                            log.error("Failed to cancel balance. ");
+                            return transactionService.saveFailedCancelTransaction(
+                                    request.getAccountNumber(),
+                                    request.getAmount()
+                            ).then(Mono.error(e));
+                        }))));
+    }
+
+    // 로컬 토큰이 없으면 Redis 스크립트를 동기 호출하므로 boundedElastic 에서 실행
+    private Mono<Void> checkRateLimit(String endpoint, RateLimitInterface request){
+        return Mono.<Void>fromRunnable(() -> rateLimitService.check(endpoint, request))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @GetMapping("/transaction/{transactionid}")
+    public Mono<QueryTransactionResponse> queryTransaction(
+            @PathVariable String transactionid
+    ){
+        return transactionService.queryTransaction(transactionid)
+                .map(QueryTransactionResponse::from);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.account.controller;
+
+import com.example.account.aop.SqlBudget;
+import com.example.account.dto.DailyRollup;
+import com.example.account.service.RollupService;
+import com.example.account.type.AccountType;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 일별 거래 집계 조회 (최대 366일)
+ * 1. 계좌별
+ * 2. 계좌 종류별
+ */
+@RestController
+@Timed("account.api")
+@RequiredArgsConstructor
+public class RollupController {
+    private final RollupService rollupService;
+
+    @GetMapping("/rollup/account")
+    // 집계 테이블 기본키 범위 조회
+    @SqlBudget(reads = 1)
+    public List<DailyRollup> getAccountRollups(
+            @RequestParam("account_number") String accountNumber,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ){
+        return rollupService.getAccountRollups(accountNumber, from, to);
+    }
+
+    @GetMapping("/rollup/account-type")
+    @SqlBudget(reads = 1)
+    public List<DailyRollup> getAccountTypeRollups(
+            @RequestParam("account_type") AccountType accountType,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ){
+        return rollupService.getAccountTypeRollups(accountType, from, to);
+    }
+}
@@ -1,30 +1,48 @@
 package com.example.account.controller;
 
 import com.example.account.aop.AccountLock;
+import com.example.account.aop.RateLimit;
+import com.example.account.aop.SqlBudget;
 import com.example.account.dto.CancelBalance;
 import com.example.account.dto.QueryTransactionResponse;
 import com.example.account.dto.UseBalance;
 import com.example.account.exception.AccountException;
+import com.example.account.service.FailedTransactionJournal;
 import com.example.account.service.TransactionService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
 
 /**
  * 잔액관련 컨트롤러
  * 1. 잔액 사용
  * 2. 잔액 사용 취소
  * 3. 거래 확인
+ * 4. 계좌 거래 내역
+ * 실패 거래는 FailedTransactionJournal 에 넘기고 바로 에러 응답 (DB 기록은 비동기)
  * */
 @Slf4j
 @RestController
+@Timed("account.api")
 @RequiredArgsConstructor
 public class TransactionController {
     private final TransactionService transactionService;
+    private final FailedTransactionJournal failedTransactionJournal;
 
     @PostMapping("/transaction/use")
+    // 유저, 계좌, 시퀀스 2, 일일 한도 카운터 재구성(그날 첫 사용) / 거래 insert, outbox insert, 계좌 update, 일별 집계 merge 2
+    @SqlBudget(reads = 5, writes = 5)
+    @RateLimit("use")
     @AccountLock
     public UseBalance.Response useBalance(
             @Valid @RequestBody UseBalance.Request request
@@ -37,15 +55,23 @@ public class TransactionController {
                     request.getAmount()));
         }catch (AccountException | InterruptedException e){
             log.error("Failed to use balance. ");
-            transactionService.saveFailedUseTransaction(
+            // 실패 시점 잔액은 서비스가 이미 읽어둔 값 (DB 를 다시 조회하지 않음)
+            failedTransactionJournal.append(
+                    USE,
                     request.getAccountNumber(),
-                    request.getAmount()
+                    request.getAmount(),
+                    balanceSnapShot(e)
             );
             throw e;
         }
     }
 
     @PostMapping("/transaction/cancel")
+    // 거래(없으면 archive 확인), 거래의 계좌, 계좌, 시퀀스 2 / 거래 insert, outbox insert, 계좌 update, 원거래 취소 update, 일별 집계 merge 2
+    @SqlBudget(reads = 5, writes = 6)
+    @RateLimit("cancel")
+    // 계좌 락 없이 처리 : 동시 중복 취소는 원거래 unique 제약에서 TRANSACTION_ALREADY_CANCELLED,
+    // 잔액/eventSequence 는 계좌 행 잠금(for update) 으로 직렬화
     public CancelBalance.Response cancelBalance(
             @Valid @RequestBody CancelBalance.Request request
     ){
@@ -57,15 +83,19 @@ public class TransactionController {
                     request.getAmount()));
         }catch (AccountException e){
             log.error("Failed to use balance. ");
-            transactionService.saveFailedCancelTransaction(
+            failedTransactionJournal.append(
+                    CANCEL,
                     request.getAccountNumber(),
-                    request.getAmount()
+                    request.getAmount(),
+                    e.getBalanceSnapShot()
             );
             throw e;
         }
     }
 
     @GetMapping("/transaction/{transactionid}")
+    // 거래 + 계좌번호 projection, 없으면 archive
+    @SqlBudget(reads = 2)
     public QueryTransactionResponse queryTransaction(
             @PathVariable String transactionid
     ){
@@ -73,4 +103,24 @@ public class TransactionController {
                 transactionService.queryTransaction(transactionid)
         );
     }
+
+    @GetMapping("/transaction/history")
+    // archive 달 테이블 목록, 계좌 + 거래 projection (계좌/시간 인덱스 범위, 걸친 달 테이블만 union)
+    @SqlBudget(reads = 2)
+    public List<QueryTransactionResponse> getTransactionHistory(
+            @RequestParam("account_number") String accountNumber,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size
+    ){
+        return transactionService.getTransactionHistory(accountNumber, from, to, page, size)
+                .stream().map(QueryTransactionResponse::from)
+                .collect(Collectors.toList());
+    }
+
+    // 계좌를 읽기 전에 실패했거나 인터럽트면 null (저널이 저장할 때 계좌 잔액 사용)
+    private static Long balanceSnapShot(Exception e) {
+        return e instanceof AccountException ? ((AccountException) e).getBalanceSnapShot() : null;
+    }
 }
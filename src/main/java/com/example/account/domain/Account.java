@@ -5,6 +5,7 @@ import com.example.account.type.AccountStatus;
 import com.example.account.type.AccountType;
 import com.example.account.type.ErrorCode;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -31,20 +32,35 @@ public class Account extends BaseEntity {
 
     private Long balance;
 
+    // 일일 사용 한도 (null 이면 한도 없음)
+    private Long dailyLimit;
+
+    // 잔액/상태가 바뀔 때마다 1씩 증가 (계좌 row update 와 같이 기록) -> outbox / SSE 이벤트의 계좌별 순번
+    // 계좌를 for update 로 읽은 트랜잭션 안에서만 증가 (AccountRepository.findByAccountNumber)
+    @ColumnDefault("0")
+    private Long eventSequence;
+
     private LocalDateTime registeredAt;
     private LocalDateTime unRegisterdAt;
 
     public void useBalance(Long amount){
         if(amount > this.balance){
-            throw new AccountException((ErrorCode.AMOUNT_EXCEED_BALANCE));
+            throw AccountException.of((ErrorCode.AMOUNT_EXCEED_BALANCE));
         }
         balance -= amount;
+        nextEventSequence();
     }
 
     public void cancelBalance(Long amount){
         if(amount < 0){
-            throw new AccountException((ErrorCode.INVALID_REQUEST));
+            throw AccountException.of((ErrorCode.INVALID_REQUEST));
         }
         balance += amount;
+        nextEventSequence();
+    }
+
+    public long nextEventSequence(){
+        eventSequence = (eventSequence == null ? 0L : eventSequence) + 1;
+        return eventSequence;
     }
 }
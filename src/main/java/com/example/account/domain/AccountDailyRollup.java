@@ -0,0 +1,45 @@
+package com.example.account.domain;
+
+import com.example.account.type.AccountType;
+import lombok.*;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * 계좌별 일별 거래 집계 (성공 거래만, 사용 = debit / 사용취소 = credit)
+ * 거래 커밋 직전 upsert (RollupService), 계좌 종류별 집계는 조회시 (accountType, rollupDate) 인덱스로 합산
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(indexes = @Index(name = "idx_account_daily_rollup_type_date", columnList = "accountType, rollupDate"))
+@IdClass(AccountDailyRollup.Key.class)
+public class AccountDailyRollup {
+    @Id
+    private String accountNumber;
+    @Id
+    private LocalDate rollupDate;
+
+    @Enumerated(EnumType.STRING)
+    private AccountType accountType;
+
+    private Long debitAmount;
+    private Long debitCount;
+    private Long creditAmount;
+    private Long creditCount;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String accountNumber;
+        private LocalDate rollupDate;
+    }
+}
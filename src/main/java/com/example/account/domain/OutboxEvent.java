@@ -0,0 +1,37 @@
+package com.example.account.domain;
+
+import com.example.account.type.OutboxEventType;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 거래 / 계좌 상태 변경과 같은 DB 트랜잭션에서 기록하는 outbox
+ * OutboxRelay 가 id 순으로 Redis Stream 에 발행한 뒤 publishedAt 을 채운다
+ * id 는 persist 시점 시퀀스라 커밋 순서와 다를 수 있음 -> 계좌별 순서는 accountSequence 기준
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(indexes = @Index(name = "idx_outbox_event_published_at", columnList = "publishedAt,id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_outbox_event_account_sequence",
+                columnNames = {"accountNumber", "accountSequence"}))
+public class OutboxEvent extends BaseEntity{
+    @Enumerated(EnumType.STRING)
+    private OutboxEventType eventType;
+
+    private String accountNumber;
+
+    // 계좌별 순서 기준 (Account.eventSequence), 계좌를 바꾸지 않는 실패 거래는 null
+    // 계좌 행 잠금으로 순번이 중복되지 않지만, 그래도 같은 순번이 나오면 unique 제약으로 롤백
+    private Long accountSequence;
+
+    @Column(length = 2000)
+    private String payload;
+
+    private LocalDateTime publishedAt;
+}
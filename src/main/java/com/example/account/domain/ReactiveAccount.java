@@ -0,0 +1,52 @@
+package com.example.account.domain;
+
+import com.example.account.type.AccountStatus;
+import com.example.account.type.AccountType;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC 용 account 테이블 매핑
+ * - 스키마는 JPA(Account) 가 만든 테이블을 그대로 사용
+ * - R2DBC 는 연관관계를 지원하지 않아 사용자는 id 로만 가지고 있음
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("account")
+public class ReactiveAccount {
+    @Id
+    private Long id;
+
+    private Long accountUserId;
+
+    private String accountNumber;
+
+    private AccountType accountType;
+
+    private AccountStatus accountStatus;
+
+    private Long balance;
+
+    // 일일 사용 한도 (null 이면 한도 없음)
+    private Long dailyLimit;
+
+    // 계좌 변경 순번 (Account.eventSequence 와 같은 컬럼)
+    private Long eventSequence;
+
+    private LocalDateTime registeredAt;
+    private LocalDateTime unRegisterdAt;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public long nextEventSequence(){
+        eventSequence = (eventSequence == null ? 0L : eventSequence) + 1;
+        return eventSequence;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.account.domain;
+
+import com.example.account.type.OutboxEventType;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC 용 outbox_event 테이블 매핑 (OutboxEvent 엔티티와 같은 테이블)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("outbox_event")
+public class ReactiveOutboxEvent {
+    @Id
+    private Long id;
+
+    private OutboxEventType eventType;
+
+    private String accountNumber;
+
+    private Long accountSequence;
+
+    private String payload;
+
+    private LocalDateTime publishedAt;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
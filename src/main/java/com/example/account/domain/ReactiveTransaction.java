@@ -0,0 +1,41 @@
+package com.example.account.domain;
+
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC 용 transaction 테이블 매핑 (Transaction 엔티티와 같은 테이블)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("transaction")
+public class ReactiveTransaction {
+    @Id
+    private Long id;
+
+    private TransactionType transactionType;
+    private TransactionResultType transactionResultType;
+
+    private Long accountId;
+
+    private Long amount;
+
+    private Long balanceSnapShot;
+
+    private String transactionId;
+    private LocalDateTime transactedAt;
+
+    private String originalTransactionId;
+    private boolean cancelled;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
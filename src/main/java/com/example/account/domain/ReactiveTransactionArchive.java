@@ -0,0 +1,41 @@
+package com.example.account.domain;
+
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC 용 월별 archive 테이블(transaction_archive_yyyyMM) 매핑, 조회 전용
+ * 테이블은 달마다 다르므로 조회할때 지정한다 (ReactiveTransactionArchiveRepository)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReactiveTransactionArchive {
+    @Id
+    private Long id;
+
+    private String transactionId;
+
+    private Long accountId;
+    private String accountNumber;
+
+    private TransactionType transactionType;
+    private TransactionResultType transactionResultType;
+
+    private Long amount;
+    private Long balanceSnapShot;
+    private LocalDateTime transactedAt;
+
+    private String originalTransactionId;
+    private boolean cancelled;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime archivedAt;
+}
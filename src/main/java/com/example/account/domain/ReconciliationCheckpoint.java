@@ -0,0 +1,24 @@
+package com.example.account.domain;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+/**
+ * 대사가 끝난 계좌 id 구간 [chunkStart, chunkEnd), 재시작시 건너뛴다
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_reconciliation_checkpoint_chunk", columnNames = {"runId", "chunkStart"}))
+public class ReconciliationCheckpoint extends BaseEntity{
+    private Long runId;
+    private Long chunkStart;
+    private Long chunkEnd;
+    private Integer accounts;
+    private Integer mismatches;
+}
@@ -0,0 +1,27 @@
+package com.example.account.domain;
+
+import com.example.account.type.MismatchType;
+import lombok.*;
+
+import javax.persistence.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(indexes = @Index(name = "idx_reconciliation_mismatch_run", columnList = "runId"))
+public class ReconciliationMismatch extends BaseEntity{
+    private Long runId;
+    private Long accountId;
+    private String accountNumber;
+    // FINAL 인 경우 마지막 거래
+    private String transactionId;
+
+    @Enumerated(EnumType.STRING)
+    private MismatchType mismatchType;
+
+    private Long expectedBalance;
+    private Long actualBalance;
+}
@@ -0,0 +1,32 @@
+package com.example.account.domain;
+
+import com.example.account.type.ReconciliationStatus;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 잔액 대사 실행 단위
+ * 계좌 id 를 [0, maxAccountId] 까지 chunkSize 로 나누고, 끝난 chunk 는 ReconciliationCheckpoint 로 기록
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+public class ReconciliationRun extends BaseEntity{
+    @Enumerated(EnumType.STRING)
+    private ReconciliationStatus status;
+
+    private Long maxAccountId;
+    private Integer chunkSize;
+
+    // 이 시각 이후의 거래 / 이후 변경된 계좌는 검사하지 않음 (실행중 들어오는 거래와 경합 방지)
+    private LocalDateTime cutoff;
+    private LocalDateTime finishedAt;
+
+    private Long checkedAccounts;
+    private Long mismatches;
+}
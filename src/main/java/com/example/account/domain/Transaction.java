@@ -6,6 +6,7 @@ import com.example.account.type.ErrorCode;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -16,6 +17,18 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+        // 일별 집계 backfill, 잔액 대사의 기간 조회
+        @Index(name = "idx_transaction_transacted_at", columnList = "transactedAt"),
+        // 계좌 거래 내역 : 계좌 -> 시간 순
+        @Index(name = "idx_transaction_account_transacted_at", columnList = "account_id, transactedAt")
+},
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_transaction_transaction_id", columnNames = "transactionId"),
+                // 한 거래는 한번만 취소 가능 (동시 취소는 두번째 insert 가 실패)
+                @UniqueConstraint(name = "uk_transaction_original_transaction_id",
+                        columnNames = "originalTransactionId")
+        })
 public class Transaction extends BaseEntity{
 
     @Enumerated(EnumType.STRING)
@@ -33,4 +46,11 @@ public class Transaction extends BaseEntity{
     private String transactionId;
     private LocalDateTime transactedAt;
 
+    // 사용취소 거래 -> 취소한 원거래의 transactionId
+    private String originalTransactionId;
+
+    // 원거래가 취소 되었는지
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean cancelled;
 }
@@ -0,0 +1,30 @@
+package com.example.account.domain;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+/**
+ * archive 된 거래의 전역 인덱스 (transactionId -> 거래가 들어있는 달 테이블)
+ * - 거래 id 조회가 모든 달 테이블을 뒤지지 않고 한 테이블만 본다 (TransactionArchiveRepository)
+ * - id 는 원래 거래의 id 를 그대로 사용
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_transaction_archive_index_transaction_id", columnNames = "transactionId"),
+        // 달 테이블 DROP 전에 그 달 인덱스 행 삭제
+        indexes = @Index(name = "idx_transaction_archive_index_partition_month", columnList = "partitionMonth"))
+public class TransactionArchiveIndex {
+    @Id
+    private Long id;
+
+    private String transactionId;
+
+    // yyyyMM (transaction_archive_yyyyMM)
+    private Integer partitionMonth;
+}
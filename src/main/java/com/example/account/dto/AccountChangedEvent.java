@@ -0,0 +1,53 @@
+package com.example.account.dto;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.ReactiveAccount;
+import com.example.account.type.AccountStatus;
+import lombok.*;
+
+/**
+ * 잔액/상태 변경 이벤트 (커밋 후 Redis pub/sub 으로 전 노드에 전달 -> SSE 구독자에게 전송)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountChangedEvent {
+    private Long userId;
+    private String accountNumber;
+    private Long balance;
+    private boolean unregistered;
+    // Account.eventSequence (계좌 row 와 같이 증가) : 노드/pub-sub 를 거치며 순서가 바뀌어도 큰 값이 최신
+    private Long version;
+
+    public static AccountChangedEvent from(Account account){
+        return new AccountChangedEvent(
+                account.getAccountUser().getId(),
+                account.getAccountNumber(),
+                account.getBalance(),
+                account.getAccountStatus() == AccountStatus.UNREGISTERED,
+                account.getEventSequence());
+    }
+
+    public static AccountChangedEvent from(ReactiveAccount account){
+        return new AccountChangedEvent(
+                account.getAccountUserId(),
+                account.getAccountNumber(),
+                account.getBalance(),
+                account.getAccountStatus() == AccountStatus.UNREGISTERED,
+                account.getEventSequence());
+    }
+
+    // version 이 없는 이벤트는 순서를 알 수 없으므로 최신으로 본다
+    public boolean isNewerThan(AccountChangedEvent other){
+        return version == null || other.version == null || version > other.version;
+    }
+
+    public boolean isNewerThan(Long sentVersion){
+        return version == null || sentVersion == null || version > sentVersion;
+    }
+
+    public AccountStreamInfo toStreamInfo(){
+        return new AccountStreamInfo(accountNumber, balance, version);
+    }
+}
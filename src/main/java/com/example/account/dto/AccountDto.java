@@ -1,6 +1,7 @@
 package com.example.account.dto;
 
 import com.example.account.domain.Account;
+import com.example.account.domain.ReactiveAccount;
 import com.example.account.type.AccountType;
 import lombok.*;
 
@@ -16,6 +17,9 @@ public class AccountDto {
  private String accountNumber;
  private Long balance;
  private AccountType accountType;
+ private Long dailyLimit;
+ // 계좌 변경 순번 (Account.eventSequence), 스트림 클라이언트가 오래된 변경을 버리는 기준
+ private Long version;
 
  private LocalDateTime registeredAt;
  private LocalDateTime unRegisteredAt;
@@ -25,6 +29,21 @@ public class AccountDto {
            .userId(account.getAccountUser().getId())
            .accountType(account.getAccountType())
            .balance(account.getBalance())
+           .dailyLimit(account.getDailyLimit())
+           .version(account.getEventSequence())
+           .accountNumber(account.getAccountNumber())
+           .registeredAt(account.getCreatedAt())
+           .unRegisteredAt(account.getUnRegisterdAt())
+           .build();
+ }
+
+ public static AccountDto fromEntity(ReactiveAccount account){
+   return AccountDto.builder()
+           .userId(account.getAccountUserId())
+           .accountType(account.getAccountType())
+           .balance(account.getBalance())
+           .dailyLimit(account.getDailyLimit())
+           .version(account.getEventSequence())
            .accountNumber(account.getAccountNumber())
            .registeredAt(account.getCreatedAt())
            .unRegisteredAt(account.getUnRegisterdAt())
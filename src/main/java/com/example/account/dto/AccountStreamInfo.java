@@ -0,0 +1,27 @@
+package com.example.account.dto;
+
+import lombok.*;
+
+/**
+ * 계좌 스트림(SSE) 의 snapshot / account / unregistered 이벤트 데이터
+ * GET /account 의 AccountInfo 에 변경 순번을 더한 것 (AccountInfo 응답은 그대로 둔다)
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountStreamInfo {
+    private String accountNumber;
+    private Long balance;
+    // 계좌 변경 순번 : 받은 값보다 작거나 같은 변경은 오래된 것
+    private Long version;
+
+    public static AccountStreamInfo from(AccountDto accountDto){
+        return AccountStreamInfo.builder()
+                .accountNumber(accountDto.getAccountNumber())
+                .balance(accountDto.getBalance())
+                .version(accountDto.getVersion())
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.account.dto;
 
 import com.example.account.aop.AccountLockInterface;
+import com.example.account.aop.RateLimitInterface;
 import com.example.account.type.TransactionResultType;
 import lombok.*;
 
@@ -11,7 +12,7 @@ public class CancelBalance {
     @Getter
     @Setter
     @AllArgsConstructor
-    public static  class Request implements AccountLockInterface {
+    public static  class Request implements AccountLockInterface, RateLimitInterface {
         @NotBlank
         private String transactionId;
 
@@ -38,13 +39,12 @@ public class CancelBalance {
         private LocalDateTime transactedAt;
 
         public static Response from(TransactionDto transactionDto){
-            return Response.builder()
-                    .accountNumber(transactionDto.getAccountNumber())
-                    .transactionResult(transactionDto.getTransactionResultType())
-                    .transactionId(transactionDto.getTransactionId())
-                    .amount(transactionDto.getAmount())
-                    .transactedAt(transactionDto.getTransactedAt())
-                    .build();
+            return new Response(
+                    transactionDto.getAccountNumber(),
+                    transactionDto.getTransactionResultType(),
+                    transactionDto.getTransactionId(),
+                    transactionDto.getAmount(),
+                    transactionDto.getTransactedAt());
         }
     }
 }
@@ -0,0 +1,18 @@
+package com.example.account.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DailyRollup {
+    private LocalDate rollupDate;
+    private Long debitAmount;
+    private Long debitCount;
+    private Long creditAmount;
+    private Long creditCount;
+}
@@ -0,0 +1,23 @@
+package com.example.account.dto;
+
+import com.example.account.type.TransactionType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 실패 거래 저널에 쌓이는 한건
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FailedTransaction {
+    private TransactionType transactionType;
+    private String accountNumber;
+    private Long amount;
+    // 실패 시점 잔액 (계좌가 없으면 null)
+    private Long balanceSnapShot;
+    private LocalDateTime failedAt;
+}
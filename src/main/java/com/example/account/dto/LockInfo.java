@@ -0,0 +1,28 @@
+package com.example.account.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 계좌 락 현황 (/actuator/locks)
+ * - holders, remainLeaseMillis 는 Redis 기준 (모든 노드)
+ * - holderThread, heldMillis, localWaiters 는 조회한 노드 기준 (이 노드가 잡고 있거나 기다리는 경우만)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LockInfo {
+    private String accountNumber;
+    // redisson 인스턴스 id:threadId -> 재진입 횟수
+    private Map<String, Integer> holders;
+    private long remainLeaseMillis;
+    private boolean heldByThisNode;
+    private String holderThread;
+    private LocalDateTime acquiredAt;
+    private Long heldMillis;
+    private int localWaiters;
+}
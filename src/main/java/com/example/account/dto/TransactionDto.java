@@ -1,6 +1,7 @@
 package com.example.account.dto;
 
-import com.example.account.domain.Account;
+import com.example.account.domain.ReactiveTransaction;
+import com.example.account.domain.ReactiveTransactionArchive;
 import com.example.account.domain.Transaction;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
@@ -22,15 +23,37 @@ public class TransactionDto {
     private String transactionId;
     private LocalDateTime transactedAt;
 
+    // 요청마다 호출되므로 builder 대신 생성자로 바로 만든다
     public static TransactionDto fromEntity(Transaction transaction){
-        return TransactionDto.builder()
-                .accountNumber(transaction.getAccount().getAccountNumber())
-                .transactionType(transaction.getTransactionType())
-                .transactionResultType(transaction.getTransactionResultType())
-                .amount(transaction.getAmount())
-                .balanceSnapShot(transaction.getBalanceSnapShot())
-                .transactionId(transaction.getTransactionId())
-                .transactedAt(transaction.getTransactedAt())
-                .build();
+        return new TransactionDto(
+                transaction.getAccount().getAccountNumber(),
+                transaction.getTransactionType(),
+                transaction.getTransactionResultType(),
+                transaction.getAmount(),
+                transaction.getBalanceSnapShot(),
+                transaction.getTransactionId(),
+                transaction.getTransactedAt());
+    }
+
+    public static TransactionDto fromEntity(ReactiveTransaction transaction, String accountNumber){
+        return new TransactionDto(
+                accountNumber,
+                transaction.getTransactionType(),
+                transaction.getTransactionResultType(),
+                transaction.getAmount(),
+                transaction.getBalanceSnapShot(),
+                transaction.getTransactionId(),
+                transaction.getTransactedAt());
+    }
+
+    public static TransactionDto fromEntity(ReactiveTransactionArchive archive){
+        return new TransactionDto(
+                archive.getAccountNumber(),
+                archive.getTransactionType(),
+                archive.getTransactionResultType(),
+                archive.getAmount(),
+                archive.getBalanceSnapShot(),
+                archive.getTransactionId(),
+                archive.getTransactedAt());
     }
 }
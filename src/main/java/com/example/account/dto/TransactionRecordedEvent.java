@@ -0,0 +1,41 @@
+package com.example.account.dto;
+
+import com.example.account.domain.ReactiveAccount;
+import com.example.account.domain.ReactiveTransaction;
+import com.example.account.domain.Transaction;
+import com.example.account.type.AccountType;
+import com.example.account.type.TransactionType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 성공 거래 저장 이벤트 (커밋 직전 일별 집계 upsert)
+ */
+@Getter
+@AllArgsConstructor
+public class TransactionRecordedEvent {
+    private final String accountNumber;
+    private final AccountType accountType;
+    private final TransactionType transactionType;
+    private final Long amount;
+    private final LocalDateTime transactedAt;
+
+    public static TransactionRecordedEvent from(Transaction transaction){
+        return new TransactionRecordedEvent(
+                transaction.getAccount().getAccountNumber(),
+                transaction.getAccount().getAccountType(),
+                transaction.getTransactionType(),
+                transaction.getAmount(),
+                transaction.getTransactedAt());
+    }
+
+    public static TransactionRecordedEvent from(ReactiveTransaction transaction, ReactiveAccount account){
+        return new TransactionRecordedEvent(
+                account.getAccountNumber(),
+                account.getAccountType(),
+                transaction.getTransactionType(),
+                transaction.getAmount(),
+                transaction.getTransactedAt());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.account.dto;
+
+import com.example.account.aop.AccountLockInterface;
+import lombok.*;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+public class UpdateDailyLimit {
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static  class Request implements AccountLockInterface {
+        @NotNull
+        @Min(1)
+        private Long userId;
+
+        @NotBlank
+        @Size(min=10,max=10)
+        private String accountNumber;
+
+        // null 이면 한도 해제
+        @Min(1)
+        private Long dailyLimit;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static  class Response{
+        private Long userId;
+        private String accountNumber;
+        private Long dailyLimit;
+
+        public static Response from(AccountDto accountDto){
+            return Response.builder()
+                    .userId(accountDto.getUserId())
+                    .accountNumber(accountDto.getAccountNumber())
+                    .dailyLimit(accountDto.getDailyLimit())
+                    .build();
+        }
+    }
+}
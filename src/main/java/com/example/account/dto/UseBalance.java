@@ -1,6 +1,7 @@
 package com.example.account.dto;
 
 import com.example.account.aop.AccountLockInterface;
+import com.example.account.aop.RateLimitInterface;
 import com.example.account.type.TransactionResultType;
 import lombok.*;
 
@@ -14,7 +15,7 @@ public class UseBalance {
     @Getter
     @Setter
     @AllArgsConstructor
-    public static  class Request implements AccountLockInterface {
+    public static  class Request implements AccountLockInterface, RateLimitInterface {
         @NotNull
         @Min(1)
         private Long userId;
@@ -41,13 +42,12 @@ public class UseBalance {
         private Long amount;
         private LocalDateTime transactedAt;
         public static Response from(TransactionDto transactionDto){
-            return Response.builder()
-                    .accountNumber(transactionDto.getAccountNumber())
-                    .transactionResult(transactionDto.getTransactionResultType())
-                    .transactionId(transactionDto.getTransactionId())
-                    .amount(transactionDto.getAmount())
-                    .transactedAt(transactionDto.getTransactedAt())
-                    .build();
+            return new Response(
+                    transactionDto.getAccountNumber(),
+                    transactionDto.getTransactionResultType(),
+                    transactionDto.getTransactionId(),
+                    transactionDto.getAmount(),
+                    transactionDto.getTransactedAt());
         }
     }
 }
@@ -1,19 +1,52 @@
 package com.example.account.exception;
 
 import com.example.account.type.ErrorCode;
-import lombok.*;
+import lombok.Getter;
 
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 비즈니스 실패 (잔액 부족, 락 실패 ...)
+ * - 정상적인 결과의 하나이므로 stack trace 를 만들지 않는다 (writableStackTrace = false)
+ * - of(ErrorCode) 는 코드별로 미리 만들어 둔 인스턴스를 재사용 (불변, suppressed 도 쌓이지 않음)
+ * - 계좌를 읽은 뒤의 실패는 withBalanceSnapShot 으로 실패 시점 잔액을 담아 던진다 (실패 거래 저널용)
+ */
 @Getter
-@Setter
-@AllArgsConstructor
-@NoArgsConstructor
-@Builder
 public class AccountException extends RuntimeException{
-    private ErrorCode errorCode;
-    private String errorMessage;
+    private static final Map<ErrorCode, AccountException> CACHED = new EnumMap<>(ErrorCode.class);
+
+    static {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            CACHED.put(errorCode, new AccountException(errorCode));
+        }
+    }
+
+    private final ErrorCode errorCode;
+    private final String errorMessage;
+    // 실패 시점 계좌 잔액, 계좌를 읽기 전에 실패했으면 null
+    private final Long balanceSnapShot;
 
     public AccountException(ErrorCode errCode){
-        this.errorCode = errCode;
-        this.errorMessage = errCode.getDescription();
+        this(errCode, errCode.getDescription());
+    }
+
+    public AccountException(ErrorCode errorCode, String errorMessage){
+        this(errorCode, errorMessage, null);
+    }
+
+    private AccountException(ErrorCode errorCode, String errorMessage, Long balanceSnapShot){
+        super(errorMessage, null, false, false);
+        this.errorCode = errorCode;
+        this.errorMessage = errorMessage;
+        this.balanceSnapShot = balanceSnapShot;
+    }
+
+    public AccountException withBalanceSnapShot(Long balanceSnapShot){
+        return new AccountException(errorCode, errorMessage, balanceSnapShot);
+    }
+
+    public static AccountException of(ErrorCode errorCode){
+        return CACHED.get(errorCode);
     }
 }
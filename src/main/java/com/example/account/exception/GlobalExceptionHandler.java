@@ -1,21 +1,46 @@
 package com.example.account.exception;
 
+import com.example.account.config.ErrorLogProperties;
 import com.example.account.dto.ErrorResponse;
+import com.example.account.metrics.AccountMetrics;
+import com.example.account.type.ErrorCode;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.logging.LogLevel;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
 import static com.example.account.type.ErrorCode.INTERNAL_SERVER_ERROR;
 import static com.example.account.type.ErrorCode.INVALID_REQUEST;
 
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    private final AccountMetrics accountMetrics;
+    // 코드별 로그 레벨 / 샘플링 비율 (기동시 한번 계산)
+    private final Map<ErrorCode, LogLevel> logLevels = new EnumMap<>(ErrorCode.class);
+    private final Map<ErrorCode, Double> sampleRates = new EnumMap<>(ErrorCode.class);
+
+    public GlobalExceptionHandler(AccountMetrics accountMetrics, ErrorLogProperties errorLogProperties) {
+        this.accountMetrics = accountMetrics;
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            ErrorLogProperties.Rule rule = errorLogProperties.getCodes().get(errorCode);
+            logLevels.put(errorCode, rule == null || rule.getLevel() == null
+                    ? errorLogProperties.getDefaultLevel() : rule.getLevel());
+            sampleRates.put(errorCode, rule == null || rule.getSampleRate() == null
+                    ? errorLogProperties.getDefaultSampleRate() : rule.getSampleRate());
+        }
+    }
+
     @ExceptionHandler(AccountException.class)
     public ErrorResponse handleAccountException(AccountException e){
-        log.error("❌ {} is occurred ",e.getErrorCode());
+        logAccountException(e.getErrorCode());
+        accountMetrics.countFailure(e.getErrorCode());
         return new ErrorResponse(e.getErrorCode(),e.getErrorMessage());
     }
 
@@ -23,6 +48,7 @@ public class GlobalExceptionHandler {
     public ErrorResponse handleMethodArgumentNotValidExceptionException(
             MethodArgumentNotValidException e) {
         log.error("MethodArgumentNotValidException is occurred.", e);
+        accountMetrics.countFailure(INVALID_REQUEST);
 
         return new ErrorResponse(
                 INVALID_REQUEST,
@@ -33,6 +59,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ErrorResponse handleDataIntegrityViolationException(DataIntegrityViolationException e){
         log.error("❌ DataIntegrityViolationException is occurred ",e);
+        accountMetrics.countFailure(INVALID_REQUEST);
         return new ErrorResponse(
                 INVALID_REQUEST,
                 INVALID_REQUEST.getDescription()
@@ -42,9 +69,41 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ErrorResponse handleException(Exception e) {
         log.error("❌ Exception is occurred : ", e);
+        accountMetrics.countFailure(INTERNAL_SERVER_ERROR);
         return new ErrorResponse(
                 INTERNAL_SERVER_ERROR,
                 INTERNAL_SERVER_ERROR.getDescription()
         );
     }
+
+    private void logAccountException(ErrorCode errorCode){
+        if (errorCode == null) {
+            log.error("❌ AccountException without error code is occurred ");
+            return;
+        }
+        double sampleRate = sampleRates.get(errorCode);
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        switch (logLevels.get(errorCode)) {
+            case FATAL:
+            case ERROR:
+                log.error("❌ {} is occurred ", errorCode);
+                break;
+            case WARN:
+                log.warn("❌ {} is occurred ", errorCode);
+                break;
+            case INFO:
+                log.info("❌ {} is occurred ", errorCode);
+                break;
+            case DEBUG:
+                log.debug("❌ {} is occurred ", errorCode);
+                break;
+            case TRACE:
+                log.trace("❌ {} is occurred ", errorCode);
+                break;
+            default:
+                break;
+        }
+    }
 }
@@ -0,0 +1,65 @@
+package com.example.account.grpc;
+
+import com.example.account.dto.CreateAccount;
+import com.example.account.dto.DeleteAccount;
+import com.example.account.grpc.proto.AccountApiGrpc;
+import com.example.account.grpc.proto.AccountReply;
+import com.example.account.grpc.proto.CreateAccountRequest;
+import com.example.account.grpc.proto.DeleteAccountRequest;
+import com.example.account.grpc.proto.GetAccountsReply;
+import com.example.account.grpc.proto.GetAccountsRequest;
+import com.example.account.service.AccountService;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 계좌 gRPC API (AccountController 와 같은 서비스 호출)
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountGrpcService extends AccountApiGrpc.AccountApiImplBase {
+    private final AccountService accountService;
+    private final GrpcCallHandler callHandler;
+
+    @Override
+    public void createAccount(CreateAccountRequest request,
+                              StreamObserver<AccountReply> responseObserver) {
+        callHandler.unary(responseObserver, () -> {
+            CreateAccount.Request dto = new CreateAccount.Request(
+                    request.getUserId(),
+                    request.getInitialBalance(),
+                    GrpcMapper.toAccountType(request.getAccountType()));
+            callHandler.validate(dto);
+            return GrpcMapper.toAccountReply(accountService.createAccount(
+                    dto.getUserId(),
+                    dto.getInitialBalance(),
+                    dto.getAccountType()));
+        });
+    }
+
+    @Override
+    public void deleteAccount(DeleteAccountRequest request,
+                              StreamObserver<AccountReply> responseObserver) {
+        callHandler.unary(responseObserver, () -> {
+            DeleteAccount.Request dto = new DeleteAccount.Request(
+                    request.getUserId(),
+                    request.getAccountNumber());
+            callHandler.validate(dto);
+            return GrpcMapper.toAccountReply(accountService.deleteAccount(
+                    dto.getUserId(),
+                    dto.getAccountNumber()));
+        });
+    }
+
+    @Override
+    public void getAccounts(GetAccountsRequest request,
+                            StreamObserver<GetAccountsReply> responseObserver) {
+        callHandler.unary(responseObserver, () -> {
+            GetAccountsReply.Builder reply = GetAccountsReply.newBuilder();
+            accountService.getAccountByUserId(request.getUserId())
+                    .forEach(accountDto -> reply.addAccounts(GrpcMapper.toAccountReply(accountDto)));
+            return reply.build();
+        });
+    }
+}
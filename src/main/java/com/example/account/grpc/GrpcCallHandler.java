@@ -0,0 +1,100 @@
+package com.example.account.grpc;
+
+import com.example.account.exception.AccountException;
+import com.example.account.metrics.AccountMetrics;
+import com.example.account.type.ErrorCode;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * gRPC 호출 공통 처리 (REST 의 @Valid + GlobalExceptionHandler 역할)
+ * - 요청은 REST 와 같은 DTO 로 만들어 같은 제약조건으로 검증
+ * - AccountException 은 에러코드에 맞는 Status 로, 코드는 trailer(error-code) 로 전달
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GrpcCallHandler {
+    static final Metadata.Key<String> ERROR_CODE_KEY =
+            Metadata.Key.of("error-code", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final Validator validator;
+    private final AccountMetrics accountMetrics;
+
+    public <T> void unary(StreamObserver<T> responseObserver, Supplier<T> call) {
+        T response;
+        try {
+            response = call.get();
+        } catch (AccountException e) {
+            responseObserver.onError(toStatusException(e));
+            return;
+        } catch (RuntimeException e) {
+            log.error("gRPC call failed", e);
+            accountMetrics.countFailure(ErrorCode.INTERNAL_SERVER_ERROR);
+            responseObserver.onError(Status.INTERNAL
+                    .withDescription(ErrorCode.INTERNAL_SERVER_ERROR.getDescription())
+                    .asRuntimeException(trailer(ErrorCode.INTERNAL_SERVER_ERROR)));
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    public void validate(Object request) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            log.debug("Invalid gRPC request : {}", violations);
+            throw AccountException.of(ErrorCode.INVALID_REQUEST);
+        }
+    }
+
+    public void countFailure(AccountException e) {
+        accountMetrics.countFailure(e.getErrorCode());
+    }
+
+    StatusRuntimeException toStatusException(AccountException e) {
+        countFailure(e);
+        return toStatus(e.getErrorCode())
+                .withDescription(e.getErrorMessage())
+                .asRuntimeException(trailer(e.getErrorCode()));
+    }
+
+    static Status toStatus(ErrorCode errorCode) {
+        switch (errorCode) {
+            case INVALID_REQUEST:
+                return Status.INVALID_ARGUMENT;
+            case USER_NOT_FOUND:
+            case ACCOUNT_NOT_FOUND:
+            case TRANSACTION_NOT_FOUND:
+                return Status.NOT_FOUND;
+            // 경합 / 과부하는 잠시 후 재시도 가능
+            case ACCOUNT_TRANSACTION_LOCK:
+            case ACCOUNT_REQUEST_OVERLOADED:
+                return Status.ABORTED;
+            case SERVER_OVERLOADED:
+                return Status.UNAVAILABLE;
+            case TOO_MANY_REQUESTS:
+                return Status.RESOURCE_EXHAUSTED;
+            case INTERNAL_SERVER_ERROR:
+                return Status.INTERNAL;
+            default:
+                return Status.FAILED_PRECONDITION;
+        }
+    }
+
+    private static Metadata trailer(ErrorCode errorCode) {
+        Metadata trailer = new Metadata();
+        trailer.put(ERROR_CODE_KEY, errorCode.name());
+        return trailer;
+    }
+}
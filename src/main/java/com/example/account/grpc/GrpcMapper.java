@@ -0,0 +1,117 @@
+package com.example.account.grpc;
+
+import com.example.account.dto.AccountDto;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.grpc.proto.AccountReply;
+import com.example.account.grpc.proto.CancelBalanceReply;
+import com.example.account.grpc.proto.QueryTransactionReply;
+import com.example.account.grpc.proto.UseBalanceReply;
+import com.example.account.type.AccountType;
+import com.example.account.type.ErrorCode;
+import com.google.protobuf.Timestamp;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 서비스 DTO <-> proto 메시지 변환
+ * - enum 은 이름이 같으므로 name() 으로 변환, UNSPECIFIED 는 null (요청 검증에서 걸러짐)
+ * - proto 필드는 null 을 받지 않으므로 null 인 값은 set 하지 않는다
+ */
+final class GrpcMapper {
+    private GrpcMapper() {
+    }
+
+    static AccountType toAccountType(com.example.account.grpc.proto.AccountType accountType) {
+        switch (accountType) {
+            case CHECKING:
+            case SAVING:
+            case MONEY_MARKET:
+            case CERTIFICATE_OF_DEPOSIT:
+                return AccountType.valueOf(accountType.name());
+            default:
+                return null;
+        }
+    }
+
+    static AccountReply toAccountReply(AccountDto accountDto) {
+        AccountReply.Builder builder = AccountReply.newBuilder()
+                .setUserId(accountDto.getUserId())
+                .setAccountNumber(accountDto.getAccountNumber());
+        if (accountDto.getBalance() != null) {
+            builder.setBalance(accountDto.getBalance());
+        }
+        if (accountDto.getAccountType() != null) {
+            builder.setAccountType(com.example.account.grpc.proto.AccountType
+                    .valueOf(accountDto.getAccountType().name()));
+        }
+        if (accountDto.getRegisteredAt() != null) {
+            builder.setRegisteredAt(toTimestamp(accountDto.getRegisteredAt()));
+        }
+        if (accountDto.getUnRegisteredAt() != null) {
+            builder.setUnregisteredAt(toTimestamp(accountDto.getUnRegisteredAt()));
+        }
+        return builder.build();
+    }
+
+    static UseBalanceReply toUseBalanceReply(TransactionDto transactionDto) {
+        return UseBalanceReply.newBuilder()
+                .setAccountNumber(transactionDto.getAccountNumber())
+                .setTransactionResult(toResultType(transactionDto))
+                .setTransactionId(transactionDto.getTransactionId())
+                .setAmount(transactionDto.getAmount())
+                .setTransactedAt(toTimestamp(transactionDto.getTransactedAt()))
+                .build();
+    }
+
+    static UseBalanceReply toUseBalanceReply(String accountNumber, AccountException e) {
+        ErrorCode errorCode = e.getErrorCode();
+        return UseBalanceReply.newBuilder()
+                .setAccountNumber(accountNumber)
+                .setTransactionResult(com.example.account.grpc.proto.TransactionResultType.F)
+                .setErrorCode(errorCode.name())
+                .setErrorMessage(e.getErrorMessage())
+                .build();
+    }
+
+    static CancelBalanceReply toCancelBalanceReply(TransactionDto transactionDto) {
+        return CancelBalanceReply.newBuilder()
+                .setAccountNumber(transactionDto.getAccountNumber())
+                .setTransactionResult(toResultType(transactionDto))
+                .setTransactionId(transactionDto.getTransactionId())
+                .setAmount(transactionDto.getAmount())
+                .setTransactedAt(toTimestamp(transactionDto.getTransactedAt()))
+                .build();
+    }
+
+    static QueryTransactionReply toQueryTransactionReply(TransactionDto transactionDto) {
+        return QueryTransactionReply.newBuilder()
+                .setAccountNumber(transactionDto.getAccountNumber())
+                .setTransactionType(com.example.account.grpc.proto.TransactionType
+                        .valueOf(transactionDto.getTransactionType().name()))
+                .setTransactionResult(toResultType(transactionDto))
+                .setTransactionId(transactionDto.getTransactionId())
+                .setAmount(transactionDto.getAmount())
+                .setTransactedAt(toTimestamp(transactionDto.getTransactedAt()))
+                .build();
+    }
+
+    private static com.example.account.grpc.proto.TransactionResultType toResultType(
+            TransactionDto transactionDto) {
+        return com.example.account.grpc.proto.TransactionResultType
+                .valueOf(transactionDto.getTransactionResultType().name());
+    }
+
+    static Timestamp toTimestamp(LocalDateTime localDateTime) {
+        if (localDateTime == null) {
+            return Timestamp.getDefaultInstance();
+        }
+        Instant instant = localDateTime.atZone(ZoneId.systemDefault()).toInstant();
+        return Timestamp.newBuilder()
+                .setSeconds(instant.getEpochSecond())
+                .setNanos(instant.getNano())
+                .build();
+    }
+}
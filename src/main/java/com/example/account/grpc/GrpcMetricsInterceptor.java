@@ -0,0 +1,35 @@
+package com.example.account.grpc;
+
+import com.example.account.metrics.AccountMetrics;
+import io.grpc.ForwardingServerCall;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * gRPC 호출 시간을 account.grpc (method, status 태그) 로 기록
+ * - 스트리밍 호출은 스트림 전체 시간
+ */
+@Component
+@RequiredArgsConstructor
+public class GrpcMetricsInterceptor implements ServerInterceptor {
+    private final AccountMetrics accountMetrics;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        long start = System.nanoTime();
+        String method = call.getMethodDescriptor().getBareMethodName();
+        return next.startCall(new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                accountMetrics.recordGrpcCall(method, status.getCode().name(), System.nanoTime() - start);
+                super.close(status, trailers);
+            }
+        }, headers);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.account.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gRPC 서버 (HTTP/2, REST 와 별도 포트, 기본 꺼짐)
+ * - 인증이 없으므로 기본은 loopback(127.0.0.1) 에만 바인딩
+ * - 다른 주소로 열려면 tls.cert-chain / tls.private-key 를 지정해야 한다 (평문으로는 시작하지 않음)
+ * - 컨텍스트가 다 뜬 뒤 시작하고 종료시 진행중인 호출을 shutdown-timeout 동안 기다린다
+ * - max-concurrent-calls-per-connection : 연결 하나에서 동시에 열 수 있는 스트림 수 (HTTP/2 flow control)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.grpc.enabled", havingValue = "true")
+public class GrpcServerLifecycle implements SmartLifecycle {
+    private final List<BindableService> services;
+    private final GrpcMetricsInterceptor metricsInterceptor;
+    private final String address;
+    private final int port;
+    private final String certChain;
+    private final String privateKey;
+    private final int maxConcurrentCallsPerConnection;
+    private final long shutdownTimeoutSeconds;
+
+    private volatile Server server;
+
+    public GrpcServerLifecycle(
+            List<BindableService> services,
+            GrpcMetricsInterceptor metricsInterceptor,
+            @Value("${account.grpc.address:127.0.0.1}") String address,
+            @Value("${account.grpc.port:9090}") int port,
+            @Value("${account.grpc.tls.cert-chain:}") String certChain,
+            @Value("${account.grpc.tls.private-key:}") String privateKey,
+            @Value("${account.grpc.max-concurrent-calls-per-connection:100}") int maxConcurrentCallsPerConnection,
+            @Value("${account.grpc.shutdown-timeout-seconds:10}") long shutdownTimeoutSeconds
+    ) {
+        this.services = services;
+        this.metricsInterceptor = metricsInterceptor;
+        this.address = address;
+        this.port = port;
+        this.certChain = certChain;
+        this.privateKey = privateKey;
+        this.maxConcurrentCallsPerConnection = maxConcurrentCallsPerConnection;
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+    }
+
+    @Override
+    public void start() {
+        InetSocketAddress bindAddress = new InetSocketAddress(address, port);
+        boolean tls = StringUtils.hasText(certChain) && StringUtils.hasText(privateKey);
+        if (!tls && !bindAddress.getAddress().isLoopbackAddress()) {
+            throw new IllegalStateException("gRPC server on " + address
+                    + " requires account.grpc.tls.cert-chain and account.grpc.tls.private-key");
+        }
+        NettyServerBuilder builder = NettyServerBuilder.forAddress(bindAddress)
+                .maxConcurrentCallsPerConnection(maxConcurrentCallsPerConnection);
+        if (tls) {
+            builder.useTransportSecurity(new File(certChain), new File(privateKey));
+        }
+        services.forEach(service ->
+                builder.addService(ServerInterceptors.intercept(service, metricsInterceptor)));
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start gRPC server on " + bindAddress, e);
+        }
+        log.info("gRPC server started on {}:{} (tls={}, {} services)",
+                address, server.getPort(), tls, services.size());
+    }
+
+    @Override
+    public void stop() {
+        Server current = server;
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            current.shutdownNow();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    public int getPort() {
+        return server == null ? -1 : server.getPort();
+    }
+}
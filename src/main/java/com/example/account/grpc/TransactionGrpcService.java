@@ -0,0 +1,156 @@
+package com.example.account.grpc;
+
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.grpc.proto.CancelBalanceReply;
+import com.example.account.grpc.proto.CancelBalanceRequest;
+import com.example.account.grpc.proto.QueryTransactionReply;
+import com.example.account.grpc.proto.QueryTransactionRequest;
+import com.example.account.grpc.proto.TransactionApiGrpc;
+import com.example.account.grpc.proto.UseBalanceReply;
+import com.example.account.grpc.proto.UseBalanceRequest;
+import com.example.account.service.AccountLockExecutor;
+import com.example.account.service.FailedTransactionJournal;
+import com.example.account.service.RateLimitService;
+import com.example.account.service.TransactionService;
+import com.example.account.type.ErrorCode;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+
+/**
+ * 거래 gRPC API (TransactionController 와 같은 서비스 호출)
+ * - 잔액 사용/취소는 REST 와 같은 rate limit(use, cancel) 을 먼저 확인 (스트림은 요청 건마다)
+ * - 잔액 사용은 REST 와 같은 AccountLockExecutor 로 admission control + 계좌 락 안에서 처리 (취소는 락 없이)
+ * - 실패 거래는 FailedTransactionJournal 에 기록
+ * - StreamUseBalance : 요청을 하나씩 처리하고 클라이언트가 응답을 받을 수 있을 때만 다음 요청을 읽는다
+ *   (수동 flow control, 느린 클라이언트가 보낸 요청이 서버 메모리에 쌓이지 않음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionGrpcService extends TransactionApiGrpc.TransactionApiImplBase {
+    private final TransactionService transactionService;
+    private final FailedTransactionJournal failedTransactionJournal;
+    private final AccountLockExecutor accountLockExecutor;
+    private final RateLimitService rateLimitService;
+    private final GrpcCallHandler callHandler;
+
+    @Override
+    public void useBalance(UseBalanceRequest request,
+                           StreamObserver<UseBalanceReply> responseObserver) {
+        callHandler.unary(responseObserver,
+                () -> GrpcMapper.toUseBalanceReply(useBalance(request)));
+    }
+
+    @Override
+    public void cancelBalance(CancelBalanceRequest request,
+                              StreamObserver<CancelBalanceReply> responseObserver) {
+        callHandler.unary(responseObserver, () -> {
+            CancelBalance.Request dto = new CancelBalance.Request(
+                    request.getTransactionId(),
+                    request.getAccountNumber(),
+                    request.getAmount());
+            callHandler.validate(dto);
+            rateLimitService.check("cancel", dto);
+            // REST 와 같이 계좌 락 없이 처리 (중복 취소는 원거래 unique 제약, 잔액은 계좌 행 잠금)
+            try {
+                return GrpcMapper.toCancelBalanceReply(transactionService.cancleBalance(
+                        dto.getTransactionId(),
+                        dto.getAccountNumber(),
+                        dto.getAmount()));
+            } catch (AccountException e) {
+                failedTransactionJournal.append(CANCEL, dto.getAccountNumber(), dto.getAmount(),
+                        e.getBalanceSnapShot());
+                throw e;
+            }
+        });
+    }
+
+    @Override
+    public void queryTransaction(QueryTransactionRequest request,
+                                 StreamObserver<QueryTransactionReply> responseObserver) {
+        callHandler.unary(responseObserver, () -> GrpcMapper.toQueryTransactionReply(
+                transactionService.queryTransaction(request.getTransactionId())));
+    }
+
+    @Override
+    public StreamObserver<UseBalanceRequest> streamUseBalance(
+            StreamObserver<UseBalanceReply> responseObserver) {
+        ServerCallStreamObserver<UseBalanceReply> serverObserver =
+                (ServerCallStreamObserver<UseBalanceReply>) responseObserver;
+        serverObserver.disableAutoRequest();
+        // 응답을 보낼 수 없어서 다음 요청 읽기를 멈춘 상태인지
+        AtomicBoolean paused = new AtomicBoolean(true);
+        serverObserver.setOnReadyHandler(() -> {
+            if (serverObserver.isReady() && paused.compareAndSet(true, false)) {
+                serverObserver.request(1);
+            }
+        });
+
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(UseBalanceRequest request) {
+                serverObserver.onNext(streamReply(request));
+                if (serverObserver.isReady()) {
+                    serverObserver.request(1);
+                } else {
+                    paused.set(true);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.debug("StreamUseBalance cancelled by client", t);
+            }
+
+            @Override
+            public void onCompleted() {
+                serverObserver.onCompleted();
+            }
+        };
+    }
+
+    private UseBalanceReply streamReply(UseBalanceRequest request) {
+        try {
+            return GrpcMapper.toUseBalanceReply(useBalance(request));
+        } catch (AccountException e) {
+            callHandler.countFailure(e);
+            return GrpcMapper.toUseBalanceReply(request.getAccountNumber(), e);
+        } catch (RuntimeException e) {
+            log.error("StreamUseBalance request failed", e);
+            return GrpcMapper.toUseBalanceReply(request.getAccountNumber(),
+                    AccountException.of(ErrorCode.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    private TransactionDto useBalance(UseBalanceRequest request) {
+        UseBalance.Request dto = new UseBalance.Request(
+                request.getUserId(),
+                request.getAccountNumber(),
+                request.getAmount());
+        callHandler.validate(dto);
+        rateLimitService.check("use", dto);
+        return accountLockExecutor.execute(dto.getAccountNumber(), () -> {
+            try {
+                return transactionService.useBalance(
+                        dto.getUserId(),
+                        dto.getAccountNumber(),
+                        dto.getAmount());
+            } catch (AccountException e) {
+                failedTransactionJournal.append(USE, dto.getAccountNumber(), dto.getAmount(),
+                        e.getBalanceSnapShot());
+                throw e;
+            }
+        });
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.account.metrics;
+
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 직접 기록하는 메트릭 모음 (API, 서비스 메소드는 @Timed 로 기록)
+ * - 태그 조합이 고정이므로 미리 만들어 두고 재사용 (요청마다 registry 조회 X)
+ * - 퍼센타일은 management.metrics.distribution.percentiles.account 로 설정
+ */
+@Component
+public class AccountMetrics {
+    private final MeterRegistry meterRegistry;
+    private final Timer lockWaitAcquired;
+    private final Timer lockWaitFailed;
+    private final Timer lockHold;
+    private final Counter lockFailures;
+    private final Counter lockErrors;
+    private final Counter accountNumberRetries;
+    private final Counter outboxPublished;
+    private final Timer outboxLag;
+    private final Counter archivedTransactions;
+    private final Counter failureJournalDropped;
+    private final Map<ErrorCode, Counter> failures = new EnumMap<>(ErrorCode.class);
+    // uri 패턴은 컨트롤러 매핑 수 만큼만 생긴다
+    private final Map<String, DistributionSummary> requestAllocations = new ConcurrentHashMap<>();
+    // gRPC 메소드 수 x Status 코드 수 만큼만 생긴다
+    private final Map<String, Timer> grpcCalls = new ConcurrentHashMap<>();
+
+    public AccountMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.lockWaitAcquired = Timer.builder("account.lock.wait")
+                .description("계좌 락 획득 대기 시간")
+                .tag("outcome", "acquired")
+                .register(meterRegistry);
+        this.lockWaitFailed = Timer.builder("account.lock.wait")
+                .description("계좌 락 획득 대기 시간")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.lockHold = Timer.builder("account.lock.hold")
+                .description("계좌 락 보유 시간")
+                .register(meterRegistry);
+        this.lockFailures = Counter.builder("account.lock.failures")
+                .description("계좌 락 획득 실패(타임아웃)")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+        this.lockErrors = Counter.builder("account.lock.failures")
+                .description("계좌 락 획득 실패(Redis 오류)")
+                .tag("reason", "error")
+                .register(meterRegistry);
+        this.accountNumberRetries = Counter.builder("account.number.generation.retries")
+                .description("계좌번호 중복으로 인한 재생성 횟수")
+                .register(meterRegistry);
+        this.outboxPublished = Counter.builder("account.outbox.published")
+                .description("Redis Stream 으로 발행한 outbox 이벤트 수")
+                .register(meterRegistry);
+        this.outboxLag = Timer.builder("account.outbox.lag")
+                .description("outbox 기록부터 발행까지 걸린 시간 (배치의 가장 오래된 이벤트 기준)")
+                .register(meterRegistry);
+        this.archivedTransactions = Counter.builder("account.transaction.archived")
+                .description("월별 archive 테이블로 옮긴 거래 수")
+                .register(meterRegistry);
+        this.failureJournalDropped = Counter.builder("account.failure-journal.dropped")
+                .description("실패 거래 저널 큐가 가득 차서 기록하지 못한 실패 거래 수")
+                .register(meterRegistry);
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            failures.put(errorCode, Counter.builder("account.failures")
+                    .description("에러코드 별 실패 응답 수")
+                    .tag("code", errorCode.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    public void recordLockWait(long nanos, boolean acquired) {
+        if (acquired) {
+            lockWaitAcquired.record(nanos, TimeUnit.NANOSECONDS);
+        } else {
+            lockWaitFailed.record(nanos, TimeUnit.NANOSECONDS);
+            lockFailures.increment();
+        }
+    }
+
+    public void countLockError() {
+        lockErrors.increment();
+    }
+
+    public void recordLockHold(long nanos) {
+        lockHold.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void countAccountNumberRetry() {
+        accountNumberRetries.increment();
+    }
+
+    public void recordOutboxPublished(int count, long lagNanos) {
+        outboxPublished.increment(count);
+        outboxLag.record(lagNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void countArchivedTransactions(int count) {
+        archivedTransactions.increment(count);
+    }
+
+    public void countFailureJournalDropped() {
+        failureJournalDropped.increment();
+    }
+
+    public void recordRequestAllocation(String uriPattern, long bytes) {
+        requestAllocations.computeIfAbsent(uriPattern, uri -> DistributionSummary.builder("account.api.allocation")
+                        .description("요청 처리 스레드의 힙 할당량")
+                        .baseUnit("bytes")
+                        .tag("uri", uri)
+                        .register(meterRegistry))
+                .record(bytes);
+    }
+
+    public void recordGrpcCall(String method, String status, long nanos) {
+        grpcCalls.computeIfAbsent(method + ':' + status, key -> Timer.builder("account.grpc")
+                        .description("gRPC 호출 처리 시간")
+                        .tag("method", method)
+                        .tag("status", status)
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void countFailure(ErrorCode errorCode) {
+        if (errorCode != null) {
+            failures.get(errorCode).increment();
+        }
+    }
+}
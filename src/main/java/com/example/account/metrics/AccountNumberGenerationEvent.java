@@ -0,0 +1,22 @@
+package com.example.account.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 계좌번호 생성 (중복 재시도 포함)
+ */
+@Name("com.example.account.AccountNumberGeneration")
+@Label("Account Number Generation")
+@Category({"Account"})
+@Description("중복되지 않는 계좌번호 생성")
+public class AccountNumberGenerationEvent extends Event {
+    @Label("Account Type")
+    public String accountType;
+
+    @Label("Retries")
+    public int retries;
+}
@@ -0,0 +1,34 @@
+package com.example.account.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * GET  /actuator/jfr                       : 녹화 상태
+ * POST /actuator/jfr {"durationSeconds":30} : 수동 녹화 시작
+ */
+@Component
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrEndpoint {
+    private final JfrRecordingService jfrRecordingService;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return jfrRecordingService.status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> start(@Nullable Long durationSeconds) {
+        jfrRecordingService.startRecording(
+                Duration.ofSeconds(durationSeconds == null ? 60 : durationSeconds), "manual");
+        return jfrRecordingService.status();
+    }
+}
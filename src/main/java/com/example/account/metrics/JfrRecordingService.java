@@ -0,0 +1,166 @@
+package com.example.account.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 필요할 때만 JFR 녹화
+ * - 항상 켜두지 않고, http.server.requests p99 가 임계값을 넘으면 정해진 시간만큼 녹화 후 파일로 덤프 (기본 꺼짐)
+ * - 원래 느린 uri(/transaction/use 의 3초 대기 등)는 excluded-uris 로 빼서 자동 녹화가 계속 걸리지 않게 한다
+ * - 녹화중에는 새로 시작하지 않고, 끝난 뒤 cooldown 동안은 자동 시작하지 않는다
+ * - 도메인 이벤트(LockAcquire, Transaction, AccountNumberGeneration)는 "profile" 설정에 더해 항상 켠다
+ */
+@Slf4j
+@Service
+public class JfrRecordingService {
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final MeterRegistry meterRegistry;
+    private final boolean autoEnabled;
+    private final double p99ThresholdMillis;
+    private final Set<String> excludedUris;
+    private final Duration recordingDuration;
+    private final Duration cooldown;
+    private final long maxSizeBytes;
+    private final Path dumpDir;
+
+    private Recording recording;
+    private String lastReason;
+    private Path lastDump;
+    private long cooldownUntil;
+
+    public JfrRecordingService(
+            MeterRegistry meterRegistry,
+            @Value("${account.jfr.auto-enabled:false}") boolean autoEnabled,
+            @Value("${account.jfr.p99-threshold-ms:2000}") double p99ThresholdMillis,
+            @Value("${account.jfr.excluded-uris:/transaction/use}") String[] excludedUris,
+            @Value("${account.jfr.duration-seconds:60}") long durationSeconds,
+            @Value("${account.jfr.cooldown-seconds:600}") long cooldownSeconds,
+            @Value("${account.jfr.max-size-mb:100}") long maxSizeMb,
+            @Value("${account.jfr.dump-dir:./jfr}") String dumpDir
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.autoEnabled = autoEnabled;
+        this.p99ThresholdMillis = p99ThresholdMillis;
+        this.excludedUris = new HashSet<>(Arrays.asList(excludedUris));
+        this.recordingDuration = Duration.ofSeconds(durationSeconds);
+        this.cooldown = Duration.ofSeconds(cooldownSeconds);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.dumpDir = Paths.get(dumpDir);
+    }
+
+    @Scheduled(fixedDelayString = "${account.jfr.check-interval-ms:10000}")
+    public void checkLatency() {
+        if (!autoEnabled || System.currentTimeMillis() < cooldownUntil) {
+            return;
+        }
+        double p99 = maxHttpP99Millis();
+        if (p99 > p99ThresholdMillis) {
+            startRecording(recordingDuration,
+                    String.format("http p99 %.0fms > %.0fms", p99, p99ThresholdMillis));
+        }
+    }
+
+    /**
+     * @return 새로 시작했으면 true, 이미 녹화중이면 false
+     */
+    public synchronized boolean startRecording(Duration duration, String reason) {
+        if (isRecording()) {
+            return false;
+        }
+        try {
+            Files.createDirectories(dumpDir);
+            Path destination = dumpDir.resolve(
+                    "account-" + LocalDateTime.now().format(FILE_TIME) + ".jfr");
+
+            Recording newRecording = new Recording(Configuration.getConfiguration("profile"));
+            newRecording.setName("account-" + reason);
+            newRecording.enable(LockAcquireEvent.class);
+            newRecording.enable(TransactionEvent.class);
+            newRecording.enable(AccountNumberGenerationEvent.class);
+            newRecording.setMaxSize(maxSizeBytes);
+            newRecording.setMaxAge(duration);
+            newRecording.setDuration(duration);
+            newRecording.setToDisk(true);
+            newRecording.setDestination(destination);
+            newRecording.start();
+
+            recording = newRecording;
+            lastReason = reason;
+            lastDump = destination;
+            cooldownUntil = System.currentTimeMillis() + duration.toMillis() + cooldown.toMillis();
+            log.warn("JFR recording started for {}s ({}) -> {}", duration.getSeconds(), reason, destination);
+            return true;
+        } catch (IOException | ParseException e) {
+            log.error("Failed to start JFR recording", e);
+            return false;
+        }
+    }
+
+    public synchronized boolean isRecording() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("recording", isRecording());
+        status.put("autoEnabled", autoEnabled);
+        status.put("p99ThresholdMs", p99ThresholdMillis);
+        status.put("excludedUris", excludedUris);
+        status.put("currentP99Ms", maxHttpP99Millis());
+        status.put("lastReason", lastReason);
+        status.put("lastDump", lastDump == null ? null : lastDump.toString());
+        return status;
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (isRecording()) {
+            // 종료전 stop 하면 destination 으로 덤프된다
+            recording.stop();
+        }
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    // uri/status 별 timer 중 가장 큰 p99 (percentiles 설정이 없으면 0, excluded-uris 제외)
+    double maxHttpP99Millis() {
+        double max = 0;
+        for (Timer timer : meterRegistry.find("http.server.requests").timers()) {
+            if (excludedUris.contains(timer.getId().getTag("uri"))) {
+                continue;
+            }
+            for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+                if (value.percentile() == 0.99) {
+                    max = Math.max(max, value.value(TimeUnit.MILLISECONDS));
+                }
+            }
+        }
+        return max;
+    }
+}
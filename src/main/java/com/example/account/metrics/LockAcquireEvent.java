@@ -0,0 +1,23 @@
+package com.example.account.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 계좌 락 획득 시도 (이벤트 duration = 락 대기 시간)
+ */
+@Name("com.example.account.LockAcquire")
+@Label("Account Lock Acquire")
+@Category({"Account", "Lock"})
+@Description("Redis 계좌 락 획득 시도")
+public class LockAcquireEvent extends Event {
+    @Label("Account Number")
+    public String accountNumber;
+
+    @Label("Outcome")
+    @Description("acquired / timeout / error")
+    public String outcome;
+}
@@ -0,0 +1,59 @@
+package com.example.account.metrics;
+
+import com.example.account.dto.LockInfo;
+import com.example.account.service.LockService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 관리 포트(management.server.port, 127.0.0.1)에서만 제공
+ * GET    /actuator/locks                          : 잡혀있는 계좌 락 목록 + 최근 강제 해제 기록
+ * GET    /actuator/locks/{accountNumber}          : 계좌 락 상세
+ * DELETE /actuator/locks/{accountNumber}?reason=  : 강제 해제 (감사 기록)
+ */
+@Component
+@Endpoint(id = "locks")
+@RequiredArgsConstructor
+public class LockEndpoint {
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int AUDIT_LIMIT = 20;
+
+    private final LockService lockService;
+
+    @ReadOperation
+    public Map<String, Object> locks(@Nullable Integer limit) {
+        List<LockInfo> locks = lockService.getLocks(limit == null ? DEFAULT_LIMIT : limit);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", locks.size());
+        result.put("contended", locks.stream().filter(lock -> lock.getLocalWaiters() > 0).count());
+        result.put("locks", locks);
+        result.put("recentForceReleases", lockService.getForceUnlockAudit(AUDIT_LIMIT));
+        return result;
+    }
+
+    @ReadOperation
+    public LockInfo lock(@Selector String accountNumber) {
+        return lockService.getLock(accountNumber);
+    }
+
+    @DeleteOperation
+    public Map<String, Object> release(@Selector String accountNumber,
+                                       @Nullable String reason,
+                                       @Nullable Principal principal) {
+        String operator = principal == null ? "anonymous" : principal.getName();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("accountNumber", accountNumber);
+        result.put("released", lockService.forceUnlock(accountNumber, operator, reason));
+        return result;
+    }
+}
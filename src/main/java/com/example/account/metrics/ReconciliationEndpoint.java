@@ -0,0 +1,33 @@
+package com.example.account.metrics;
+
+import com.example.account.service.ReconciliationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * GET  /actuator/reconciliation : 최근 대사 실행 진행률, 불일치 건수 / 샘플
+ * POST /actuator/reconciliation : 대사 시작 (진행중인 실행이 있으면 이어서)
+ */
+@Component
+@Endpoint(id = "reconciliation")
+@RequiredArgsConstructor
+public class ReconciliationEndpoint {
+    private final ReconciliationService reconciliationService;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return reconciliationService.status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> start() {
+        Map<String, Object> status = reconciliationService.status();
+        status.put("started", reconciliationService.start());
+        return status;
+    }
+}
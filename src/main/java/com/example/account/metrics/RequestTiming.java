@@ -0,0 +1,102 @@
+package com.example.account.metrics;
+
+/**
+ * 요청 단위 구간별 소요시간 기록
+ * - 스레드별로 인스턴스 하나를 재사용하고 고정 배열에만 누적 (기록시 할당 없음)
+ * - begin 하지 않은 스레드(배치, drainer 등) 에서의 record 는 무시
+ * - servlet 동기 경로 전용 : ServerTimingFilter 가 요청 스레드에서 begin/end 한다
+ *   WebFlux(/reactive), gRPC 는 요청이 여러 스레드를 옮겨 다니므로 begin 하지 않고 기록하지 않는다
+ *   가상 스레드는 요청마다 스레드가 새로 만들어지므로 인스턴스도 요청마다 하나씩 생긴다
+ */
+public final class RequestTiming {
+    private static final TimingPhase[] PHASES = TimingPhase.values();
+    private static final ThreadLocal<RequestTiming> CURRENT = ThreadLocal.withInitial(RequestTiming::new);
+
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] counts = new int[PHASES.length];
+    private long startNanos;
+    private boolean active;
+
+    private RequestTiming() {
+    }
+
+    public static RequestTiming begin() {
+        RequestTiming timing = CURRENT.get();
+        for (int i = 0; i < PHASES.length; i++) {
+            timing.nanos[i] = 0L;
+            timing.counts[i] = 0;
+        }
+        timing.startNanos = System.nanoTime();
+        timing.active = true;
+        return timing;
+    }
+
+    public static void end() {
+        CURRENT.get().active = false;
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get().active;
+    }
+
+    public static void record(TimingPhase phase, long elapsedNanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing.active) {
+            timing.nanos[phase.ordinal()] += elapsedNanos;
+            timing.counts[phase.ordinal()]++;
+        }
+    }
+
+    // 기록 중이 아니면 0 (이 스레드가 이전에 처리한 요청의 값을 읽지 않도록)
+    public static long activeNanos(TimingPhase phase) {
+        RequestTiming timing = CURRENT.get();
+        return timing.active ? timing.nanos[phase.ordinal()] : 0L;
+    }
+
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public long getNanos(TimingPhase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    public int getCount(TimingPhase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * ex) lock;dur=1.20, db;dur=3.41;desc="4 calls", svc;dur=5.02, app;dur=7.10
+     */
+    public String toServerTimingHeader() {
+        StringBuilder header = new StringBuilder(128);
+        for (TimingPhase phase : PHASES) {
+            int count = counts[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            appendMetric(header, phase.getMetricName(), nanos[phase.ordinal()]);
+            if (count > 1) {
+                header.append(";desc=\"").append(count).append(" calls\"");
+            }
+            header.append(", ");
+        }
+        appendMetric(header, "app", getElapsedNanos());
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        long micros = nanos / 1_000L;
+        header.append(name).append(";dur=")
+                .append(micros / 1_000L).append('.');
+        long fraction = (micros % 1_000L) / 10L;
+        if (fraction < 10L) {
+            header.append('0');
+        }
+        header.append(fraction);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.account.metrics;
+
+import com.example.account.service.RollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * POST /actuator/rollups {"from":"2022-01-01","to":"2022-12-31"} : 기간의 일별 집계를 거래 테이블에서 다시 생성 (어제까지)
+ */
+@Component
+@Endpoint(id = "rollups")
+@RequiredArgsConstructor
+public class RollupEndpoint {
+    private final RollupService rollupService;
+
+    @WriteOperation
+    public Map<String, Object> backfill(String from, String to) {
+        long start = System.currentTimeMillis();
+        int days = rollupService.backfill(LocalDate.parse(from), LocalDate.parse(to));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("days", days);
+        result.put("elapsedMillis", System.currentTimeMillis() - start);
+        return result;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.account.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Server-Timing 헤더에 노출되는 구간
+ */
+@Getter
+@AllArgsConstructor
+public enum TimingPhase {
+    LOCK("lock", "account lock wait"),
+    DB("db", "repository calls"),
+    SERVICE("svc", "transaction service"),
+    JSON("json", "response serialization");
+
+    private final String metricName;
+    private final String description;
+}
@@ -0,0 +1,38 @@
+package com.example.account.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * 잔액 사용/취소 처리 (이벤트 duration = 서비스 처리 시간)
+ */
+@Name("com.example.account.Transaction")
+@Label("Account Transaction")
+@Category({"Account", "Transaction"})
+@Description("TransactionService 잔액 사용/취소 처리")
+public class TransactionEvent extends Event {
+    @Label("Transaction Type")
+    public String transactionType;
+
+    @Label("Result")
+    @Description("S / F")
+    public String result;
+
+    @Label("Error Code")
+    public String errorCode;
+
+    @Label("Account Number")
+    public String accountNumber;
+
+    @Label("Amount")
+    public long amount;
+
+    @Label("DB Time")
+    @Description("처리중 repository 호출에 걸린 시간")
+    @Timespan(Timespan.NANOSECONDS)
+    public long dbTime;
+}
@@ -0,0 +1,59 @@
+package com.example.account.repository;
+
+import com.example.account.domain.AccountDailyRollup;
+import com.example.account.dto.DailyRollup;
+import com.example.account.type.AccountType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AccountDailyRollupRepository extends JpaRepository<AccountDailyRollup, AccountDailyRollup.Key> {
+    // 행이 있으면 더하고 없으면 insert (H2 MERGE ... USING)
+    // reactive 경로(ReactiveRollupService)도 같은 문장을 R2DBC 로 실행
+    String UPSERT_SQL = "merge into account_daily_rollup r " +
+            "using (select cast(:accountNumber as varchar(255)) account_number, " +
+            "cast(:rollupDate as date) rollup_date, cast(:accountType as varchar(255)) account_type, " +
+            "cast(:debitAmount as bigint) debit_amount, cast(:debitCount as bigint) debit_count, " +
+            "cast(:creditAmount as bigint) credit_amount, cast(:creditCount as bigint) credit_count) s " +
+            "on r.account_number = s.account_number and r.rollup_date = s.rollup_date " +
+            "when matched then update set " +
+            "debit_amount = r.debit_amount + s.debit_amount, debit_count = r.debit_count + s.debit_count, " +
+            "credit_amount = r.credit_amount + s.credit_amount, credit_count = r.credit_count + s.credit_count " +
+            "when not matched then insert " +
+            "(account_number, rollup_date, account_type, debit_amount, debit_count, credit_amount, credit_count) " +
+            "values (s.account_number, s.rollup_date, s.account_type, " +
+            "s.debit_amount, s.debit_count, s.credit_amount, s.credit_count)";
+
+    @Modifying
+    @Query(value = UPSERT_SQL, nativeQuery = true)
+    int upsert(@Param("accountNumber") String accountNumber,
+               @Param("rollupDate") LocalDate rollupDate,
+               @Param("accountType") String accountType,
+               @Param("debitAmount") long debitAmount,
+               @Param("debitCount") long debitCount,
+               @Param("creditAmount") long creditAmount,
+               @Param("creditCount") long creditCount);
+
+    @Query("select new com.example.account.dto.DailyRollup(" +
+            "r.rollupDate, r.debitAmount, r.debitCount, r.creditAmount, r.creditCount) " +
+            "from AccountDailyRollup r where r.accountNumber = :accountNumber " +
+            "and r.rollupDate between :from and :to order by r.rollupDate")
+    List<DailyRollup> findDaily(@Param("accountNumber") String accountNumber,
+                                @Param("from") LocalDate from,
+                                @Param("to") LocalDate to);
+
+    // 계좌 종류별 : 종류 공용 집계 행을 두면 모든 거래가 같은 행을 갱신하므로 조회시 합산
+    @Query("select new com.example.account.dto.DailyRollup(" +
+            "r.rollupDate, sum(r.debitAmount), sum(r.debitCount), sum(r.creditAmount), sum(r.creditCount)) " +
+            "from AccountDailyRollup r where r.accountType = :accountType " +
+            "and r.rollupDate between :from and :to group by r.rollupDate order by r.rollupDate")
+    List<DailyRollup> findDailyByAccountType(@Param("accountType") AccountType accountType,
+                                             @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to);
+}
@@ -3,15 +3,22 @@ package com.example.account.repository;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account,Long> {
     Integer countByAccountUser(AccountUser accountUser);
+    // 잔액/상태/eventSequence 를 바꾸는 쓰기 전용 (select ... for update)
+    // -> 계좌 락 없이 들어오는 취소, 해지도 계좌 행에서 직렬화되어 eventSequence 가 중복되지 않는다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<Account> findByAccountNumber(String AccountNumber);
     List<Account> findByAccountUser(AccountUser account);
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
 }
@@ -0,0 +1,28 @@
+package com.example.account.repository;
+
+import com.example.account.domain.ReactiveAccount;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveAccountRepository extends R2dbcRepository<ReactiveAccount,Long> {
+    Mono<Long> countByAccountUserId(Long accountUserId);
+    // 잔액/상태/eventSequence 를 바꾸는 쓰기 전용 (AccountRepository.findByAccountNumber 와 같은 select ... for update)
+    // -> servlet 경로(락 없는 취소 포함)와 같은 계좌 행에서 직렬화
+    @Query("select * from account where account_number = :accountNumber for update")
+    Mono<ReactiveAccount> findByAccountNumber(String accountNumber);
+    Flux<ReactiveAccount> findByAccountUserId(Long accountUserId);
+
+    @Query("select count(*) > 0 from account_user where id = :userId")
+    Mono<Boolean> existsAccountUserById(Long userId);
+
+    @Query("select count(*) > 0 from account_number where account_number = :accountNumber")
+    Mono<Boolean> existsAccountNumber(String accountNumber);
+
+    // JPA 엔티티와 같은 id 시퀀스를 사용해야 충돌이 없다
+    @Query("select next value for hibernate_sequence")
+    Mono<Long> nextId();
+}
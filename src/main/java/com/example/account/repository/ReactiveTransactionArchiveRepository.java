@@ -0,0 +1,43 @@
+package com.example.account.repository;
+
+import com.example.account.domain.ReactiveTransactionArchive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.YearMonth;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+import static org.springframework.data.relational.core.query.Query.query;
+
+/**
+ * 월별 archive 테이블 조회 (TransactionArchiveRepository 와 같은 라우팅)
+ * 전역 인덱스에서 달을 찾아 그 달 테이블 하나만 본다
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveTransactionArchiveRepository {
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    public Mono<ReactiveTransactionArchive> findByTransactionId(String transactionId) {
+        return findPartitionMonth(transactionId)
+                .flatMap(month -> r2dbcEntityTemplate.select(ReactiveTransactionArchive.class)
+                        .from(TransactionArchiveRepository.tableName(month))
+                        .matching(query(where("transactionId").is(transactionId)))
+                        .one());
+    }
+
+    public Mono<Boolean> existsByTransactionId(String transactionId) {
+        return findPartitionMonth(transactionId).hasElement();
+    }
+
+    private Mono<YearMonth> findPartitionMonth(String transactionId) {
+        return r2dbcEntityTemplate.getDatabaseClient()
+                .sql("select partition_month from transaction_archive_index where transaction_id = :transactionId")
+                .bind("transactionId", transactionId)
+                .map(row -> row.get("partition_month", Integer.class))
+                .first()
+                .map(TransactionArchiveRepository::partitionMonth);
+    }
+}
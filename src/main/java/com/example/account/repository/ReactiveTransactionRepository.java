@@ -0,0 +1,25 @@
+package com.example.account.repository;
+
+import com.example.account.domain.ReactiveTransaction;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ReactiveTransactionRepository extends R2dbcRepository<ReactiveTransaction,Long> {
+    Mono<ReactiveTransaction> findByTransactionId(String transactionId);
+
+    // 취소되지 않은 경우에만 표시 -> 0 이면 이미 취소된 거래
+    @Modifying
+    @Query("update transaction set cancelled = true, updated_at = now() where id = :id and cancelled = false")
+    Mono<Integer> markCancelled(Long id);
+
+    // 일일 사용 한도 카운터 재구성 (TransactionRepository.sumAmountSince 와 같은 조건)
+    @Query("select coalesce(sum(amount), 0) from transaction where account_id = :accountId " +
+            "and transaction_type = 'USE' and transaction_result_type = 'S' and transacted_at >= :from")
+    Mono<Long> sumUsedAmountSince(Long accountId, LocalDateTime from);
+}
@@ -0,0 +1,23 @@
+package com.example.account.repository;
+
+import com.example.account.domain.ReconciliationCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReconciliationCheckpointRepository extends JpaRepository<ReconciliationCheckpoint,Long> {
+    @Query("select c.chunkStart from ReconciliationCheckpoint c where c.runId = :runId")
+    List<Long> findChunkStartsByRunId(@Param("runId") Long runId);
+
+    long countByRunId(Long runId);
+
+    @Query("select coalesce(sum(c.accounts), 0) from ReconciliationCheckpoint c where c.runId = :runId")
+    long sumAccountsByRunId(@Param("runId") Long runId);
+
+    @Query("select coalesce(sum(c.mismatches), 0) from ReconciliationCheckpoint c where c.runId = :runId")
+    long sumMismatchesByRunId(@Param("runId") Long runId);
+}
@@ -0,0 +1,14 @@
+package com.example.account.repository;
+
+import com.example.account.domain.ReconciliationRun;
+import com.example.account.type.ReconciliationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun,Long> {
+    Optional<ReconciliationRun> findFirstByStatusOrderByIdDesc(ReconciliationStatus status);
+    Optional<ReconciliationRun> findFirstByOrderByIdDesc();
+}
@@ -0,0 +1,223 @@
+package com.example.account.repository;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 월별 archive 테이블(transaction_archive_yyyyMM) 라우팅
+ * - H2 에는 테이블 파티션이 없어서 transactedAt 의 달마다 테이블을 두고 여기서 고른다
+ *   테이블은 그 달 거래를 처음 옮길때 만든다 (TransactionArchiver)
+ * - transactionId 조회는 전역 인덱스(transaction_archive_index)에서 달을 찾아 그 테이블 하나만 본다
+ * - 기간 조회는 기간에 걸친 달 테이블만 transaction 과 union
+ * - 보관 기간이 지난 달은 테이블째 DROP
+ */
+@Repository
+public class TransactionArchiveRepository {
+    private static final String TABLE_PREFIX = "transaction_archive_";
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern TABLE_PATTERN = Pattern.compile("TRANSACTION_ARCHIVE_(\\d{6})");
+    private static final String DTO_COLUMNS = "account_number, transaction_type, transaction_result_type, "
+            + "amount, balance_snap_shot, transaction_id, transacted_at";
+    private static final RowMapper<TransactionDto> DTO_MAPPER = (rs, rowNum) -> new TransactionDto(
+            rs.getString("account_number"),
+            TransactionType.valueOf(rs.getString("transaction_type")),
+            TransactionResultType.valueOf(rs.getString("transaction_result_type")),
+            rs.getLong("amount"),
+            rs.getObject("balance_snap_shot", Long.class),
+            rs.getString("transaction_id"),
+            rs.getTimestamp("transacted_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public TransactionArchiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public static String tableName(YearMonth month) {
+        return TABLE_PREFIX + month.format(MONTH_FORMAT);
+    }
+
+    public static int partitionKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    public static YearMonth partitionMonth(int partitionKey) {
+        return YearMonth.of(partitionKey / 100, partitionKey % 100);
+    }
+
+    // transaction 테이블에 없을때만 조회 (계좌번호를 같이 저장했으므로 join 없음)
+    public Optional<TransactionDto> findDtoByTransactionId(String transactionId) {
+        return findPartitionMonth(transactionId)
+                .flatMap(month -> jdbcTemplate.query(
+                        "select " + DTO_COLUMNS + " from " + tableName(month) + " where transaction_id = ?",
+                        DTO_MAPPER, transactionId).stream().findFirst());
+    }
+
+    public boolean existsByTransactionId(String transactionId) {
+        return findPartitionMonth(transactionId).isPresent();
+    }
+
+    private Optional<YearMonth> findPartitionMonth(String transactionId) {
+        return jdbcTemplate.queryForList(
+                        "select partition_month from transaction_archive_index where transaction_id = ?",
+                        Integer.class, transactionId)
+                .stream()
+                .findFirst()
+                .map(TransactionArchiveRepository::partitionMonth);
+    }
+
+    /**
+     * 옮길 거래 id (transactedAt 인덱스로 오래된 것부터 limit 개, 거래 달별로 묶어서)
+     */
+    public Map<YearMonth, List<Long>> findArchiveCandidates(LocalDateTime cutoff, int limit) {
+        Map<YearMonth, List<Long>> candidates = new TreeMap<>();
+        jdbcTemplate.query(
+                "select id, transacted_at from transaction where transacted_at < ? order by transacted_at limit ?",
+                (RowCallbackHandler) rs -> candidates
+                        .computeIfAbsent(YearMonth.from(rs.getTimestamp("transacted_at").toLocalDateTime()),
+                                month -> new ArrayList<>())
+                        .add(rs.getLong("id")),
+                Timestamp.valueOf(cutoff), limit);
+        return candidates;
+    }
+
+    /**
+     * 달 테이블 생성 (이미 있으면 무시)
+     * DDL 은 H2 에서 열린 트랜잭션을 커밋시키므로 옮기는 트랜잭션 밖에서 호출
+     */
+    public void createPartition(YearMonth month) {
+        String table = tableName(month);
+        jdbcTemplate.execute("create table if not exists " + table + " ("
+                + "id bigint not null primary key, "
+                + "transaction_id varchar(255), "
+                + "account_id bigint, "
+                + "account_number varchar(255), "
+                + "transaction_type varchar(255), "
+                + "transaction_result_type varchar(255), "
+                + "amount bigint, "
+                + "balance_snap_shot bigint, "
+                + "transacted_at timestamp, "
+                + "original_transaction_id varchar(255), "
+                + "cancelled boolean not null, "
+                + "created_at timestamp, "
+                + "updated_at timestamp, "
+                + "archived_at timestamp)");
+        jdbcTemplate.execute("create unique index if not exists uk_" + table + "_transaction_id "
+                + "on " + table + " (transaction_id)");
+        // 계좌 거래 내역
+        jdbcTemplate.execute("create index if not exists idx_" + table + "_account_transacted_at "
+                + "on " + table + " (account_number, transacted_at)");
+    }
+
+    /**
+     * 거래를 달 테이블로 복사, 전역 인덱스 기록 후 transaction 에서 삭제 (호출하는 트랜잭션 안에서)
+     * 달 테이블은 createPartition 으로 먼저 만들어 둔다
+     */
+    public int moveToPartitions(Map<YearMonth, List<Long>> idsByMonth, LocalDateTime archivedAt) {
+        int moved = 0;
+        for (Map.Entry<YearMonth, List<Long>> entry : idsByMonth.entrySet()) {
+            String table = tableName(entry.getKey());
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("ids", entry.getValue())
+                    .addValue("archivedAt", Timestamp.valueOf(archivedAt))
+                    .addValue("partitionMonth", partitionKey(entry.getKey()));
+            namedParameterJdbcTemplate.update("insert into " + table + " (id, transaction_id, account_id, "
+                    + "account_number, transaction_type, transaction_result_type, amount, balance_snap_shot, "
+                    + "transacted_at, original_transaction_id, cancelled, created_at, updated_at, archived_at) "
+                    + "select t.id, t.transaction_id, t.account_id, a.account_number, "
+                    + "t.transaction_type, t.transaction_result_type, t.amount, t.balance_snap_shot, "
+                    + "t.transacted_at, t.original_transaction_id, t.cancelled, t.created_at, t.updated_at, "
+                    + ":archivedAt from transaction t join account a on a.id = t.account_id "
+                    + "where t.id in (:ids)", params);
+            namedParameterJdbcTemplate.update("insert into transaction_archive_index "
+                    + "(id, transaction_id, partition_month) "
+                    + "select id, transaction_id, :partitionMonth from " + table + " where id in (:ids)", params);
+            moved += namedParameterJdbcTemplate.update("delete from transaction where id in (:ids)", params);
+        }
+        return moved;
+    }
+
+    /**
+     * 만들어진 달 테이블 (오래된 순)
+     */
+    public List<YearMonth> findPartitions() {
+        return jdbcTemplate.queryForList("select table_name from information_schema.tables "
+                        + "where table_name like 'TRANSACTION\\_ARCHIVE\\_%'", String.class)
+                .stream()
+                .map(TABLE_PATTERN::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.parse(matcher.group(1), MONTH_FORMAT))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * [from, to) 에 걸친 달 중 테이블이 있는 달
+     */
+    public List<YearMonth> findPartitions(LocalDateTime from, LocalDateTime to) {
+        YearMonth first = YearMonth.from(from);
+        YearMonth last = YearMonth.from(to.minusNanos(1));
+        return findPartitions().stream()
+                .filter(month -> !month.isBefore(first) && !month.isAfter(last))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 계좌 거래 내역 (최신순) : transaction 과 주어진 달 테이블만 union
+     */
+    public List<TransactionDto> findHistory(String accountNumber, LocalDateTime from, LocalDateTime to,
+                                            List<YearMonth> months, int offset, int limit) {
+        StringBuilder sql = new StringBuilder("select ").append(DTO_COLUMNS).append(" from (")
+                .append("select a.account_number, t.transaction_type, t.transaction_result_type, t.amount, ")
+                .append("t.balance_snap_shot, t.transaction_id, t.transacted_at, t.id ")
+                .append("from transaction t join account a on a.id = t.account_id ")
+                .append("where a.account_number = :accountNumber ")
+                .append("and t.transacted_at >= :from and t.transacted_at < :to");
+        for (YearMonth month : months) {
+            sql.append(" union all select ").append(DTO_COLUMNS).append(", id from ").append(tableName(month))
+                    .append(" where account_number = :accountNumber")
+                    .append(" and transacted_at >= :from and transacted_at < :to");
+        }
+        sql.append(") h order by transacted_at desc, id desc limit :limit offset :offset");
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("accountNumber", accountNumber)
+                .addValue("from", Timestamp.valueOf(from))
+                .addValue("to", Timestamp.valueOf(to))
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        return namedParameterJdbcTemplate.query(sql.toString(), params, DTO_MAPPER);
+    }
+
+    /**
+     * 달 테이블 삭제 : 그 달 인덱스 행을 batchSize 개씩 지운 뒤 DROP
+     * 인덱스를 먼저 지우므로 중간에 실패해도 없는 테이블을 가리키는 인덱스는 남지 않는다 (다음 실행에서 이어서)
+     */
+    public void dropPartition(YearMonth month, int batchSize) {
+        int partitionKey = partitionKey(month);
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("delete from transaction_archive_index where id in "
+                    + "(select id from transaction_archive_index where partition_month = ? limit ?)",
+                    partitionKey, batchSize);
+        } while (deleted >= batchSize);
+        jdbcTemplate.execute("drop table if exists " + tableName(month));
+    }
+}
@@ -3,14 +3,50 @@ package com.example.account.repository;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.domain.Transaction;
+import com.example.account.dto.TransactionDto;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import javax.swing.text.html.Option;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction,Long> {
     Optional<Transaction> findByTransactionId(String transactionId);
+
+    // 조회 API 용 projection : 엔티티(거래, 계좌, 유저)를 올리지 않고 한번의 select 로 DTO 생성
+    @Query("select new com.example.account.dto.TransactionDto(" +
+            "a.accountNumber, t.transactionType, t.transactionResultType, " +
+            "t.amount, t.balanceSnapShot, t.transactionId, t.transactedAt) " +
+            "from Transaction t join t.account a where t.transactionId = :transactionId")
+    Optional<TransactionDto> findDtoByTransactionId(@Param("transactionId") String transactionId);
+
+    // 계좌 거래 내역 : idx_transaction_account_transacted_at 범위 조회
+    @Query("select new com.example.account.dto.TransactionDto(" +
+            "a.accountNumber, t.transactionType, t.transactionResultType, " +
+            "t.amount, t.balanceSnapShot, t.transactionId, t.transactedAt) " +
+            "from Transaction t join t.account a " +
+            "where a.accountNumber = :accountNumber " +
+            "and t.transactedAt >= :from and t.transactedAt < :to " +
+            "order by t.transactedAt desc, t.id desc")
+    List<TransactionDto> findHistory(@Param("accountNumber") String accountNumber,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     Pageable pageable);
+
+    // 일일 사용 한도 카운터 재구성 (카운터가 없을때만 호출)
+    @Query("select coalesce(sum(t.amount), 0) from Transaction t " +
+            "where t.account = :account and t.transactionType = :transactionType " +
+            "and t.transactionResultType = :resultType and t.transactedAt >= :from")
+    long sumAmountSince(@Param("account") Account account,
+                        @Param("transactionType") TransactionType transactionType,
+                        @Param("resultType") TransactionResultType resultType,
+                        @Param("from") LocalDateTime from);
 }
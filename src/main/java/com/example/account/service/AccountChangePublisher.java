@@ -0,0 +1,65 @@
+package com.example.account.service;
+
+import com.example.account.dto.AccountChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Mono;
+
+/**
+ * 커밋된 잔액/상태 변경만 Redis topic 으로 발행 (롤백된 거래는 이벤트가 버려짐)
+ * 요청 스레드가 Redis 응답을 기다리지 않도록 비동기 발행, 실패해도 거래에는 영향 없음
+ * reactive(R2DBC) 트랜잭션은 @TransactionalEventListener 가 받지 못하므로 publishAfterCommit 으로 등록
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountChangePublisher {
+    static final String TOPIC = "ACCOUNT_CHANGES";
+
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void publish(AccountChangedEvent event) {
+        String message;
+        try {
+            message = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize account change", e);
+            return;
+        }
+        redissonClient.getTopic(TOPIC, StringCodec.INSTANCE)
+                .publishAsync(message)
+                .whenComplete((receivers, e) -> {
+                    if (e != null) {
+                        log.warn("Failed to publish account change : {}", event.getAccountNumber(), e);
+                    }
+                });
+    }
+
+    /**
+     * reactive 트랜잭션 커밋 후 발행 (@TransactionalEventListener 와 같이 트랜잭션 밖에서는 버려진다)
+     */
+    public Mono<Void> publishAfterCommit(AccountChangedEvent event) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .filter(TransactionSynchronizationManager::isSynchronizationActive)
+                .doOnNext(manager -> manager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public Mono<Void> afterCommit() {
+                        return Mono.fromRunnable(() -> publish(event));
+                    }
+                }))
+                .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+                .then();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.metrics.RequestTiming;
+import com.example.account.metrics.TimingPhase;
+import com.example.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * admission control + 계좌 락 안에서 호출 실행 (REST 는 LockAopAspect, gRPC 는 TransactionGrpcService 에서 사용)
+ * - 한도 초과시 락을 기다리지 않고 ACCOUNT_REQUEST_OVERLOADED 로 바로 거절
+ * - 락 획득 실패(ACCOUNT_TRANSACTION_LOCK)는 혼잡으로 보고 admission 한도를 줄인다
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountLockExecutor {
+    private final LockService lockService;
+    private final AdmissionControlService admissionControlService;
+
+    public <T, E extends Throwable> T execute(String accountNumber, LockedCall<T, E> call) throws E {
+        admissionControlService.acquire(accountNumber);
+        long start = System.nanoTime();
+        boolean congested = false;
+        try {
+            // lock 취득 시도
+            try {
+                lockService.lock(accountNumber);
+            } finally {
+                RequestTiming.record(TimingPhase.LOCK, System.nanoTime() - start);
+            }
+            try {
+                return call.call();
+            } finally {
+                lockService.unlock(accountNumber);
+            }
+        } catch (AccountException e) {
+            congested = e.getErrorCode() == ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+            throw e;
+        } finally {
+            admissionControlService.release(accountNumber, System.nanoTime() - start, congested);
+        }
+    }
+
+    @FunctionalInterface
+    public interface LockedCall<T, E extends Throwable> {
+        T call() throws E;
+    }
+}
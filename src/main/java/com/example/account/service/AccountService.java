@@ -3,15 +3,20 @@ package com.example.account.service;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountNumber;
 import com.example.account.domain.AccountUser;
+import com.example.account.dto.AccountChangedEvent;
 import com.example.account.dto.AccountDto;
 import com.example.account.exception.AccountException;
+import com.example.account.metrics.AccountMetrics;
+import com.example.account.metrics.AccountNumberGenerationEvent;
 import com.example.account.repository.AccountNumberRepository;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.AccountType;
 import com.example.account.type.ErrorCode;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
@@ -31,17 +36,24 @@ public class AccountService {
     private final AccountRepository accountRespository;
     private final AccountUserRepository accountUserRepository;
     private final AccountNumberRepository accountNumberRepository;
+    private final AccountMetrics accountMetrics;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SpendingLimitService spendingLimitService;
 
     /**
      * 사용자 있는지 확인
      * 계좌 번호 생성 하고
      * 계좌 저장 하고 정보 리턴
      */
+    @Timed("account.service")
     @Transactional
     public AccountDto createAccount(Long userId, Long initialBalance,AccountType accType){
         AccountUser accountUser = getAccountUser(userId);
         validateCreateAccount(accountUser);
         //account number setting
+        AccountNumberGenerationEvent event = new AccountNumberGenerationEvent();
+        event.begin();
         String newAcc;
         while(true){
             System.out.println("Generating Account...");
@@ -50,6 +62,13 @@ public class AccountService {
             if(!get){
                 break;
             }
+            accountMetrics.countAccountNumberRetry();
+            event.retries++;
+        }
+        event.end();
+        if(event.shouldCommit()){
+            event.accountType = accType.name();
+            event.commit();
         }
 
         AccountNumber accountNumber = accountNumberRepository.save(
@@ -65,13 +84,16 @@ public class AccountService {
                         .accountUser(accountUser)
                         .accountStatus(IN_USE)
                         .balance(initialBalance)
+                        .eventSequence(1L)
                         .registeredAt(LocalDateTime.now())
                         .build()
         );
+        outboxService.recordAccountStatus(account);
 
         return AccountDto.fromEntity(account);
     }
-    private String generateAccountNumber(AccountType accountType){
+    // package-private : jmh 벤치마크에서 직접 호출
+    static String generateAccountNumber(AccountType accountType){
         String genAcc= "";
         switch (accountType){
             case CHECKING:
@@ -98,50 +120,81 @@ public class AccountService {
     private AccountUser getAccountUser(Long userId) {
         return accountUserRepository.findById(userId)
                 .orElseThrow(
-                        () -> new AccountException(USER_NOT_FOUND)
+                        () -> AccountException.of(USER_NOT_FOUND)
                 );
     }
 
     private void validateCreateAccount(AccountUser accountUser) {
         if(accountRespository.countByAccountUser(accountUser) >= 10){
-            throw new AccountException(ErrorCode.MAX_ACCOUNT_PER_USER_10);
+            throw AccountException.of(ErrorCode.MAX_ACCOUNT_PER_USER_10);
         }
     }
 
+    @Timed("account.service")
     @Transactional
     public Account getAccount(Long id){
         return accountRespository.findById(id).get();
     }
 
+    @Timed("account.service")
     @Transactional
     public AccountDto deleteAccount(Long userId, String accountNumber) {
         AccountUser accountUser = getAccountUser(userId);
         Account account = accountRespository.findByAccountNumber(accountNumber)
                 .orElseThrow(
-                        () -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND)
+                        () -> AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND)
                 );
         validateDeleteAccount(accountUser,account);
 
         account.setAccountStatus(UNREGISTERED);
         account.setUnRegisterdAt(LocalDateTime.now());
+        account.nextEventSequence();
         // 테스트를 위한 추가코드
         accountRespository.save(account);
+        outboxService.recordAccountStatus(account);
+        // 커밋 후 SSE 구독자에게 전달 (AccountChangePublisher)
+        eventPublisher.publishEvent(AccountChangedEvent.from(account));
+
+        return AccountDto.fromEntity(account);
+    }
 
+    /**
+     * 일일 사용 한도 변경 (null 이면 해제)
+     * 오늘 이미 사용한 금액(카운터)은 그대로 두고, 다음 사용부터 새 한도로 검사
+     */
+    @Timed("account.service")
+    @Transactional
+    public AccountDto updateDailyLimit(Long userId, String accountNumber, Long dailyLimit) {
+        AccountUser accountUser = getAccountUser(userId);
+        Account account = accountRespository.findByAccountNumber(accountNumber)
+                .orElseThrow(
+                        () -> AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND)
+                );
+        if(!Objects.equals(accountUser.getId(), account.getAccountUser().getId())){
+            throw AccountException.of(ErrorCode.USER_ACCOUNT_UNMATCHED);
+        }
+        if(account.getAccountStatus() == AccountStatus.UNREGISTERED){
+            throw AccountException.of(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        account.setDailyLimit(dailyLimit);
+        // 한도가 없던 동안의 사용은 카운터에 없으므로 오늘 카운터를 지워서 거래 합계로 다시 만든다
+        spendingLimitService.invalidateCounter(accountNumber);
         return AccountDto.fromEntity(account);
     }
 
     private void validateDeleteAccount(AccountUser accountUser, Account account) {
         if(!Objects.equals(accountUser.getId(), account.getAccountUser().getId())){
-            throw new AccountException(ErrorCode.USER_ACCOUNT_UNMATCHED);
+            throw AccountException.of(ErrorCode.USER_ACCOUNT_UNMATCHED);
         }
         if(account.getAccountStatus() == AccountStatus.UNREGISTERED){
-            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+            throw AccountException.of(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
         }
         if(account.getBalance() > 0L){
-            throw new AccountException(ErrorCode.BALANCE_NOT_EMPTY);
+            throw AccountException.of(ErrorCode.BALANCE_NOT_EMPTY);
         }
     }
 
+    @Timed("account.service")
     @Transactional
     public List<AccountDto> getAccountByUserId(Long userId) {
         AccountUser accountUser = getAccountUser(userId);
@@ -0,0 +1,313 @@
+package com.example.account.service;
+
+import com.example.account.dto.AccountChangedEvent;
+import com.example.account.dto.AccountStreamInfo;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 계좌 잔액 변경 SSE 스트림 (GET /account/stream?user_id=)
+ * - 구독시 현재 계좌 목록을 한번 보내고, 이후 변경분만 전송
+ * - 다른 노드의 변경은 Redis topic(ACCOUNT_CHANGES) 으로 받아 이 노드의 구독자에게만 전달
+ * - 구독자별로 계좌당 최신 값 하나만 보관하고 flush-interval 마다 전송 (연속 변경은 합쳐서 한번)
+ * - 보관 계좌 수가 max-pending 을 넘으면 버리고 resync 이벤트 -> 클라이언트가 GET /account 로 다시 조회
+ * - 전송은 sender 풀에서 구독자별로 한번에 하나씩 : 느린 구독자가 flusher / 다른 구독자를 막지 않음
+ *   전송이 send-timeout 을 넘게 끝나지 않으면 연결을 끊는다
+ * - 계좌별 version(Account.eventSequence) 이 이미 보낸 값 이하인 변경은 버린다 (pub/sub 도착 순서가 바뀐 경우)
+ */
+@Slf4j
+@Service
+public class AccountStreamService {
+    private final AccountService accountService;
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final long flushIntervalMillis;
+    private final long heartbeatIntervalMillis;
+    private final int maxPending;
+    private final int maxSubscribers;
+    private final long sendTimeoutNanos;
+    private final int sendParallelism;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private ScheduledExecutorService flusher;
+    private ExecutorService sender;
+    private int listenerId;
+
+    public AccountStreamService(
+            AccountService accountService,
+            RedissonClient redissonClient,
+            ObjectMapper objectMapper,
+            @Value("${account.stream.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${account.stream.flush-interval-ms:200}") long flushIntervalMillis,
+            @Value("${account.stream.heartbeat-interval-ms:15000}") long heartbeatIntervalMillis,
+            @Value("${account.stream.max-pending:16}") int maxPending,
+            @Value("${account.stream.max-subscribers:10000}") int maxSubscribers,
+            @Value("${account.stream.send-timeout-ms:5000}") long sendTimeoutMillis,
+            @Value("${account.stream.send-parallelism:8}") int sendParallelism
+    ) {
+        this.accountService = accountService;
+        this.redissonClient = redissonClient;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+        this.maxPending = maxPending;
+        this.maxSubscribers = maxSubscribers;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        this.sendParallelism = sendParallelism;
+    }
+
+    @PostConstruct
+    public void start() {
+        RTopic topic = redissonClient.getTopic(AccountChangePublisher.TOPIC, StringCodec.INSTANCE);
+        listenerId = topic.addListener(String.class, (channel, message) -> onMessage(message));
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "account-stream-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger senderIndex = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(sendParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "account-stream-sender-" + senderIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush,
+                flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        flusher.scheduleWithFixedDelay(this::heartbeat,
+                heartbeatIntervalMillis, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        redissonClient.getTopic(AccountChangePublisher.TOPIC, StringCodec.INSTANCE)
+                .removeListener(listenerId);
+        flusher.shutdownNow();
+        sender.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /**
+     * 구독 등록 후 현재 계좌 목록 전송
+     * 등록을 먼저 해야 목록 조회와 등록 사이의 변경을 놓치지 않는다
+     * snapshot 도 구독자의 전송 flag(sending) 를 잡고 보낸다 -> 그 사이 들어온 변경은 snapshot 뒤에 전송되고
+     * snapshot 의 version 이하인 변경은 버려진다 (오래된 snapshot 이 새 변경을 덮어쓰지 않음)
+     */
+    public SseEmitter subscribe(Long userId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw AccountException.of(ErrorCode.SERVER_OVERLOADED);
+        }
+        Subscriber subscriber = new Subscriber(userId, createEmitter());
+        // 등록 전에 잡아서 snapshot 을 보내기 전에는 flush 가 시작되지 않게 한다
+        subscriber.sending.set(true);
+        subscriber.sendStartedNanos = System.nanoTime();
+        subscribers.computeIfAbsent(userId, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+
+        List<AccountStreamInfo> accounts = new ArrayList<>();
+        try {
+            accountService.getAccountByUserId(userId)
+                    .forEach(accountDto -> accounts.add(AccountStreamInfo.from(accountDto)));
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        try {
+            if (subscriber.send("snapshot", accounts)) {
+                accounts.forEach(account -> subscriber.markSent(account.getAccountNumber(), account.getVersion()));
+            }
+        } finally {
+            subscriber.sending.set(false);
+        }
+        return subscriber.emitter;
+    }
+
+    // package-private : 테스트에서 전송 내용을 확인
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    // package-private : 테스트에서 전송 시점을 제어
+    void dispatch(Runnable task) {
+        sender.execute(task);
+    }
+
+    void onMessage(String message) {
+        AccountChangedEvent event;
+        try {
+            event = objectMapper.readValue(message, AccountChangedEvent.class);
+        } catch (IOException e) {
+            log.warn("Invalid account change message : {}", message);
+            return;
+        }
+        Set<Subscriber> userSubscribers = subscribers.get(event.getUserId());
+        if (userSubscribers != null) {
+            userSubscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    void flush() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.schedule(false)));
+    }
+
+    void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.schedule(true)));
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.removed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.userId, (key, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        // 계좌번호 -> 아직 보내지 않은 최신 변경
+        private final Map<String, AccountChangedEvent> pending = new ConcurrentHashMap<>();
+        // 계좌번호 -> 마지막으로 보낸 version (스냅샷 / 변경)
+        private final Map<String, Long> sentVersions = new ConcurrentHashMap<>();
+        private final AtomicBoolean overflow = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long sendStartedNanos;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void offer(AccountChangedEvent event) {
+            if (pending.size() >= maxPending && !pending.containsKey(event.getAccountNumber())) {
+                overflow.set(true);
+                return;
+            }
+            pending.merge(event.getAccountNumber(), event,
+                    (previous, current) -> current.isNewerThan(previous) ? current : previous);
+        }
+
+        /**
+         * 전송중이 아니면 sender 에 전송 작업을 넘긴다
+         * 전송중인데 send-timeout 을 넘겼으면 끊는다 (느린 / 멈춘 클라이언트)
+         */
+        private void schedule(boolean heartbeat) {
+            if (removed.get()) {
+                return;
+            }
+            if (sending.get()) {
+                if (System.nanoTime() - sendStartedNanos > sendTimeoutNanos) {
+                    fail(new IOException("send timed out"));
+                }
+                return;
+            }
+            if (!heartbeat && pending.isEmpty() && !overflow.get()) {
+                return;
+            }
+            if (!sending.compareAndSet(false, true)) {
+                return;
+            }
+            sendStartedNanos = System.nanoTime();
+            try {
+                dispatch(() -> {
+                    try {
+                        if (heartbeat) {
+                            heartbeat();
+                        } else {
+                            flush();
+                        }
+                    } finally {
+                        sending.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                sending.set(false);
+            }
+        }
+
+        private void flush() {
+            if (overflow.compareAndSet(true, false)) {
+                pending.clear();
+                send("resync", "");
+                return;
+            }
+            for (String accountNumber : pending.keySet()) {
+                AccountChangedEvent event = pending.remove(accountNumber);
+                if (event == null || !event.isNewerThan(sentVersions.get(accountNumber))) {
+                    continue;
+                }
+                if (!send(event.isUnregistered() ? "unregistered" : "account", event.toStreamInfo())) {
+                    return;
+                }
+                markSent(accountNumber, event.getVersion());
+            }
+        }
+
+        private void markSent(String accountNumber, Long version) {
+            if (version != null) {
+                sentVersions.merge(accountNumber, version, Math::max);
+            }
+        }
+
+        private void heartbeat() {
+            try {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } catch (IOException | IllegalStateException e) {
+                fail(e);
+            }
+        }
+
+        private boolean send(String name, Object data) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                fail(e);
+                return false;
+            }
+        }
+
+        private void fail(Exception e) {
+            log.debug("Account stream closed : userId {}", userId, e);
+            remove(this);
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 락 앞단의 admission control (load shedding)
+ * 1. 계좌별 동시 요청 수 제한 : 같은 계좌에 몰린 요청은 어차피 락 대기(최대 1초) 후 실패하므로 미리 거절
+ * 2. 계좌별 예상 대기시간 제한 : (앞에 대기중인 요청 수 x 평균 처리시간) 이 한도를 넘으면 거절
+ * 3. 노드 전체 동시 요청 수 제한 : 관측된 지연시간으로 한도를 조정 (AIMD)
+ *    - 지연시간이 목표 이하면 +1, 목표를 넘거나 락 획득에 실패하면 x backoffRatio
+ */
+@Slf4j
+@Service
+public class AdmissionControlService {
+    private final int perAccountMaxInFlight;
+    private final long maxQueueTimeMillis;
+    private final long latencyTargetMillis;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+
+    private final ConcurrentHashMap<String, Integer> accountInFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger nodeInFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private volatile double ewmaLatencyMillis;
+
+    public AdmissionControlService(
+            @Value("${account.admission.per-account-max-in-flight:5}") int perAccountMaxInFlight,
+            @Value("${account.admission.max-queue-time-ms:1000}") long maxQueueTimeMillis,
+            @Value("${account.admission.latency-target-ms:5000}") long latencyTargetMillis,
+            @Value("${account.admission.initial-limit:200}") int initialLimit,
+            @Value("${account.admission.min-limit:20}") int minLimit,
+            @Value("${account.admission.max-limit:2000}") int maxLimit,
+            @Value("${account.admission.backoff-ratio:0.9}") double backoffRatio
+    ) {
+        this.perAccountMaxInFlight = perAccountMaxInFlight;
+        this.maxQueueTimeMillis = maxQueueTimeMillis;
+        this.latencyTargetMillis = latencyTargetMillis;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * 요청 진입, 한도를 넘으면 즉시 AccountException
+     * 성공했다면 반드시 release 를 호출해야 한다
+     */
+    public void acquire(String accountNumber) {
+        if (nodeInFlight.incrementAndGet() > (int) limit) {
+            nodeInFlight.decrementAndGet();
+            log.warn("Request rejected, node in-flight limit {} exceeded", (int) limit);
+            throw AccountException.of(ErrorCode.SERVER_OVERLOADED);
+        }
+
+        int waiting = accountInFlight.merge(accountNumber, 1, Integer::sum);
+        if (waiting > perAccountMaxInFlight
+                || (waiting - 1) * ewmaLatencyMillis > maxQueueTimeMillis) {
+            releaseAccount(accountNumber);
+            nodeInFlight.decrementAndGet();
+            log.warn("Request rejected, account {} has {} in-flight requests", accountNumber, waiting - 1);
+            throw AccountException.of(ErrorCode.ACCOUNT_REQUEST_OVERLOADED);
+        }
+    }
+
+    /**
+     * 요청 종료
+     * @param congested 락 획득 실패처럼 경합으로 인한 실패인 경우 true
+     */
+    public void release(String accountNumber, long latencyNanos, boolean congested) {
+        releaseAccount(accountNumber);
+        int inFlight = nodeInFlight.getAndDecrement();
+        updateLimit(TimeUnit.NANOSECONDS.toMillis(latencyNanos), congested, inFlight);
+    }
+
+    private void releaseAccount(String accountNumber) {
+        accountInFlight.computeIfPresent(accountNumber, (key, count) -> count <= 1 ? null : count - 1);
+    }
+
+    private synchronized void updateLimit(long latencyMillis, boolean congested, int inFlight) {
+        ewmaLatencyMillis = ewmaLatencyMillis == 0
+                ? latencyMillis
+                : ewmaLatencyMillis * 0.9 + latencyMillis * 0.1;
+
+        if (congested || latencyMillis > latencyTargetMillis) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight * 2 >= limit) {
+            // 한도 근처까지 사용중일 때만 늘린다 (유휴 상태에서 한도가 무한정 커지지 않도록)
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return nodeInFlight.get();
+    }
+
+    public int getInFlight(String accountNumber) {
+        return accountInFlight.getOrDefault(accountNumber, 0);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.account.service;
+
+import com.example.account.domain.ReconciliationMismatch;
+import com.example.account.type.MismatchType;
+import com.example.account.type.TransactionType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 계좌 하나의 성공 거래를 transactedAt 순으로 따라가며 잔액 스냅샷 연속성 검사
+ * - USE : 이전 스냅샷 - 금액, CANCEL : 이전 스냅샷 + 금액
+ * - 첫 거래는 이전 잔액(초기 잔액)을 알 수 없으므로 기준으로만 사용
+ * - 불일치가 나면 그 거래의 스냅샷을 새 기준으로 삼는다 (잘못된 거래 하나당 불일치 하나)
+ * - transactedAt 이 같은 거래끼리는 id 순서가 실제 적용 순서와 다를 수 있으므로 (락 밖에서 시각을 찍은 취소 등)
+ *   모아 두었다가 이전 스냅샷에서 이어지는 거래부터 적용한다
+ */
+final class BalanceChain {
+    private final Long runId;
+    private final Long accountId;
+    private final String accountNumber;
+    private Long lastSnapshot;
+    private String lastTransactionId;
+    private LocalDateTime groupTransactedAt;
+    private final List<Pending> group = new ArrayList<>();
+
+    BalanceChain(Long runId, Long accountId, String accountNumber) {
+        this.runId = runId;
+        this.accountId = accountId;
+        this.accountNumber = accountNumber;
+    }
+
+    /**
+     * 같은 transactedAt 의 거래를 모아 두고, 시각이 바뀌면 앞의 묶음을 검사
+     * @return 앞 묶음의 불일치 (없으면 빈 목록)
+     */
+    List<ReconciliationMismatch> accept(LocalDateTime transactedAt, TransactionType transactionType,
+                                        long amount, long snapshot, String transactionId) {
+        List<ReconciliationMismatch> mismatches = Collections.emptyList();
+        if (groupTransactedAt != null && !groupTransactedAt.equals(transactedAt)) {
+            mismatches = flush();
+        }
+        groupTransactedAt = transactedAt;
+        group.add(new Pending(transactionType, amount, snapshot, transactionId));
+        return mismatches;
+    }
+
+    /**
+     * 모아 둔 거래 검사, 이전 스냅샷에서 이어지는 거래가 없으면 id 순서대로 적용
+     * @return 불일치 (없으면 빈 목록)
+     */
+    List<ReconciliationMismatch> flush() {
+        List<ReconciliationMismatch> mismatches = new ArrayList<>();
+        while (!group.isEmpty()) {
+            int next = 0;
+            if (lastSnapshot != null) {
+                for (int i = 0; i < group.size(); i++) {
+                    if (group.get(i).continues(lastSnapshot)) {
+                        next = i;
+                        break;
+                    }
+                }
+            }
+            Pending pending = group.remove(next);
+            ReconciliationMismatch mismatch = accept(pending.transactionType, pending.amount,
+                    pending.snapshot, pending.transactionId);
+            if (mismatch != null) {
+                mismatches.add(mismatch);
+            }
+        }
+        groupTransactedAt = null;
+        return mismatches;
+    }
+
+    /**
+     * @return 불일치가 없으면 null
+     */
+    ReconciliationMismatch accept(TransactionType transactionType, long amount,
+                                  long snapshot, String transactionId) {
+        ReconciliationMismatch mismatch = null;
+        if (lastSnapshot != null) {
+            long expected = expected(transactionType, lastSnapshot, amount);
+            if (expected != snapshot) {
+                mismatch = mismatch(MismatchType.CHAIN, transactionId, expected, snapshot);
+            }
+        }
+        lastSnapshot = snapshot;
+        lastTransactionId = transactionId;
+        return mismatch;
+    }
+
+    /**
+     * @return 거래가 없거나 마지막 스냅샷이 잔액과 같으면 null
+     */
+    ReconciliationMismatch finish(long balance) {
+        if (lastSnapshot == null || lastSnapshot == balance) {
+            return null;
+        }
+        return mismatch(MismatchType.FINAL, lastTransactionId, lastSnapshot, balance);
+    }
+
+    private static long expected(TransactionType transactionType, long previous, long amount) {
+        return transactionType == TransactionType.USE ? previous - amount : previous + amount;
+    }
+
+    Long getAccountId() {
+        return accountId;
+    }
+
+    private ReconciliationMismatch mismatch(MismatchType mismatchType, String transactionId,
+                                            long expected, long actual) {
+        return ReconciliationMismatch.builder()
+                .runId(runId)
+                .accountId(accountId)
+                .accountNumber(accountNumber)
+                .transactionId(transactionId)
+                .mismatchType(mismatchType)
+                .expectedBalance(expected)
+                .actualBalance(actual)
+                .build();
+    }
+
+    private static final class Pending {
+        private final TransactionType transactionType;
+        private final long amount;
+        private final long snapshot;
+        private final String transactionId;
+
+        private Pending(TransactionType transactionType, long amount, long snapshot, String transactionId) {
+            this.transactionType = transactionType;
+            this.amount = amount;
+            this.snapshot = snapshot;
+            this.transactionId = transactionId;
+        }
+
+        private boolean continues(long previous) {
+            return expected(transactionType, previous, amount) == snapshot;
+        }
+    }
+}
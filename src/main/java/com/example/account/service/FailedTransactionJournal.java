@@ -0,0 +1,309 @@
+package com.example.account.service;
+
+import com.example.account.dto.FailedTransaction;
+import com.example.account.metrics.AccountMetrics;
+import com.example.account.type.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실패 거래 저널
+ * - 요청 스레드는 메모리 큐에 넣고 바로 반환 (DB, 파일 I/O 를 하지 않음)
+ * - 백그라운드 drainer 가 batchSize 만큼 모아서 한번에 insert
+ * - DB 가 느리거나(slowThresholdMillis 초과) 실패하면 drainer 가 로컬 spool 파일에 append 해두고
+ *   DB 가 회복되면 spool 파일을 batch 하나씩 다시 읽어 insert (새 실패 건 batch 와 번갈아 처리, 큐가 비면 연속 처리)
+ * - 큐가 가득 차면(drainer 가 spool I/O 도 못 따라가는 상태) 버리고 account.failure-journal.dropped 로 센다
+ * - 잔액 스냅샷은 서비스가 실패 시점에 이미 읽어둔 계좌 잔액 (AccountException.balanceSnapShot)
+ *   계좌를 읽기 전에 실패했으면 null -> insert 할 때 한번에 조회한 계좌 잔액 사용
+ * - spool 을 insert 한 뒤 삭제 전에 죽으면 중복 기록될 수 있다 (at-least-once)
+ */
+@Slf4j
+@Service
+public class FailedTransactionJournal {
+    private static final String SPOOL_FILE = "journal.spool";
+    private static final String DRAINING_SUFFIX = ".draining";
+
+    private final TransactionService transactionService;
+    private final AccountMetrics accountMetrics;
+    private final BlockingQueue<FailedTransaction> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long slowThresholdMillis;
+    private final long spoolBackoffMillis;
+    private final Path spoolDir;
+
+    private final Object spoolLock = new Object();
+    private volatile boolean running;
+    private volatile long spoolUntil;
+    private Thread drainer;
+
+    // 재처리중인 draining 파일 (drainer 스레드만 사용)
+    private Path replayFile;
+    private BufferedReader replayReader;
+    private boolean replayEof;
+    private final List<FailedTransaction> replayBatch = new ArrayList<>();
+
+    public FailedTransactionJournal(
+            TransactionService transactionService,
+            AccountMetrics accountMetrics,
+            @Value("${account.failure-journal.queue-capacity:10000}") int queueCapacity,
+            @Value("${account.failure-journal.batch-size:100}") int batchSize,
+            @Value("${account.failure-journal.flush-interval-ms:200}") long flushIntervalMillis,
+            @Value("${account.failure-journal.slow-threshold-ms:500}") long slowThresholdMillis,
+            @Value("${account.failure-journal.spool-backoff-ms:5000}") long spoolBackoffMillis,
+            @Value("${account.failure-journal.spool-dir:./failure-journal}") String spoolDir
+    ) {
+        this.transactionService = transactionService;
+        this.accountMetrics = accountMetrics;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.slowThresholdMillis = slowThresholdMillis;
+        this.spoolBackoffMillis = spoolBackoffMillis;
+        this.spoolDir = Paths.get(spoolDir);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(spoolDir);
+        running = true;
+        drainer = new Thread(this::drainLoop, "failure-journal-drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        drainer.interrupt();
+        drainer.join(TimeUnit.SECONDS.toMillis(5));
+        // 재처리중이던 draining 파일은 그대로 두고 다음 기동시 처음부터 다시 insert
+        closeReplay();
+        // 남은 건은 spool 로 넘겨 다음 기동시 처리
+        List<FailedTransaction> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        spool(remaining);
+    }
+
+    /**
+     * 요청 스레드에서 호출, blocking 하지 않는다 (큐가 가득 차면 버림)
+     * balanceSnapShot : 실패 시점 잔액 (AccountException.getBalanceSnapShot, 모르면 null)
+     */
+    public void append(TransactionType transactionType, String accountNumber, Long amount,
+                       Long balanceSnapShot) {
+        FailedTransaction failed = FailedTransaction.builder()
+                .transactionType(transactionType)
+                .accountNumber(accountNumber)
+                .amount(amount)
+                .balanceSnapShot(balanceSnapShot)
+                .failedAt(LocalDateTime.now())
+                .build();
+        if (!queue.offer(failed)) {
+            accountMetrics.countFailureJournalDropped();
+        }
+    }
+
+    private void drainLoop() {
+        List<FailedTransaction> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                FailedTransaction first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    // 큐가 비어 있는 동안은 spool 을 연속으로 처리
+                    boolean replayed;
+                    do {
+                        replayed = replaySpoolBatch();
+                    } while (replayed && running && queue.isEmpty());
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+                // 새 실패 건이 계속 들어와도 spool 이 밀리지 않도록 batch 하나씩 끼워서 처리
+                replaySpoolBatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                spool(batch);
+                return;
+            } catch (Exception e) {
+                log.error("Failure journal drain failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<FailedTransaction> batch) {
+        if (System.currentTimeMillis() < spoolUntil) {
+            spool(batch);
+            return;
+        }
+        if (!insert(batch)) {
+            spool(batch);
+        }
+    }
+
+    private boolean insert(List<FailedTransaction> batch) {
+        long start = System.currentTimeMillis();
+        try {
+            transactionService.saveFailedTransactions(batch);
+        } catch (Exception e) {
+            log.error("Failed to insert {} failed transactions, spooling", batch.size(), e);
+            spoolUntil = System.currentTimeMillis() + spoolBackoffMillis;
+            return false;
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        if (elapsed > slowThresholdMillis) {
+            log.warn("Failed transaction insert took {} ms, spooling for {} ms", elapsed, spoolBackoffMillis);
+            spoolUntil = System.currentTimeMillis() + spoolBackoffMillis;
+        }
+        return true;
+    }
+
+    private void spool(List<FailedTransaction> failedTransactions) {
+        if (failedTransactions.isEmpty()) {
+            return;
+        }
+        synchronized (spoolLock) {
+            try (BufferedWriter writer = Files.newBufferedWriter(
+                    spoolDir.resolve(SPOOL_FILE), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (FailedTransaction failed : failedTransactions) {
+                    writer.write(toLine(failed));
+                    writer.newLine();
+                }
+            } catch (IOException e) {
+                log.error("Failed to spool {} failed transactions", failedTransactions.size(), e);
+            }
+        }
+    }
+
+    /**
+     * spool 에서 batch 하나만 insert
+     * - spool 파일은 draining 파일로 옮긴 뒤 열어둔 reader 로 이어서 읽는다
+     * - insert 에 실패하면 읽은 batch 를 들고 있다가 backoff 뒤 다시 시도
+     * - 파일 끝까지 insert 하면 draining 파일 삭제
+     * @return batch 를 insert 했으면 true (더 남아 있을 수 있음)
+     */
+    private boolean replaySpoolBatch() throws IOException {
+        if (System.currentTimeMillis() < spoolUntil) {
+            return false;
+        }
+        if (replayBatch.isEmpty()) {
+            if (replayReader == null && !openNextDraining()) {
+                return false;
+            }
+            readReplayBatch();
+        }
+        boolean inserted = false;
+        if (!replayBatch.isEmpty()) {
+            if (!insert(replayBatch)) {
+                return false;
+            }
+            replayBatch.clear();
+            inserted = true;
+        }
+        if (replayEof) {
+            closeReplay();
+            Files.delete(replayFile);
+            replayFile = null;
+            return true;
+        }
+        return inserted;
+    }
+
+    // 이전에 남은 draining 파일부터, 없으면 지금까지의 spool 파일을 draining 으로 옮겨서 연다
+    private boolean openNextDraining() throws IOException {
+        Path next = null;
+        try (DirectoryStream<Path> drainingFiles =
+                     Files.newDirectoryStream(spoolDir, "*" + DRAINING_SUFFIX)) {
+            for (Path draining : drainingFiles) {
+                if (next == null || draining.getFileName().compareTo(next.getFileName()) < 0) {
+                    next = draining;
+                }
+            }
+        }
+        if (next == null) {
+            Path spoolFile = spoolDir.resolve(SPOOL_FILE);
+            synchronized (spoolLock) {
+                if (!Files.exists(spoolFile) || Files.size(spoolFile) == 0) {
+                    return false;
+                }
+                next = spoolDir.resolve(SPOOL_FILE + "." + System.currentTimeMillis() + DRAINING_SUFFIX);
+                Files.move(spoolFile, next, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        replayFile = next;
+        replayReader = Files.newBufferedReader(next, StandardCharsets.UTF_8);
+        replayEof = false;
+        return true;
+    }
+
+    private void readReplayBatch() throws IOException {
+        String line;
+        while (replayBatch.size() < batchSize && (line = replayReader.readLine()) != null) {
+            if (!line.isEmpty()) {
+                replayBatch.add(fromLine(line));
+            }
+        }
+        replayEof = replayBatch.size() < batchSize;
+    }
+
+    private void closeReplay() {
+        if (replayReader == null) {
+            return;
+        }
+        try {
+            replayReader.close();
+        } catch (IOException e) {
+            log.warn("Failed to close spool file {}", replayFile, e);
+        }
+        replayReader = null;
+    }
+
+    // TYPE,accountNumber,amount,failedAt(epoch millis),balanceSnapShot(없으면 빈 값)
+    private String toLine(FailedTransaction failed) {
+        return failed.getTransactionType() + "," + failed.getAccountNumber() + ","
+                + failed.getAmount() + ","
+                + failed.getFailedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + ","
+                + (failed.getBalanceSnapShot() == null ? "" : failed.getBalanceSnapShot());
+    }
+
+    private FailedTransaction fromLine(String line) {
+        String[] fields = line.split(",", -1);
+        return FailedTransaction.builder()
+                .transactionType(TransactionType.valueOf(fields[0]))
+                .accountNumber(fields[1])
+                .amount(Long.parseLong(fields[2]))
+                .failedAt(LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(Long.parseLong(fields[3])), ZoneId.systemDefault()))
+                .balanceSnapShot(fields[4].isEmpty() ? null : Long.parseLong(fields[4]))
+                .build();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+}
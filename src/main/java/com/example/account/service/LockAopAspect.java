@@ -1,7 +1,6 @@
 package com.example.account.service;
 
 import com.example.account.aop.AccountLockInterface;
-import com.example.account.dto.UseBalance;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -14,19 +13,13 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @RequiredArgsConstructor
 public class LockAopAspect {
-    private final LockService lockService;
+    private final AccountLockExecutor accountLockExecutor;
 
     @Around("@annotation(com.example.account.aop.AccountLock) && args(request)")
     public Object aroundMethod(
             ProceedingJoinPoint pjp,
             AccountLockInterface request
     ) throws Throwable {
-        // lock 취득 시도
-        lockService.lock(request.getAccountNumber());
-        try{
-            return pjp.proceed();
-        }finally {
-            lockService.unlock(request.getAccountNumber());
-        }
+        return accountLockExecutor.execute(request.getAccountNumber(), pjp::proceed);
     }
 }
@@ -1,13 +1,24 @@
 package com.example.account.service;
 
+import com.example.account.dto.LockInfo;
 import com.example.account.exception.AccountException;
+import com.example.account.metrics.AccountMetrics;
+import com.example.account.metrics.LockAcquireEvent;
 import com.example.account.type.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RList;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
@@ -15,29 +26,162 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class LockService {
     private final RedissonClient redissonClient;
+    private final AccountMetrics accountMetrics;
+
+    private static final String LOCK_KEY_PREFIX = "ACLK:";
+    private static final String AUDIT_KEY = "ACLK_AUDIT";
+    private static final int AUDIT_MAX_SIZE = 1000;
+
+    // 이 노드에서 잡고 있는 락 (보유 시간 측정, 현황 조회용)
+    private final ConcurrentHashMap<String, LocalHolder> holders = new ConcurrentHashMap<>();
+    // 이 노드에서 락을 기다리는 요청 수
+    private final ConcurrentHashMap<String, Integer> waiters = new ConcurrentHashMap<>();
 
     public void lock(String accountNumber){
         RLock lock = redissonClient.getLock(getLockKey(accountNumber));
         log.debug("Trying lock for accountNumber : {} ",accountNumber);
 
+        LockAcquireEvent event = new LockAcquireEvent();
+        event.begin();
+        long start = System.nanoTime();
+        waiters.merge(accountNumber, 1, Integer::sum);
         try{
             boolean isLock = lock.tryLock(1,15, TimeUnit.SECONDS);
+            long now = System.nanoTime();
+            accountMetrics.recordLockWait(now - start, isLock);
             if(!isLock){
+                event.outcome = "timeout";
                 log.error("-------------Lock acquisition failed--------------");
-                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+                throw AccountException.of(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
             }
+            event.outcome = "acquired";
+            holders.put(accountNumber, new LocalHolder(now, Thread.currentThread().getName()));
         }catch (AccountException e){
             throw e;
         }
         catch (Exception e){
+            event.outcome = "error";
+            accountMetrics.countLockError();
             log.error("Redis lock failed");
+        }finally {
+            waiters.computeIfPresent(accountNumber, (key, count) -> count == 1 ? null : count - 1);
+            event.end();
+            if(event.shouldCommit()){
+                event.accountNumber = accountNumber;
+                event.commit();
+            }
         }
     }
     public void unlock(String accountNumber){
         log.debug("Unlock for accountNumber : {} ",accountNumber);
-        redissonClient.getLock(getLockKey(accountNumber)).unlock();
+        LocalHolder holder = holders.remove(accountNumber);
+        if(holder != null){
+            accountMetrics.recordLockHold(System.nanoTime() - holder.acquiredNanos);
+        }
+        RLock lock = redissonClient.getLock(getLockKey(accountNumber));
+        if(!lock.isHeldByCurrentThread()){
+            // 강제 해제(/actuator/locks) 되었거나 lease 가 만료된 경우 : 이미 커밋된 요청을 예외로 바꾸지 않음
+            log.warn("lock_not_held account={} (force released or lease expired)", accountNumber);
+            return;
+        }
+        lock.unlock();
+    }
+
+    /**
+     * Redis 에 잡혀있는 계좌 락 목록 (SCAN 이므로 KEYS 처럼 Redis 를 막지 않음)
+     */
+    public List<LockInfo> getLocks(int limit){
+        List<LockInfo> locks = new ArrayList<>();
+        for (String key : redissonClient.getKeys().getKeysByPattern(LOCK_KEY_PREFIX + "*")) {
+            if(locks.size() >= limit){
+                break;
+            }
+            LockInfo lockInfo = getLock(key.substring(LOCK_KEY_PREFIX.length()));
+            if(lockInfo != null){
+                locks.add(lockInfo);
+            }
+        }
+        return locks;
     }
+
+    /**
+     * @return 락이 없으면 null
+     */
+    public LockInfo getLock(String accountNumber){
+        String key = getLockKey(accountNumber);
+        // redisson 락은 hash : field = "인스턴스id:threadId", value = 재진입 횟수
+        Map<String, String> fields = redissonClient.<String, String>getMap(key, StringCodec.INSTANCE)
+                .readAllMap();
+        long remainLeaseMillis = redissonClient.getLock(key).remainTimeToLive();
+        if(fields.isEmpty() || remainLeaseMillis == -2){
+            return null;
+        }
+
+        Map<String, Integer> lockHolders = new HashMap<>();
+        boolean heldByThisNode = false;
+        String nodeId = redissonClient.getId();
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            lockHolders.put(field.getKey(), Integer.valueOf(field.getValue()));
+            heldByThisNode |= field.getKey().startsWith(nodeId + ":");
+        }
+
+        LockInfo.LockInfoBuilder builder = LockInfo.builder()
+                .accountNumber(accountNumber)
+                .holders(lockHolders)
+                .remainLeaseMillis(remainLeaseMillis)
+                .heldByThisNode(heldByThisNode)
+                .localWaiters(getLocalWaiters(accountNumber));
+        LocalHolder holder = holders.get(accountNumber);
+        if(heldByThisNode && holder != null){
+            builder.holderThread(holder.threadName)
+                    .acquiredAt(holder.acquiredAt)
+                    .heldMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - holder.acquiredNanos));
+        }
+        return builder.build();
+    }
+
+    /**
+     * 운영자 강제 해제 (보유 노드/스레드와 무관하게 삭제), 감사 기록을 남긴다
+     */
+    public boolean forceUnlock(String accountNumber, String operator, String reason){
+        LockInfo before = getLock(accountNumber);
+        boolean released = redissonClient.getLock(getLockKey(accountNumber)).forceUnlock();
+        holders.remove(accountNumber);
+
+        String audit = String.format("at=%s account=%s operator=%s reason=%s released=%s holders=%s lease_ms=%s",
+                LocalDateTime.now(), accountNumber, operator, reason, released,
+                before == null ? "{}" : before.getHolders(),
+                before == null ? "-" : before.getRemainLeaseMillis());
+        log.warn("lock_force_release {}", audit);
+        RList<String> auditLog = redissonClient.getList(AUDIT_KEY, StringCodec.INSTANCE);
+        auditLog.add(audit);
+        if(auditLog.size() > AUDIT_MAX_SIZE){
+            auditLog.trim(-AUDIT_MAX_SIZE, -1);
+        }
+        return released;
+    }
+
+    public List<String> getForceUnlockAudit(int limit){
+        RList<String> auditLog = redissonClient.getList(AUDIT_KEY, StringCodec.INSTANCE);
+        return auditLog.range(-limit, -1);
+    }
+
+    private int getLocalWaiters(String accountNumber){
+        return waiters.getOrDefault(accountNumber, 0);
+    }
+
     private String getLockKey(String accountNumber) {
-        return "ACLK:" + accountNumber;
+        return LOCK_KEY_PREFIX + accountNumber;
+    }
+
+    private static class LocalHolder {
+        private final long acquiredNanos;
+        private final LocalDateTime acquiredAt = LocalDateTime.now();
+        private final String threadName;
+
+        private LocalHolder(long acquiredNanos, String threadName) {
+            this.acquiredNanos = acquiredNanos;
+            this.threadName = threadName;
+        }
     }
 }
@@ -0,0 +1,153 @@
+package com.example.account.service;
+
+import com.example.account.domain.OutboxEvent;
+import com.example.account.metrics.AccountMetrics;
+import com.example.account.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RLock;
+import org.redisson.api.RStreamAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * outbox -> Redis Stream 발행
+ * - 노드 중 OUTBOX_RELAY 락을 잡은 하나만 id 순으로 발행
+ *   id 는 persist 시점 시퀀스라 커밋 순서와 다를 수 있으므로 스트림 순서가 계좌별 순서는 아님
+ *   소비자는 accountSequence 로 계좌별 순서를 맞춘다 (마지막으로 적용한 값 이하는 버림, 비어있으면 순서 무관한 실패 거래)
+ * - 한 배치를 RBatch 로 한번에 XADD 한 뒤 publishedAt 을 채운다
+ *   발행 후 표시 전에 죽으면 다음 실행에서 다시 발행 (at-least-once, 소비자는 outboxId 로 중복 제거)
+ * - 발행된 이벤트는 retention 이 지나면 삭제
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+    private static final String RELAY_LOCK_KEY = "OUTBOX_RELAY";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RedissonClient redissonClient;
+    private final AccountMetrics accountMetrics;
+    private final boolean enabled;
+    private final String streamKey;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int streamMaxLen;
+    private final long lockLeaseSeconds;
+    private final Duration retention;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            RedissonClient redissonClient,
+            AccountMetrics accountMetrics,
+            @Value("${account.outbox.enabled:true}") boolean enabled,
+            @Value("${account.outbox.stream-key:account-events}") String streamKey,
+            @Value("${account.outbox.batch-size:500}") int batchSize,
+            @Value("${account.outbox.max-batches-per-run:10}") int maxBatchesPerRun,
+            @Value("${account.outbox.stream-max-len:1000000}") int streamMaxLen,
+            @Value("${account.outbox.lock-lease-seconds:30}") long lockLeaseSeconds,
+            @Value("${account.outbox.retention-hours:24}") long retentionHours
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.redissonClient = redissonClient;
+        this.accountMetrics = accountMetrics;
+        this.enabled = enabled;
+        this.streamKey = streamKey;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.streamMaxLen = streamMaxLen;
+        this.lockLeaseSeconds = lockLeaseSeconds;
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    @Scheduled(fixedDelayString = "${account.outbox.poll-interval-ms:500}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        RLock lock = redissonClient.getLock(RELAY_LOCK_KEY);
+        try {
+            if (!lock.tryLock(0, lockLeaseSeconds, TimeUnit.SECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                if (publishBatch() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Outbox relay failed, retrying on next run", e);
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    int publishBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(
+                PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        RStreamAsync<String, String> stream = batch.getStream(streamKey, StringCodec.INSTANCE);
+        for (OutboxEvent event : events) {
+            stream.addAsync(StreamAddArgs.entries(toEntries(event))
+                    .trimNonStrict().maxLen(streamMaxLen).noLimit());
+        }
+        batch.execute();
+
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.markPublished(
+                events.stream().map(OutboxEvent::getId).collect(Collectors.toList()), now);
+        LocalDateTime oldest = events.get(0).getCreatedAt();
+        accountMetrics.recordOutboxPublished(events.size(),
+                oldest == null ? 0L : Duration.between(oldest, now).toNanos());
+        return events.size();
+    }
+
+    @Scheduled(fixedDelayString = "${account.outbox.cleanup-interval-ms:600000}")
+    public void deletePublished() {
+        if (!enabled) {
+            return;
+        }
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Deleted {} published outbox events", deleted);
+        }
+    }
+
+    // package-private : 테스트
+    Map<String, String> toEntries(OutboxEvent event) {
+        Map<String, String> entries = new HashMap<>();
+        entries.put("outboxId", String.valueOf(event.getId()));
+        entries.put("eventType", event.getEventType().name());
+        entries.put("accountNumber", event.getAccountNumber());
+        if (event.getAccountSequence() != null) {
+            entries.put("accountSequence", String.valueOf(event.getAccountSequence()));
+        }
+        entries.put("payload", event.getPayload());
+        entries.put("createdAt", String.valueOf(event.getCreatedAt()));
+        return entries;
+    }
+}
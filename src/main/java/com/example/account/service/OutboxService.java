@@ -0,0 +1,71 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.OutboxEvent;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.AccountDto;
+import com.example.account.dto.TransactionDto;
+import com.example.account.repository.OutboxEventRepository;
+import com.example.account.type.OutboxEventType;
+import com.example.account.type.TransactionResultType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * outbox 기록
+ * - 호출하는 서비스의 트랜잭션 안에서만 실행 (MANDATORY), 거래/계좌 변경과 함께 커밋되거나 함께 롤백
+ * - payload 는 조회 API 와 같은 DTO 의 JSON
+ * - accountSequence : 계좌 row 와 같이 증가시킨 Account.eventSequence, 소비자는 계좌별로 이 값 순서로 적용
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void recordTransaction(Transaction transaction) {
+        outboxEventRepository.save(transactionEvent(transaction));
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void recordTransactions(List<Transaction> transactions) {
+        outboxEventRepository.saveAll(transactions.stream()
+                .map(this::transactionEvent)
+                .collect(Collectors.toList()));
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void recordAccountStatus(Account account) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(OutboxEventType.ACCOUNT_STATUS)
+                .accountNumber(account.getAccountNumber())
+                .accountSequence(account.getEventSequence())
+                .payload(toJson(AccountDto.fromEntity(account)))
+                .build());
+    }
+
+    private OutboxEvent transactionEvent(Transaction transaction) {
+        return OutboxEvent.builder()
+                .eventType(OutboxEventType.TRANSACTION)
+                .accountNumber(transaction.getAccount().getAccountNumber())
+                .accountSequence(transaction.getTransactionResultType() == TransactionResultType.S
+                        ? transaction.getAccount().getEventSequence() : null)
+                .payload(toJson(TransactionDto.fromEntity(transaction)))
+                .build();
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.account.service;
+
+import com.example.account.aop.RateLimit;
+import com.example.account.aop.RateLimitInterface;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청 수 제한은 락 AOP 와 컨트롤러(실패 거래 저장) 보다 먼저 실행
+ * -> 거절된 요청은 락도 잡지 않고 DB 에도 기록되지 않는다
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RateLimitAopAspect {
+    private final RateLimitService rateLimitService;
+
+    @Around("@annotation(rateLimit) && args(request)")
+    public Object aroundMethod(
+            ProceedingJoinPoint pjp,
+            RateLimit rateLimit,
+            RateLimitInterface request
+    ) throws Throwable {
+        rateLimitService.check(rateLimit.value(), request);
+        return pjp.proceed();
+    }
+}
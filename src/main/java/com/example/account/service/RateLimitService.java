@@ -0,0 +1,136 @@
+package com.example.account.service;
+
+import com.example.account.aop.RateLimitInterface;
+import com.example.account.config.RateLimitProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Redis token bucket 기반 요청 수 제한
+ * - 토큰 계산은 lua 스크립트로 Redis 안에서 원자적으로 처리
+ * - Redis 호출을 줄이기 위해 한번에 localBatch 개의 토큰을 받아 로컬에 보관 후 소진
+ *   (로컬 토큰은 localTtlMillis 가 지나면 버린다)
+ * - Redis 장애시에는 요청을 막지 않는다 (fail-open)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RateLimitService {
+    // KEYS[1] = bucket key, ARGV = capacity, refillPerSecond, requested, nowMillis
+    // return = 실제로 받은 토큰 수 (0 ~ requested)
+    private static final String TOKEN_BUCKET_SCRIPT =
+            "local capacity = tonumber(ARGV[1]) " +
+            "local refill = tonumber(ARGV[2]) " +
+            "local requested = tonumber(ARGV[3]) " +
+            "local now = tonumber(ARGV[4]) " +
+            "local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts') " +
+            "local tokens = tonumber(bucket[1]) " +
+            "local ts = tonumber(bucket[2]) " +
+            "if tokens == nil then tokens = capacity ts = now end " +
+            "tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill / 1000) " +
+            "local granted = math.min(requested, math.floor(tokens)) " +
+            "tokens = tokens - granted " +
+            "redis.call('HMSET', KEYS[1], 'tokens', tokens, 'ts', now) " +
+            "redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / refill) + 1000) " +
+            "return granted";
+
+    private static final int LOCAL_PURGE_THRESHOLD = 10_000;
+
+    private final RedissonClient redissonClient;
+    private final RateLimitProperties properties;
+
+    private final ConcurrentHashMap<String, LocalTokens> localTokens = new ConcurrentHashMap<>();
+
+    /**
+     * account.rate-limit.endpoints.{endpoint} 의 사용자 / 계좌 버킷 확인 (REST 는 RateLimitAopAspect, gRPC 는 직접 호출)
+     * @throws AccountException TOO_MANY_REQUESTS
+     */
+    public void check(String endpoint, RateLimitInterface request) {
+        RateLimitProperties.Endpoint limits = properties.getEndpoints().get(endpoint);
+        if (!properties.isEnabled() || limits == null) {
+            return;
+        }
+        checkLimit(endpoint + ":user:" + request.getUserId(),
+                request.getUserId() == null ? null : limits.getUser());
+        checkLimit(endpoint + ":account:" + request.getAccountNumber(),
+                limits.getAccount());
+    }
+
+    private void checkLimit(String key, RateLimitProperties.Bucket bucket) {
+        if (bucket == null) {
+            return;
+        }
+        if (!tryAcquire(key, bucket)) {
+            log.warn("Rate limit exceeded : {}", key);
+            throw AccountException.of(ErrorCode.TOO_MANY_REQUESTS);
+        }
+    }
+
+    /**
+     * @return 허용되면 true
+     */
+    public boolean tryAcquire(String key, RateLimitProperties.Bucket bucket) {
+        long now = System.currentTimeMillis();
+        LocalTokens local = localTokens.get(key);
+        if (local != null && local.expiresAt > now && local.tokens.getAndDecrement() > 0) {
+            return true;
+        }
+
+        long granted;
+        try {
+            granted = fetchTokens(key, bucket, now);
+        } catch (Exception e) {
+            log.error("Rate limit check failed for {}", key, e);
+            return true;
+        }
+
+        if (granted <= 0) {
+            localTokens.remove(key);
+            return false;
+        }
+        if (localTokens.size() > LOCAL_PURGE_THRESHOLD) {
+            localTokens.values().removeIf(tokens -> tokens.expiresAt <= now);
+        }
+        // 하나는 이번 요청에 사용
+        localTokens.put(key, new LocalTokens((int) granted - 1, now + properties.getLocalTtlMillis()));
+        return true;
+    }
+
+    private long fetchTokens(String key, RateLimitProperties.Bucket bucket, long now) {
+        Long granted = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                RScript.Mode.READ_WRITE,
+                TOKEN_BUCKET_SCRIPT,
+                RScript.ReturnType.INTEGER,
+                Collections.singletonList(getBucketKey(key)),
+                String.valueOf(bucket.getCapacity()),
+                String.valueOf(bucket.getRefillPerSecond()),
+                String.valueOf(Math.min(properties.getLocalBatch(), bucket.getCapacity())),
+                String.valueOf(now)
+        );
+        return granted == null ? 0L : granted;
+    }
+
+    private String getBucketKey(String key) {
+        return "RTLM:" + key;
+    }
+
+    private static class LocalTokens {
+        private final AtomicInteger tokens;
+        private final long expiresAt;
+
+        private LocalTokens(int tokens, long expiresAt) {
+            this.tokens = new AtomicInteger(tokens);
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.account.service;
+
+import com.example.account.domain.ReactiveAccount;
+import com.example.account.dto.AccountChangedEvent;
+import com.example.account.dto.AccountDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.ReactiveAccountRepository;
+import com.example.account.type.AccountType;
+import com.example.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.AccountStatus.UNREGISTERED;
+
+/**
+ * AccountService 의 reactive(R2DBC) 버전
+ * 계좌 생성/해지는 servlet 경로와 같이 eventSequence 를 올리고 outbox 기록, 해지는 커밋 후 SSE 발행
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveAccountService {
+    private static final String REACTIVE_TX = "reactiveTransactionManager";
+
+    private final ReactiveAccountRepository accountRepository;
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+    private final ReactiveOutboxService outboxService;
+    private final AccountChangePublisher accountChangePublisher;
+
+    @Transactional(REACTIVE_TX)
+    public Mono<AccountDto> createAccount(Long userId, Long initialBalance, AccountType accType){
+        return validateAccountUser(userId)
+                .then(Mono.defer(() -> accountRepository.countByAccountUserId(userId)))
+                .flatMap(count -> {
+                    if(count >= 10){
+                        return Mono.error(AccountException.of(ErrorCode.MAX_ACCOUNT_PER_USER_10));
+                    }
+                    return generateUniqueAccountNumber(accType);
+                })
+                .flatMap(accountNumber -> saveAccountNumber(accountNumber).thenReturn(accountNumber))
+                .zipWith(Mono.defer(accountRepository::nextId))
+                .flatMap(tuple -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    return r2dbcEntityTemplate.insert(
+                            ReactiveAccount.builder()
+                                    .id(tuple.getT2())
+                                    .accountType(accType)
+                                    .accountNumber(tuple.getT1())
+                                    .accountUserId(userId)
+                                    .accountStatus(IN_USE)
+                                    .balance(initialBalance)
+                                    .eventSequence(1L)
+                                    .registeredAt(now)
+                                    .createdAt(now)
+                                    .updatedAt(now)
+                                    .build()
+                    );
+                })
+                .flatMap(account -> outboxService.recordAccountStatus(account)
+                        .thenReturn(AccountDto.fromEntity(account)));
+    }
+
+    // 중복되지 않는 번호가 나올때 까지 재시도
+    private Mono<String> generateUniqueAccountNumber(AccountType accountType){
+        return Mono.fromSupplier(() -> generateAccountNumber(accountType))
+                .flatMap(accountNumber -> accountRepository.existsAccountNumber(accountNumber)
+                        .filter(exists -> !exists)
+                        .map(exists -> accountNumber))
+                .repeatWhenEmpty(Integer.MAX_VALUE, repeat -> repeat);
+    }
+
+    private String generateAccountNumber(AccountType accountType){
+        StringBuilder genAcc = new StringBuilder(accountType.getDescription());
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        for(int i=0;i<6;i++){
+            genAcc.append(r.nextInt(10));
+        }
+        return genAcc.toString();
+    }
+
+    private Mono<Void> saveAccountNumber(String accountNumber){
+        return accountRepository.nextId()
+                .flatMap(id -> r2dbcEntityTemplate.getDatabaseClient()
+                        .sql("insert into account_number(id, account_number, created_at, updated_at) " +
+                                "values (:id, :accountNumber, :now, :now)")
+                        .bind("id", id)
+                        .bind("accountNumber", accountNumber)
+                        .bind("now", LocalDateTime.now())
+                        .then());
+    }
+
+    private Mono<Void> validateAccountUser(Long userId){
+        return accountRepository.existsAccountUserById(userId)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.error(() -> AccountException.of(ErrorCode.USER_NOT_FOUND)))
+                .then();
+    }
+
+    @Transactional(REACTIVE_TX)
+    public Mono<AccountDto> deleteAccount(Long userId, String accountNumber) {
+        return validateAccountUser(userId)
+                .then(Mono.defer(() -> accountRepository.findByAccountNumber(accountNumber)))
+                .switchIfEmpty(Mono.error(() -> AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND)))
+                .flatMap(account -> {
+                    validateDeleteAccount(userId, account);
+                    LocalDateTime now = LocalDateTime.now();
+                    account.setAccountStatus(UNREGISTERED);
+                    account.setUnRegisterdAt(now);
+                    account.nextEventSequence();
+                    account.setUpdatedAt(now);
+                    return accountRepository.save(account);
+                })
+                // AccountService.deleteAccount 와 같이 outbox 기록 후 커밋되면 SSE 구독자에게 전달
+                .flatMap(account -> outboxService.recordAccountStatus(account)
+                        .then(accountChangePublisher.publishAfterCommit(AccountChangedEvent.from(account)))
+                        .thenReturn(AccountDto.fromEntity(account)));
+    }
+
+    private void validateDeleteAccount(Long userId, ReactiveAccount account) {
+        if(!Objects.equals(userId, account.getAccountUserId())){
+            throw AccountException.of(ErrorCode.USER_ACCOUNT_UNMATCHED);
+        }
+        if(account.getAccountStatus() == UNREGISTERED){
+            throw AccountException.of(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        if(account.getBalance() > 0L){
+            throw AccountException.of(ErrorCode.BALANCE_NOT_EMPTY);
+        }
+    }
+
+    @Transactional(value = REACTIVE_TX, readOnly = true)
+    public Flux<AccountDto> getAccountByUserId(Long userId) {
+        return validateAccountUser(userId)
+                .thenMany(Flux.defer(() -> accountRepository.findByAccountUserId(userId)))
+                .map(AccountDto::fromEntity);
+    }
+}
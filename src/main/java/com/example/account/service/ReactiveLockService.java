@@ -0,0 +1,69 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLockReactive;
+import org.redisson.api.RedissonReactiveClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * LockService 의 reactive 버전
+ * - 이벤트 루프 스레드는 여러 요청이 공유하므로 스레드 id 대신 요청마다 lock id 를 만들어 소유자를 구분
+ * - 락 대기 동안 스레드를 점유하지 않는다
+ * - AccountLockExecutor 와 같이 락 앞단에서 admission control, 락 획득 실패는 혼잡으로 보고 한도를 줄인다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveLockService {
+    private final RedissonReactiveClient redissonReactiveClient;
+    private final AdmissionControlService admissionControlService;
+
+    public <T> Mono<T> withLock(String accountNumber, Mono<T> action){
+        return Mono.defer(() -> {
+            admissionControlService.acquire(accountNumber);
+            long start = System.nanoTime();
+            AtomicBoolean congested = new AtomicBoolean();
+            return lock(accountNumber, action)
+                    .doOnError(AccountException.class, e ->
+                            congested.set(e.getErrorCode() == ErrorCode.ACCOUNT_TRANSACTION_LOCK))
+                    .doFinally(signal -> admissionControlService.release(
+                            accountNumber, System.nanoTime() - start, congested.get()));
+        });
+    }
+
+    private <T> Mono<T> lock(String accountNumber, Mono<T> action){
+        return Mono.defer(() -> {
+            long lockId = ThreadLocalRandom.current().nextLong();
+            RLockReactive lock = redissonReactiveClient.getLock(getLockKey(accountNumber));
+            log.debug("Trying lock for accountNumber : {} ",accountNumber);
+
+            return Mono.usingWhen(
+                    lock.tryLock(1,15, TimeUnit.SECONDS,lockId)
+                            .flatMap(isLock -> {
+                                if(!isLock){
+                                    log.error("-------------Lock acquisition failed--------------");
+                                    return Mono.error(AccountException.of(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+                                }
+                                return Mono.just(lock);
+                            }),
+                    acquired -> action,
+                    acquired -> {
+                        log.debug("Unlock for accountNumber : {} ",accountNumber);
+                        return acquired.unlock(lockId);
+                    }
+            );
+        });
+    }
+
+    private String getLockKey(String accountNumber) {
+        return "ACLK:" + accountNumber;
+    }
+}
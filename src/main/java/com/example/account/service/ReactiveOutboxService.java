@@ -0,0 +1,79 @@
+package com.example.account.service;
+
+import com.example.account.domain.ReactiveAccount;
+import com.example.account.domain.ReactiveOutboxEvent;
+import com.example.account.domain.ReactiveTransaction;
+import com.example.account.dto.AccountDto;
+import com.example.account.dto.TransactionDto;
+import com.example.account.repository.ReactiveAccountRepository;
+import com.example.account.type.OutboxEventType;
+import com.example.account.type.TransactionResultType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * OutboxService 의 reactive(R2DBC) 버전
+ * - 호출하는 reactive 서비스의 트랜잭션 안에서만 실행 (MANDATORY)
+ * - payload, accountSequence 는 OutboxService 와 동일 -> OutboxRelay 가 servlet 경로의 outbox 와 구분 없이 발행
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveOutboxService {
+    private static final String REACTIVE_TX = "reactiveTransactionManager";
+
+    private final ReactiveAccountRepository accountRepository;
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(value = REACTIVE_TX, propagation = Propagation.MANDATORY)
+    public Mono<Void> recordTransaction(ReactiveTransaction transaction, ReactiveAccount account) {
+        return insert(OutboxEventType.TRANSACTION,
+                account.getAccountNumber(),
+                transaction.getTransactionResultType() == TransactionResultType.S
+                        ? account.getEventSequence() : null,
+                TransactionDto.fromEntity(transaction, account.getAccountNumber()));
+    }
+
+    @Transactional(value = REACTIVE_TX, propagation = Propagation.MANDATORY)
+    public Mono<Void> recordAccountStatus(ReactiveAccount account) {
+        return insert(OutboxEventType.ACCOUNT_STATUS,
+                account.getAccountNumber(),
+                account.getEventSequence(),
+                AccountDto.fromEntity(account));
+    }
+
+    // id 가 채워진 엔티티는 save() 가 update 로 판단하므로 insert 를 직접 호출
+    private Mono<Void> insert(OutboxEventType eventType, String accountNumber, Long accountSequence, Object payload) {
+        return Mono.fromCallable(() -> toJson(payload))
+                .zipWith(accountRepository.nextId())
+                .flatMap(tuple -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    return r2dbcEntityTemplate.insert(ReactiveOutboxEvent.builder()
+                            .id(tuple.getT2())
+                            .eventType(eventType)
+                            .accountNumber(accountNumber)
+                            .accountSequence(accountSequence)
+                            .payload(tuple.getT1())
+                            .createdAt(now)
+                            .updatedAt(now)
+                            .build());
+                })
+                .then();
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox payload", e);
+        }
+    }
+}
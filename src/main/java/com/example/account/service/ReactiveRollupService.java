@@ -0,0 +1,39 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionRecordedEvent;
+import com.example.account.repository.AccountDailyRollupRepository;
+import com.example.account.type.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+/**
+ * RollupService.onTransactionRecorded 의 reactive(R2DBC) 버전
+ * reactive 트랜잭션에는 BEFORE_COMMIT 리스너가 없으므로 거래 저장 직후 같은 트랜잭션에서 계좌별 행을 upsert
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveRollupService {
+    private static final String REACTIVE_TX = "reactiveTransactionManager";
+
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    @Transactional(value = REACTIVE_TX, propagation = Propagation.MANDATORY)
+    public Mono<Void> onTransactionRecorded(TransactionRecordedEvent event) {
+        boolean debit = event.getTransactionType() == TransactionType.USE;
+        long amount = event.getAmount();
+        return r2dbcEntityTemplate.getDatabaseClient()
+                .sql(AccountDailyRollupRepository.UPSERT_SQL)
+                .bind("accountNumber", event.getAccountNumber())
+                .bind("rollupDate", event.getTransactedAt().toLocalDate())
+                .bind("accountType", event.getAccountType().name())
+                .bind("debitAmount", debit ? amount : 0L)
+                .bind("debitCount", debit ? 1L : 0L)
+                .bind("creditAmount", debit ? 0L : amount)
+                .bind("creditCount", debit ? 0L : 1L)
+                .then();
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.account.service;
+
+import com.example.account.domain.ReactiveAccount;
+import com.example.account.domain.ReactiveTransaction;
+import com.example.account.dto.AccountChangedEvent;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionRecordedEvent;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.ReactiveAccountRepository;
+import com.example.account.repository.ReactiveTransactionArchiveRepository;
+import com.example.account.repository.ReactiveTransactionRepository;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import static com.example.account.type.TransactionResultType.F;
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+
+/**
+ * TransactionService 의 reactive(R2DBC) 버전
+ * 검증 순서, 에러코드는 TransactionService 와 동일하게 유지 (일일 사용 한도 포함)
+ * 거래와 같은 트랜잭션에서 eventSequence 증가, outbox, 일별 집계 upsert 를 남기고 커밋 후 SSE(AccountChangedEvent) 발행
+ * -> servlet 경로와 같은 계좌 행 잠금(for update), 같은 outbox / 집계 / 스트림을 사용
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveTransactionService {
+    private static final String REACTIVE_TX = "reactiveTransactionManager";
+
+    private final ReactiveTransactionRepository transactionRepository;
+    private final ReactiveAccountRepository accountRepository;
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+    private final SpendingLimitService spendingLimitService;
+    private final ReactiveTransactionArchiveRepository transactionArchiveRepository;
+    private final ReactiveOutboxService outboxService;
+    private final ReactiveRollupService rollupService;
+    private final AccountChangePublisher accountChangePublisher;
+
+    @Transactional(REACTIVE_TX)
+    public Mono<TransactionDto> useBalance(Long userId, String accountNumber, Long amount) {
+        return accountRepository.existsAccountUserById(userId)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.error(() -> AccountException.of(ErrorCode.USER_NOT_FOUND)))
+                .flatMap(exists -> findAccount(accountNumber))
+                .flatMap(account -> {
+                    validateUseBalance(userId, account, amount);
+                    return spendingLimitService.reserve(account, amount,
+                                    from -> transactionRepository.sumUsedAmountSince(account.getId(), from))
+                            .then(Mono.defer(() -> {
+                                account.setBalance(account.getBalance() - amount);
+                                account.nextEventSequence();
+                                account.setUpdatedAt(LocalDateTime.now());
+                                return accountRepository.save(account);
+                            }));
+                })
+                .flatMap(account -> getSave(USE, S, account, amount)
+                        .flatMap(transactionDto -> publishAfterCommit(account).thenReturn(transactionDto)));
+    }
+
+    private void validateUseBalance(Long userId, ReactiveAccount account, Long amount) {
+        if (!Objects.equals(userId, account.getAccountUserId())) {
+            throw AccountException.of(ErrorCode.USER_ACCOUNT_UNMATCHED);
+        }
+        if (account.getAccountStatus() != AccountStatus.IN_USE) {
+            throw AccountException.of(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        if (account.getBalance() < amount) {
+            throw AccountException.of(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        }
+    }
+
+    @Transactional(REACTIVE_TX)
+    public Mono<Void> saveFailedUseTransaction(String accountNumber, Long amount) {
+        return findAccount(accountNumber)
+                .flatMap(account -> getSave(USE, F, account, amount))
+                .then();
+    }
+
+    @Transactional(REACTIVE_TX)
+    public Mono<TransactionDto> cancleBalance(String transactionId, String accountNumber, Long amount) {
+        return transactionRepository.findByTransactionId(transactionId)
+                .switchIfEmpty(Mono.defer(() -> transactionNotFound(transactionId)))
+                .zipWith(findAccount(accountNumber))
+                .flatMap(tuple -> {
+                    ReactiveTransaction transaction = tuple.getT1();
+                    ReactiveAccount account = tuple.getT2();
+                    validateCancelBalance(transaction, account, amount);
+                    return transactionRepository.markCancelled(transaction.getId())
+                            .filter(updated -> updated > 0)
+                            .switchIfEmpty(Mono.error(
+                                    () -> AccountException.of(ErrorCode.TRANSACTION_ALREADY_CANCELLED)))
+                            .flatMap(updated -> {
+                                account.setBalance(account.getBalance() + amount);
+                                account.nextEventSequence();
+                                account.setUpdatedAt(LocalDateTime.now());
+                                return accountRepository.save(account);
+                            })
+                            .flatMap(saved -> getSave(CANCEL, S, saved, amount, transaction.getTransactionId())
+                                    .flatMap(transactionDto -> publishAfterCommit(saved).thenReturn(transactionDto)));
+                })
+                // 동시 취소가 update 를 지나쳤다면 원거래 unique 제약에서 막힌다
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> AccountException.of(ErrorCode.TRANSACTION_ALREADY_CANCELLED));
+    }
+
+    private void validateCancelBalance(ReactiveTransaction transaction, ReactiveAccount account, Long amount) {
+        // 성공한 사용 거래만 취소 (TransactionService 와 동일)
+        if (transaction.getTransactionType() != USE || transaction.getTransactionResultType() != S) {
+            throw AccountException.of(ErrorCode.TRANSACTION_NOT_CANCELLABLE);
+        }
+        if (transaction.isCancelled()) {
+            throw AccountException.of(ErrorCode.TRANSACTION_ALREADY_CANCELLED);
+        }
+        if (!Objects.equals(transaction.getAccountId(), account.getId())) {
+            throw AccountException.of(ErrorCode.TRANSACTION_ACCOUNT_UNMATCHED);
+        }
+        if (!Objects.equals(transaction.getAmount(), amount)) {
+            throw AccountException.of(ErrorCode.CANCEL_MUST_FULLY);
+        }
+        if (transaction.getTransactedAt().isBefore(LocalDateTime.now().minusYears(1))) {
+            throw AccountException.of(ErrorCode.TOO_OLD_ORDER_TO_CANCEL);
+        }
+    }
+
+    @Transactional(REACTIVE_TX)
+    public Mono<Void> saveFailedCancelTransaction(String accountNumber, Long amount) {
+        return findAccount(accountNumber)
+                .flatMap(account -> getSave(CANCEL, F, account, amount))
+                .then();
+    }
+
+    // 취소 기한이 지나 archive 로 옮겨진 거래 (TransactionService 와 동일)
+    private Mono<ReactiveTransaction> transactionNotFound(String transactionId) {
+        return transactionArchiveRepository.existsByTransactionId(transactionId)
+                .flatMap(archived -> Mono.<ReactiveTransaction>error(AccountException.of(archived
+                        ? ErrorCode.TOO_OLD_ORDER_TO_CANCEL : ErrorCode.TRANSACTION_NOT_FOUND)));
+    }
+
+    /**
+     * transaction 테이블에 없으면 archive 에서 조회 (TransactionArchiver)
+     */
+    @Transactional(value = REACTIVE_TX, readOnly = true)
+    public Mono<TransactionDto> queryTransaction(String transactionId) {
+        return transactionRepository.findByTransactionId(transactionId)
+                .flatMap(transaction -> accountRepository.findById(transaction.getAccountId())
+                        .map(account -> TransactionDto.fromEntity(transaction, account.getAccountNumber())))
+                .switchIfEmpty(Mono.defer(() -> transactionArchiveRepository.findByTransactionId(transactionId)
+                        .map(TransactionDto::fromEntity)))
+                .switchIfEmpty(Mono.error(() -> AccountException.of(ErrorCode.TRANSACTION_NOT_FOUND)));
+    }
+
+    // 커밋 후 SSE 구독자에게 전달 (AccountChangePublisher)
+    private Mono<Void> publishAfterCommit(ReactiveAccount account) {
+        return accountChangePublisher.publishAfterCommit(AccountChangedEvent.from(account));
+    }
+
+    private Mono<ReactiveAccount> findAccount(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber)
+                .switchIfEmpty(Mono.error(() -> AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND)));
+    }
+
+    private Mono<TransactionDto> getSave(
+            TransactionType transactionType,
+            TransactionResultType tType,
+            ReactiveAccount account,
+            Long amount) {
+        return getSave(transactionType, tType, account, amount, null);
+    }
+
+    private Mono<TransactionDto> getSave(
+            TransactionType transactionType,
+            TransactionResultType tType,
+            ReactiveAccount account,
+            Long amount,
+            String originalTransactionId) {
+        LocalDateTime now = LocalDateTime.now();
+        // id 가 채워진 엔티티는 save() 가 update 로 판단하므로 insert 를 직접 호출
+        return accountRepository.nextId()
+                .flatMap(id -> r2dbcEntityTemplate.insert(
+                        ReactiveTransaction.builder()
+                                .id(id)
+                                .transactionType(transactionType)
+                                .transactionResultType(tType)
+                                .accountId(account.getId())
+                                .amount(amount)
+                                .balanceSnapShot(account.getBalance())
+                                .transactionId(TransactionService.generateTransactionId())
+                                .transactedAt(now)
+                                .originalTransactionId(originalTransactionId)
+                                .createdAt(now)
+                                .updatedAt(now)
+                                .build()
+                ))
+                // 같은 트랜잭션에서 outbox 기록, 성공 거래는 일별 집계 upsert (TransactionService 와 동일)
+                .flatMap(transaction -> outboxService.recordTransaction(transaction, account)
+                        .then(tType == S
+                                ? rollupService.onTransactionRecorded(TransactionRecordedEvent.from(transaction, account))
+                                : Mono.<Void>empty())
+                        .thenReturn(TransactionDto.fromEntity(transaction, account.getAccountNumber())));
+    }
+}
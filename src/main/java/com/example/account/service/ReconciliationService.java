@@ -0,0 +1,340 @@
+package com.example.account.service;
+
+import com.example.account.domain.ReconciliationCheckpoint;
+import com.example.account.domain.ReconciliationMismatch;
+import com.example.account.domain.ReconciliationRun;
+import com.example.account.repository.ReconciliationCheckpointRepository;
+import com.example.account.repository.ReconciliationMismatchRepository;
+import com.example.account.repository.ReconciliationRunRepository;
+import com.example.account.type.ReconciliationStatus;
+import com.example.account.type.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 잔액 대사 (Transaction.balanceSnapShot 연속성 + 마지막 스냅샷 == Account.balance)
+ * - 계좌 id 구간(chunk) 단위로 ForkJoinPool 에서 병렬 처리, 구간 안의 거래는 계좌/시간 순으로 스트리밍 (fetch size)
+ * - 구간이 끝나면 불일치와 checkpoint 를 한 트랜잭션으로 저장 -> 재시작시 RUNNING 실행을 이어서 처리
+ * - 실행 시작 시각(cutoff) 이후의 거래와 그 이후 변경된 계좌는 검사하지 않는다
+ * - 여러 노드에서 동시에 돌지 않도록 RECONCILIATION 락 (watchdog 으로 실행 동안 유지)
+ */
+@Slf4j
+@Service
+public class ReconciliationService {
+    private static final String LOCK_KEY = "RECONCILIATION";
+    private static final String ACCOUNT_SQL =
+            "select id, account_number, balance, updated_at from account where id >= ? and id < ?";
+    // 실패(F) 거래는 잔액을 바꾸지 않고, 저널 flush 시점의 잔액이 기록되므로 제외
+    private static final String TRANSACTION_SQL =
+            "select account_id, transaction_type, amount, balance_snap_shot, transaction_id, transacted_at "
+                    + "from transaction "
+                    + "where account_id >= ? and account_id < ? and transaction_result_type = 'S' "
+                    + "and transacted_at <= ? order by account_id, transacted_at, id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RedissonClient redissonClient;
+    private final ReconciliationRunRepository runRepository;
+    private final ReconciliationCheckpointRepository checkpointRepository;
+    private final ReconciliationMismatchRepository mismatchRepository;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int fetchSize;
+    private final int maxMismatchesPerChunk;
+    private final boolean resumeOnStartup;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reconciliation-runner");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ReconciliationService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            RedissonClient redissonClient,
+            ReconciliationRunRepository runRepository,
+            ReconciliationCheckpointRepository checkpointRepository,
+            ReconciliationMismatchRepository mismatchRepository,
+            @Value("${account.reconciliation.chunk-size:1000}") int chunkSize,
+            @Value("${account.reconciliation.parallelism:4}") int parallelism,
+            @Value("${account.reconciliation.fetch-size:1000}") int fetchSize,
+            @Value("${account.reconciliation.max-mismatches-per-chunk:100}") int maxMismatchesPerChunk,
+            @Value("${account.reconciliation.resume-on-startup:true}") boolean resumeOnStartup
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.redissonClient = redissonClient;
+        this.runRepository = runRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.mismatchRepository = mismatchRepository;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.fetchSize = fetchSize;
+        this.maxMismatchesPerChunk = maxMismatchesPerChunk;
+        this.resumeOnStartup = resumeOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        if (resumeOnStartup
+                && runRepository.findFirstByStatusOrderByIdDesc(ReconciliationStatus.RUNNING).isPresent()) {
+            log.info("Resuming unfinished reconciliation run");
+            start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        runner.shutdownNow();
+    }
+
+    /**
+     * 진행중인 실행(RUNNING)이 있으면 이어서, 없으면 새로 시작 (비동기)
+     * @return 이 노드에서 이미 실행중이면 false
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        runner.execute(() -> {
+            try {
+                runWithLock();
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    void runWithLock() {
+        RLock lock = redissonClient.getLock(LOCK_KEY);
+        if (!lock.tryLock()) {
+            log.info("Reconciliation is running on another node");
+            return;
+        }
+        ReconciliationRun run = null;
+        try {
+            run = runRepository.findFirstByStatusOrderByIdDesc(ReconciliationStatus.RUNNING)
+                    .orElseGet(this::newRun);
+            execute(run);
+        } catch (Exception e) {
+            log.error("Reconciliation failed", e);
+            if (run != null) {
+                run.setStatus(ReconciliationStatus.FAILED);
+                run.setFinishedAt(LocalDateTime.now());
+                runRepository.save(run);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReconciliationRun newRun() {
+        Long maxAccountId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from account", Long.class);
+        return runRepository.save(ReconciliationRun.builder()
+                .status(ReconciliationStatus.RUNNING)
+                .maxAccountId(maxAccountId)
+                .chunkSize(chunkSize)
+                .cutoff(LocalDateTime.now())
+                .checkedAccounts(0L)
+                .mismatches(0L)
+                .build());
+    }
+
+    private void execute(ReconciliationRun run) {
+        Set<Long> done = new HashSet<>(checkpointRepository.findChunkStartsByRunId(run.getId()));
+        List<Long> chunkStarts = new ArrayList<>();
+        for (long start = 0; start <= run.getMaxAccountId(); start += run.getChunkSize()) {
+            if (!done.contains(start)) {
+                chunkStarts.add(start);
+            }
+        }
+        log.info("Reconciliation run {} : {} chunks remaining ({} done)",
+                run.getId(), chunkStarts.size(), done.size());
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new ChunkTask(run, chunkStarts, 0, chunkStarts.size()));
+        } finally {
+            pool.shutdown();
+        }
+
+        run.setStatus(ReconciliationStatus.COMPLETED);
+        run.setFinishedAt(LocalDateTime.now());
+        run.setCheckedAccounts(checkpointRepository.sumAccountsByRunId(run.getId()));
+        run.setMismatches(checkpointRepository.sumMismatchesByRunId(run.getId()));
+        runRepository.save(run);
+        log.info("Reconciliation run {} completed : {} accounts, {} mismatches",
+                run.getId(), run.getCheckedAccounts(), run.getMismatches());
+    }
+
+    // 구간 목록을 반씩 나눠 fork, 구간 하나가 남으면 처리
+    private class ChunkTask extends RecursiveAction {
+        private final ReconciliationRun run;
+        private final List<Long> chunkStarts;
+        private final int from;
+        private final int to;
+
+        private ChunkTask(ReconciliationRun run, List<Long> chunkStarts, int from, int to) {
+            this.run = run;
+            this.chunkStarts = chunkStarts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) {
+                    reconcileChunk(run, chunkStarts.get(from));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(run, chunkStarts, from, mid),
+                    new ChunkTask(run, chunkStarts, mid, to));
+        }
+    }
+
+    void reconcileChunk(ReconciliationRun run, long chunkStart) {
+        long chunkEnd = chunkStart + run.getChunkSize();
+        Timestamp cutoff = Timestamp.valueOf(run.getCutoff());
+
+        // 계좌 id -> 잔액 (cutoff 이후 변경된 계좌는 마지막 잔액 비교 제외)
+        Map<Long, Long> balances = new HashMap<>();
+        Map<Long, String> accountNumbers = new HashMap<>();
+        Set<Long> changedAfterCutoff = new HashSet<>();
+        jdbcTemplate.query(ACCOUNT_SQL, (ResultSet rs) -> {
+            long accountId = rs.getLong("id");
+            balances.put(accountId, rs.getLong("balance"));
+            accountNumbers.put(accountId, rs.getString("account_number"));
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            if (updatedAt != null && updatedAt.after(cutoff)) {
+                changedAfterCutoff.add(accountId);
+            }
+        }, chunkStart, chunkEnd);
+
+        ChunkResult result = new ChunkResult();
+        if (!balances.isEmpty()) {
+            BalanceChain[] current = new BalanceChain[1];
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(TRANSACTION_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setLong(1, chunkStart);
+                statement.setLong(2, chunkEnd);
+                statement.setTimestamp(3, cutoff);
+                return statement;
+            }, (ResultSet rs) -> {
+                long accountId = rs.getLong("account_id");
+                if (current[0] == null || current[0].getAccountId() != accountId) {
+                    finish(current[0], balances, changedAfterCutoff, result);
+                    current[0] = new BalanceChain(run.getId(), accountId, accountNumbers.get(accountId));
+                }
+                result.addAll(current[0].accept(
+                        rs.getTimestamp("transacted_at").toLocalDateTime(),
+                        TransactionType.valueOf(rs.getString("transaction_type")),
+                        rs.getLong("amount"),
+                        rs.getLong("balance_snap_shot"),
+                        rs.getString("transaction_id")));
+            });
+            finish(current[0], balances, changedAfterCutoff, result);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            mismatchRepository.saveAll(result.samples);
+            checkpointRepository.save(ReconciliationCheckpoint.builder()
+                    .runId(run.getId())
+                    .chunkStart(chunkStart)
+                    .chunkEnd(chunkEnd)
+                    .accounts(balances.size())
+                    .mismatches(result.count)
+                    .build());
+        });
+        if (result.count > 0) {
+            log.warn("Reconciliation run {} chunk [{}, {}) : {} mismatches",
+                    run.getId(), chunkStart, chunkEnd, result.count);
+        }
+    }
+
+    private void finish(BalanceChain chain, Map<Long, Long> balances,
+                        Set<Long> changedAfterCutoff, ChunkResult result) {
+        if (chain == null) {
+            return;
+        }
+        result.addAll(chain.flush());
+        if (changedAfterCutoff.contains(chain.getAccountId())) {
+            return;
+        }
+        Long balance = balances.get(chain.getAccountId());
+        if (balance != null) {
+            result.add(chain.finish(balance));
+        }
+    }
+
+    private class ChunkResult {
+        private final List<ReconciliationMismatch> samples = new ArrayList<>();
+        private int count;
+
+        private void add(ReconciliationMismatch mismatch) {
+            if (mismatch == null) {
+                return;
+            }
+            count++;
+            // 저장은 구간당 max 건까지, 건수는 전부 집계
+            if (samples.size() < maxMismatchesPerChunk) {
+                samples.add(mismatch);
+            }
+        }
+
+        private void addAll(List<ReconciliationMismatch> mismatches) {
+            mismatches.forEach(this::add);
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("runningOnThisNode", running.get());
+        runRepository.findFirstByOrderByIdDesc().ifPresent(run -> {
+            long totalChunks = run.getMaxAccountId() / run.getChunkSize() + 1;
+            status.put("runId", run.getId());
+            status.put("status", run.getStatus());
+            status.put("cutoff", run.getCutoff());
+            status.put("finishedAt", run.getFinishedAt());
+            status.put("chunks", checkpointRepository.countByRunId(run.getId()) + "/" + totalChunks);
+            status.put("checkedAccounts", checkpointRepository.sumAccountsByRunId(run.getId()));
+            status.put("mismatches", checkpointRepository.sumMismatchesByRunId(run.getId()));
+            status.put("samples", mismatchRepository.findByRunIdOrderByIdAsc(run.getId(), PageRequest.of(0, 20)));
+        });
+        return status;
+    }
+}
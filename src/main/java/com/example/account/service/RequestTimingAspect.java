@@ -0,0 +1,40 @@
+package com.example.account.service;
+
+import com.example.account.metrics.RequestTiming;
+import com.example.account.metrics.TimingPhase;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * repository, TransactionService 호출 시간을 RequestTiming 에 기록
+ * (락 대기 시간은 AccountLockExecutor 에서 기록)
+ * ServerTimingFilter 가 begin 한 servlet 요청 스레드에서만 기록되고 gRPC, /reactive 경로에서는 그냥 통과
+ */
+@Aspect
+@Component
+public class RequestTimingAspect {
+
+    @Around("this(org.springframework.data.jpa.repository.JpaRepository)")
+    public Object aroundRepository(ProceedingJoinPoint pjp) throws Throwable {
+        return timed(pjp, TimingPhase.DB);
+    }
+
+    @Around("within(com.example.account.service.TransactionService)")
+    public Object aroundTransactionService(ProceedingJoinPoint pjp) throws Throwable {
+        return timed(pjp, TimingPhase.SERVICE);
+    }
+
+    private Object timed(ProceedingJoinPoint pjp, TimingPhase phase) throws Throwable {
+        if (!RequestTiming.isActive()) {
+            return pjp.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return pjp.proceed();
+        } finally {
+            RequestTiming.record(phase, System.nanoTime() - start);
+        }
+    }
+}
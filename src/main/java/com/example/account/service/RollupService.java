@@ -0,0 +1,152 @@
+package com.example.account.service;
+
+import com.example.account.dto.DailyRollup;
+import com.example.account.dto.TransactionRecordedEvent;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountDailyRollupRepository;
+import com.example.account.repository.TransactionArchiveRepository;
+import com.example.account.type.AccountType;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionType;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * 일별 거래 집계 (계좌별 / 계좌 종류별)
+ * - 성공 거래 저장시 커밋 직전(BEFORE_COMMIT) 에 계좌별 행만 upsert -> 거래와 집계가 같이 커밋/롤백
+ *   계좌별 행은 계좌 락 안에서만 갱신되므로 다른 계좌의 거래와 행 락을 다투지 않는다
+ * - 계좌 종류별 집계는 저장하지 않고 조회시 계좌별 행을 날짜별로 합산 (종류 공용 행은 모든 거래가 갱신하는 hot row)
+ * - 계좌별 조회는 (계좌, 날짜) 기본키 범위, 종류별 조회는 (종류, 날짜) 인덱스 범위 조회
+ * - backfill : 날짜별로 병렬, 하루 단위로 지우고 거래 테이블(+ 그 날의 월별 archive 테이블)에서 다시 집계
+ *   실시간 upsert 는 오늘 날짜만 건드리므로 backfill 은 어제까지만 허용
+ */
+@Slf4j
+@Service
+public class RollupService {
+    private static final int MAX_QUERY_DAYS = 366;
+
+    private final AccountDailyRollupRepository accountDailyRollupRepository;
+    private final TransactionArchiveRepository transactionArchiveRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int backfillParallelism;
+
+    public RollupService(
+            AccountDailyRollupRepository accountDailyRollupRepository,
+            TransactionArchiveRepository transactionArchiveRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${account.rollup.backfill-parallelism:4}") int backfillParallelism
+    ) {
+        this.accountDailyRollupRepository = accountDailyRollupRepository;
+        this.transactionArchiveRepository = transactionArchiveRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillParallelism = backfillParallelism;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTransactionRecorded(TransactionRecordedEvent event) {
+        boolean debit = event.getTransactionType() == TransactionType.USE;
+        long amount = event.getAmount();
+        LocalDate rollupDate = event.getTransactedAt().toLocalDate();
+        accountDailyRollupRepository.upsert(
+                event.getAccountNumber(), rollupDate, event.getAccountType().name(),
+                debit ? amount : 0L, debit ? 1L : 0L,
+                debit ? 0L : amount, debit ? 0L : 1L);
+    }
+
+    @Timed("account.service")
+    public List<DailyRollup> getAccountRollups(String accountNumber, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return accountDailyRollupRepository.findDaily(accountNumber, from, to);
+    }
+
+    @Timed("account.service")
+    public List<DailyRollup> getAccountTypeRollups(AccountType accountType, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return accountDailyRollupRepository.findDailyByAccountType(accountType, from, to);
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= MAX_QUERY_DAYS) {
+            throw AccountException.of(ErrorCode.INVALID_REQUEST);
+        }
+    }
+
+    /**
+     * [from, to] 의 집계를 거래 테이블에서 다시 만든다 (하루 단위 트랜잭션, 날짜별 병렬)
+     * @return 처리한 날짜 수
+     */
+    public int backfill(LocalDate from, LocalDate to) {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        if (from.isAfter(to) || to.isAfter(yesterday)) {
+            throw AccountException.of(ErrorCode.INVALID_REQUEST);
+        }
+        List<LocalDate> days = LongStream.rangeClosed(0, ChronoUnit.DAYS.between(from, to))
+                .mapToObj(from::plusDays)
+                .collect(Collectors.toList());
+        // 오래된 날짜는 그 달 archive 테이블로 옮겨졌을 수 있다
+        Set<YearMonth> partitions = new HashSet<>(transactionArchiveRepository.findPartitions());
+        ForkJoinPool pool = new ForkJoinPool(backfillParallelism);
+        try {
+            pool.submit(() -> days.parallelStream().forEach(day -> backfillDay(day, partitions))).join();
+        } finally {
+            pool.shutdown();
+        }
+        log.info("Rollup backfill done : {} ~ {} ({} days)", from, to, days.size());
+        return days.size();
+    }
+
+    private void backfillDay(LocalDate day, Set<YearMonth> partitions) {
+        Date rollupDate = Date.valueOf(day);
+        Timestamp start = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        YearMonth month = YearMonth.from(day);
+        // 그 날의 달 테이블이 있을 때만 같이 읽는다
+        boolean archived = partitions.contains(month);
+        String archiveUnion = archived
+                ? "union all select account_id, transaction_type, amount from "
+                + TransactionArchiveRepository.tableName(month) + " "
+                + "where transaction_result_type = 'S' and transacted_at >= ? and transacted_at < ?"
+                : "";
+        Object[] params = archived
+                ? new Object[]{rollupDate, start, end, start, end}
+                : new Object[]{rollupDate, start, end};
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from account_daily_rollup where rollup_date = ?", rollupDate);
+            jdbcTemplate.update("insert into account_daily_rollup "
+                    + "(account_number, rollup_date, account_type, debit_amount, debit_count, credit_amount, credit_count) "
+                    + "select a.account_number, ?, a.account_type, "
+                    + "coalesce(sum(case when t.transaction_type = 'USE' then t.amount end), 0), "
+                    + "count(case when t.transaction_type = 'USE' then 1 end), "
+                    + "coalesce(sum(case when t.transaction_type = 'CANCEL' then t.amount end), 0), "
+                    + "count(case when t.transaction_type = 'CANCEL' then 1 end) "
+                    + "from (select account_id, transaction_type, amount from transaction "
+                    + "where transaction_result_type = 'S' and transacted_at >= ? and transacted_at < ? "
+                    + archiveUnion + ") t "
+                    + "join account a on a.id = t.account_id "
+                    + "group by a.account_number, a.account_type",
+                    params);
+        });
+    }
+}
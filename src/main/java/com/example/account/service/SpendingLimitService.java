@@ -0,0 +1,284 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.ReactiveAccount;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RFuture;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+
+/**
+ * 계좌별 일일 사용 한도
+ * - 오늘 사용한 금액을 Redis 카운터(SPND:{계좌번호}:{yyyyMMdd}) 로 관리, 자정에 만료
+ * - 검사 + 증가는 lua 스크립트 한번으로 원자적으로 처리 (요청 경로에 DB 조회 없음)
+ * - 카운터가 없으면 (그날 첫 사용 / Redis 유실) 오늘의 성공한 사용 거래 합계로 다시 만든다
+ * - 거래가 롤백되면 증가분을 되돌린다
+ * - 사용취소는 한도를 돌려주지 않는다 (총 사용 금액 기준)
+ * - 카운터가 DB 와 어긋날 수 있는 경우 (한도 변경, Redis 장애중 DB 합계로 통과) 오늘 카운터를 지워서 다시 만들게 한다
+ *   장애중이라 지우지 못한 키는 이 노드의 다음 reserve 에서 먼저 지운다
+ * - 사용은 계좌 락 안에서 처리되므로 같은 계좌의 검사/증가가 경합하지 않는다
+ * - reactive 경로(ReactiveTransactionService)도 같은 스크립트/카운터를 async 로 사용
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SpendingLimitService {
+    // KEYS[1] = counter key, ARGV = amount, limit, expireAtMillis, rebuilt(없으면 "")
+    // return = 증가 후 합계, -1 = 카운터 없음(재구성 필요), -2 = 한도 초과
+    private static final String RESERVE_SCRIPT =
+            "if redis.call('EXISTS', KEYS[1]) == 0 then " +
+            "  if ARGV[4] == '' then return -1 end " +
+            "  redis.call('SET', KEYS[1], ARGV[4]) " +
+            "  redis.call('PEXPIREAT', KEYS[1], ARGV[3]) " +
+            "end " +
+            "local spent = tonumber(redis.call('GET', KEYS[1])) " +
+            "local total = spent + tonumber(ARGV[1]) " +
+            "if total > tonumber(ARGV[2]) then return -2 end " +
+            "return redis.call('INCRBY', KEYS[1], ARGV[1])";
+    // 자정이 지나 카운터가 사라졌으면 되돌릴 필요 없음 (만료 없는 음수 카운터가 생기지 않도록)
+    private static final String RELEASE_SCRIPT =
+            "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+            "  return redis.call('DECRBY', KEYS[1], ARGV[1]) " +
+            "end " +
+            "return 0";
+
+    private static final long COUNTER_MISSING = -1L;
+    private static final long LIMIT_EXCEEDED = -2L;
+    // Redis 장애로 DB 합계로 통과 (카운터는 증가하지 않음)
+    private static final long FALLBACK_APPROVED = -3L;
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final RedissonClient redissonClient;
+    private final TransactionRepository transactionRepository;
+    // 지워야 하는데 Redis 장애로 못 지운 카운터 키
+    private final Set<String> staleCounters = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 오늘 사용 금액에 amount 를 더해도 한도 이내면 카운터를 증가시킨다
+     * 한도가 없는 계좌는 아무것도 하지 않는다
+     */
+    public void reserve(Account account, Long amount) {
+        Long dailyLimit = account.getDailyLimit();
+        if (dailyLimit == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        String key = getCounterKey(account.getAccountNumber(), today);
+
+        long result;
+        try {
+            deleteIfStale(key);
+            result = eval(key, amount, dailyLimit, today, "");
+            if (result == COUNTER_MISSING) {
+                result = eval(key, amount, dailyLimit, today, String.valueOf(spentFromTransactions(account, today)));
+            }
+        } catch (AccountException e) {
+            throw e;
+        } catch (Exception e) {
+            // Redis 장애시 DB 합계로 검사 (느리지만 한도는 지킨다)
+            log.error("Spending counter unavailable for {}, checking with transactions",
+                    account.getAccountNumber(), e);
+            if (spentFromTransactions(account, today) + amount > dailyLimit) {
+                throw AccountException.of(ErrorCode.DAILY_LIMIT_EXCEEDED);
+            }
+            // 이번 사용은 카운터에 반영되지 않았으므로 카운터를 버린다
+            invalidateAfterFallback(key);
+            return;
+        }
+        if (result == LIMIT_EXCEEDED) {
+            throw AccountException.of(ErrorCode.DAILY_LIMIT_EXCEEDED);
+        }
+        compensateOnRollback(key, amount);
+    }
+
+    /**
+     * reactive 버전 : Redis 는 async API, 합계는 spentSince(오늘 0시) 로 필요할 때만 조회
+     * 롤백 보상은 reactive 트랜잭션의 synchronization 으로 등록
+     */
+    public Mono<Void> reserve(ReactiveAccount account, Long amount,
+                              Function<LocalDateTime, Mono<Long>> spentSince) {
+        Long dailyLimit = account.getDailyLimit();
+        if (dailyLimit == null) {
+            return Mono.empty();
+        }
+        LocalDate today = LocalDate.now();
+        String key = getCounterKey(account.getAccountNumber(), today);
+
+        return Mono.fromRunnable(() -> deleteIfStale(key))
+                .then(evalAsync(key, amount, dailyLimit, today, ""))
+                .flatMap(result -> result == COUNTER_MISSING
+                        ? spentSince.apply(today.atStartOfDay())
+                        .flatMap(spent -> evalAsync(key, amount, dailyLimit, today, String.valueOf(spent)))
+                        : Mono.just(result))
+                .onErrorResume(e -> !(e instanceof AccountException), e -> {
+                    log.error("Spending counter unavailable for {}, checking with transactions",
+                            account.getAccountNumber(), e);
+                    return spentSince.apply(today.atStartOfDay())
+                            .flatMap(spent -> spent + amount > dailyLimit
+                                    ? Mono.just(LIMIT_EXCEEDED)
+                                    : Mono.just(FALLBACK_APPROVED));
+                })
+                .flatMap(result -> {
+                    if (result == LIMIT_EXCEEDED) {
+                        return Mono.error(AccountException.of(ErrorCode.DAILY_LIMIT_EXCEEDED));
+                    }
+                    if (result == FALLBACK_APPROVED) {
+                        invalidateAfterFallback(key);
+                        return Mono.empty();
+                    }
+                    return compensateOnReactiveRollback(key, amount);
+                });
+    }
+
+    /**
+     * 오늘 카운터 삭제 -> 다음 사용에서 오늘 거래 합계로 다시 만든다
+     * 한도가 없던 동안의 사용은 카운터에 없으므로 한도를 바꿀 때 호출 (계좌 락 안)
+     */
+    public void invalidateCounter(String accountNumber) {
+        String key = getCounterKey(accountNumber, LocalDate.now());
+        try {
+            redissonClient.getBucket(key, StringCodec.INSTANCE).delete();
+            staleCounters.remove(key);
+        } catch (Exception e) {
+            log.warn("Failed to delete spending counter {}, deleting on next reserve", key, e);
+            staleCounters.add(key);
+        }
+    }
+
+    private void deleteIfStale(String key) {
+        if (staleCounters.contains(key)) {
+            redissonClient.getBucket(key, StringCodec.INSTANCE).delete();
+            staleCounters.remove(key);
+        }
+    }
+
+    // Redis 장애중이므로 기다리지 않는다 : 먼저 표시하고 삭제가 성공하면 표시를 지운다
+    private void invalidateAfterFallback(String key) {
+        staleCounters.add(key);
+        try {
+            redissonClient.getBucket(key, StringCodec.INSTANCE).deleteAsync()
+                    .whenComplete((deleted, e) -> {
+                        if (e == null) {
+                            staleCounters.remove(key);
+                        }
+                    });
+        } catch (Exception e) {
+            log.warn("Failed to delete spending counter {}, deleting on next reserve", key, e);
+        }
+    }
+
+    // package-private : 테스트
+    boolean isStale(String accountNumber) {
+        return staleCounters.contains(getCounterKey(accountNumber, LocalDate.now()));
+    }
+
+    private Mono<Long> evalAsync(String key, Long amount, Long dailyLimit, LocalDate today, String rebuilt) {
+        return Mono.fromCompletionStage(() -> redissonClient.getScript(StringCodec.INSTANCE).<Long>evalAsync(
+                        RScript.Mode.READ_WRITE,
+                        RESERVE_SCRIPT,
+                        RScript.ReturnType.INTEGER,
+                        Collections.singletonList(key),
+                        String.valueOf(amount),
+                        String.valueOf(dailyLimit),
+                        String.valueOf(nextMidnightMillis(today)),
+                        rebuilt))
+                .defaultIfEmpty(COUNTER_MISSING);
+    }
+
+    private Mono<Void> compensateOnReactiveRollback(String key, Long amount) {
+        return org.springframework.transaction.reactive.TransactionSynchronizationManager.forCurrentTransaction()
+                .filter(org.springframework.transaction.reactive.TransactionSynchronizationManager::isSynchronizationActive)
+                .doOnNext(manager -> manager.registerSynchronization(
+                        new org.springframework.transaction.reactive.TransactionSynchronization() {
+                            @Override
+                            public Mono<Void> afterCompletion(int status) {
+                                if (status == STATUS_COMMITTED) {
+                                    return Mono.empty();
+                                }
+                                return Mono.fromCompletionStage(() -> releaseAsync(key, amount))
+                                        .doOnError(e -> log.warn("Failed to release spending for {}", key, e))
+                                        .onErrorResume(e -> Mono.empty())
+                                        .then();
+                            }
+                        }))
+                .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+                .then();
+    }
+
+    private long eval(String key, Long amount, Long dailyLimit, LocalDate today, String rebuilt) {
+        Long result = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                RScript.Mode.READ_WRITE,
+                RESERVE_SCRIPT,
+                RScript.ReturnType.INTEGER,
+                Collections.singletonList(key),
+                String.valueOf(amount),
+                String.valueOf(dailyLimit),
+                String.valueOf(nextMidnightMillis(today)),
+                rebuilt
+        );
+        return result == null ? COUNTER_MISSING : result;
+    }
+
+    private long spentFromTransactions(Account account, LocalDate today) {
+        return transactionRepository.sumAmountSince(account, USE, S, today.atStartOfDay());
+    }
+
+    private void compensateOnRollback(String key, Long amount) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                releaseAsync(key, amount).whenComplete((spent, e) -> {
+                    if (e != null) {
+                        log.warn("Failed to release spending for {}", key, e);
+                    }
+                });
+            }
+        });
+    }
+
+    private RFuture<Long> releaseAsync(String key, Long amount) {
+        return redissonClient.getScript(StringCodec.INSTANCE).evalAsync(
+                RScript.Mode.READ_WRITE,
+                RELEASE_SCRIPT,
+                RScript.ReturnType.INTEGER,
+                Collections.singletonList(key),
+                String.valueOf(amount));
+    }
+
+    private long nextMidnightMillis(LocalDate today) {
+        return today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    static String getCounterKey(String accountNumber, LocalDate day) {
+        return "SPND:" + accountNumber + ":" + day.format(DAY_FORMAT);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.account.service;
+
+import com.example.account.metrics.AccountMetrics;
+import com.example.account.repository.TransactionArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 취소 기한(1년)이 지난 거래를 transaction -> 월별 archive 테이블(transaction_archive_yyyyMM) 로 이동
+ * - transactedAt 인덱스로 오래된 거래부터 batchSize 개씩, 배치마다 달별 insert-select + 전역 인덱스 + delete 를
+ *   한 트랜잭션으로 처리 (중간에 죽어도 한 배치 단위로 이동했거나 안했거나)
+ *   달 테이블 생성(DDL)은 H2 에서 열린 트랜잭션을 커밋시키므로 이동 트랜잭션 전에 한다
+ * - retentionMonths 가 지난 달은 테이블째 DROP (0 이면 보관), 행 단위 삭제 없음
+ * - 노드 중 TRANSACTION_ARCHIVER 락을 잡은 하나만 실행, 한번에 maxBatchesPerRun 배치까지 (나머지는 다음 실행)
+ * - 조회는 transaction 에 없으면 archive 를 본다 (TransactionService.queryTransaction, TransactionArchiveRepository)
+ */
+@Slf4j
+@Component
+public class TransactionArchiver {
+    private static final String LOCK_KEY = "TRANSACTION_ARCHIVER";
+
+    private final TransactionArchiveRepository transactionArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RedissonClient redissonClient;
+    private final AccountMetrics accountMetrics;
+    private final boolean enabled;
+    private final long olderThanDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long lockLeaseSeconds;
+    private final int retentionMonths;
+
+    public TransactionArchiver(
+            TransactionArchiveRepository transactionArchiveRepository,
+            PlatformTransactionManager transactionManager,
+            RedissonClient redissonClient,
+            AccountMetrics accountMetrics,
+            @Value("${account.archive.enabled:true}") boolean enabled,
+            @Value("${account.archive.older-than-days:366}") long olderThanDays,
+            @Value("${account.archive.batch-size:1000}") int batchSize,
+            @Value("${account.archive.max-batches-per-run:100}") int maxBatchesPerRun,
+            @Value("${account.archive.lock-lease-seconds:600}") long lockLeaseSeconds,
+            @Value("${account.archive.retention-months:0}") int retentionMonths
+    ) {
+        this.transactionArchiveRepository = transactionArchiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.redissonClient = redissonClient;
+        this.accountMetrics = accountMetrics;
+        this.enabled = enabled;
+        this.olderThanDays = olderThanDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.lockLeaseSeconds = lockLeaseSeconds;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @Scheduled(fixedDelayString = "${account.archive.interval-ms:3600000}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        RLock lock = redissonClient.getLock(LOCK_KEY);
+        try {
+            if (!lock.tryLock(0, lockLeaseSeconds, TimeUnit.SECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            // 실행 중에 기준이 움직이지 않도록 시작 시각 기준
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime cutoff = now.minusDays(olderThanDays);
+            int archived = 0;
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                int moved = archiveBatch(cutoff);
+                archived += moved;
+                if (moved < batchSize) {
+                    break;
+                }
+            }
+            if (archived > 0) {
+                log.info("Archived {} transactions before {}", archived, cutoff);
+            }
+            if (retentionMonths > 0) {
+                dropExpiredPartitions(YearMonth.from(now.minusMonths(retentionMonths)));
+            }
+        } catch (Exception e) {
+            log.error("Transaction archiving failed, retrying on next run", e);
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    int archiveBatch(LocalDateTime cutoff) {
+        Map<YearMonth, List<Long>> idsByMonth =
+                transactionArchiveRepository.findArchiveCandidates(cutoff, batchSize);
+        int count = 0;
+        if (!idsByMonth.isEmpty()) {
+            idsByMonth.keySet().forEach(transactionArchiveRepository::createPartition);
+            Integer moved = transactionTemplate.execute(status ->
+                    transactionArchiveRepository.moveToPartitions(idsByMonth, LocalDateTime.now()));
+            count = moved == null ? 0 : moved;
+        }
+        accountMetrics.countArchivedTransactions(count);
+        return count;
+    }
+
+    /**
+     * 보관 기간이 지난 달 테이블 DROP (before 보다 앞선 달, 오래된 달부터)
+     */
+    void dropExpiredPartitions(YearMonth before) {
+        for (YearMonth month : transactionArchiveRepository.findPartitions()) {
+            if (!month.isBefore(before)) {
+                break;
+            }
+            transactionArchiveRepository.dropPartition(month, batchSize);
+            log.info("Dropped archive partition {}", TransactionArchiveRepository.tableName(month));
+        }
+    }
+}
@@ -3,24 +3,42 @@ package com.example.account.service;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.domain.Transaction;
+import com.example.account.dto.AccountChangedEvent;
+import com.example.account.dto.FailedTransaction;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionRecordedEvent;
 import com.example.account.exception.AccountException;
+import com.example.account.metrics.RequestTiming;
+import com.example.account.metrics.TimingPhase;
+import com.example.account.metrics.TransactionEvent;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.TransactionArchiveRepository;
 import com.example.account.repository.TransactionRepository;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.example.account.type.TransactionResultType.*;
 import static com.example.account.type.TransactionType.CANCEL;
@@ -30,43 +48,126 @@ import static com.example.account.type.TransactionType.USE;
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
+    private static final long MAX_HISTORY_DAYS = 366;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final TransactionRepository transactionRepository;
     private final AccountUserRepository accountUserRepository;
     private final AccountRepository accountRepository;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SpendingLimitService spendingLimitService;
+    private final TransactionArchiveRepository transactionArchiveRepository;
 
+    @Timed("account.service")
     @Transactional
     public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
-        AccountUser user = accountUserRepository.findById(userId)
-                .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+        TransactionEvent event = beginEvent(USE, accountNumber, amount);
+        Long balanceSnapShot = null;
+        try {
+            AccountUser user = accountUserRepository.findById(userId)
+                    .orElseThrow(() -> AccountException.of(ErrorCode.USER_NOT_FOUND));
 
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+            Account account = accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND));
+            balanceSnapShot = account.getBalance();
 
-        validateUseBalance(user, account, amount);
+            validateUseBalance(user, account, amount);
 
-        account.useBalance(amount);
+            account.useBalance(amount);
 
-        return TransactionDto.fromEntity(getSave(USE,S, account, amount));
+            TransactionDto transactionDto = TransactionDto.fromEntity(getSave(USE,S, account, amount));
+            // 커밋 후 SSE 구독자에게 전달 (AccountChangePublisher)
+            eventPublisher.publishEvent(AccountChangedEvent.from(account));
+            event.result = S.name();
+            return transactionDto;
+        } catch (AccountException e) {
+            failEvent(event, e);
+            throw withBalanceSnapShot(e, balanceSnapShot);
+        } finally {
+            commitEvent(event);
+        }
     }
 
     private void validateUseBalance(AccountUser user, Account account, Long amount) {
         if (user.getId() != account.getAccountUser().getId()) {
-            throw new AccountException(ErrorCode.USER_ACCOUNT_UNMATCHED);
+            throw AccountException.of(ErrorCode.USER_ACCOUNT_UNMATCHED);
         }
         if (account.getAccountStatus() != AccountStatus.IN_USE) {
-            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+            throw AccountException.of(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
         }
         if (account.getBalance() < amount) {
-            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+            throw AccountException.of(ErrorCode.AMOUNT_EXCEED_BALANCE);
         }
+        // 다른 검사를 모두 통과한 뒤 한도 카운터 증가 (롤백되면 되돌림)
+        spendingLimitService.reserve(account, amount);
     }
 
+    // 실패 거래 저널에 넘길 실패 시점 잔액 (잔액을 바꾸기 전에 읽어둔 값, 추가 조회 없음)
+    private static AccountException withBalanceSnapShot(AccountException e, Long balanceSnapShot) {
+        return balanceSnapShot == null ? e : e.withBalanceSnapShot(balanceSnapShot);
+    }
+
+    /**
+     * 실패 거래 저널의 bulk insert
+     * 계좌는 한번에 조회하고, 없는 계좌의 실패 거래는 기록하지 않는다
+     * 잔액 스냅샷은 실패 시점 값 (계좌를 읽기 전에 실패해서 없으면 여기서 조회한 계좌 잔액)
+     */
+    @Timed("account.service")
     @Transactional
-    public void saveFailedUseTransaction(String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+    public int saveFailedTransactions(List<FailedTransaction> failedTransactions) {
+        Map<String, Account> accounts = accountRepository.findByAccountNumberIn(
+                failedTransactions.stream()
+                        .map(FailedTransaction::getAccountNumber)
+                        .collect(Collectors.toSet())
+        ).stream().collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+
+        List<Transaction> transactions = failedTransactions.stream()
+                .filter(failed -> accounts.containsKey(failed.getAccountNumber()))
+                .map(failed -> {
+                    Account account = accounts.get(failed.getAccountNumber());
+                    return Transaction.builder()
+                            .transactionType(failed.getTransactionType())
+                            .transactionResultType(F)
+                            .account(account)
+                            .amount(failed.getAmount())
+                            .balanceSnapShot(failed.getBalanceSnapShot() != null
+                                    ? failed.getBalanceSnapShot() : account.getBalance())
+                            .transactionId(generateTransactionId())
+                            .transactedAt(failed.getFailedAt())
+                            .build();
+                })
+                .collect(Collectors.toList());
+        transactionRepository.saveAll(transactions);
+        outboxService.recordTransactions(transactions);
+        return transactions.size();
+    }
 
-        getSave(USE,F, account, amount);
+    // JFR 이벤트 : 기록중이 아닐때는 begin/commit 비용만 든다
+    private TransactionEvent beginEvent(TransactionType transactionType, String accountNumber, Long amount) {
+        TransactionEvent event = new TransactionEvent();
+        if (event.isEnabled()) {
+            event.transactionType = transactionType.name();
+            event.accountNumber = accountNumber;
+            event.amount = amount == null ? 0L : amount;
+            event.dbTime = RequestTiming.activeNanos(TimingPhase.DB);
+        }
+        event.begin();
+        return event;
+    }
+
+    private void failEvent(TransactionEvent event, AccountException e) {
+        event.result = F.name();
+        event.errorCode = e.getErrorCode() == null ? null : e.getErrorCode().name();
+    }
+
+    private void commitEvent(TransactionEvent event) {
+        event.end();
+        if (event.shouldCommit()) {
+            // 시작 시점 누적값과의 차이 = 이번 처리중 DB 시간
+            event.dbTime = RequestTiming.activeNanos(TimingPhase.DB) - event.dbTime;
+            event.commit();
+        }
     }
 
     private Transaction getSave(
@@ -74,60 +175,148 @@ public class TransactionService {
             TransactionResultType tType,
             Account account,
             Long amount) {
-        return transactionRepository.save(
+        return getSave(transactionType, tType, account, amount, null);
+    }
+
+    private Transaction getSave(
+            TransactionType transactionType,
+            TransactionResultType tType,
+            Account account,
+            Long amount,
+            String originalTransactionId) {
+        LocalDateTime transactedAt = LocalDateTime.now();
+        Transaction transaction = saveTransaction(
                 Transaction.builder()
                         .transactionType(transactionType)
                         .transactionResultType(tType)
                         .account(account)
                         .amount(amount)
                         .balanceSnapShot(account.getBalance())
-                        .transactionId(UUID.randomUUID()
-                                .toString()
-                                .replace("-", "")
-                        )
-                        .transactedAt(LocalDateTime.now())
+                        .transactionId(generateTransactionId())
+                        .transactedAt(transactedAt)
+                        .originalTransactionId(originalTransactionId)
                         .build()
         );
+        // 같은 트랜잭션에서 outbox 기록 -> OutboxRelay 가 Redis Stream 으로 발행
+        outboxService.recordTransaction(transaction);
+        if (tType == S) {
+            // 커밋 직전 일별 집계 upsert (RollupService)
+            eventPublisher.publishEvent(TransactionRecordedEvent.from(transaction));
+        }
+        return transaction;
     }
+    /**
+     * 사용취소 거래는 바로 flush 해서 원거래 unique 제약 위반을 여기서 받는다
+     * (락 없이 동시에 들어온 중복 취소 중 하나만 성공)
+     */
+    private Transaction saveTransaction(Transaction transaction) {
+        if (transaction.getOriginalTransactionId() == null) {
+            return transactionRepository.save(transaction);
+        }
+        try {
+            return transactionRepository.saveAndFlush(transaction);
+        } catch (DataIntegrityViolationException e) {
+            throw AccountException.of(ErrorCode.TRANSACTION_ALREADY_CANCELLED);
+        }
+    }
+
+    @Timed("account.service")
     @Transactional
     public TransactionDto cancleBalance(String transactionId, String accountNumber, Long amount){
-        Transaction transaction = transactionRepository.findByTransactionId(transactionId)
-                .orElseThrow(()->new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
-        //예외처리
-        validateCancelBalance(transaction,account,amount);
-        account.cancelBalance(amount);
-        return TransactionDto.fromEntity(
-                getSave(CANCEL,S,account,amount)
-        );
+        TransactionEvent event = beginEvent(CANCEL, accountNumber, amount);
+        Long balanceSnapShot = null;
+        try {
+            Transaction transaction = transactionRepository.findByTransactionId(transactionId)
+                    .orElseThrow(()->transactionNotFound(transactionId));
+            Account account = accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND));
+            balanceSnapShot = account.getBalance();
+            //예외처리
+            validateCancelBalance(transaction,account,amount);
+            account.cancelBalance(amount);
+            transaction.setCancelled(true);
+            TransactionDto transactionDto = TransactionDto.fromEntity(
+                    getSave(CANCEL,S,account,amount,transaction.getTransactionId())
+            );
+            eventPublisher.publishEvent(AccountChangedEvent.from(account));
+            event.result = S.name();
+            return transactionDto;
+        } catch (AccountException e) {
+            failEvent(event, e);
+            throw withBalanceSnapShot(e, balanceSnapShot);
+        } finally {
+            commitEvent(event);
+        }
     }
 
     private void validateCancelBalance(Transaction transaction, Account account, Long amount) {
+        // 실패 거래, 취소 거래는 잔액이 움직이지 않았으므로 취소 대상이 아님
+        if(transaction.getTransactionType() != USE || transaction.getTransactionResultType() != S){
+            throw AccountException.of(ErrorCode.TRANSACTION_NOT_CANCELLABLE);
+        }
+        // 이미 읽어온 원거래의 flag 확인 (동시 취소는 unique 제약으로 막힘)
+        if(transaction.isCancelled()){
+            throw AccountException.of(ErrorCode.TRANSACTION_ALREADY_CANCELLED);
+        }
         if(!Objects.equals(transaction.getAccount().getId(), account.getId())){
-            throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UNMATCHED);
+            throw AccountException.of(ErrorCode.TRANSACTION_ACCOUNT_UNMATCHED);
         }
         if(!Objects.equals(transaction.getAmount(), amount)){
-            throw new AccountException(ErrorCode.CANCEL_MUST_FULLY);
+            throw AccountException.of(ErrorCode.CANCEL_MUST_FULLY);
         }
         if(transaction.getTransactedAt().isBefore(LocalDateTime.now().minusYears(1))){
-            throw new AccountException(ErrorCode.TOO_OLD_ORDER_TO_CANCEL);
+            throw AccountException.of(ErrorCode.TOO_OLD_ORDER_TO_CANCEL);
         }
     }
-    //이미 취소된 여부인지 , 어떤 거래를 취소하는지 이런거 다 고려해야함
-    @Transactional
-    public void saveFailedCancelTransaction(String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
-        getSave(CANCEL,F, account, amount);
+
+    // package-private : jmh 벤치마크, ReactiveTransactionService 에서 직접 호출
+    static String generateTransactionId() {
+        return UUID.randomUUID()
+                .toString()
+                .replace("-", "");
     }
 
+    // 취소 기한이 지나 archive 로 옮겨진 거래 (없는 거래일때만 한번 더 조회)
+    private AccountException transactionNotFound(String transactionId) {
+        if (transactionArchiveRepository.existsByTransactionId(transactionId)) {
+            return AccountException.of(ErrorCode.TOO_OLD_ORDER_TO_CANCEL);
+        }
+        return AccountException.of(ErrorCode.TRANSACTION_NOT_FOUND);
+    }
+
+    /**
+     * transaction 테이블에 없으면 archive 에서 조회 (TransactionArchiver)
+     */
+    @Timed("account.service")
     @Transactional
     public TransactionDto queryTransaction(String transactionId) {
 
-        return TransactionDto.fromEntity(
-                transactionRepository.findByTransactionId(transactionId)
-                .orElseThrow(()->new AccountException(ErrorCode.TRANSACTION_NOT_FOUND))
-        );
+        return transactionRepository.findDtoByTransactionId(transactionId)
+                .or(() -> transactionArchiveRepository.findDtoByTransactionId(transactionId))
+                .orElseThrow(()->AccountException.of(ErrorCode.TRANSACTION_NOT_FOUND));
+    }
+
+    /**
+     * 계좌 거래 내역 (최신순, [from, to] 날짜, 최대 366일)
+     * (account_id, transacted_at) 인덱스 범위 조회, 기간에 걸친 월별 archive 테이블이 있으면
+     * 그 달 테이블의 (account_number, transacted_at) 범위만 union (다른 달 테이블은 읽지 않는다)
+     */
+    @Timed("account.service")
+    @Transactional
+    public List<TransactionDto> getTransactionHistory(
+            String accountNumber, LocalDate from, LocalDate to, int page, int size) {
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= MAX_HISTORY_DAYS
+                || page < 0 || size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw AccountException.of(ErrorCode.INVALID_REQUEST);
+        }
+        LocalDateTime fromAt = from.atStartOfDay();
+        LocalDateTime toAt = to.plusDays(1).atStartOfDay();
+        List<YearMonth> partitions = transactionArchiveRepository.findPartitions(fromAt, toAt);
+        if (partitions.isEmpty()) {
+            return transactionRepository.findHistory(accountNumber, fromAt, toAt, PageRequest.of(page, size));
+        }
+        // archive 로 옮겨진 달이 기간에 걸치면 그 달 테이블만 같이 읽는다
+        return transactionArchiveRepository.findHistory(
+                accountNumber, fromAt, toAt, partitions, page * size, size);
     }
 }
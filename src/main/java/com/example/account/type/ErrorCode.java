@@ -19,6 +19,12 @@ public enum ErrorCode {
     TRANSACTION_NOT_FOUND("해당 거래가 없습니다"),
     TOO_OLD_ORDER_TO_CANCEL("1년이 지난 거래는 취소가 불가능 합니다."),
     TRANSACTION_ACCOUNT_UNMATCHED("이 거래 는 해당 계좡에서 발생한 거래가 아닙니다."),
-    USER_NOT_FOUND("사용자가 없습니다.");
+    TRANSACTION_ALREADY_CANCELLED("이미 취소된 거래 입니다."),
+    TRANSACTION_NOT_CANCELLABLE("성공한 사용 거래만 취소할 수 있습니다."),
+    USER_NOT_FOUND("사용자가 없습니다."),
+    ACCOUNT_REQUEST_OVERLOADED("해당 계좌에 처리중인 요청이 너무 많습니다."),
+    SERVER_OVERLOADED("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."),
+    TOO_MANY_REQUESTS("허용된 요청 횟수를 초과 했습니다."),
+    DAILY_LIMIT_EXCEEDED("일일 사용 한도를 초과 했습니다.");
     private final String description;
 }
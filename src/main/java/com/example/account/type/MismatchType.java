@@ -0,0 +1,8 @@
+package com.example.account.type;
+
+public enum MismatchType {
+    // 이전 거래의 잔액 스냅샷 +- 거래금액 != 이번 스냅샷
+    CHAIN,
+    // 마지막 스냅샷 != 계좌 잔액
+    FINAL
+}
@@ -0,0 +1,25 @@
+package com.example.account.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * 요청 처리 스레드를 Tomcat 플랫폼 스레드 풀 대신 가상 스레드로 교체
+ * - JDBC, Redisson 의 blocking 호출이 풀 크기에 묶이지 않는다
+ * - LockService 의 tryLock 대기는 Semaphore/CompletableFuture 로 park 되므로 carrier thread 를 잡지 않는다
+ *   (synchronized 블록 안에서 대기하지 않도록 주의)
+ */
+@Configuration
+@ConditionalOnProperty(value = "account.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler ->
+                protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.account.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitPropertiesTest {
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    @DisplayName("설정 검증_정상")
+    void validBucket() {
+        //given
+        RateLimitProperties properties = properties(10, 5);
+
+        //when
+        Set<ConstraintViolation<RateLimitProperties>> violations = validator.validate(properties);
+
+        //then
+        assertTrue(violations.isEmpty());
+    }
+
+    @Test
+    @DisplayName("설정 검증_refillPerSecond 가 0 이면 거부")
+    void zeroRefill() {
+        //given
+        RateLimitProperties properties = properties(10, 0);
+
+        //when
+        Set<ConstraintViolation<RateLimitProperties>> violations = validator.validate(properties);
+
+        //then
+        assertEquals(1, violations.size());
+        assertEquals("endpoints[use].account.refillPerSecond",
+                violations.iterator().next().getPropertyPath().toString());
+    }
+
+    private RateLimitProperties properties(long capacity, double refillPerSecond) {
+        RateLimitProperties.Bucket bucket = new RateLimitProperties.Bucket();
+        bucket.setCapacity(capacity);
+        bucket.setRefillPerSecond(refillPerSecond);
+        RateLimitProperties.Endpoint endpoint = new RateLimitProperties.Endpoint();
+        endpoint.setAccount(bucket);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getEndpoints().put("use", endpoint);
+        return properties;
+    }
+}
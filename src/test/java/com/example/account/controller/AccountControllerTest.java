@@ -1,11 +1,15 @@
 package com.example.account.controller;
 
+import com.example.account.config.ErrorLogProperties;
 import com.example.account.domain.AccountNumber;
 import com.example.account.dto.AccountDto;
 import com.example.account.dto.CreateAccount;
 import com.example.account.dto.DeleteAccount;
+import com.example.account.dto.UpdateDailyLimit;
 import com.example.account.exception.AccountException;
+import com.example.account.metrics.AccountMetrics;
 import com.example.account.service.AccountService;
+import com.example.account.service.AccountStreamService;
 import com.example.account.type.AccountType;
 import com.example.account.type.ErrorCode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -30,12 +35,19 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AccountController.class)
+@Import(ErrorLogProperties.class)
 class AccountControllerTest {
 
     @MockBean
     private AccountService accountService;
     //Injection 이 필요가 없음
 
+    @MockBean
+    private AccountMetrics accountMetrics;
+
+    @MockBean
+    private AccountStreamService accountStreamService;
+
     @Autowired
     private MockMvc mockMvc;
     @Autowired
@@ -94,6 +106,31 @@ class AccountControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("일일한도변경")
+    void successUpdateDailyLimit() throws Exception {
+        //given
+        given(accountService.updateDailyLimit(anyLong(),anyString(),anyLong()))
+                .willReturn(AccountDto.builder()
+                        .userId(1L)
+                        .accountNumber("1234567890")
+                        .dailyLimit(50000L)
+                        .build());
+
+        //when
+        //then
+        mockMvc.perform(put("/account/daily-limit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UpdateDailyLimit.Request(1L,"1234567890",50000L)
+                        ))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("1234567890"))
+                .andExpect(jsonPath("$.dailyLimit").value(50000))
+                .andDo(print());
+    }
+
     @Test
     @DisplayName("계좌찾기")
     void successGetAccountByUserId() throws Exception {
@@ -0,0 +1,134 @@
+package com.example.account.controller;
+
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.service.AdmissionControlService;
+import com.example.account.service.RateLimitService;
+import com.example.account.service.ReactiveLockService;
+import com.example.account.service.ReactiveTransactionService;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RLockReactive;
+import org.redisson.api.RedissonReactiveClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.CANCEL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 사용취소도 계좌 락 안에서 처리하고, 실패 거래 저장 후 락을 해제하는지 확인
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveTransactionControllerTest {
+    @Mock
+    private ReactiveTransactionService transactionService;
+    @Mock
+    private RedissonReactiveClient redissonReactiveClient;
+    @Mock
+    private RLockReactive lock;
+    @Mock
+    private AdmissionControlService admissionControlService;
+    @Mock
+    private RateLimitService rateLimitService;
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private ReactiveTransactionController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ReactiveTransactionController(transactionService,
+                new ReactiveLockService(redissonReactiveClient, admissionControlService), rateLimitService);
+    }
+
+    @Test
+    @DisplayName("reactive 사용취소_락 안에서 처리")
+    void cancelBalanceWithinLock() {
+        //given
+        givenLock();
+        given(transactionService.cancleBalance("transactionId", "1000000000", 1000L))
+                .willReturn(Mono.fromCallable(() -> {
+                    events.add("cancel");
+                    return new TransactionDto("1000000000", CANCEL, S, 1000L, 10000L,
+                            "cancelId", LocalDateTime.now());
+                }));
+
+        //when
+        //then
+        StepVerifier.create(controller.cancelBalance(
+                        new CancelBalance.Request("transactionId", "1000000000", 1000L)))
+                .assertNext(response -> assertEquals("cancelId", response.getTransactionId()))
+                .verifyComplete();
+        assertEquals(Arrays.asList("lock", "cancel", "unlock"), events);
+    }
+
+    @Test
+    @DisplayName("reactive 사용취소_실패 거래 저장 후 락 해제")
+    void cancelBalanceFailureReleasesLock() {
+        //given
+        givenLock();
+        given(transactionService.cancleBalance(anyString(), anyString(), anyLong()))
+                .willReturn(Mono.error(AccountException.of(ErrorCode.TRANSACTION_ALREADY_CANCELLED)));
+        given(transactionService.saveFailedCancelTransaction("1000000000", 1000L))
+                .willReturn(Mono.fromRunnable(() -> events.add("saveFailed")));
+
+        //when
+        //then
+        StepVerifier.create(controller.cancelBalance(
+                        new CancelBalance.Request("transactionId", "1000000000", 1000L)))
+                .expectErrorMatches(e -> e instanceof AccountException
+                        && ((AccountException) e).getErrorCode() == ErrorCode.TRANSACTION_ALREADY_CANCELLED)
+                .verify();
+        assertEquals(Arrays.asList("lock", "saveFailed", "unlock"), events);
+    }
+
+    @Test
+    @DisplayName("reactive 잔액사용_요청 수 제한이면 락, 거래 모두 처리하지 않음")
+    void useBalanceRateLimited() {
+        //given
+        willThrow(AccountException.of(ErrorCode.TOO_MANY_REQUESTS))
+                .given(rateLimitService).check(eq("use"), any(UseBalance.Request.class));
+
+        //when
+        //then
+        StepVerifier.create(controller.useBalance(
+                        new UseBalance.Request(1L, "1000000000", 1000L)))
+                .expectErrorMatches(e -> e instanceof AccountException
+                        && ((AccountException) e).getErrorCode() == ErrorCode.TOO_MANY_REQUESTS)
+                .verify();
+        verify(admissionControlService, never()).acquire(anyString());
+        verify(redissonReactiveClient, never()).getLock(anyString());
+        verify(transactionService, never()).saveFailedUseTransaction(anyString(), anyLong());
+    }
+
+    private void givenLock() {
+        given(redissonReactiveClient.getLock("ACLK:1000000000"))
+                .willReturn(lock);
+        given(lock.tryLock(eq(1L), eq(15L), eq(TimeUnit.SECONDS), anyLong()))
+                .willReturn(Mono.fromCallable(() -> events.add("lock")));
+        given(lock.unlock(anyLong()))
+                .willReturn(Mono.fromRunnable(() -> events.add("unlock")));
+    }
+}
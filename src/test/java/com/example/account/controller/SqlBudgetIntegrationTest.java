@@ -0,0 +1,173 @@
+package com.example.account.controller;
+
+import com.example.account.aop.SqlBudget;
+import com.example.account.dto.AccountDto;
+import com.example.account.dto.TransactionDto;
+import com.example.account.service.AccountService;
+import com.example.account.service.TransactionService;
+import com.example.account.support.SqlStatementCounter;
+import com.example.account.type.AccountType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 컨트롤러 메소드의 @SqlBudget 을 넘는 SQL 이 실행되면 실패 (N+1 회귀 방지)
+ * - 다른 컨텍스트와 겹치지 않도록 별도 H2 / Redis 포트 사용
+ * - 준비 데이터는 서비스로 직접 만들고 (집계 제외) 검사할 요청만 MockMvc 로 보낸다
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.account.support.SqlStatementCounter",
+        "spring.datasource.url=jdbc:h2:mem:sqlbudget",
+        "spring.r2dbc.url=r2dbc:h2:mem:///sqlbudget",
+        "spring.redis.port=6380",
+        "account.rate-limit.enabled=false",
+        "account.jfr.auto-enabled=false",
+        "account.grpc.enabled=false",
+        "account.failure-journal.spool-dir=build/tmp/sqlbudget-journal"
+})
+@AutoConfigureMockMvc
+class SqlBudgetIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    @DisplayName("계좌생성_SQL 예산")
+    void createAccountWithinBudget() throws Exception {
+        performWithinBudget(post("/account")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\":1,\"initialBalance\":1000,\"accountType\":\"CHECKING\"}"));
+    }
+
+    @Test
+    @DisplayName("계좌조회_SQL 예산")
+    void getAccountsWithinBudget() throws Exception {
+        accountService.createAccount(1L, 1000L, AccountType.SAVING);
+        accountService.createAccount(1L, 2000L, AccountType.SAVING);
+
+        performWithinBudget(get("/account?user_id=1"));
+    }
+
+    @Test
+    @DisplayName("계좌해지_SQL 예산")
+    void deleteAccountWithinBudget() throws Exception {
+        AccountDto account = accountService.createAccount(3L, 0L, AccountType.CHECKING);
+
+        performWithinBudget(delete("/account")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\":3,\"accountNumber\":\"" + account.getAccountNumber() + "\"}"));
+    }
+
+    @Test
+    @DisplayName("잔액사용_SQL 예산")
+    void useBalanceWithinBudget() throws Exception {
+        AccountDto account = accountService.createAccount(2L, 10000L, AccountType.CHECKING);
+
+        performWithinBudget(post("/transaction/use")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\":2,\"accountNumber\":\"" + account.getAccountNumber()
+                        + "\",\"amount\":1000}"));
+    }
+
+    @Test
+    @DisplayName("일일한도 잔액사용_SQL 예산")
+    void useBalanceWithDailyLimitWithinBudget() throws Exception {
+        AccountDto account = accountService.createAccount(2L, 10000L, AccountType.MONEY_MARKET);
+
+        performWithinBudget(put("/account/daily-limit")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\":2,\"accountNumber\":\"" + account.getAccountNumber()
+                        + "\",\"dailyLimit\":5000}"));
+        performWithinBudget(post("/transaction/use")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\":2,\"accountNumber\":\"" + account.getAccountNumber()
+                        + "\",\"amount\":1000}"));
+    }
+
+    @Test
+    @DisplayName("잔액사용취소_SQL 예산")
+    void cancelBalanceWithinBudget() throws Exception {
+        AccountDto account = accountService.createAccount(2L, 10000L, AccountType.SAVING);
+        TransactionDto transaction = transactionService.useBalance(2L, account.getAccountNumber(), 1000L);
+
+        performWithinBudget(post("/transaction/cancel")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"transactionId\":\"" + transaction.getTransactionId()
+                        + "\",\"accountNumber\":\"" + account.getAccountNumber() + "\",\"amount\":1000}"));
+    }
+
+    @Test
+    @DisplayName("거래조회_SQL 예산")
+    void queryTransactionWithinBudget() throws Exception {
+        AccountDto account = accountService.createAccount(3L, 10000L, AccountType.SAVING);
+        TransactionDto transaction = transactionService.useBalance(3L, account.getAccountNumber(), 1000L);
+
+        performWithinBudget(get("/transaction/" + transaction.getTransactionId()));
+    }
+
+    @Test
+    @DisplayName("거래내역조회_SQL 예산")
+    void transactionHistoryWithinBudget() throws Exception {
+        AccountDto account = accountService.createAccount(3L, 10000L, AccountType.MONEY_MARKET);
+        transactionService.useBalance(3L, account.getAccountNumber(), 1000L);
+        transactionService.useBalance(3L, account.getAccountNumber(), 2000L);
+
+        performWithinBudget(get("/transaction/history?account_number=" + account.getAccountNumber()
+                + "&from=" + LocalDate.now().minusMonths(2) + "&to=" + LocalDate.now()));
+    }
+
+    @Test
+    @DisplayName("일별집계조회_SQL 예산")
+    void accountRollupsWithinBudget() throws Exception {
+        AccountDto account = accountService.createAccount(3L, 10000L, AccountType.CHECKING);
+        transactionService.useBalance(3L, account.getAccountNumber(), 1000L);
+
+        performWithinBudget(get("/rollup/account?account_number=" + account.getAccountNumber()
+                + "&from=" + LocalDate.now().minusDays(7) + "&to=" + LocalDate.now()));
+    }
+
+    private void performWithinBudget(MockHttpServletRequestBuilder request) throws Exception {
+        SqlStatementCounter.reset();
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        assertFalse(body.contains("\"errorCode\""), "request failed : " + body);
+
+        HandlerMethod handler = (HandlerMethod) result.getHandler();
+        SqlBudget budget = handler.getMethodAnnotation(SqlBudget.class);
+        assertNotNull(budget, handler.getShortLogMessage() + " has no @SqlBudget");
+
+        String detail = handler.getShortLogMessage() + " executed " + SqlStatementCounter.statements();
+        assertTrue(SqlStatementCounter.reads() <= budget.reads(),
+                "reads " + SqlStatementCounter.reads() + " > budget " + budget.reads() + " : " + detail);
+        assertTrue(SqlStatementCounter.writes() <= budget.writes(),
+                "writes " + SqlStatementCounter.writes() + " > budget " + budget.writes() + " : " + detail);
+    }
+}
@@ -1,35 +1,51 @@
 package com.example.account.controller;
 
+import com.example.account.config.CborConfig;
+import com.example.account.config.ErrorLogProperties;
 import com.example.account.dto.CancelBalance;
 import com.example.account.dto.TransactionDto;
 import com.example.account.dto.UseBalance;
+import com.example.account.metrics.AccountMetrics;
+import com.example.account.service.FailedTransactionJournal;
 import com.example.account.service.TransactionService;
 import com.example.account.type.TransactionType;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import static com.example.account.type.TransactionResultType.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TransactionController.class)
+@Import({ErrorLogProperties.class, CborConfig.class})
 class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private FailedTransactionJournal failedTransactionJournal;
+
+    @MockBean
+    private AccountMetrics accountMetrics;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -68,6 +84,60 @@ class TransactionControllerTest {
                 );
     }
 
+    @Test
+    @DisplayName("계좌거래_성공/CBOR")
+    void successUseBalanceCbor() throws Exception {
+        //given
+        ObjectMapper cborMapper = new CBORMapper();
+        given(transactionService.useBalance(anyLong(),anyString(),anyLong()))
+                .willReturn(TransactionDto.builder()
+                        .accountNumber("1000000000")
+                        .transactedAt(LocalDateTime.now())
+                        .amount(12345L)
+                        .transactionId("transactionId")
+                        .transactionResultType(S)
+                        .build());
+        MediaType cbor = MediaType.parseMediaType("application/cbor");
+        //when
+        byte[] body = mockMvc.perform(post("/transaction/use")
+                        .contentType(cbor)
+                        .accept(cbor)
+                        .content(cborMapper.writeValueAsBytes(
+                                new UseBalance.Request(
+                                        1L,"1000000000",1000L
+                                )
+                        ))
+                ).andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(cbor))
+                .andReturn().getResponse().getContentAsByteArray();
+        //then
+        JsonNode response = cborMapper.readTree(body);
+        assertEquals("1000000000", response.get("accountNumber").asText());
+        assertEquals("transactionId", response.get("transactionId").asText());
+        assertEquals(12345L, response.get("amount").asLong());
+    }
+
+    @Test
+    @DisplayName("계좌거래_실패/CBOR 요청도 검증")
+    void useBalanceCborValidation() throws Exception {
+        //given
+        ObjectMapper cborMapper = new CBORMapper();
+        MediaType cbor = MediaType.parseMediaType("application/cbor");
+        //when
+        byte[] body = mockMvc.perform(post("/transaction/use")
+                        .contentType(cbor)
+                        .accept(cbor)
+                        .content(cborMapper.writeValueAsBytes(
+                                new UseBalance.Request(
+                                        1L,"100",1000L
+                                )
+                        ))
+                ).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        //then
+        assertEquals("INVALID_REQUEST", cborMapper.readTree(body).get("errorCode").asText());
+    }
+
     @Test
     @DisplayName("계좌거래취소_성공")
     void successCancelBalance() throws Exception {
@@ -0,0 +1,39 @@
+package com.example.account.exception;
+
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class AccountExceptionTest {
+
+    @Test
+    @DisplayName("코드별 예외 재사용")
+    void ofReturnsCachedInstance() {
+        //given
+        //when
+        AccountException first = AccountException.of(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        AccountException second = AccountException.of(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+
+        //then
+        assertSame(first, second);
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, first.getErrorCode());
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK.getDescription(), first.getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("stack trace, suppressed 를 만들지 않음")
+    void stackless() {
+        //given
+        AccountException exception = new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+
+        //when
+        exception.addSuppressed(new IllegalStateException());
+
+        //then
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(0, exception.getSuppressed().length);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.account.grpc;
+
+import com.example.account.dto.AccountDto;
+import com.example.account.exception.AccountException;
+import com.example.account.grpc.proto.AccountApiGrpc;
+import com.example.account.grpc.proto.AccountReply;
+import com.example.account.grpc.proto.CreateAccountRequest;
+import com.example.account.grpc.proto.DeleteAccountRequest;
+import com.example.account.grpc.proto.GetAccountsReply;
+import com.example.account.grpc.proto.GetAccountsRequest;
+import com.example.account.metrics.AccountMetrics;
+import com.example.account.service.AccountService;
+import com.example.account.type.AccountType;
+import com.example.account.type.ErrorCode;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.validation.Validation;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountGrpcServiceTest {
+    @Mock
+    private AccountService accountService;
+    @Mock
+    private AccountMetrics accountMetrics;
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String serverName = InProcessServerBuilder.generateName();
+        GrpcCallHandler callHandler = new GrpcCallHandler(
+                Validation.buildDefaultValidatorFactory().getValidator(), accountMetrics);
+        server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(new AccountGrpcService(accountService, callHandler))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName)
+                .directExecutor()
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("계좌생성_성공")
+    void createAccountSuccess() {
+        //given
+        given(accountService.createAccount(1L, 1000L, AccountType.SAVING))
+                .willReturn(accountDto("1000000012", AccountType.SAVING));
+
+        //when
+        AccountReply reply = AccountApiGrpc.newBlockingStub(channel)
+                .createAccount(CreateAccountRequest.newBuilder()
+                        .setUserId(1L)
+                        .setInitialBalance(1000L)
+                        .setAccountType(com.example.account.grpc.proto.AccountType.SAVING)
+                        .build());
+
+        //then
+        assertEquals(1L, reply.getUserId());
+        assertEquals("1000000012", reply.getAccountNumber());
+        assertEquals(com.example.account.grpc.proto.AccountType.SAVING, reply.getAccountType());
+        assertTrue(reply.hasRegisteredAt());
+        assertFalse(reply.hasUnregisteredAt());
+    }
+
+    @Test
+    @DisplayName("계좌생성_실패/계좌 종류 없음")
+    void createAccountWithoutAccountType() {
+        //given
+        //when
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> AccountApiGrpc.newBlockingStub(channel)
+                        .createAccount(CreateAccountRequest.newBuilder()
+                                .setUserId(1L)
+                                .setInitialBalance(1000L)
+                                .build()));
+
+        //then
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        verify(accountService, never()).createAccount(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("계좌해지_실패/에러코드는 Status 와 trailer 로 전달")
+    void deleteAccountFailed() {
+        //given
+        given(accountService.deleteAccount(1L, "1000000012"))
+                .willThrow(AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        //when
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> AccountApiGrpc.newBlockingStub(channel)
+                        .deleteAccount(DeleteAccountRequest.newBuilder()
+                                .setUserId(1L)
+                                .setAccountNumber("1000000012")
+                                .build()));
+
+        //then
+        assertEquals(Status.Code.NOT_FOUND, exception.getStatus().getCode());
+        assertEquals("ACCOUNT_NOT_FOUND",
+                exception.getTrailers().get(GrpcCallHandler.ERROR_CODE_KEY));
+        verify(accountService, times(1)).deleteAccount(1L, "1000000012");
+    }
+
+    @Test
+    @DisplayName("계좌확인_성공")
+    void getAccountsSuccess() {
+        //given
+        given(accountService.getAccountByUserId(1L))
+                .willReturn(Arrays.asList(
+                        accountDto("1000000012", AccountType.CHECKING),
+                        accountDto("1000000013", AccountType.SAVING)));
+
+        //when
+        GetAccountsReply reply = AccountApiGrpc.newBlockingStub(channel)
+                .getAccounts(GetAccountsRequest.newBuilder().setUserId(1L).build());
+
+        //then
+        assertEquals(2, reply.getAccountsCount());
+        assertEquals("1000000012", reply.getAccounts(0).getAccountNumber());
+        assertEquals(5000L, reply.getAccounts(0).getBalance());
+        assertEquals(com.example.account.grpc.proto.AccountType.SAVING,
+                reply.getAccounts(1).getAccountType());
+    }
+
+    private AccountDto accountDto(String accountNumber, AccountType accountType) {
+        return AccountDto.builder()
+                .userId(1L)
+                .accountNumber(accountNumber)
+                .balance(5000L)
+                .accountType(accountType)
+                .registeredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.account.grpc;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// gRPC 서버는 고정 포트 대신 빈 포트로 띄워서 다른 테스트/로컬 서버와 충돌하지 않게 한다
+@SpringBootTest(properties = {
+        "account.grpc.enabled=true",
+        "account.grpc.port=0"
+})
+class GrpcServerLifecycleTest {
+    @Autowired
+    private GrpcServerLifecycle grpcServerLifecycle;
+
+    @Test
+    @DisplayName("gRPC 서버_켜면 빈 포트로 기동")
+    void startOnEphemeralPort() {
+        //given
+        //when
+        //then
+        assertTrue(grpcServerLifecycle.getPort() > 0);
+    }
+}
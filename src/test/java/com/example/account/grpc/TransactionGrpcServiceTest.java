@@ -0,0 +1,309 @@
+package com.example.account.grpc;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.grpc.proto.CancelBalanceRequest;
+import com.example.account.grpc.proto.TransactionApiGrpc;
+import com.example.account.grpc.proto.UseBalanceReply;
+import com.example.account.grpc.proto.UseBalanceRequest;
+import com.example.account.metrics.AccountMetrics;
+import com.example.account.service.AccountLockExecutor;
+import com.example.account.service.AdmissionControlService;
+import com.example.account.service.FailedTransactionJournal;
+import com.example.account.service.LockService;
+import com.example.account.service.RateLimitService;
+import com.example.account.service.TransactionService;
+import com.example.account.type.ErrorCode;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.validation.Validation;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionGrpcServiceTest {
+    @Mock
+    private TransactionService transactionService;
+    @Mock
+    private FailedTransactionJournal failedTransactionJournal;
+    @Mock
+    private LockService lockService;
+    @Mock
+    private AdmissionControlService admissionControlService;
+    @Mock
+    private RateLimitService rateLimitService;
+    @Mock
+    private AccountMetrics accountMetrics;
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String serverName = InProcessServerBuilder.generateName();
+        GrpcCallHandler callHandler = new GrpcCallHandler(
+                Validation.buildDefaultValidatorFactory().getValidator(), accountMetrics);
+        server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(new TransactionGrpcService(transactionService, failedTransactionJournal,
+                        new AccountLockExecutor(lockService, admissionControlService), rateLimitService,
+                        callHandler))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName)
+                .directExecutor()
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("계좌거래_성공")
+    void successUseBalance() {
+        //given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(transactionDto("1000000000", "transactionId"));
+
+        //when
+        UseBalanceReply reply = TransactionApiGrpc.newBlockingStub(channel)
+                .useBalance(useRequest("1000000000"));
+
+        //then
+        assertEquals("1000000000", reply.getAccountNumber());
+        assertEquals("transactionId", reply.getTransactionId());
+        assertEquals(12345L, reply.getAmount());
+        assertEquals(com.example.account.grpc.proto.TransactionResultType.S, reply.getTransactionResult());
+        verify(lockService, times(1)).lock("1000000000");
+        verify(lockService, times(1)).unlock("1000000000");
+    }
+
+    @Test
+    @DisplayName("계좌거래_실패/에러코드는 Status 와 trailer 로 전달")
+    void useBalanceFailed() {
+        //given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willThrow(AccountException.of(ErrorCode.AMOUNT_EXCEED_BALANCE).withBalanceSnapShot(500L));
+
+        //when
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> TransactionApiGrpc.newBlockingStub(channel).useBalance(useRequest("1000000000")));
+
+        //then
+        assertEquals(Status.Code.FAILED_PRECONDITION, exception.getStatus().getCode());
+        assertEquals("AMOUNT_EXCEED_BALANCE",
+                exception.getTrailers().get(GrpcCallHandler.ERROR_CODE_KEY));
+        verify(failedTransactionJournal, times(1)).append(USE, "1000000000", 1000L, 500L);
+        verify(lockService, times(1)).unlock("1000000000");
+        verify(accountMetrics, times(1)).countFailure(ErrorCode.AMOUNT_EXCEED_BALANCE);
+    }
+
+    @Test
+    @DisplayName("계좌거래_실패/요청 검증")
+    void useBalanceInvalidRequest() {
+        //given
+        //when
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> TransactionApiGrpc.newBlockingStub(channel).useBalance(useRequest("100")));
+
+        //then
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        verify(transactionService, never()).useBalance(anyLong(), anyString(), anyLong());
+        verify(lockService, never()).lock(anyString());
+    }
+
+    @Test
+    @DisplayName("계좌거래_실패/요청 수 제한은 락을 잡기 전에 거절")
+    void useBalanceRateLimited() {
+        //given
+        willThrow(AccountException.of(ErrorCode.TOO_MANY_REQUESTS))
+                .given(rateLimitService).check(eq("use"), any(UseBalance.Request.class));
+
+        //when
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> TransactionApiGrpc.newBlockingStub(channel).useBalance(useRequest("1000000000")));
+
+        //then
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, exception.getStatus().getCode());
+        verify(lockService, never()).lock(anyString());
+        verify(transactionService, never()).useBalance(anyLong(), anyString(), anyLong());
+        verify(failedTransactionJournal, never()).append(any(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("계좌거래취소_이미 취소된 거래는 계좌 락 없이 거절")
+    void cancelBalanceAlreadyCancelled() {
+        //given
+        given(transactionService.cancleBalance("transactionId", "1000000000", 1000L))
+                .willThrow(AccountException.of(ErrorCode.TRANSACTION_ALREADY_CANCELLED));
+
+        //when
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> TransactionApiGrpc.newBlockingStub(channel).cancelBalance(CancelBalanceRequest.newBuilder()
+                        .setTransactionId("transactionId")
+                        .setAccountNumber("1000000000")
+                        .setAmount(1000L)
+                        .build()));
+
+        //then
+        assertEquals("TRANSACTION_ALREADY_CANCELLED",
+                exception.getTrailers().get(GrpcCallHandler.ERROR_CODE_KEY));
+        verify(lockService, never()).lock(anyString());
+        verify(failedTransactionJournal, times(1)).append(CANCEL, "1000000000", 1000L, null);
+    }
+
+    @Test
+    @DisplayName("계좌거래_스트림/실패한 요청도 스트림을 끊지 않고 응답")
+    void streamUseBalance() throws Exception {
+        //given
+        given(transactionService.useBalance(anyLong(), eq("1000000000"), anyLong()))
+                .willReturn(transactionDto("1000000000", "transactionId"));
+        given(transactionService.useBalance(anyLong(), eq("2000000000"), anyLong()))
+                .willThrow(AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND));
+        List<UseBalanceReply> replies = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+
+        //when
+        StreamObserver<UseBalanceRequest> requests = TransactionApiGrpc.newStub(channel)
+                .streamUseBalance(new StreamObserver<>() {
+                    @Override
+                    public void onNext(UseBalanceReply reply) {
+                        replies.add(reply);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        completed.countDown();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+                });
+        requests.onNext(useRequest("1000000000"));
+        requests.onNext(useRequest("2000000000"));
+        requests.onCompleted();
+
+        //then
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(2, replies.size());
+        assertEquals("transactionId", replies.get(0).getTransactionId());
+        assertEquals("", replies.get(0).getErrorCode());
+        assertEquals("2000000000", replies.get(1).getAccountNumber());
+        assertEquals("ACCOUNT_NOT_FOUND", replies.get(1).getErrorCode());
+        verify(failedTransactionJournal, times(1)).append(USE, "2000000000", 1000L, null);
+    }
+
+    @Test
+    @DisplayName("계좌거래_스트림/클라이언트가 응답을 받을 수 없으면 다음 요청을 읽지 않음")
+    void streamUseBalanceFlowControl() throws Exception {
+        //given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(transactionDto("1000000000", "transactionId"));
+        List<UseBalanceReply> replies = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        AtomicReference<ClientCallStreamObserver<UseBalanceRequest>> requestStream = new AtomicReference<>();
+
+        //when
+        // 응답을 1개만 받겠다고 요청한 상태로 요청 3개를 보냄
+        StreamObserver<UseBalanceRequest> requests = TransactionApiGrpc.newStub(channel)
+                .streamUseBalance(new ClientResponseObserver<UseBalanceRequest, UseBalanceReply>() {
+                    @Override
+                    public void beforeStart(ClientCallStreamObserver<UseBalanceRequest> stream) {
+                        stream.disableAutoRequestWithInitial(1);
+                        requestStream.set(stream);
+                    }
+
+                    @Override
+                    public void onNext(UseBalanceReply reply) {
+                        replies.add(reply);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        completed.countDown();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+                });
+        requests.onNext(useRequest("1000000000"));
+        requests.onNext(useRequest("1000000000"));
+        requests.onNext(useRequest("1000000000"));
+
+        //then
+        // 첫 응답을 보낸 뒤 서버는 읽기를 멈춤
+        assertEquals(1, replies.size());
+        verify(transactionService, times(1)).useBalance(anyLong(), anyString(), anyLong());
+
+        // 클라이언트가 응답을 더 받을 수 있게 되면 나머지를 처리
+        requestStream.get().request(2);
+        requests.onCompleted();
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(3, replies.size());
+        verify(transactionService, times(3)).useBalance(anyLong(), anyString(), anyLong());
+        verify(lockService, times(3)).unlock("1000000000");
+    }
+
+    private UseBalanceRequest useRequest(String accountNumber) {
+        return UseBalanceRequest.newBuilder()
+                .setUserId(1L)
+                .setAccountNumber(accountNumber)
+                .setAmount(1000L)
+                .build();
+    }
+
+    private TransactionDto transactionDto(String accountNumber, String transactionId) {
+        return TransactionDto.builder()
+                .accountNumber(accountNumber)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .amount(12345L)
+                .balanceSnapShot(10000L)
+                .transactionId(transactionId)
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.account.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrRecordingServiceTest {
+    @TempDir
+    Path dumpDir;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JfrRecordingService jfrRecordingService;
+
+    @AfterEach
+    void tearDown() {
+        if (jfrRecordingService != null) {
+            jfrRecordingService.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("p99 가 임계값 안이면 녹화하지 않음")
+    void noRecordingWithinBudget() {
+        //given
+        jfrRecordingService = service(true);
+        record("/transaction/cancel", 100);
+
+        //when
+        jfrRecordingService.checkLatency();
+
+        //then
+        assertFalse(jfrRecordingService.isRecording());
+        assertTrue(jfrRecordingService.maxHttpP99Millis() < 2000);
+    }
+
+    @Test
+    @DisplayName("제외된 uri 는 느려도 녹화하지 않음")
+    void noRecordingForExcludedUri() {
+        //given
+        jfrRecordingService = service(true);
+        record("/transaction/use", 3000);
+        record("/transaction/cancel", 100);
+
+        //when
+        jfrRecordingService.checkLatency();
+
+        //then
+        assertFalse(jfrRecordingService.isRecording());
+    }
+
+    @Test
+    @DisplayName("자동 녹화가 꺼져 있으면 임계값을 넘어도 녹화하지 않음")
+    void noRecordingWhenAutoDisabled() {
+        //given
+        jfrRecordingService = service(false);
+        record("/transaction/cancel", 3000);
+
+        //when
+        jfrRecordingService.checkLatency();
+
+        //then
+        assertFalse(jfrRecordingService.isRecording());
+    }
+
+    @Test
+    @DisplayName("임계값을 넘으면 녹화 시작")
+    void recordingOverBudget() {
+        //given
+        jfrRecordingService = service(true);
+        record("/transaction/cancel", 3000);
+
+        //when
+        jfrRecordingService.checkLatency();
+
+        //then
+        assertTrue(jfrRecordingService.isRecording());
+    }
+
+    private JfrRecordingService service(boolean autoEnabled) {
+        return new JfrRecordingService(meterRegistry, autoEnabled, 2000,
+                new String[]{"/transaction/use"}, 60, 600, 10, dumpDir.toString());
+    }
+
+    private void record(String uri, long millis) {
+        Timer timer = Timer.builder("http.server.requests")
+                .tag("uri", uri)
+                .publishPercentiles(0.99)
+                .register(meterRegistry);
+        for (int i = 0; i < 10; i++) {
+            timer.record(Duration.ofMillis(millis));
+        }
+    }
+}
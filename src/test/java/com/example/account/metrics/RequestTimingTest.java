@@ -0,0 +1,64 @@
+package com.example.account.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming.end();
+    }
+
+    @Test
+    @DisplayName("구간별 시간이 Server-Timing 헤더로 만들어짐")
+    void serverTimingHeader() {
+        //given
+        RequestTiming timing = RequestTiming.begin();
+
+        //when
+        RequestTiming.record(TimingPhase.LOCK, 1_200_000L);
+        RequestTiming.record(TimingPhase.DB, 1_000_000L);
+        RequestTiming.record(TimingPhase.DB, 2_050_000L);
+        String header = timing.toServerTimingHeader();
+
+        //then
+        assertTrue(header.startsWith("lock;dur=1.20, db;dur=3.05;desc=\"2 calls\", app;dur="), header);
+        assertFalse(header.contains("svc"));
+        assertEquals(2, timing.getCount(TimingPhase.DB));
+    }
+
+    @Test
+    @DisplayName("시작하지 않은 스레드의 기록은 무시")
+    void ignoreWhenNotActive() {
+        //given
+        RequestTiming.end();
+
+        //when
+        RequestTiming.record(TimingPhase.DB, 1_000_000L);
+
+        //then
+        assertFalse(RequestTiming.isActive());
+        assertEquals(0L, RequestTiming.begin().getNanos(TimingPhase.DB));
+    }
+
+    @Test
+    @DisplayName("요청이 끝난 스레드에서는 이전 요청의 누적값을 읽지 않음")
+    void activeNanosAfterEnd() {
+        //given
+        RequestTiming.begin();
+        RequestTiming.record(TimingPhase.DB, 1_000_000L);
+
+        //when
+        long during = RequestTiming.activeNanos(TimingPhase.DB);
+        RequestTiming.end();
+        long after = RequestTiming.activeNanos(TimingPhase.DB);
+
+        //then
+        assertEquals(1_000_000L, during);
+        assertEquals(0L, after);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.account.service;
+
+import com.example.account.dto.AccountChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RedissonClient;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * reactive 트랜잭션의 커밋 후 발행 (publishAfterCommit)
+ */
+@ExtendWith(MockitoExtension.class)
+class AccountChangePublisherTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    private final AccountChangedEvent event =
+            new AccountChangedEvent(1L, "1000000012", 7000L, false, 4L);
+    private final TransactionalOperator operator = TransactionalOperator.create(new NoOpTransactionManager());
+    private AccountChangePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = spy(new AccountChangePublisher(redissonClient, new ObjectMapper()));
+    }
+
+    @Test
+    @DisplayName("계좌 변경 발행_reactive 트랜잭션 커밋 후")
+    void publishAfterCommit() {
+        //given
+        willDoNothing().given(publisher).publish(any());
+
+        //when
+        StepVerifier.create(publisher.publishAfterCommit(event)
+                        .then(Mono.fromRunnable(() -> verify(publisher, never()).publish(any())))
+                        .as(operator::transactional))
+                .verifyComplete();
+
+        //then
+        verify(publisher).publish(event);
+    }
+
+    @Test
+    @DisplayName("계좌 변경 발행_롤백되면 발행하지 않음")
+    void discardOnRollback() {
+        //given
+        //when
+        StepVerifier.create(publisher.publishAfterCommit(event)
+                        .then(Mono.error(new IllegalStateException("rollback")))
+                        .as(operator::transactional))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        //then
+        verify(publisher, never()).publish(any());
+    }
+
+    @Test
+    @DisplayName("계좌 변경 발행_트랜잭션 밖에서는 버림")
+    void discardWithoutTransaction() {
+        //given
+        //when
+        StepVerifier.create(publisher.publishAfterCommit(event))
+                .verifyComplete();
+
+        //then
+        verify(publisher, never()).publish(any());
+    }
+
+    // 커밋/롤백만 흉내내는 트랜잭션 매니저 (synchronization 콜백 확인용)
+    private static class NoOpTransactionManager extends AbstractReactiveTransactionManager {
+        @Override
+        protected Object doGetTransaction(TransactionSynchronizationManager synchronizationManager) {
+            return new Object();
+        }
+
+        @Override
+        protected Mono<Void> doBegin(TransactionSynchronizationManager synchronizationManager,
+                                     Object transaction, TransactionDefinition definition) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager,
+                                      GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager,
+                                        GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+    }
+}
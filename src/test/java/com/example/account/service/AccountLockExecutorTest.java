@@ -0,0 +1,83 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountLockExecutorTest {
+    @Mock
+    private LockService lockService;
+
+    @Mock
+    private AdmissionControlService admissionControlService;
+
+    @InjectMocks
+    private AccountLockExecutor accountLockExecutor;
+
+    @Test
+    @DisplayName("계좌 잠금 실행_성공")
+    void execute() {
+        //given
+        //when
+        String result = accountLockExecutor.execute("1234", () -> "done");
+
+        //then
+        assertEquals("done", result);
+        verify(lockService, times(1)).lock("1234");
+        verify(lockService, times(1)).unlock("1234");
+        verify(admissionControlService, times(1))
+                .release(eq("1234"), anyLong(), eq(false));
+    }
+
+    @Test
+    @DisplayName("계좌 잠금 실행_요청 한도 초과시 락을 잡지 않음")
+    void overloaded() {
+        //given
+        willThrow(AccountException.of(ErrorCode.ACCOUNT_REQUEST_OVERLOADED))
+                .given(admissionControlService).acquire("1234");
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountLockExecutor.execute("1234", () -> "done"));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_REQUEST_OVERLOADED, exception.getErrorCode());
+        verify(lockService, never()).lock(anyString());
+        verify(admissionControlService, never()).release(anyString(), anyLong(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("계좌 잠금 실행_락 획득 실패는 혼잡으로 반환")
+    void lockFailed() {
+        //given
+        willThrow(AccountException.of(ErrorCode.ACCOUNT_TRANSACTION_LOCK))
+                .given(lockService).lock("1234");
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountLockExecutor.execute("1234", () -> "done"));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(lockService, never()).unlock(anyString());
+        verify(admissionControlService, times(1))
+                .release(eq("1234"), anyLong(), eq(true));
+    }
+}
@@ -5,6 +5,7 @@ import com.example.account.domain.AccountNumber;
 import com.example.account.domain.AccountUser;
 import com.example.account.dto.AccountDto;
 import com.example.account.exception.AccountException;
+import com.example.account.metrics.AccountMetrics;
 import com.example.account.repository.AccountNumberRepository;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
@@ -19,6 +20,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -41,6 +43,15 @@ class AccountServiceTest {
     @Mock
     private AccountNumberRepository accountNumberRepository;
 
+    @Mock
+    private AccountMetrics accountMetrics;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private SpendingLimitService spendingLimitService;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -216,6 +227,63 @@ class AccountServiceTest {
         assertEquals("1000000012",captor.getValue().getAccountNumber());
 
         assertEquals(AccountStatus.UNREGISTERED,captor.getValue().getAccountStatus());
+        assertEquals(1L,captor.getValue().getEventSequence());
+        verify(outboxService,times(1)).recordAccountStatus(captor.getValue());
+    }
+
+    @Test
+    @DisplayName("일일한도변경_성공")
+    void updateDailyLimitSuccess(){
+        //given
+        AccountUser pobi = AccountUser.builder()
+                .name("pobi").build();
+        pobi.setId(12L);
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(pobi));
+
+        Account account = Account.builder()
+                .accountUser(pobi)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(1000L)
+                .accountNumber("1000000012").build();
+        given(accountRespository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        //when
+        AccountDto accountDto = accountService.updateDailyLimit(
+                12L, "1000000012", 50000L
+        );
+        //then
+        assertEquals(50000L,account.getDailyLimit());
+        assertEquals(50000L,accountDto.getDailyLimit());
+        verify(spendingLimitService,times(1)).invalidateCounter("1000000012");
+    }
+
+    @Test
+    @DisplayName("일일한도변경_실패/소유자가 다르다면")
+    void updateDailyLimitUserUnmatched(){
+        //given
+        AccountUser pobi = AccountUser.builder()
+                .name("Pobi").build();
+        pobi.setId(12L);
+        AccountUser harry = AccountUser.builder()
+                .name("Harry").build();
+        harry.setId(13L);
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(pobi));
+        given(accountRespository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(Account.builder()
+                        .accountUser(harry)
+                        .accountStatus(AccountStatus.IN_USE)
+                        .balance(0L)
+                        .accountNumber("1000000012").build()));
+
+        //when
+        AccountException exception =  assertThrows(AccountException.class,
+                ()->accountService.updateDailyLimit(12L, "1000000012", 50000L)
+        );
+        //then
+        assertEquals(ErrorCode.USER_ACCOUNT_UNMATCHED,exception.getErrorCode());
     }
 
     @Test
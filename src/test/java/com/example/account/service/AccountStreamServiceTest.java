@@ -0,0 +1,245 @@
+package com.example.account.service;
+
+import com.example.account.dto.AccountDto;
+import com.example.account.dto.AccountStreamInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RedissonClient;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class AccountStreamServiceTest {
+    @Mock
+    private AccountService accountService;
+    @Mock
+    private RedissonClient redissonClient;
+
+    private final List<String> eventNames = new ArrayList<>();
+    private final List<Object> eventData = new ArrayList<>();
+    // sender 풀 대신 테스트가 직접 실행
+    private final List<Runnable> tasks = new ArrayList<>();
+    private long sendTimeoutMillis = 60_000L;
+    private AccountStreamService accountStreamService;
+
+    @BeforeEach
+    void setUp() {
+        accountStreamService = new AccountStreamService(accountService, redissonClient, new ObjectMapper(),
+                60_000L, 200L, 15_000L, 2, 10, sendTimeoutMillis, 1) {
+            @Override
+            void dispatch(Runnable task) {
+                tasks.add(task);
+            }
+
+            @Override
+            SseEmitter createEmitter() {
+                return new SseEmitter() {
+                    @Override
+                    public void send(SseEventBuilder builder) {
+                        builder.build().forEach(part -> {
+                            if (part.getData() instanceof String
+                                    && ((String) part.getData()).startsWith("event:")) {
+                                eventNames.add(((String) part.getData()).split("\n")[0].substring(6));
+                            } else if (!(part.getData() instanceof String)) {
+                                eventData.add(part.getData());
+                            }
+                        });
+                    }
+                };
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("계좌 스트림_구독시 현재 계좌 목록")
+    void subscribeSendsSnapshot() {
+        //given
+        given(accountService.getAccountByUserId(1L))
+                .willReturn(Collections.singletonList(AccountDto.builder()
+                        .userId(1L)
+                        .accountNumber("1000000012")
+                        .balance(1000L)
+                        .build()));
+
+        //when
+        accountStreamService.subscribe(1L);
+
+        //then
+        assertEquals(Collections.singletonList("snapshot"), eventNames);
+        assertEquals(1, accountStreamService.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("계좌 스트림_snapshot 을 보내는 동안의 변경은 snapshot 뒤에 전송")
+    void changeDuringSnapshot() {
+        //given
+        // 계좌 목록을 읽은 뒤 snapshot 을 보내기 전에 더 새로운 변경이 도착하고 flush 가 돈다
+        given(accountService.getAccountByUserId(1L)).willAnswer(invocation -> {
+            accountStreamService.onMessage(change(1L, "1000000012", 800L, 4L));
+            accountStreamService.flush();
+            return Collections.singletonList(AccountDto.builder()
+                    .userId(1L)
+                    .accountNumber("1000000012")
+                    .balance(1000L)
+                    .version(3L)
+                    .build());
+        });
+
+        //when
+        accountStreamService.subscribe(1L);
+        // snapshot 을 보내는 동안에는 전송 작업이 잡히지 않는다
+        boolean dispatchedDuringSnapshot = !tasks.isEmpty();
+        accountStreamService.flush();
+        runTasks();
+
+        //then
+        assertFalse(dispatchedDuringSnapshot);
+        assertEquals(List.of("snapshot", "account"), eventNames);
+        AccountStreamInfo accountInfo = (AccountStreamInfo) eventData.get(eventData.size() - 1);
+        assertEquals(800L, accountInfo.getBalance());
+        assertEquals(4L, accountInfo.getVersion());
+    }
+
+    @Test
+    @DisplayName("계좌 스트림_연속 변경은 최신 값 한번만 전송")
+    void coalesceChanges() {
+        //given
+        given(accountService.getAccountByUserId(1L))
+                .willReturn(Collections.emptyList());
+        accountStreamService.subscribe(1L);
+
+        //when
+        accountStreamService.onMessage(change(1L, "1000000012", 900L));
+        accountStreamService.onMessage(change(1L, "1000000012", 800L));
+        accountStreamService.onMessage(change(2L, "2000000012", 700L));
+        accountStreamService.flush();
+        runTasks();
+
+        //then
+        assertEquals(2, eventNames.size());
+        assertEquals("account", eventNames.get(1));
+        AccountStreamInfo accountInfo = (AccountStreamInfo) eventData.get(eventData.size() - 1);
+        assertEquals("1000000012", accountInfo.getAccountNumber());
+        assertEquals(800L, accountInfo.getBalance());
+    }
+
+    @Test
+    @DisplayName("계좌 스트림_보관 한도를 넘으면 resync")
+    void resyncOnOverflow() {
+        //given
+        given(accountService.getAccountByUserId(1L))
+                .willReturn(Collections.emptyList());
+        accountStreamService.subscribe(1L);
+
+        //when
+        accountStreamService.onMessage(change(1L, "1000000001", 100L));
+        accountStreamService.onMessage(change(1L, "1000000002", 100L));
+        accountStreamService.onMessage(change(1L, "1000000003", 100L));
+        accountStreamService.flush();
+        runTasks();
+
+        //then
+        assertTrue(eventNames.contains("resync"));
+        assertEquals(2, eventNames.size());
+    }
+
+    @Test
+    @DisplayName("계좌 스트림_순서가 바뀌어 도착한 오래된 변경은 버림")
+    void dropStaleVersions() {
+        //given
+        given(accountService.getAccountByUserId(1L))
+                .willReturn(Collections.singletonList(AccountDto.builder()
+                        .userId(1L)
+                        .accountNumber("1000000012")
+                        .balance(1000L)
+                        .version(3L)
+                        .build()));
+        accountStreamService.subscribe(1L);
+
+        //when
+        accountStreamService.onMessage(change(1L, "1000000012", 800L, 5L));
+        accountStreamService.onMessage(change(1L, "1000000012", 900L, 4L));
+        accountStreamService.flush();
+        runTasks();
+        accountStreamService.onMessage(change(1L, "1000000012", 950L, 2L));
+        accountStreamService.flush();
+        runTasks();
+
+        //then
+        assertEquals(2, eventNames.size());
+        AccountStreamInfo accountInfo = (AccountStreamInfo) eventData.get(eventData.size() - 1);
+        assertEquals(800L, accountInfo.getBalance());
+        assertEquals(5L, accountInfo.getVersion());
+    }
+
+    @Test
+    @DisplayName("계좌 스트림_전송이 밀린 구독자가 다른 구독자를 막지 않음")
+    void slowSubscriberDoesNotBlockOthers() {
+        //given
+        given(accountService.getAccountByUserId(anyLong()))
+                .willReturn(Collections.emptyList());
+        accountStreamService.subscribe(1L);
+        accountStreamService.subscribe(2L);
+
+        //when
+        accountStreamService.onMessage(change(1L, "1000000012", 900L));
+        accountStreamService.onMessage(change(2L, "2000000012", 700L));
+        accountStreamService.flush();
+        // 구독자당 전송 작업은 하나씩 : 이전 작업이 끝나기 전에는 더 넘기지 않음
+        accountStreamService.flush();
+
+        //then
+        assertEquals(2, tasks.size());
+        tasks.get(1).run();
+        assertEquals(700L, ((AccountStreamInfo) eventData.get(eventData.size() - 1)).getBalance());
+    }
+
+    @Test
+    @DisplayName("계좌 스트림_전송이 send-timeout 을 넘기면 연결 종료")
+    void evictOnSendTimeout() {
+        //given
+        sendTimeoutMillis = 0L;
+        setUp();
+        given(accountService.getAccountByUserId(1L))
+                .willReturn(Collections.emptyList());
+        accountStreamService.subscribe(1L);
+        accountStreamService.onMessage(change(1L, "1000000012", 900L));
+        accountStreamService.flush();
+
+        //when
+        accountStreamService.flush();
+
+        //then
+        assertEquals(0, accountStreamService.getSubscriberCount());
+    }
+
+    private void runTasks() {
+        List<Runnable> queued = new ArrayList<>(tasks);
+        tasks.clear();
+        queued.forEach(Runnable::run);
+    }
+
+    private String change(Long userId, String accountNumber, Long balance) {
+        return "{\"userId\":" + userId + ",\"accountNumber\":\"" + accountNumber
+                + "\",\"balance\":" + balance + ",\"unregistered\":false}";
+    }
+
+    private String change(Long userId, String accountNumber, Long balance, Long version) {
+        return "{\"userId\":" + userId + ",\"accountNumber\":\"" + accountNumber
+                + "\",\"balance\":" + balance + ",\"unregistered\":false,\"version\":" + version + "}";
+    }
+}
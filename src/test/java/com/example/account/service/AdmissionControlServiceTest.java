@@ -0,0 +1,92 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlServiceTest {
+
+    private AdmissionControlService admission(int perAccount, int initialLimit) {
+        return new AdmissionControlService(
+                perAccount, 1000L, 5000L, initialLimit, 2, 100, 0.5);
+    }
+
+    @Test
+    @DisplayName("계좌별 동시요청 한도 초과시 거절")
+    void rejectWhenAccountInFlightExceeded() {
+        //given
+        AdmissionControlService service = admission(2, 50);
+        service.acquire("1000000000");
+        service.acquire("1000000000");
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> service.acquire("1000000000"));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_REQUEST_OVERLOADED, exception.getErrorCode());
+        assertEquals(2, service.getInFlight("1000000000"));
+        assertEquals(2, service.getInFlight());
+        assertDoesNotThrow(() -> service.acquire("2000000000"));
+    }
+
+    @Test
+    @DisplayName("노드 동시요청 한도 초과시 거절")
+    void rejectWhenNodeLimitExceeded() {
+        //given
+        AdmissionControlService service = admission(5, 2);
+        service.acquire("1000000000");
+        service.acquire("2000000000");
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> service.acquire("3000000000"));
+
+        //then
+        assertEquals(ErrorCode.SERVER_OVERLOADED, exception.getErrorCode());
+        assertEquals(2, service.getInFlight());
+    }
+
+    @Test
+    @DisplayName("예상 대기시간이 한도를 넘으면 거절")
+    void rejectWhenQueueTimeExceeded() {
+        //given
+        AdmissionControlService service = admission(5, 50);
+        service.acquire("1000000000");
+        service.release("1000000000", TimeUnit.MILLISECONDS.toNanos(1500), false);
+        service.acquire("1000000000");
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> service.acquire("1000000000"));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_REQUEST_OVERLOADED, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("경합 발생시 한도 감소, 정상 처리시 한도 증가")
+    void adaptLimit() {
+        //given
+        AdmissionControlService service = admission(5, 4);
+
+        //when
+        service.acquire("1000000000");
+        service.release("1000000000", TimeUnit.MILLISECONDS.toNanos(10), true);
+        int decreased = service.getLimit();
+
+        service.acquire("1000000000");
+        service.release("1000000000", TimeUnit.MILLISECONDS.toNanos(10), false);
+        int increased = service.getLimit();
+
+        //then
+        assertEquals(2, decreased);
+        assertEquals(3, increased);
+        assertEquals(0, service.getInFlight("1000000000"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.account.service;
+
+import com.example.account.domain.ReconciliationMismatch;
+import com.example.account.type.MismatchType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BalanceChainTest {
+
+    @Test
+    @DisplayName("잔액대사_일치")
+    void consistentChain() {
+        //given
+        BalanceChain chain = new BalanceChain(1L, 10L, "1000000012");
+
+        //when
+        //then
+        assertNull(chain.accept(USE, 1000L, 9000L, "t1"));
+        assertNull(chain.accept(USE, 2000L, 7000L, "t2"));
+        assertNull(chain.accept(CANCEL, 2000L, 9000L, "t3"));
+        assertNull(chain.finish(9000L));
+    }
+
+    @Test
+    @DisplayName("잔액대사_스냅샷 불일치")
+    void brokenChain() {
+        //given
+        BalanceChain chain = new BalanceChain(1L, 10L, "1000000012");
+        chain.accept(USE, 1000L, 9000L, "t1");
+
+        //when
+        ReconciliationMismatch mismatch = chain.accept(USE, 1000L, 7000L, "t2");
+
+        //then
+        assertEquals(MismatchType.CHAIN, mismatch.getMismatchType());
+        assertEquals("t2", mismatch.getTransactionId());
+        assertEquals(8000L, mismatch.getExpectedBalance());
+        assertEquals(7000L, mismatch.getActualBalance());
+        // 불일치 거래를 새 기준으로 이어서 검사
+        assertNull(chain.accept(USE, 1000L, 6000L, "t3"));
+    }
+
+    @Test
+    @DisplayName("잔액대사_마지막 스냅샷과 계좌 잔액 불일치")
+    void finalBalanceMismatch() {
+        //given
+        BalanceChain chain = new BalanceChain(1L, 10L, "1000000012");
+        chain.accept(USE, 1000L, 9000L, "t1");
+
+        //when
+        ReconciliationMismatch mismatch = chain.finish(8500L);
+
+        //then
+        assertEquals(MismatchType.FINAL, mismatch.getMismatchType());
+        assertEquals("t1", mismatch.getTransactionId());
+        assertEquals(9000L, mismatch.getExpectedBalance());
+        assertEquals(8500L, mismatch.getActualBalance());
+    }
+
+    @Test
+    @DisplayName("잔액대사_같은 시각 거래는 이어지는 순서로 적용")
+    void sameTransactedAtReordered() {
+        //given
+        BalanceChain chain = new BalanceChain(1L, 10L, "1000000012");
+        LocalDateTime at = LocalDateTime.of(2022, 8, 1, 12, 0);
+        chain.accept(at, USE, 1000L, 9000L, "t1");
+
+        //when
+        // 취소(10000) 가 먼저 반영됐지만 조회 순서는 사용(8000) 이 앞섬
+        List<ReconciliationMismatch> first = chain.accept(at.plusSeconds(1), USE, 2000L, 8000L, "t2");
+        List<ReconciliationMismatch> second = chain.accept(at.plusSeconds(1), CANCEL, 1000L, 10000L, "t3");
+        List<ReconciliationMismatch> flushed = chain.flush();
+
+        //then
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        assertTrue(flushed.isEmpty());
+        assertNull(chain.finish(8000L));
+    }
+
+    @Test
+    @DisplayName("잔액대사_거래 없는 계좌")
+    void noTransactions() {
+        assertNull(new BalanceChain(1L, 10L, "1000000012").finish(1000L));
+    }
+}
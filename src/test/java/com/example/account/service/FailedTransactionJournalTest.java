@@ -0,0 +1,189 @@
+package com.example.account.service;
+
+import com.example.account.dto.FailedTransaction;
+import com.example.account.metrics.AccountMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FailedTransactionJournalTest {
+    @Mock
+    private TransactionService transactionService;
+    @Mock
+    private AccountMetrics accountMetrics;
+
+    @TempDir
+    Path spoolDir;
+
+    private FailedTransactionJournal journal;
+
+    private FailedTransactionJournal startJournal() throws Exception {
+        return startJournal(100);
+    }
+
+    private FailedTransactionJournal startJournal(int queueCapacity) throws Exception {
+        journal = new FailedTransactionJournal(
+                transactionService, accountMetrics, queueCapacity, 10, 50L, 500L, 60_000L, spoolDir.toString());
+        journal.start();
+        return journal;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (journal != null) {
+            journal.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("실패거래는 백그라운드에서 묶어서 저장")
+    @SuppressWarnings("unchecked")
+    void drainInBatch() throws Exception {
+        //given
+        FailedTransactionJournal journal = startJournal();
+        ArgumentCaptor<List<FailedTransaction>> captor = ArgumentCaptor.forClass(List.class);
+
+        //when
+        journal.append(USE, "1000000000", 1000L, 9000L);
+        journal.append(CANCEL, "1000000001", 2000L, null);
+
+        //then
+        verify(transactionService, timeout(2000).atLeastOnce())
+                .saveFailedTransactions(captor.capture());
+        long saved = captor.getAllValues().stream().mapToLong(List::size).sum();
+        assertEquals(2L, saved);
+        assertEquals(USE, captor.getAllValues().get(0).get(0).getTransactionType());
+    }
+
+    @Test
+    @DisplayName("DB 저장 실패시 spool 파일에 기록")
+    void spoolWhenDbFailed() throws Exception {
+        //given
+        given(transactionService.saveFailedTransactions(anyList()))
+                .willThrow(new IllegalStateException("db down"));
+        FailedTransactionJournal journal = startJournal();
+
+        //when
+        journal.append(USE, "1000000000", 1000L, 9000L);
+
+        //then
+        verify(transactionService, timeout(2000)).saveFailedTransactions(anyList());
+        Path spoolFile = spoolDir.resolve("journal.spool");
+        for (int i = 0; i < 20 && !Files.exists(spoolFile); i++) {
+            Thread.sleep(50L);
+        }
+        List<String> lines = Files.readAllLines(spoolFile);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).startsWith("USE,1000000000,1000,"));
+        assertTrue(lines.get(0).endsWith(",9000"));
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 요청 스레드에서 파일을 쓰지 않고 버림")
+    void dropWhenQueueFull() throws Exception {
+        //given
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(transactionService.saveFailedTransactions(anyList())).willAnswer(invocation -> {
+            inserting.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+        FailedTransactionJournal journal = startJournal(1);
+        journal.append(USE, "1000000000", 1000L, 9000L);
+        assertTrue(inserting.await(2, TimeUnit.SECONDS));
+
+        //when
+        // drainer 가 insert 중인 동안 큐(1건)를 채우고 한건 더
+        journal.append(USE, "1000000000", 1000L, 9000L);
+        journal.append(USE, "1000000000", 1000L, 9000L);
+
+        //then
+        verify(accountMetrics, times(1)).countFailureJournalDropped();
+        assertEquals(1, journal.getQueueSize());
+        assertFalse(Files.exists(spoolDir.resolve("journal.spool")));
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("spool 은 새 실패 건이 계속 들어와도 batch 단위로 재처리")
+    void replaySpoolWhileBusy() throws Exception {
+        //given
+        // spool 25건 (잔액 스냅샷이 없는 실패 1건 포함)
+        List<String> spooled = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            spooled.add("USE,2000000000,100," + System.currentTimeMillis() + ",5000");
+        }
+        spooled.add("CANCEL,2000000000,100," + System.currentTimeMillis() + ",");
+        Path tempFile = spoolDir.resolve("journal.tmp");
+        Files.write(tempFile, spooled);
+        List<FailedTransaction> replayed = new CopyOnWriteArrayList<>();
+        List<Integer> replayBatchSizes = new CopyOnWriteArrayList<>();
+        given(transactionService.saveFailedTransactions(anyList())).willAnswer(invocation -> {
+            List<FailedTransaction> batch = invocation.getArgument(0);
+            List<FailedTransaction> fromSpool = batch.stream()
+                    .filter(failed -> failed.getAccountNumber().equals("2000000000"))
+                    .collect(Collectors.toList());
+            if (!fromSpool.isEmpty()) {
+                replayed.addAll(fromSpool);
+                replayBatchSizes.add(fromSpool.size());
+            }
+            return batch.size();
+        });
+        FailedTransactionJournal journal = startJournal();
+
+        //when
+        // 큐가 flush 간격 동안 비지 않도록 계속 넣는 중에 spool 파일이 생김
+        long deadline = System.currentTimeMillis() + 3000L;
+        for (int i = 0; replayed.size() < 25 && System.currentTimeMillis() < deadline; i++) {
+            journal.append(USE, "1000000000", 1000L, 9000L);
+            if (i == 20) {
+                Files.move(tempFile, spoolDir.resolve("journal.spool"), StandardCopyOption.ATOMIC_MOVE);
+            }
+            Thread.sleep(1L);
+        }
+
+        //then
+        assertEquals(25, replayed.size());
+        assertEquals(List.of(10, 10, 5), replayBatchSizes);
+        assertEquals(5000L, replayed.get(0).getBalanceSnapShot());
+        assertNull(replayed.get(24).getBalanceSnapShot());
+        for (int i = 0; i < 20; i++) {
+            try (Stream<Path> files = Files.list(spoolDir)) {
+                if (files.findAny().isEmpty()) {
+                    break;
+                }
+            }
+            Thread.sleep(50L);
+        }
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            assertEquals(0L, files.count());
+        }
+    }
+}
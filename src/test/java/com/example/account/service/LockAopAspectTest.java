@@ -4,11 +4,11 @@ import com.example.account.dto.UseBalance;
 import com.example.account.exception.AccountException;
 import com.example.account.type.ErrorCode;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -23,12 +23,20 @@ class LockAopAspectTest {
     @Mock
     private LockService lockService;
 
+    @Mock
+    private AdmissionControlService admissionControlService;
+
     @Mock
     private ProceedingJoinPoint proceedingJoinPoint;
 
-    @InjectMocks
     private LockAopAspect lockAopAspect;
 
+    @BeforeEach
+    void setUp() {
+        lockAopAspect = new LockAopAspect(
+                new AccountLockExecutor(lockService, admissionControlService));
+    }
+
     @Test
     @DisplayName("계좌 잠금,해제_성공")
     void lockAndUnlock() throws Throwable {
@@ -1,6 +1,8 @@
 package com.example.account.service;
 
+import com.example.account.dto.LockInfo;
 import com.example.account.exception.AccountException;
+import com.example.account.metrics.AccountMetrics;
 import com.example.account.type.ErrorCode;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,12 +10,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RList;
 import org.redisson.api.RLock;
+import org.redisson.api.RMap;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+
+import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class LockServiceTest {
@@ -23,6 +33,15 @@ class LockServiceTest {
     @Mock
     private RLock rLock;
 
+    @Mock
+    private AccountMetrics accountMetrics;
+
+    @Mock
+    private RMap<String, String> rMap;
+
+    @Mock
+    private RList<String> rList;
+
     @InjectMocks
     private LockService lockService;
 
@@ -60,4 +79,108 @@ class LockServiceTest {
         assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK,accountException.getErrorCode());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("락조회_성공")
+    void successGetLockInfo() throws InterruptedException {
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(),anyLong(),any()))
+                .willReturn(true);
+        given(redissonClient.<String, String>getMap(anyString(), any(Codec.class)))
+                .willReturn(rMap);
+        given(rMap.readAllMap())
+                .willReturn(Collections.singletonMap("node-1:42", "1"));
+        given(rLock.remainTimeToLive())
+                .willReturn(14000L);
+        given(redissonClient.getId())
+                .willReturn("node-1");
+        lockService.lock("123");
+
+        //when
+        LockInfo lockInfo = lockService.getLock("123");
+
+        //then
+        assertEquals("123", lockInfo.getAccountNumber());
+        assertEquals(14000L, lockInfo.getRemainLeaseMillis());
+        assertEquals(1, lockInfo.getHolders().get("node-1:42"));
+        assertTrue(lockInfo.isHeldByThisNode());
+        assertEquals(Thread.currentThread().getName(), lockInfo.getHolderThread());
+        assertEquals(0, lockInfo.getLocalWaiters());
+    }
+
+    @Test
+    @DisplayName("락조회_락이 없는 경우")
+    void getLockInfoNotLocked() {
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(redissonClient.<String, String>getMap(anyString(), any(Codec.class)))
+                .willReturn(rMap);
+        given(rMap.readAllMap())
+                .willReturn(Collections.emptyMap());
+        given(rLock.remainTimeToLive())
+                .willReturn(-2L);
+
+        //when
+        //then
+        assertNull(lockService.getLock("123"));
+    }
+
+    @Test
+    @DisplayName("락강제해제_감사기록")
+    void forceUnlockWritesAudit() {
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(redissonClient.<String, String>getMap(anyString(), any(Codec.class)))
+                .willReturn(rMap);
+        given(rMap.readAllMap())
+                .willReturn(Collections.emptyMap());
+        given(rLock.forceUnlock())
+                .willReturn(true);
+        given(redissonClient.<String>getList(anyString(), any(Codec.class)))
+                .willReturn(rList);
+
+        //when
+        boolean released = lockService.forceUnlock("123", "admin", "stuck");
+
+        //then
+        assertTrue(released);
+        verify(rLock, times(1)).forceUnlock();
+        verify(rList, times(1)).add(argThat(audit ->
+                audit.contains("account=123") && audit.contains("operator=admin")));
+    }
+
+    @Test
+    @DisplayName("계좌잠금해제_성공")
+    void unlockSuccess() {
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.isHeldByCurrentThread())
+                .willReturn(true);
+
+        //when
+        lockService.unlock("123");
+
+        //then
+        verify(rLock, times(1)).unlock();
+    }
+
+    @Test
+    @DisplayName("계좌잠금해제_강제 해제된 락은 예외 없이 넘어감")
+    void unlockForceReleased() {
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.isHeldByCurrentThread())
+                .willReturn(false);
+
+        //when
+        assertDoesNotThrow(() -> lockService.unlock("123"));
+
+        //then
+        verify(rLock, never()).unlock();
+    }
+}
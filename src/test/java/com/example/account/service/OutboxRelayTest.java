@@ -0,0 +1,132 @@
+package com.example.account.service;
+
+import com.example.account.domain.OutboxEvent;
+import com.example.account.metrics.AccountMetrics;
+import com.example.account.repository.OutboxEventRepository;
+import com.example.account.type.OutboxEventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBatch;
+import org.redisson.api.RLock;
+import org.redisson.api.RStreamAsync;
+import org.redisson.api.RedissonClient;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private RedissonClient redissonClient;
+    @Mock
+    private AccountMetrics accountMetrics;
+    @Mock
+    private RLock rLock;
+    @Mock
+    private RBatch rBatch;
+    @Mock
+    private RStreamAsync<Object, Object> rStream;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, redissonClient, accountMetrics,
+                true, "account-events", 10, 10, 1000, 30, 24);
+    }
+
+    @Test
+    @DisplayName("outbox 발행_성공")
+    void relayPublishesBatch() throws InterruptedException {
+        //given
+        given(redissonClient.getLock("OUTBOX_RELAY"))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(true);
+        given(rLock.isHeldByCurrentThread())
+                .willReturn(true);
+        given(outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(any()))
+                .willReturn(Arrays.asList(outboxEvent(1L), outboxEvent(2L)));
+        given(redissonClient.createBatch(any()))
+                .willReturn(rBatch);
+        given(rBatch.getStream(eq("account-events"), any()))
+                .willReturn(rStream);
+        ArgumentCaptor<Collection<Long>> captor = ArgumentCaptor.forClass(Collection.class);
+
+        //when
+        outboxRelay.relay();
+
+        //then
+        verify(rStream, times(2)).addAsync(any());
+        verify(rBatch, times(1)).execute();
+        verify(outboxEventRepository, times(1)).markPublished(captor.capture(), any());
+        assertEquals(2, captor.getValue().size());
+        assertTrue(captor.getValue().containsAll(Arrays.asList(1L, 2L)));
+        verify(accountMetrics, times(1)).recordOutboxPublished(eq(2), anyLong());
+        verify(rLock, times(1)).unlock();
+    }
+
+    @Test
+    @DisplayName("outbox 발행_다른 노드가 발행중")
+    void relaySkipsWithoutLock() throws InterruptedException {
+        //given
+        given(redissonClient.getLock("OUTBOX_RELAY"))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(false);
+
+        //when
+        outboxRelay.relay();
+
+        //then
+        verify(outboxEventRepository, never()).findByPublishedAtIsNullOrderByIdAsc(any());
+        verify(rLock, never()).unlock();
+    }
+
+    @Test
+    @DisplayName("outbox 발행_계좌별 순번 포함, 실패 거래는 순번 없음")
+    void entriesCarryAccountSequence() {
+        //given
+        OutboxEvent changed = outboxEvent(1L);
+        changed.setAccountSequence(7L);
+        OutboxEvent failed = outboxEvent(2L);
+
+        //when
+        Map<String, String> changedEntries = outboxRelay.toEntries(changed);
+        Map<String, String> failedEntries = outboxRelay.toEntries(failed);
+
+        //then
+        assertEquals("7", changedEntries.get("accountSequence"));
+        assertEquals("1", changedEntries.get("outboxId"));
+        assertFalse(failedEntries.containsKey("accountSequence"));
+    }
+
+    private OutboxEvent outboxEvent(Long id) {
+        OutboxEvent event = OutboxEvent.builder()
+                .eventType(OutboxEventType.TRANSACTION)
+                .accountNumber("1000000012")
+                .payload("{}")
+                .build();
+        event.setId(id);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
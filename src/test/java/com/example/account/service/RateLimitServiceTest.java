@@ -0,0 +1,91 @@
+package com.example.account.service;
+
+import com.example.account.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitServiceTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RScript rScript;
+
+    private RateLimitService rateLimitService;
+
+    private RateLimitProperties.Bucket bucket;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLocalBatch(5);
+        properties.setLocalTtlMillis(60_000L);
+        rateLimitService = new RateLimitService(redissonClient, properties);
+
+        bucket = new RateLimitProperties.Bucket();
+        bucket.setCapacity(10);
+        bucket.setRefillPerSecond(1);
+
+        given(redissonClient.getScript(any(Codec.class)))
+                .willReturn(rScript);
+    }
+
+    @Test
+    @DisplayName("로컬 토큰이 남아 있으면 Redis 를 호출하지 않음")
+    void useLocalTokens() {
+        //given
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any()))
+                .willReturn(5L);
+
+        //when
+        for (int i = 0; i < 5; i++) {
+            assertTrue(rateLimitService.tryAcquire("use:user:1", bucket));
+        }
+
+        //then
+        verify(rScript, times(1))
+                .eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Redis 에 토큰이 없으면 거절")
+    void rejectWhenBucketEmpty() {
+        //given
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any()))
+                .willReturn(1L, 0L);
+
+        //when
+        boolean first = rateLimitService.tryAcquire("use:account:1000000000", bucket);
+        boolean second = rateLimitService.tryAcquire("use:account:1000000000", bucket);
+
+        //then
+        assertTrue(first);
+        assertFalse(second);
+    }
+
+    @Test
+    @DisplayName("Redis 장애시 요청은 허용")
+    void allowWhenRedisFailed() {
+        //given
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any()))
+                .willThrow(new IllegalStateException("redis down"));
+
+        //when
+        //then
+        assertTrue(rateLimitService.tryAcquire("use:user:1", bucket));
+    }
+}
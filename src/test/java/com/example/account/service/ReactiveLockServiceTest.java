@@ -0,0 +1,125 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RLockReactive;
+import org.redisson.api.RedissonReactiveClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveLockServiceTest {
+    @Mock
+    private RedissonReactiveClient redissonReactiveClient;
+
+    @Mock
+    private RLockReactive lock;
+
+    @Mock
+    private AdmissionControlService admissionControlService;
+
+    @InjectMocks
+    private ReactiveLockService lockService;
+
+    @Test
+    @DisplayName("reactive 락_성공 후 해제")
+    void releaseAfterSuccess() {
+        //given
+        AtomicBoolean released = givenLock(true);
+
+        //when
+        //then
+        StepVerifier.create(lockService.withLock("1000000000", Mono.just("done")))
+                .expectNext("done")
+                .verifyComplete();
+        assertTrue(released.get());
+        verify(admissionControlService).acquire("1000000000");
+        verify(admissionControlService).release(eq("1000000000"), anyLong(), eq(false));
+    }
+
+    @Test
+    @DisplayName("reactive 락_에러로 끝나도 해제")
+    void releaseAfterError() {
+        //given
+        AtomicBoolean released = givenLock(true);
+
+        //when
+        //then
+        StepVerifier.create(lockService.withLock("1000000000",
+                        Mono.error(AccountException.of(ErrorCode.TRANSACTION_ALREADY_CANCELLED))))
+                .expectErrorMatches(e -> e instanceof AccountException
+                        && ((AccountException) e).getErrorCode() == ErrorCode.TRANSACTION_ALREADY_CANCELLED)
+                .verify();
+        assertTrue(released.get());
+    }
+
+    @Test
+    @DisplayName("reactive 락_실패시 요청을 실행하지 않음")
+    void failToAcquire() {
+        //given
+        givenLock(false);
+        AtomicBoolean executed = new AtomicBoolean();
+
+        //when
+        //then
+        StepVerifier.create(lockService.withLock("1000000000",
+                        Mono.fromCallable(() -> executed.getAndSet(true))))
+                .expectErrorMatches(e -> e instanceof AccountException
+                        && ((AccountException) e).getErrorCode() == ErrorCode.ACCOUNT_TRANSACTION_LOCK)
+                .verify();
+        assertFalse(executed.get());
+        verify(lock, never()).unlock(anyLong());
+        // 락 획득 실패는 혼잡으로 보고 admission 한도를 줄인다
+        verify(admissionControlService).release(eq("1000000000"), anyLong(), eq(true));
+    }
+
+    @Test
+    @DisplayName("reactive 락_admission 한도를 넘으면 락을 시도하지 않음")
+    void rejectedByAdmission() {
+        //given
+        willThrow(AccountException.of(ErrorCode.ACCOUNT_REQUEST_OVERLOADED))
+                .given(admissionControlService).acquire("1000000000");
+
+        //when
+        //then
+        StepVerifier.create(lockService.withLock("1000000000", Mono.just("done")))
+                .expectErrorMatches(e -> e instanceof AccountException
+                        && ((AccountException) e).getErrorCode() == ErrorCode.ACCOUNT_REQUEST_OVERLOADED)
+                .verify();
+        verify(redissonReactiveClient, never()).getLock(anyString());
+        verify(admissionControlService, never()).release(anyString(), anyLong(), anyBoolean());
+    }
+
+    private AtomicBoolean givenLock(boolean acquired) {
+        AtomicBoolean released = new AtomicBoolean();
+        given(redissonReactiveClient.getLock("ACLK:1000000000"))
+                .willReturn(lock);
+        given(lock.tryLock(eq(1L), eq(15L), eq(TimeUnit.SECONDS), anyLong()))
+                .willReturn(Mono.just(acquired));
+        if (acquired) {
+            given(lock.unlock(anyLong()))
+                    .willReturn(Mono.fromRunnable(() -> released.set(true)));
+        }
+        return released;
+    }
+}
@@ -0,0 +1,448 @@
+package com.example.account.service;
+
+import com.example.account.domain.ReactiveAccount;
+import com.example.account.domain.ReactiveTransaction;
+import com.example.account.domain.ReactiveTransactionArchive;
+import com.example.account.dto.AccountChangedEvent;
+import com.example.account.dto.TransactionRecordedEvent;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.ReactiveAccountRepository;
+import com.example.account.repository.ReactiveTransactionArchiveRepository;
+import com.example.account.repository.ReactiveTransactionRepository;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.AccountType;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTransactionServiceTest {
+    @Mock
+    private ReactiveTransactionRepository transactionRepository;
+    @Mock
+    private ReactiveAccountRepository accountRepository;
+    @Mock
+    private R2dbcEntityTemplate r2dbcEntityTemplate;
+    @Mock
+    private SpendingLimitService spendingLimitService;
+    @Mock
+    private ReactiveTransactionArchiveRepository transactionArchiveRepository;
+    @Mock
+    private ReactiveOutboxService outboxService;
+    @Mock
+    private ReactiveRollupService rollupService;
+    @Mock
+    private AccountChangePublisher accountChangePublisher;
+
+    @InjectMocks
+    private ReactiveTransactionService transactionService;
+
+    @Test
+    @DisplayName("계좌거래_성공")
+    void successUseBalance(){
+        //given
+        ReactiveAccount account = ReactiveAccount.builder()
+                .id(1L)
+                .accountUserId(12L)
+                .accountType(AccountType.CHECKING)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L)
+                .eventSequence(3L)
+                .accountNumber("1000000000").build();
+        given(accountRepository.existsAccountUserById(anyLong()))
+                .willReturn(Mono.just(true));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(account));
+        given(spendingLimitService.reserve(any(ReactiveAccount.class), anyLong(), any()))
+                .willReturn(Mono.empty());
+        given(accountRepository.save(any()))
+                .willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        given(accountRepository.nextId())
+                .willReturn(Mono.just(100L));
+        given(r2dbcEntityTemplate.insert(any(ReactiveTransaction.class)))
+                .willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        givenTransactionHooks();
+        ArgumentCaptor<ReactiveTransaction> captor =
+                ArgumentCaptor.forClass(ReactiveTransaction.class);
+
+        //when
+        //then
+        StepVerifier.create(transactionService.useBalance(12L, "1000000000", 3000L))
+                .assertNext(transactionDto -> {
+                    assertEquals("1000000000", transactionDto.getAccountNumber());
+                    assertEquals(S, transactionDto.getTransactionResultType());
+                    assertEquals(USE, transactionDto.getTransactionType());
+                    assertEquals(7000L, transactionDto.getBalanceSnapShot());
+                })
+                .verifyComplete();
+        verify(r2dbcEntityTemplate, times(1)).insert(captor.capture());
+        assertEquals(3000L, captor.getValue().getAmount());
+        assertEquals(100L, captor.getValue().getId());
+        assertEquals(1L, captor.getValue().getAccountId());
+        // servlet 경로와 같은 outbox / 일별 집계 / SSE
+        assertEquals(4L, account.getEventSequence());
+        verify(outboxService).recordTransaction(captor.getValue(), account);
+        ArgumentCaptor<TransactionRecordedEvent> rollupCaptor =
+                ArgumentCaptor.forClass(TransactionRecordedEvent.class);
+        verify(rollupService).onTransactionRecorded(rollupCaptor.capture());
+        assertEquals(USE, rollupCaptor.getValue().getTransactionType());
+        assertEquals(AccountType.CHECKING, rollupCaptor.getValue().getAccountType());
+        ArgumentCaptor<AccountChangedEvent> changeCaptor =
+                ArgumentCaptor.forClass(AccountChangedEvent.class);
+        verify(accountChangePublisher).publishAfterCommit(changeCaptor.capture());
+        assertEquals(7000L, changeCaptor.getValue().getBalance());
+        assertEquals(4L, changeCaptor.getValue().getVersion());
+    }
+
+    @Test
+    @DisplayName("계좌거래_실패/일일 한도 초과시 잔액을 바꾸지 않음")
+    void useBalanceDailyLimitExceeded(){
+        //given
+        ReactiveAccount account = ReactiveAccount.builder()
+                .id(1L)
+                .accountUserId(12L)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L)
+                .dailyLimit(1000L)
+                .accountNumber("1000000000").build();
+        given(accountRepository.existsAccountUserById(anyLong()))
+                .willReturn(Mono.just(true));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(account));
+        given(spendingLimitService.reserve(any(ReactiveAccount.class), anyLong(), any()))
+                .willReturn(Mono.error(AccountException.of(ErrorCode.DAILY_LIMIT_EXCEEDED)));
+
+        //when
+        //then
+        StepVerifier.create(transactionService.useBalance(12L, "1000000000", 3000L))
+                .expectErrorMatches(e -> e instanceof AccountException
+                        && ((AccountException) e).getErrorCode() == ErrorCode.DAILY_LIMIT_EXCEEDED)
+                .verify();
+        assertEquals(10000L, account.getBalance());
+        verify(accountRepository, never()).save(any());
+        verify(accountChangePublisher, never()).publishAfterCommit(any());
+    }
+
+    @Test
+    @DisplayName("계좌거래_실패/유저가 없다면")
+    void useBalanceUserNotFound(){
+        //given
+        given(accountRepository.existsAccountUserById(anyLong()))
+                .willReturn(Mono.just(false));
+
+        //when
+        //then
+        StepVerifier.create(transactionService.useBalance(1L, "1000000000", 100L))
+                .expectErrorMatches(e -> e instanceof AccountException
+                        && ((AccountException) e).getErrorCode() == ErrorCode.USER_NOT_FOUND)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("계좌거래_실패/거래 금액이 큰경우")
+    void useBalanceAmountExceedBalance(){
+        //given
+        given(accountRepository.existsAccountUserById(anyLong()))
+                .willReturn(Mono.just(true));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(ReactiveAccount.builder()
+                        .id(1L)
+                        .accountUserId(12L)
+                        .accountStatus(AccountStatus.IN_USE)
+                        .balance(100L)
+                        .accountNumber("1000000000").build()));
+
+        //when
+        //then
+        StepVerifier.create(transactionService.useBalance(12L, "1000000000", 400L))
+                .expectErrorMatches(e -> e instanceof AccountException
+                        && ((AccountException) e).getErrorCode() == ErrorCode.AMOUNT_EXCEED_BALANCE)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("실패거래 저장_outbox 만 기록하고 집계, 스트림은 남기지 않음")
+    void saveFailedUseTransaction(){
+        //given
+        ReactiveAccount account = ReactiveAccount.builder()
+                .id(1L)
+                .accountUserId(12L)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(100L)
+                .eventSequence(3L)
+                .accountNumber("1000000000").build();
+        given(accountRepository.findByAccountNumber("1000000000"))
+                .willReturn(Mono.just(account));
+        given(accountRepository.nextId())
+                .willReturn(Mono.just(102L));
+        given(r2dbcEntityTemplate.insert(any(ReactiveTransaction.class)))
+                .willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        given(outboxService.recordTransaction(any(ReactiveTransaction.class), any(ReactiveAccount.class)))
+                .willReturn(Mono.empty());
+
+        //when
+        //then
+        StepVerifier.create(transactionService.saveFailedUseTransaction("1000000000", 400L))
+                .verifyComplete();
+        assertEquals(3L, account.getEventSequence());
+        verify(outboxService).recordTransaction(any(ReactiveTransaction.class), any(ReactiveAccount.class));
+        verify(rollupService, never()).onTransactionRecorded(any());
+        verify(accountChangePublisher, never()).publishAfterCommit(any());
+    }
+
+    @Test
+    @DisplayName("계좌거래취소_성공")
+    void successCancelBalance(){
+        //given
+        ReactiveAccount account = ReactiveAccount.builder()
+                .id(1L)
+                .accountUserId(12L)
+                .accountType(AccountType.CHECKING)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(7000L)
+                .eventSequence(4L)
+                .accountNumber("1000000000").build();
+        given(transactionRepository.findByTransactionId("transactionId"))
+                .willReturn(Mono.just(useTransaction(false)));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(account));
+        given(transactionRepository.markCancelled(10L))
+                .willReturn(Mono.just(1));
+        given(accountRepository.save(any()))
+                .willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        given(accountRepository.nextId())
+                .willReturn(Mono.just(101L));
+        given(r2dbcEntityTemplate.insert(any(ReactiveTransaction.class)))
+                .willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        givenTransactionHooks();
+        ArgumentCaptor<ReactiveTransaction> captor =
+                ArgumentCaptor.forClass(ReactiveTransaction.class);
+
+        //when
+        //then
+        StepVerifier.create(transactionService.cancleBalance("transactionId", "1000000000", 3000L))
+                .assertNext(transactionDto -> {
+                    assertEquals(CANCEL, transactionDto.getTransactionType());
+                    assertEquals(S, transactionDto.getTransactionResultType());
+                    assertEquals(10000L, transactionDto.getBalanceSnapShot());
+                })
+                .verifyComplete();
+        verify(r2dbcEntityTemplate, times(1)).insert(captor.capture());
+        assertEquals("transactionId", captor.getValue().getOriginalTransactionId());
+        assertEquals(5L, account.getEventSequence());
+        verify(outboxService).recordTransaction(captor.getValue(), account);
+        verify(rollupService).onTransactionRecorded(any(TransactionRecordedEvent.class));
+        verify(accountChangePublisher).publishAfterCommit(any(AccountChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("계좌거래취소_실패/동시 취소로 이미 표시된 거래")
+    void cancelBalanceAlreadyMarked(){
+        //given
+        given(transactionRepository.findByTransactionId("transactionId"))
+                .willReturn(Mono.just(useTransaction(false)));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(ReactiveAccount.builder()
+                        .id(1L)
+                        .accountUserId(12L)
+                        .accountStatus(AccountStatus.IN_USE)
+                        .balance(7000L)
+                        .accountNumber("1000000000").build()));
+        given(transactionRepository.markCancelled(10L))
+                .willReturn(Mono.just(0));
+
+        //when
+        //then
+        StepVerifier.create(transactionService.cancleBalance("transactionId", "1000000000", 3000L))
+                .expectErrorMatches(e -> e instanceof AccountException
+                        && ((AccountException) e).getErrorCode() == ErrorCode.TRANSACTION_ALREADY_CANCELLED)
+                .verify();
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("계좌거래취소_실패/취소 금액이 다르면")
+    void cancelBalanceMustFully(){
+        //given
+        given(transactionRepository.findByTransactionId("transactionId"))
+                .willReturn(Mono.just(useTransaction(false)));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(ReactiveAccount.builder()
+                        .id(1L)
+                        .accountUserId(12L)
+                        .accountStatus(AccountStatus.IN_USE)
+                        .balance(7000L)
+                        .accountNumber("1000000000").build()));
+
+        //when
+        //then
+        StepVerifier.create(transactionService.cancleBalance("transactionId", "1000000000", 1000L))
+                .expectErrorMatches(e -> e instanceof AccountException
+                        && ((AccountException) e).getErrorCode() == ErrorCode.CANCEL_MUST_FULLY)
+                .verify();
+        verify(transactionRepository, never()).markCancelled(anyLong());
+    }
+
+    @Test
+    @DisplayName("계좌거래취소_실패/취소 거래는 다시 취소 불가")
+    void cancelBalanceNotCancellable(){
+        //given
+        ReactiveTransaction cancelTransaction = useTransaction(false);
+        cancelTransaction.setTransactionType(CANCEL);
+        given(transactionRepository.findByTransactionId("transactionId"))
+                .willReturn(Mono.just(cancelTransaction));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(ReactiveAccount.builder()
+                        .id(1L)
+                        .accountUserId(12L)
+                        .accountStatus(AccountStatus.IN_USE)
+                        .balance(7000L)
+                        .accountNumber("1000000000").build()));
+
+        //when
+        //then
+        StepVerifier.create(transactionService.cancleBalance("transactionId", "1000000000", 3000L))
+                .expectErrorMatches(e -> e instanceof AccountException
+                        && ((AccountException) e).getErrorCode() == ErrorCode.TRANSACTION_NOT_CANCELLABLE)
+                .verify();
+        verify(transactionRepository, never()).markCancelled(anyLong());
+    }
+
+    @Test
+    @DisplayName("거래조회_성공")
+    void successQueryTransaction(){
+        //given
+        given(transactionRepository.findByTransactionId("transactionId"))
+                .willReturn(Mono.just(useTransaction(false)));
+        given(accountRepository.findById(1L))
+                .willReturn(Mono.just(ReactiveAccount.builder()
+                        .id(1L)
+                        .accountNumber("1000000000").build()));
+
+        //when
+        //then
+        StepVerifier.create(transactionService.queryTransaction("transactionId"))
+                .assertNext(transactionDto -> {
+                    assertEquals("1000000000", transactionDto.getAccountNumber());
+                    assertEquals(USE, transactionDto.getTransactionType());
+                    assertEquals(3000L, transactionDto.getAmount());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("거래조회_archive 로 옮겨진 거래")
+    void queryArchivedTransaction(){
+        //given
+        given(transactionRepository.findByTransactionId("transactionId"))
+                .willReturn(Mono.empty());
+        given(transactionArchiveRepository.findByTransactionId("transactionId"))
+                .willReturn(Mono.just(ReactiveTransactionArchive.builder()
+                        .id(10L)
+                        .transactionId("transactionId")
+                        .accountId(1L)
+                        .accountNumber("1000000000")
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .amount(3000L)
+                        .balanceSnapShot(7000L)
+                        .transactedAt(LocalDateTime.now().minusYears(2))
+                        .build()));
+
+        //when
+        //then
+        StepVerifier.create(transactionService.queryTransaction("transactionId"))
+                .assertNext(transactionDto -> {
+                    assertEquals("1000000000", transactionDto.getAccountNumber());
+                    assertEquals(USE, transactionDto.getTransactionType());
+                    assertEquals(3000L, transactionDto.getAmount());
+                    assertEquals(7000L, transactionDto.getBalanceSnapShot());
+                })
+                .verifyComplete();
+        verify(accountRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("거래조회_실패/transaction, archive 모두 없음")
+    void queryTransactionNotFound(){
+        //given
+        given(transactionRepository.findByTransactionId("transactionId"))
+                .willReturn(Mono.empty());
+        given(transactionArchiveRepository.findByTransactionId("transactionId"))
+                .willReturn(Mono.empty());
+
+        //when
+        //then
+        StepVerifier.create(transactionService.queryTransaction("transactionId"))
+                .expectErrorMatches(e -> e instanceof AccountException
+                        && ((AccountException) e).getErrorCode() == ErrorCode.TRANSACTION_NOT_FOUND)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("계좌거래취소_실패/archive 로 옮겨진 거래는 취소 기한 초과")
+    void cancelArchivedTransaction(){
+        //given
+        given(transactionRepository.findByTransactionId("transactionId"))
+                .willReturn(Mono.empty());
+        given(transactionArchiveRepository.existsByTransactionId("transactionId"))
+                .willReturn(Mono.just(true));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(ReactiveAccount.builder()
+                        .id(1L)
+                        .accountNumber("1000000000").build()));
+
+        //when
+        //then
+        StepVerifier.create(transactionService.cancleBalance("transactionId", "1000000000", 3000L))
+                .expectErrorMatches(e -> e instanceof AccountException
+                        && ((AccountException) e).getErrorCode() == ErrorCode.TOO_OLD_ORDER_TO_CANCEL)
+                .verify();
+        verify(transactionRepository, never()).markCancelled(anyLong());
+    }
+
+    private void givenTransactionHooks() {
+        given(outboxService.recordTransaction(any(ReactiveTransaction.class), any(ReactiveAccount.class)))
+                .willReturn(Mono.empty());
+        given(rollupService.onTransactionRecorded(any(TransactionRecordedEvent.class)))
+                .willReturn(Mono.empty());
+        given(accountChangePublisher.publishAfterCommit(any(AccountChangedEvent.class)))
+                .willReturn(Mono.empty());
+    }
+
+    private ReactiveTransaction useTransaction(boolean cancelled) {
+        return ReactiveTransaction.builder()
+                .id(10L)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .accountId(1L)
+                .amount(3000L)
+                .balanceSnapShot(7000L)
+                .transactionId("transactionId")
+                .transactedAt(LocalDateTime.now())
+                .cancelled(cancelled)
+                .build();
+    }
+}
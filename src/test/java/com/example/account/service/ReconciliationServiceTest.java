@@ -0,0 +1,225 @@
+package com.example.account.service;
+
+import com.example.account.domain.ReconciliationMismatch;
+import com.example.account.domain.ReconciliationRun;
+import com.example.account.repository.ReconciliationCheckpointRepository;
+import com.example.account.repository.ReconciliationMismatchRepository;
+import com.example.account.repository.ReconciliationRunRepository;
+import com.example.account.type.MismatchType;
+import com.example.account.type.ReconciliationStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * H2 에 계좌/거래를 직접 넣고 대사 실행 (구간 나누기, 재시작, cutoff, 구간당 저장 한도, 같은 시각 거래)
+ * - 구간 저장 트랜잭션이 실제로 커밋되어야 하므로 테스트 트랜잭션 없이 실행하고 매번 비운다
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReconciliationServiceTest {
+    private static final int CHUNK_SIZE = 2;
+    private static final int MAX_MISMATCHES_PER_CHUNK = 2;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ReconciliationRunRepository runRepository;
+    @Autowired
+    private ReconciliationCheckpointRepository checkpointRepository;
+    @Autowired
+    private ReconciliationMismatchRepository mismatchRepository;
+
+    private ReconciliationService reconciliationService;
+    private LocalDateTime baseTime;
+
+    @BeforeEach
+    void setUp() {
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        RLock lock = mock(RLock.class);
+        given(redissonClient.getLock("RECONCILIATION")).willReturn(lock);
+        given(lock.tryLock()).willReturn(true);
+        reconciliationService = new ReconciliationService(jdbcTemplate, transactionManager, redissonClient,
+                runRepository, checkpointRepository, mismatchRepository,
+                CHUNK_SIZE, 2, 10, MAX_MISMATCHES_PER_CHUNK, false);
+        baseTime = LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from transaction");
+        jdbcTemplate.update("delete from account");
+        mismatchRepository.deleteAll();
+        checkpointRepository.deleteAll();
+        runRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("잔액대사_계좌 id 구간별 처리")
+    void reconcileByChunk() {
+        //given
+        for (long accountId = 1; accountId <= 5; accountId++) {
+            insertAccount(accountId, 8000L, baseTime);
+            insertTransaction(accountId * 100, accountId, "USE", 1000L, 9000L, baseTime);
+            insertTransaction(accountId * 100 + 1, accountId, "USE", 1000L, 8000L, baseTime.plusMinutes(1));
+        }
+
+        //when
+        reconciliationService.runWithLock();
+
+        //then
+        ReconciliationRun run = lastRun();
+        assertEquals(ReconciliationStatus.COMPLETED, run.getStatus());
+        // [0,2) [2,4) [4,6)
+        assertEquals(3, checkpointRepository.countByRunId(run.getId()));
+        assertEquals(5L, run.getCheckedAccounts());
+        assertEquals(0L, run.getMismatches());
+    }
+
+    @Test
+    @DisplayName("잔액대사_중단된 실행을 이어서 처리")
+    void resumeRunningRun() {
+        //given
+        for (long accountId = 1; accountId <= 5; accountId++) {
+            // 1번(첫 구간), 5번(마지막 구간) 계좌는 잔액이 마지막 스냅샷과 다름
+            long balance = accountId == 1 || accountId == 5 ? 7000L : 9000L;
+            insertAccount(accountId, balance, baseTime);
+            insertTransaction(accountId * 100, accountId, "USE", 1000L, 9000L, baseTime);
+        }
+        ReconciliationRun run = runRepository.save(ReconciliationRun.builder()
+                .status(ReconciliationStatus.RUNNING)
+                .maxAccountId(5L)
+                .chunkSize(CHUNK_SIZE)
+                .cutoff(LocalDateTime.now())
+                .checkedAccounts(0L)
+                .mismatches(0L)
+                .build());
+        // 첫 구간만 끝내고 중단된 상태
+        reconciliationService.reconcileChunk(run, 0);
+
+        //when
+        reconciliationService.runWithLock();
+
+        //then
+        ReconciliationRun resumed = lastRun();
+        assertEquals(run.getId(), resumed.getId());
+        assertEquals(ReconciliationStatus.COMPLETED, resumed.getStatus());
+        assertEquals(3, checkpointRepository.countByRunId(run.getId()));
+        assertEquals(5L, resumed.getCheckedAccounts());
+        assertEquals(2L, resumed.getMismatches());
+        // 끝난 구간은 다시 검사하지 않음
+        List<ReconciliationMismatch> samples = samples(run);
+        assertEquals(2, samples.size());
+        assertEquals(1L, samples.get(0).getAccountId());
+        assertEquals(5L, samples.get(1).getAccountId());
+    }
+
+    @Test
+    @DisplayName("잔액대사_cutoff 이후 거래와 변경된 계좌 제외")
+    void excludeAfterCutoff() {
+        //given
+        LocalDateTime afterCutoff = LocalDateTime.now().plusHours(1);
+        // 1번 : cutoff 이후 거래의 스냅샷이 어긋나 있어도 검사하지 않음
+        insertAccount(1L, 9000L, baseTime);
+        insertTransaction(100L, 1L, "USE", 1000L, 9000L, baseTime);
+        insertTransaction(101L, 1L, "USE", 1000L, 5000L, afterCutoff);
+        // 2번 : cutoff 이후 변경된 계좌는 잔액 비교 제외
+        insertAccount(2L, 3000L, afterCutoff);
+        insertTransaction(200L, 2L, "USE", 1000L, 9000L, baseTime);
+
+        //when
+        reconciliationService.runWithLock();
+
+        //then
+        ReconciliationRun run = lastRun();
+        assertEquals(ReconciliationStatus.COMPLETED, run.getStatus());
+        assertEquals(2L, run.getCheckedAccounts());
+        assertEquals(0L, run.getMismatches());
+    }
+
+    @Test
+    @DisplayName("잔액대사_구간당 저장 건수 제한, 건수는 전부 집계")
+    void limitSamplesPerChunk() {
+        //given
+        insertAccount(1L, 1000L, baseTime);
+        insertTransaction(100L, 1L, "USE", 1000L, 9000L, baseTime);
+        // 매 거래마다 1000 씩 더 빠진 스냅샷 -> CHAIN 불일치 4건
+        insertTransaction(101L, 1L, "USE", 1000L, 7000L, baseTime.plusMinutes(1));
+        insertTransaction(102L, 1L, "USE", 1000L, 5000L, baseTime.plusMinutes(2));
+        insertTransaction(103L, 1L, "USE", 1000L, 3000L, baseTime.plusMinutes(3));
+        insertTransaction(104L, 1L, "USE", 1000L, 1000L, baseTime.plusMinutes(4));
+
+        //when
+        reconciliationService.runWithLock();
+
+        //then
+        ReconciliationRun run = lastRun();
+        assertEquals(4L, run.getMismatches());
+        List<ReconciliationMismatch> samples = samples(run);
+        assertEquals(MAX_MISMATCHES_PER_CHUNK, samples.size());
+        assertEquals(MismatchType.CHAIN, samples.get(0).getMismatchType());
+    }
+
+    @Test
+    @DisplayName("잔액대사_같은 시각의 취소와 사용은 id 순서와 무관")
+    void sameTransactedAtInAnyOrder() {
+        //given
+        insertAccount(1L, 8000L, baseTime);
+        insertTransaction(100L, 1L, "USE", 1000L, 9000L, baseTime);
+        // 취소(10000)가 먼저 반영됐지만 id 는 사용(8000)이 앞섬
+        insertTransaction(101L, 1L, "USE", 2000L, 8000L, baseTime.plusMinutes(1));
+        insertTransaction(102L, 1L, "CANCEL", 1000L, 10000L, baseTime.plusMinutes(1));
+
+        //when
+        reconciliationService.runWithLock();
+
+        //then
+        ReconciliationRun run = lastRun();
+        assertEquals(ReconciliationStatus.COMPLETED, run.getStatus());
+        assertEquals(0L, run.getMismatches());
+    }
+
+    private ReconciliationRun lastRun() {
+        return runRepository.findFirstByOrderByIdDesc().orElseThrow(IllegalStateException::new);
+    }
+
+    private List<ReconciliationMismatch> samples(ReconciliationRun run) {
+        return mismatchRepository.findByRunIdOrderByIdAsc(run.getId(), PageRequest.of(0, 100));
+    }
+
+    private void insertAccount(Long id, Long balance, LocalDateTime updatedAt) {
+        jdbcTemplate.update("insert into account(id, account_user_id, account_number, account_type, "
+                        + "account_status, balance, event_sequence, registered_at, created_at, updated_at) "
+                        + "values (?, 1, ?, 'CHECKING', 'IN_USE', ?, 0, ?, ?, ?)",
+                id, String.valueOf(1000000000L + id), balance, baseTime, baseTime, updatedAt);
+    }
+
+    private void insertTransaction(Long id, Long accountId, String transactionType,
+                                   Long amount, Long snapshot, LocalDateTime transactedAt) {
+        jdbcTemplate.update("insert into transaction(id, transaction_type, transaction_result_type, account_id, "
+                        + "amount, balance_snap_shot, transaction_id, transacted_at, cancelled, "
+                        + "created_at, updated_at) values (?, ?, 'S', ?, ?, ?, ?, ?, false, ?, ?)",
+                id, transactionType, accountId, amount, snapshot, "t" + id, transactedAt,
+                transactedAt, transactedAt);
+    }
+}
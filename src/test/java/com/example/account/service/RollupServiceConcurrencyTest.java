@@ -0,0 +1,145 @@
+package com.example.account.service;
+
+import com.example.account.dto.DailyRollup;
+import com.example.account.dto.TransactionRecordedEvent;
+import com.example.account.repository.AccountDailyRollupRepository;
+import com.example.account.repository.TransactionArchiveRepository;
+import com.example.account.type.AccountType;
+import com.example.account.type.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * H2 에서 여러 계좌의 집계 upsert 를 동시에 실행 (거래 트랜잭션 커밋 직전 upsert 와 같은 조건)
+ * - 같은 계좌 종류/날짜라도 서로 다른 계좌의 upsert 는 기다리지 않아야 한다
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RollupServiceConcurrencyTest {
+    private static final LocalDateTime TRANSACTED_AT = LocalDateTime.of(2022, 8, 1, 12, 0);
+    private static final LocalDate ROLLUP_DATE = TRANSACTED_AT.toLocalDate();
+
+    @Autowired
+    private AccountDailyRollupRepository accountDailyRollupRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private RollupService rollupService;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new RollupService(accountDailyRollupRepository,
+                new TransactionArchiveRepository(jdbcTemplate), jdbcTemplate, transactionManager, 2);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountDailyRollupRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("일별집계_커밋 전인 다른 계좌 집계를 기다리지 않음")
+    void noSharedRowLock() throws Exception {
+        //given
+        CountDownLatch upserted = new CountDownLatch(1);
+        CountDownLatch otherCommitted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Boolean> open = executor.submit(() -> transactionTemplate.execute(status -> {
+            record("1000000001", USE, 1000L);
+            upserted.countDown();
+            try {
+                // 다른 계좌 집계가 커밋될 때까지 행 락을 쥔 채로 대기
+                return otherCommitted.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }));
+        assertTrue(upserted.await(5, TimeUnit.SECONDS));
+
+        //when
+        transactionTemplate.executeWithoutResult(status -> record("1000000002", USE, 2000L));
+        otherCommitted.countDown();
+
+        //then
+        assertTrue(open.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        List<DailyRollup> rollups = rollupService.getAccountTypeRollups(
+                AccountType.CHECKING, ROLLUP_DATE, ROLLUP_DATE);
+        assertEquals(1, rollups.size());
+        assertEquals(3000L, rollups.get(0).getDebitAmount());
+        assertEquals(2L, rollups.get(0).getDebitCount());
+    }
+
+    @Test
+    @DisplayName("일별집계_동시 upsert 후 계좌 종류별 합산")
+    void concurrentUpserts() throws Exception {
+        //given
+        int accounts = 8;
+        int transactionsPerAccount = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(accounts);
+        List<Future<?>> futures = new ArrayList<>();
+
+        //when
+        // 계좌마다 한 스레드 (실제로는 계좌 락으로 같은 계좌의 거래는 직렬화된다)
+        for (int i = 0; i < accounts; i++) {
+            String accountNumber = String.valueOf(1000000000L + i);
+            futures.add(executor.submit(() -> {
+                for (int t = 0; t < transactionsPerAccount; t++) {
+                    boolean cancel = t % 5 == 4;
+                    transactionTemplate.executeWithoutResult(status ->
+                            record(accountNumber, cancel ? CANCEL : USE, 100L));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        //then
+        List<DailyRollup> rollups = rollupService.getAccountTypeRollups(
+                AccountType.CHECKING, ROLLUP_DATE, ROLLUP_DATE);
+        assertEquals(1, rollups.size());
+        // 계좌당 사용 40건, 취소 10건
+        assertEquals(accounts * 40L, rollups.get(0).getDebitCount());
+        assertEquals(accounts * 40L * 100L, rollups.get(0).getDebitAmount());
+        assertEquals(accounts * 10L, rollups.get(0).getCreditCount());
+        assertEquals(accounts * 10L * 100L, rollups.get(0).getCreditAmount());
+        assertEquals(40L * 100L, rollupService.getAccountRollups(
+                "1000000000", ROLLUP_DATE, ROLLUP_DATE).get(0).getDebitAmount());
+    }
+
+    private void record(String accountNumber, TransactionType transactionType, long amount) {
+        rollupService.onTransactionRecorded(new TransactionRecordedEvent(
+                accountNumber, AccountType.CHECKING, transactionType, amount, TRANSACTED_AT));
+    }
+}
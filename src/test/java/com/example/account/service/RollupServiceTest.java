@@ -0,0 +1,101 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionRecordedEvent;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountDailyRollupRepository;
+import com.example.account.repository.TransactionArchiveRepository;
+import com.example.account.type.AccountType;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RollupServiceTest {
+    @Mock
+    private AccountDailyRollupRepository accountDailyRollupRepository;
+    @Mock
+    private TransactionArchiveRepository transactionArchiveRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RollupService rollupService;
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new RollupService(accountDailyRollupRepository,
+                transactionArchiveRepository, jdbcTemplate, transactionManager, 2);
+    }
+
+    @Test
+    @DisplayName("일별집계_사용은 debit")
+    void rollupUse() {
+        //given
+        LocalDateTime transactedAt = LocalDateTime.of(2022, 8, 1, 10, 0);
+
+        //when
+        rollupService.onTransactionRecorded(new TransactionRecordedEvent(
+                "1000000012", AccountType.CHECKING, USE, 1000L, transactedAt));
+
+        //then
+        verify(accountDailyRollupRepository, times(1)).upsert(
+                "1000000012", LocalDate.of(2022, 8, 1), "CHECKING", 1000L, 1L, 0L, 0L);
+    }
+
+    @Test
+    @DisplayName("일별집계_사용취소는 credit")
+    void rollupCancel() {
+        //given
+        LocalDateTime transactedAt = LocalDateTime.of(2022, 8, 1, 23, 59);
+
+        //when
+        rollupService.onTransactionRecorded(new TransactionRecordedEvent(
+                "2000000012", AccountType.SAVING, CANCEL, 500L, transactedAt));
+
+        //then
+        verify(accountDailyRollupRepository, times(1)).upsert(
+                "2000000012", LocalDate.of(2022, 8, 1), "SAVING", 0L, 0L, 500L, 1L);
+    }
+
+    @Test
+    @DisplayName("일별집계 조회_기간이 1년을 넘으면 실패")
+    void rollupRangeTooLong() {
+        //given
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> rollupService.getAccountRollups("1000000012",
+                        LocalDate.of(2021, 1, 1), LocalDate.of(2022, 8, 1)));
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("일별집계 backfill_오늘은 불가")
+    void backfillToday() {
+        //given
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> rollupService.backfill(LocalDate.now().minusDays(3), LocalDate.now()));
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+}
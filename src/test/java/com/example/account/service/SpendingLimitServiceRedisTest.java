@@ -0,0 +1,171 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.ReactiveAccount;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisConnectionException;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import redis.embedded.RedisServer;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+/**
+ * lua 스크립트를 embedded redis 에 실제로 실행
+ * - 오늘 성공한 사용 거래 합계(DB)는 spent 로 흉내낸다
+ */
+class SpendingLimitServiceRedisTest {
+    private static final int REDIS_PORT = 6391;
+    private static final String ACCOUNT_NUMBER = "1000000012";
+
+    private static RedisServer redisServer;
+    private static RedissonClient realClient;
+
+    private RedissonClient redissonClient;
+    private final AtomicLong spent = new AtomicLong();
+    private SpendingLimitService spendingLimitService;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(REDIS_PORT);
+        redisServer.start();
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://127.0.0.1:" + REDIS_PORT);
+        realClient = Redisson.create(config);
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        realClient.shutdown();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        realClient.getKeys().flushall();
+        spent.set(0);
+        redissonClient = spy(realClient);
+        TransactionRepository transactionRepository = mock(TransactionRepository.class);
+        given(transactionRepository.sumAmountSince(any(), any(), any(), any()))
+                .willAnswer(invocation -> spent.get());
+        spendingLimitService = new SpendingLimitService(redissonClient, transactionRepository);
+    }
+
+    @Test
+    @DisplayName("카운터로 한도 검사 + 증가")
+    void reserveWithinLimit() {
+        //given
+        Account account = account(10000L);
+
+        //when
+        use(account, 4000L);
+        use(account, 6000L);
+        AccountException exception = assertThrows(AccountException.class,
+                () -> spendingLimitService.reserve(account, 1L));
+
+        //then
+        assertEquals(ErrorCode.DAILY_LIMIT_EXCEEDED, exception.getErrorCode());
+        assertEquals("10000", counter());
+    }
+
+    @Test
+    @DisplayName("한도가 없던 동안의 사용은 한도를 다시 걸면 카운터에 반영")
+    void limitChangeRebuildsCounter() {
+        //given
+        Account account = account(10000L);
+        use(account, 3000L);
+        account.setDailyLimit(null);
+        spendingLimitService.invalidateCounter(ACCOUNT_NUMBER);
+        use(account, 5000L);
+
+        //when
+        account.setDailyLimit(10000L);
+        spendingLimitService.invalidateCounter(ACCOUNT_NUMBER);
+        AccountException exception = assertThrows(AccountException.class,
+                () -> spendingLimitService.reserve(account, 3000L));
+
+        //then
+        assertEquals(ErrorCode.DAILY_LIMIT_EXCEEDED, exception.getErrorCode());
+        assertEquals("8000", counter());
+    }
+
+    @Test
+    @DisplayName("Redis 장애중 DB 합계로 통과한 사용은 회복 후 카운터에 반영")
+    void fallbackApprovedRebuildsCounter() {
+        //given
+        Account account = account(10000L);
+        use(account, 3000L);
+        given(redissonClient.getScript(any(Codec.class)))
+                .willThrow(new RedisConnectionException("down"));
+        use(account, 5000L);
+        doCallRealMethod().when(redissonClient).getScript(any(Codec.class));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> spendingLimitService.reserve(account, 3000L));
+
+        //then
+        assertEquals(ErrorCode.DAILY_LIMIT_EXCEEDED, exception.getErrorCode());
+        assertEquals("8000", counter());
+        assertFalse(spendingLimitService.isStale(ACCOUNT_NUMBER));
+    }
+
+    @Test
+    @DisplayName("reactive 경로도 같은 카운터 사용")
+    void reactiveReserveSharesCounter() {
+        //given
+        use(account(10000L), 7000L);
+        ReactiveAccount account = ReactiveAccount.builder()
+                .accountNumber(ACCOUNT_NUMBER)
+                .dailyLimit(10000L)
+                .build();
+
+        //when
+        //then
+        StepVerifier.create(spendingLimitService.reserve(account, 2000L, from -> Mono.just(spent.get())))
+                .verifyComplete();
+        StepVerifier.create(spendingLimitService.reserve(account, 2000L, from -> Mono.just(spent.get())))
+                .expectErrorMatches(e -> e instanceof AccountException
+                        && ((AccountException) e).getErrorCode() == ErrorCode.DAILY_LIMIT_EXCEEDED)
+                .verify();
+        assertEquals("9000", counter());
+    }
+
+    // 통과한 사용은 커밋된 거래로 본다
+    private void use(Account account, long amount) {
+        spendingLimitService.reserve(account, amount);
+        spent.addAndGet(amount);
+    }
+
+    private String counter() {
+        return realClient.<String>getBucket(
+                SpendingLimitService.getCounterKey(ACCOUNT_NUMBER, LocalDate.now()), StringCodec.INSTANCE).get();
+    }
+
+    private Account account(Long dailyLimit) {
+        return Account.builder()
+                .balance(100000L)
+                .dailyLimit(dailyLimit)
+                .accountNumber(ACCOUNT_NUMBER).build();
+    }
+}
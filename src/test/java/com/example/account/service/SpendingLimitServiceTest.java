@@ -0,0 +1,163 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisConnectionException;
+import org.redisson.client.codec.Codec;
+
+import java.time.LocalDate;
+
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class SpendingLimitServiceTest {
+    @Mock
+    private RedissonClient redissonClient;
+    @Mock
+    private RScript rScript;
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private SpendingLimitService spendingLimitService;
+
+    @Test
+    @DisplayName("한도가 없는 계좌는 카운터를 사용하지 않음")
+    void noLimit() {
+        //given
+        Account account = Account.builder()
+                .balance(1000L)
+                .accountNumber("1000000012").build();
+
+        //when
+        spendingLimitService.reserve(account, 500L);
+
+        //then
+        verifyNoInteractions(redissonClient, transactionRepository);
+    }
+
+    @Test
+    @DisplayName("카운터가 있으면 DB 를 조회하지 않음")
+    void reserveWithCounter() {
+        //given
+        given(redissonClient.getScript(any(Codec.class)))
+                .willReturn(rScript);
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any()))
+                .willReturn(3000L);
+
+        //when
+        spendingLimitService.reserve(limitedAccount(), 1000L);
+
+        //then
+        verify(rScript, times(1))
+                .eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName("카운터가 없으면 오늘 거래로 다시 만든다")
+    void rebuildCounter() {
+        //given
+        Account account = limitedAccount();
+        given(redissonClient.getScript(any(Codec.class)))
+                .willReturn(rScript);
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any()))
+                .willReturn(-1L, 4000L);
+        given(transactionRepository.sumAmountSince(account, USE, S, LocalDate.now().atStartOfDay()))
+                .willReturn(3000L);
+
+        //when
+        spendingLimitService.reserve(account, 1000L);
+
+        //then
+        verify(transactionRepository, times(1))
+                .sumAmountSince(account, USE, S, LocalDate.now().atStartOfDay());
+        verify(rScript, times(2))
+                .eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any());
+    }
+
+    @Test
+    @DisplayName("한도를 넘으면 실패")
+    void limitExceeded() {
+        //given
+        given(redissonClient.getScript(any(Codec.class)))
+                .willReturn(rScript);
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any()))
+                .willReturn(-2L);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> spendingLimitService.reserve(limitedAccount(), 6000L));
+
+        //then
+        assertEquals(ErrorCode.DAILY_LIMIT_EXCEEDED, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("Redis 장애시 DB 합계로 검사")
+    void fallbackToTransactions() {
+        //given
+        Account account = limitedAccount();
+        given(redissonClient.getScript(any(Codec.class)))
+                .willThrow(new RedisConnectionException("down"));
+        given(transactionRepository.sumAmountSince(any(), any(), any(), any()))
+                .willReturn(9500L);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> spendingLimitService.reserve(account, 1000L));
+
+        //then
+        assertEquals(ErrorCode.DAILY_LIMIT_EXCEEDED, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("Redis 장애중 DB 합계로 통과하면 카운터를 지울 대상으로 표시")
+    void fallbackApprovedMarksStale() {
+        //given
+        Account account = limitedAccount();
+        given(redissonClient.getScript(any(Codec.class)))
+                .willThrow(new RedisConnectionException("down"));
+        given(redissonClient.getBucket(anyString(), any(Codec.class)))
+                .willThrow(new RedisConnectionException("down"));
+        given(transactionRepository.sumAmountSince(any(), any(), any(), any()))
+                .willReturn(3000L);
+
+        //when
+        spendingLimitService.reserve(account, 1000L);
+
+        //then
+        assertTrue(spendingLimitService.isStale("1000000012"));
+    }
+
+    @Test
+    @DisplayName("카운터 키는 계좌번호와 날짜")
+    void counterKey() {
+        assertEquals("SPND:1000000012:20220801",
+                SpendingLimitService.getCounterKey("1000000012", LocalDate.of(2022, 8, 1)));
+    }
+
+    private Account limitedAccount() {
+        return Account.builder()
+                .balance(100000L)
+                .dailyLimit(10000L)
+                .accountNumber("1000000012").build();
+    }
+}
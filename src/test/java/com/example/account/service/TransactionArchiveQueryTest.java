@@ -0,0 +1,207 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.metrics.AccountMetrics;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.TransactionArchiveRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+/**
+ * H2 에서 취소 기한이 지난 거래를 월별 archive 테이블로 옮긴 뒤 다시 조회 / 기간 조회 / 달 테이블 DROP
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionArchiveQueryTest {
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionArchiveRepository transactionArchiveRepository;
+    private TransactionArchiver transactionArchiver;
+    private TransactionService transactionService;
+    private LocalDateTime oldTransactedAt;
+
+    @BeforeEach
+    void setUp() {
+        transactionArchiveRepository = new TransactionArchiveRepository(jdbcTemplate);
+        transactionArchiver = new TransactionArchiver(transactionArchiveRepository, transactionManager,
+                mock(RedissonClient.class), mock(AccountMetrics.class), true, 366, 10, 10, 600, 0);
+        transactionService = new TransactionService(transactionRepository,
+                accountUserRepository, accountRepository, mock(OutboxService.class),
+                mock(ApplicationEventPublisher.class), mock(SpendingLimitService.class),
+                transactionArchiveRepository);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        oldTransactedAt = now.minusDays(400);
+        jdbcTemplate.update("insert into account(id, account_user_id, account_number, account_type, "
+                        + "account_status, balance, event_sequence, registered_at, created_at, updated_at) "
+                        + "values (1, 1, '1000000001', 'CHECKING', 'IN_USE', 7000, 0, ?, ?, ?)",
+                oldTransactedAt, now, now);
+        insertTransaction(100L, "t100", oldTransactedAt);
+        insertTransaction(101L, "t101", now.minusDays(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionArchiveRepository.findPartitions()
+                .forEach(month -> transactionArchiveRepository.dropPartition(month, 100));
+        jdbcTemplate.update("delete from transaction");
+        jdbcTemplate.update("delete from account");
+    }
+
+    @Test
+    @DisplayName("거래조회_archive 로 옮겨진 거래도 조회")
+    void queryArchivedTransaction() {
+        //given
+        int archived = transactionArchiver.archiveBatch(LocalDateTime.now().minusDays(366));
+
+        //when
+        TransactionDto transactionDto = transactionService.queryTransaction("t100");
+
+        //then
+        assertEquals(1, archived);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from transaction where transaction_id = 't100'", Integer.class));
+        assertEquals("1000000001", transactionDto.getAccountNumber());
+        assertEquals(USE, transactionDto.getTransactionType());
+        assertEquals(S, transactionDto.getTransactionResultType());
+        assertEquals(3000L, transactionDto.getAmount());
+        assertEquals(7000L, transactionDto.getBalanceSnapShot());
+        assertEquals("t100", transactionDto.getTransactionId());
+        assertEquals(oldTransactedAt, transactionDto.getTransactedAt());
+        // 최근 거래는 그대로 transaction 테이블에서 조회
+        assertEquals("t101", transactionService.queryTransaction("t101").getTransactionId());
+    }
+
+    @Test
+    @DisplayName("거래조회_거래는 거래 달 테이블로 옮겨지고 전역 인덱스에 기록")
+    void archiveToMonthPartition() {
+        //given
+        LocalDateTime olderTransactedAt = oldTransactedAt.minusDays(50);
+        insertTransaction(102L, "t102", olderTransactedAt);
+
+        //when
+        int archived = transactionArchiver.archiveBatch(LocalDateTime.now().minusDays(366));
+
+        //then
+        YearMonth oldMonth = YearMonth.from(oldTransactedAt);
+        YearMonth olderMonth = YearMonth.from(olderTransactedAt);
+        assertEquals(2, archived);
+        assertEquals(List.of(olderMonth, oldMonth), transactionArchiveRepository.findPartitions());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from "
+                + TransactionArchiveRepository.tableName(oldMonth) + " where transaction_id = 't100'", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from "
+                + TransactionArchiveRepository.tableName(olderMonth) + " where transaction_id = 't102'", Integer.class));
+        assertEquals(TransactionArchiveRepository.partitionKey(olderMonth), jdbcTemplate.queryForObject(
+                "select partition_month from transaction_archive_index where transaction_id = 't102'", Integer.class));
+        assertEquals("t102", transactionService.queryTransaction("t102").getTransactionId());
+    }
+
+    @Test
+    @DisplayName("거래내역조회_기간에 걸친 달 테이블과 transaction 을 합쳐 최신순")
+    void historyAcrossArchivePartition() {
+        //given
+        // t100 만 옮기고, 1초 뒤 거래 t102 는 transaction 에 남긴다
+        insertTransaction(102L, "t102", oldTransactedAt.plusSeconds(1));
+        // 기간 밖의 다른 달 테이블
+        LocalDateTime otherMonthTransactedAt = oldTransactedAt.minusDays(50);
+        insertTransaction(103L, "t103", otherMonthTransactedAt);
+        transactionArchiver.archiveBatch(oldTransactedAt.plusSeconds(1));
+        LocalDate from = oldTransactedAt.toLocalDate().minusDays(1);
+        LocalDate to = oldTransactedAt.toLocalDate().plusDays(1);
+
+        //when
+        List<TransactionDto> history = transactionService.getTransactionHistory("1000000001", from, to, 0, 10);
+        List<TransactionDto> secondPage = transactionService.getTransactionHistory("1000000001", from, to, 1, 1);
+
+        //then
+        assertEquals(List.of("t102", "t100"), history.stream()
+                .map(TransactionDto::getTransactionId).collect(Collectors.toList()));
+        assertEquals("t100", secondPage.get(0).getTransactionId());
+        assertEquals(1, secondPage.size());
+        // 기간에 걸친 달 테이블만 읽는다
+        List<YearMonth> partitions = transactionArchiveRepository.findPartitions(
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        assertEquals(List.of(YearMonth.from(oldTransactedAt)), partitions);
+        assertFalse(partitions.contains(YearMonth.from(otherMonthTransactedAt)));
+    }
+
+    @Test
+    @DisplayName("archive 보관 기간_지난 달 테이블은 DROP 하고 인덱스도 삭제")
+    void dropExpiredPartition() {
+        //given
+        transactionArchiver.archiveBatch(LocalDateTime.now().minusDays(366));
+        YearMonth oldMonth = YearMonth.from(oldTransactedAt);
+
+        //when
+        transactionArchiver.dropExpiredPartitions(oldMonth.plusMonths(1));
+
+        //then
+        assertEquals(Collections.emptyList(), transactionArchiveRepository.findPartitions());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from transaction_archive_index", Integer.class));
+        assertFalse(transactionArchiveRepository.existsByTransactionId("t100"));
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.queryTransaction("t100"));
+        assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("계좌거래취소_실패/archive 로 옮겨진 거래는 취소 기한 초과")
+    void cancelArchivedTransaction() {
+        //given
+        transactionArchiver.archiveBatch(LocalDateTime.now().minusDays(366));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.cancleBalance("t100", "1000000001", 3000L));
+
+        //then
+        assertEquals(ErrorCode.TOO_OLD_ORDER_TO_CANCEL, exception.getErrorCode());
+        assertEquals(7000L, jdbcTemplate.queryForObject(
+                "select balance from account where id = 1", Long.class));
+    }
+
+    private void insertTransaction(Long id, String transactionId, LocalDateTime transactedAt) {
+        jdbcTemplate.update("insert into transaction(id, transaction_type, transaction_result_type, account_id, "
+                        + "amount, balance_snap_shot, transaction_id, transacted_at, cancelled, "
+                        + "created_at, updated_at) values (?, 'USE', 'S', 1, 3000, 7000, ?, ?, false, ?, ?)",
+                id, transactionId, transactedAt, transactedAt, transactedAt);
+    }
+}
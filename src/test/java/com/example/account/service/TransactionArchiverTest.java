@@ -0,0 +1,138 @@
+package com.example.account.service;
+
+import com.example.account.metrics.AccountMetrics;
+import com.example.account.repository.TransactionArchiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionArchiverTest {
+    private static final YearMonth JANUARY = YearMonth.of(2021, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2021, 2);
+
+    @Mock
+    private TransactionArchiveRepository transactionArchiveRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private RedissonClient redissonClient;
+    @Mock
+    private AccountMetrics accountMetrics;
+    @Mock
+    private RLock rLock;
+
+    private TransactionArchiver transactionArchiver;
+
+    @BeforeEach
+    void setUp() {
+        transactionArchiver = new TransactionArchiver(transactionArchiveRepository, transactionManager,
+                redissonClient, accountMetrics, true, 366, 2, 10, 600, 0);
+    }
+
+    @Test
+    @DisplayName("거래 이동_배치가 덜 차면 멈춤")
+    void archiveUntilLastBatch() throws InterruptedException {
+        //given
+        givenLock(true);
+        Map<YearMonth, List<Long>> first = new TreeMap<>();
+        first.put(JANUARY, Collections.singletonList(1L));
+        first.put(FEBRUARY, Collections.singletonList(2L));
+        Map<YearMonth, List<Long>> last = Collections.singletonMap(FEBRUARY, Collections.singletonList(3L));
+        given(transactionArchiveRepository.findArchiveCandidates(any(LocalDateTime.class), eq(2)))
+                .willReturn(first, last);
+        given(transactionArchiveRepository.moveToPartitions(anyMap(), any(LocalDateTime.class)))
+                .willReturn(2, 1);
+
+        //when
+        transactionArchiver.archive();
+
+        //then
+        verify(transactionArchiveRepository, times(2)).findArchiveCandidates(any(LocalDateTime.class), eq(2));
+        // 배치에 걸친 달 테이블을 먼저 만들고 옮긴다
+        verify(transactionArchiveRepository, times(1)).createPartition(JANUARY);
+        verify(transactionArchiveRepository, times(2)).createPartition(FEBRUARY);
+        verify(transactionArchiveRepository, times(1)).moveToPartitions(eq(first), any(LocalDateTime.class));
+        verify(transactionArchiveRepository, times(1)).moveToPartitions(eq(last), any(LocalDateTime.class));
+        verify(accountMetrics, times(1)).countArchivedTransactions(2);
+        verify(accountMetrics, times(1)).countArchivedTransactions(1);
+        verify(rLock, times(1)).unlock();
+    }
+
+    @Test
+    @DisplayName("거래 이동_옮길 거래가 없으면 쓰지 않음")
+    void archiveNothing() throws InterruptedException {
+        //given
+        givenLock(true);
+        given(transactionArchiveRepository.findArchiveCandidates(any(LocalDateTime.class), eq(2)))
+                .willReturn(Collections.emptyMap());
+
+        //when
+        transactionArchiver.archive();
+
+        //then
+        verify(transactionArchiveRepository, never()).createPartition(any());
+        verify(transactionArchiveRepository, never()).moveToPartitions(anyMap(), any());
+    }
+
+    @Test
+    @DisplayName("거래 이동_다른 노드가 실행중이면 건너뜀")
+    void skipWhenLocked() throws InterruptedException {
+        //given
+        given(redissonClient.getLock("TRANSACTION_ARCHIVER"))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(false);
+
+        //when
+        transactionArchiver.archive();
+
+        //then
+        verify(transactionArchiveRepository, never()).findArchiveCandidates(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("archive 보관기간_지난 달 테이블만 DROP")
+    void dropExpiredPartitions() {
+        //given
+        given(transactionArchiveRepository.findPartitions())
+                .willReturn(Arrays.asList(YearMonth.of(2020, 12), JANUARY, FEBRUARY));
+
+        //when
+        transactionArchiver.dropExpiredPartitions(FEBRUARY);
+
+        //then
+        verify(transactionArchiveRepository, times(1)).dropPartition(YearMonth.of(2020, 12), 2);
+        verify(transactionArchiveRepository, times(1)).dropPartition(JANUARY, 2);
+        verify(transactionArchiveRepository, never()).dropPartition(eq(FEBRUARY), anyInt());
+    }
+
+    private void givenLock(boolean acquired) throws InterruptedException {
+        given(redissonClient.getLock("TRANSACTION_ARCHIVER"))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(acquired);
+        given(rLock.isHeldByCurrentThread())
+                .willReturn(true);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.account.service;
+
+import com.example.account.domain.Transaction;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.TransactionArchiveRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * H2 에서 같은 거래를 락 없이 동시에 취소 (두 취소가 모두 cancelled=false 인 원거래를 읽은 상태)
+ * - 하나만 성공하고 나머지는 원거래 unique 제약에서 TRANSACTION_ALREADY_CANCELLED, 잔액은 한번만 돌려준다
+ * - 락 없는 취소와 사용이 겹쳐도 계좌 행 잠금(for update)으로 잔액/eventSequence 가 유실되지 않는다
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionServiceConcurrencyTest {
+    private static final long INITIAL_BALANCE = 7000L;
+    private static final long AMOUNT = 3000L;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        jdbcTemplate.update("insert into account(id, account_user_id, account_number, account_type, "
+                        + "account_status, balance, event_sequence, registered_at, created_at, updated_at) "
+                        + "values (1, 1, '1000000001', 'CHECKING', 'IN_USE', ?, 0, ?, ?, ?)",
+                INITIAL_BALANCE, now, now, now);
+        jdbcTemplate.update("insert into transaction(id, transaction_type, transaction_result_type, account_id, "
+                        + "amount, balance_snap_shot, transaction_id, transacted_at, cancelled, "
+                        + "created_at, updated_at) values (100, 'USE', 'S', 1, ?, ?, 't100', ?, false, ?, ?)",
+                AMOUNT, INITIAL_BALANCE, now.minusMinutes(1), now, now);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from transaction");
+        jdbcTemplate.update("delete from account");
+    }
+
+    @Test
+    @DisplayName("계좌거래취소_동시 취소는 하나만 성공하고 잔액은 한번만 증가")
+    void concurrentCancel() throws Exception {
+        //given
+        CyclicBarrier bothRead = new CyclicBarrier(2);
+        CountDownLatch firstCommitted = new CountDownLatch(1);
+        ThreadLocal<Boolean> second = ThreadLocal.withInitial(() -> false);
+        TransactionRepository racingRepository =
+                mock(TransactionRepository.class, delegatesTo(transactionRepository));
+        doAnswer(invocation -> {
+            Optional<Transaction> found = transactionRepository.findByTransactionId(invocation.getArgument(0));
+            // 두 취소 모두 아직 취소되지 않은 원거래를 읽은 뒤 진행
+            bothRead.await(5, TimeUnit.SECONDS);
+            if (second.get()) {
+                // 두번째는 첫번째 취소가 커밋된 뒤에 저장
+                assertTrue(firstCommitted.await(5, TimeUnit.SECONDS));
+            }
+            return found;
+        }).when(racingRepository).findByTransactionId(anyString());
+        TransactionService transactionService = new TransactionService(racingRepository,
+                accountUserRepository, accountRepository, mock(OutboxService.class),
+                mock(ApplicationEventPublisher.class), mock(SpendingLimitService.class),
+                new TransactionArchiveRepository(jdbcTemplate));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        //when
+        Future<?> first = executor.submit(() -> {
+            try {
+                cancel(transactionService);
+            } finally {
+                firstCommitted.countDown();
+            }
+        });
+        Future<?> later = executor.submit(() -> {
+            second.set(true);
+            cancel(transactionService);
+        });
+
+        //then
+        first.get(10, TimeUnit.SECONDS);
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> later.get(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertInstanceOf(AccountException.class, exception.getCause());
+        assertEquals(ErrorCode.TRANSACTION_ALREADY_CANCELLED,
+                ((AccountException) exception.getCause()).getErrorCode());
+        assertEquals(INITIAL_BALANCE + AMOUNT, jdbcTemplate.queryForObject(
+                "select balance from account where id = 1", Long.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from transaction where original_transaction_id = 't100'", Integer.class));
+        assertTrue(jdbcTemplate.queryForObject(
+                "select cancelled from transaction where id = 100", Boolean.class));
+    }
+
+    @Test
+    @DisplayName("계좌거래취소_락 없는 취소와 사용이 겹쳐도 잔액과 변경 순번이 맞음")
+    void cancelWhileUsing() throws Exception {
+        //given
+        TransactionService transactionService = new TransactionService(transactionRepository,
+                accountUserRepository, accountRepository, mock(OutboxService.class),
+                mock(ApplicationEventPublisher.class), mock(SpendingLimitService.class),
+                new TransactionArchiveRepository(jdbcTemplate));
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        //when
+        Future<?> cancel = executor.submit(() -> {
+            start.await();
+            cancel(transactionService);
+            return null;
+        });
+        Future<?> use = executor.submit(() -> {
+            start.await();
+            transactionTemplate.executeWithoutResult(status ->
+                    transactionService.useBalance(1L, "1000000001", 1000L));
+            return null;
+        });
+        start.countDown();
+
+        //then
+        cancel.get(10, TimeUnit.SECONDS);
+        use.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        assertEquals(INITIAL_BALANCE + AMOUNT - 1000L, jdbcTemplate.queryForObject(
+                "select balance from account where id = 1", Long.class));
+        assertEquals(2L, jdbcTemplate.queryForObject(
+                "select event_sequence from account where id = 1", Long.class));
+    }
+
+    private void cancel(TransactionService transactionService) {
+        transactionTemplate.executeWithoutResult(status ->
+                transactionService.cancleBalance("t100", "1000000001", AMOUNT));
+    }
+}
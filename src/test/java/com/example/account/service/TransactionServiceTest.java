@@ -4,10 +4,12 @@ import com.example.account.domain.Account;
 import com.example.account.domain.AccountNumber;
 import com.example.account.domain.AccountUser;
 import com.example.account.domain.Transaction;
+import com.example.account.dto.FailedTransaction;
 import com.example.account.dto.TransactionDto;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.TransactionArchiveRepository;
 import com.example.account.repository.TransactionRepository;
 import com.example.account.type.AccountStatus;
 
@@ -19,8 +21,13 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static com.example.account.type.TransactionResultType.*;
@@ -28,6 +35,7 @@ import static com.example.account.type.TransactionType.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -39,6 +47,14 @@ class TransactionServiceTest {
     private AccountUserRepository accountUserRepository;
     @Mock
     private TransactionRepository transactionRepository;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private SpendingLimitService spendingLimitService;
+    @Mock
+    private TransactionArchiveRepository transactionArchiveRepository;
 
     @InjectMocks
     private TransactionService transactionService;
@@ -83,6 +99,8 @@ class TransactionServiceTest {
         assertEquals(S,transactionDto.getTransactionResultType());
         assertEquals(USE,transactionDto.getTransactionType());
         assertEquals(1000L,transactionDto.getAmount());
+        assertEquals(1L,a.getEventSequence());
+        verify(outboxService,times(1)).recordTransaction(any());
     }
 
     @Test
@@ -101,6 +119,8 @@ class TransactionServiceTest {
         );
         //then
         assertEquals(ErrorCode.USER_NOT_FOUND,exception.getErrorCode());
+        // 계좌를 읽기 전 실패는 잔액 스냅샷 없음
+        assertNull(exception.getBalanceSnapShot());
     }
 
     @Test
@@ -201,12 +221,14 @@ class TransactionServiceTest {
         );
         //then
         assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE,exception.getErrorCode());
+        // 실패 거래 저널에 넘길 실패 시점 잔액
+        assertEquals(100L,exception.getBalanceSnapShot());
         verify(transactionRepository,times(0)).save(any());
     }
 
     @Test
-    @DisplayName("계좌거래_실패/저장")
-    void failedUseBalance(){
+    @DisplayName("계좌거래_실패/일일 한도 초과")
+    void dailyLimitExceeded(){
         //given
         AccountUser pobi = AccountUser.builder()
                 .name("pobi").build();
@@ -215,30 +237,23 @@ class TransactionServiceTest {
                 .accountUser(pobi)
                 .accountStatus(AccountStatus.IN_USE)
                 .balance(10000L)
+                .dailyLimit(1000L)
                 .accountNumber("1000000000").build();
 
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(pobi));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(a));
-        given(transactionRepository.save(any()))
-                .willReturn(Transaction.builder()
-                        .account(a)
-                        .transactionType(USE)
-                        .transactionResultType(S)
-                        .transactionId("transactionId")
-                        .transactedAt(LocalDateTime.now())
-                        .amount(1000L)
-                        .balanceSnapShot(9000L)
-                        .build());
-        ArgumentCaptor<Transaction> captor =
-                ArgumentCaptor.forClass(Transaction.class);
+        willThrow(AccountException.of(ErrorCode.DAILY_LIMIT_EXCEEDED))
+                .given(spendingLimitService).reserve(a, 2000L);
         //when
-        transactionService.saveFailedUseTransaction("1000000000", 3000L);
+        AccountException exception =  assertThrows(AccountException.class,
+                ()->transactionService.useBalance(1L, "1000000000",2000L)
+        );
         //then
-        verify(transactionRepository,
-                times(1)).save(captor.capture());
-        assertEquals(3000L,captor.getValue().getAmount());
-        assertEquals(10000L,captor.getValue().getBalanceSnapShot());
-        assertEquals(F,captor.getValue().getTransactionResultType());
+        assertEquals(ErrorCode.DAILY_LIMIT_EXCEEDED,exception.getErrorCode());
+        assertEquals(10000L,a.getBalance());
+        verify(transactionRepository,times(0)).save(any());
     }
 
     @Test
@@ -266,7 +281,7 @@ class TransactionServiceTest {
                 .willReturn(Optional.of(transaction));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(a));
-        given(transactionRepository.save(any()))
+        given(transactionRepository.saveAndFlush(any()))
                 .willReturn(Transaction.builder()
                         .account(a)
                         .transactionType(CANCEL)
@@ -284,15 +299,97 @@ class TransactionServiceTest {
                         "1000000000",
                         3000L);
         //then
-        verify(transactionRepository,times(1)).save(captor.capture());
+        verify(transactionRepository,times(1)).saveAndFlush(captor.capture());
         assertEquals(3000L,captor.getValue().getAmount());
         assertEquals(13000L,captor.getValue().getBalanceSnapShot());
+        assertEquals("transactionId",captor.getValue().getOriginalTransactionId());
+        assertTrue(transaction.isCancelled());
         assertEquals(10000L,transactionDto.getBalanceSnapShot());
         assertEquals(S,transactionDto.getTransactionResultType());
         assertEquals(CANCEL,transactionDto.getTransactionType());
         assertEquals(3000L,transactionDto.getAmount());
     }
 
+    @Test
+    @DisplayName("계좌거래취소_실패/이미 취소된 거래")
+    void cancelTransaction_AlreadyCancelled(){
+        //given
+        AccountUser pobi = AccountUser.builder()
+                .name("pobi").build();
+        pobi.setId(12L);
+        Account a = Account.builder()
+                .accountUser(pobi)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000000").build();
+        Transaction transaction = Transaction.builder()
+                .account(a)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .transactionId("transactionId")
+                .transactedAt(LocalDateTime.now())
+                .amount(3000L)
+                .balanceSnapShot(9000L)
+                .cancelled(true)
+                .build();
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(a));
+
+        //when
+        AccountException exception =  assertThrows(AccountException.class,
+                ()->transactionService.cancleBalance(
+                        "transactionId",
+                        "1000000000",
+                        3000L)
+        );
+        //then
+        assertEquals(ErrorCode.TRANSACTION_ALREADY_CANCELLED,exception.getErrorCode());
+        assertEquals(10000L,a.getBalance());
+        verify(transactionRepository,times(0)).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("계좌거래취소_실패/동시 취소는 unique 제약 위반")
+    void cancelTransaction_ConcurrentCancel(){
+        //given
+        AccountUser pobi = AccountUser.builder()
+                .name("pobi").build();
+        pobi.setId(12L);
+        Account a = Account.builder()
+                .accountUser(pobi)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000000").build();
+        Transaction transaction = Transaction.builder()
+                .account(a)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .transactionId("transactionId")
+                .transactedAt(LocalDateTime.now())
+                .amount(3000L)
+                .balanceSnapShot(9000L)
+                .build();
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(a));
+        given(transactionRepository.saveAndFlush(any()))
+                .willThrow(new DataIntegrityViolationException("uk_transaction_original_transaction_id"));
+
+        //when
+        AccountException exception =  assertThrows(AccountException.class,
+                ()->transactionService.cancleBalance(
+                        "transactionId",
+                        "1000000000",
+                        3000L)
+        );
+        //then
+        assertEquals(ErrorCode.TRANSACTION_ALREADY_CANCELLED,exception.getErrorCode());
+        verify(outboxService,times(0)).recordTransaction(any());
+    }
+
     @Test
     @DisplayName("계좌거래취소_실패/계좌가 없다면")
     void cancelTransaction_AccountNotFound(){
@@ -465,6 +562,47 @@ class TransactionServiceTest {
         assertEquals(ErrorCode.TOO_OLD_ORDER_TO_CANCEL,exception.getErrorCode());
     }
 
+    @Test
+    @DisplayName("계좌거래취소_실패/실패한 사용 거래는 취소 불가")
+    void cancelTransaction_FailedTransaction(){
+        //given
+        AccountUser pobi = AccountUser.builder()
+                .name("pobi").build();
+        pobi.setId(12L);
+        Account a = Account.builder()
+                .accountUser(pobi)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000000").build();
+        a.setId(1L);
+        Transaction transaction = Transaction.builder()
+                .account(a)
+                .transactionType(USE)
+                .transactionResultType(F)
+                .transactionId("transactionId")
+                .transactedAt(LocalDateTime.now())
+                .amount(3000L)
+                .balanceSnapShot(10000L)
+                .build();
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(a));
+
+        //when
+        AccountException exception =  assertThrows(AccountException.class,
+                ()->transactionService.cancleBalance(
+                        "transactionId",
+                        "1000000000",
+                        3000L)
+        );
+        //then
+        assertEquals(ErrorCode.TRANSACTION_NOT_CANCELLABLE,exception.getErrorCode());
+        assertEquals(10000L,a.getBalance());
+        verify(transactionRepository,times(0)).saveAndFlush(any());
+    }
+
     @Test
     @DisplayName("거래내역조회_성공")
     void successQueryTransaction(){
@@ -488,8 +626,8 @@ class TransactionServiceTest {
                 .balanceSnapShot(9000L)
                 .build();
         //given
-        given(transactionRepository.findByTransactionId(anyString()))
-                .willReturn(Optional.of(transaction));
+        given(transactionRepository.findDtoByTransactionId(anyString()))
+                .willReturn(Optional.of(TransactionDto.fromEntity(transaction)));
         //when
         TransactionDto transactionDto = transactionService.queryTransaction("trxId");
         //then
@@ -499,11 +637,80 @@ class TransactionServiceTest {
         assertEquals("transactionId",transactionDto.getTransactionId());
     }
 
+    @Test
+    @DisplayName("거래내역조회_성공/archive 로 옮겨진 거래")
+    void successQueryArchivedTransaction(){
+        //given
+        given(transactionRepository.findDtoByTransactionId(anyString()))
+                .willReturn(Optional.empty());
+        given(transactionArchiveRepository.findDtoByTransactionId(anyString()))
+                .willReturn(Optional.of(new TransactionDto("1000000000", USE, S,
+                        3000L, 9000L, "transactionId", LocalDateTime.now().minusYears(2))));
+        //when
+        TransactionDto transactionDto = transactionService.queryTransaction("transactionId");
+        //then
+        assertEquals("1000000000",transactionDto.getAccountNumber());
+        assertEquals(3000L,transactionDto.getAmount());
+        assertEquals("transactionId",transactionDto.getTransactionId());
+    }
+
+    @Test
+    @DisplayName("계좌거래취소_실패/archive 로 옮겨진 거래")
+    void cancelTransaction_Archived(){
+        //given
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.empty());
+        given(transactionArchiveRepository.existsByTransactionId(anyString()))
+                .willReturn(true);
+        //when
+        AccountException exception =  assertThrows(AccountException.class,
+                ()->transactionService.cancleBalance(
+                        "transactionId",
+                        "1000000000",
+                        3000L)
+        );
+        //then
+        assertEquals(ErrorCode.TOO_OLD_ORDER_TO_CANCEL,exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("계좌거래내역_성공/기간 [from, to] 날짜")
+    void successTransactionHistory(){
+        //given
+        given(transactionRepository.findHistory(anyString(), any(), any(), any()))
+                .willReturn(Arrays.asList(
+                        new TransactionDto("1000000000", CANCEL, S, 3000L, 10000L,
+                                "transactionId2", LocalDateTime.of(2022, 9, 2, 12, 0)),
+                        new TransactionDto("1000000000", USE, S, 3000L, 7000L,
+                                "transactionId1", LocalDateTime.of(2022, 8, 30, 12, 0))));
+        //when
+        List<TransactionDto> history = transactionService.getTransactionHistory(
+                "1000000000", LocalDate.of(2022, 8, 15), LocalDate.of(2022, 9, 14), 0, 20);
+        //then
+        assertEquals(2,history.size());
+        verify(transactionRepository,times(1)).findHistory(
+                eq("1000000000"),
+                eq(LocalDateTime.of(2022, 8, 15, 0, 0)), eq(LocalDateTime.of(2022, 9, 15, 0, 0)),
+                any());
+    }
+
+    @Test
+    @DisplayName("계좌거래내역_실패/기간이 1년을 넘으면")
+    void transactionHistoryRangeTooLong(){
+        //when
+        AccountException exception =  assertThrows(AccountException.class,
+                ()->transactionService.getTransactionHistory(
+                        "1000000000", LocalDate.of(2021, 1, 1), LocalDate.of(2022, 8, 1), 0, 20)
+        );
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST,exception.getErrorCode());
+    }
+
     @Test
     @DisplayName("거래조회_실패/거래가 없다면")
     void transactionSearch_TransactionNotFound(){
 
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findDtoByTransactionId(anyString()))
                 .willReturn(Optional.empty());
 
         //when
@@ -513,4 +720,50 @@ class TransactionServiceTest {
         //then
         assertEquals(ErrorCode.TRANSACTION_NOT_FOUND,exception.getErrorCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("실패거래_일괄저장/없는 계좌는 제외")
+    @SuppressWarnings("unchecked")
+    void saveFailedTransactions(){
+        //given
+        AccountUser pobi = AccountUser.builder()
+                .name("pobi").build();
+        pobi.setId(12L);
+        Account a = Account.builder()
+                .accountUser(pobi)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000000").build();
+        given(accountRepository.findByAccountNumberIn(anyCollection()))
+                .willReturn(List.of(a));
+        ArgumentCaptor<List<Transaction>> captor =
+                ArgumentCaptor.forClass(List.class);
+        LocalDateTime failedAt = LocalDateTime.now().minusSeconds(3);
+
+        //when
+        int saved = transactionService.saveFailedTransactions(Arrays.asList(
+                FailedTransaction.builder()
+                        .transactionType(USE)
+                        .accountNumber("1000000000")
+                        .amount(3000L)
+                        .balanceSnapShot(7000L)
+                        .failedAt(failedAt)
+                        .build(),
+                FailedTransaction.builder()
+                        .transactionType(CANCEL)
+                        .accountNumber("9999999999")
+                        .amount(1000L)
+                        .failedAt(failedAt)
+                        .build()
+        ));
+
+        //then
+        verify(transactionRepository,times(1)).saveAll(captor.capture());
+        assertEquals(1,saved);
+        assertEquals(1,captor.getValue().size());
+        assertEquals(F,captor.getValue().get(0).getTransactionResultType());
+        // drain 시점 잔액(10000)이 아닌 실패 시점 잔액
+        assertEquals(7000L,captor.getValue().get(0).getBalanceSnapShot());
+        assertEquals(failedAt,captor.getValue().get(0).getTransactedAt());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.account.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Hibernate 가 준비하는 SQL 문을 스레드별로 기록
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector 로 등록한다
+ * (MockMvc 는 테스트 스레드에서 컨트롤러를 실행하므로 요청 단위로 셀 수 있다)
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    public static long reads() {
+        return STATEMENTS.get().stream().filter(sql -> !isWrite(sql)).count();
+    }
+
+    public static long writes() {
+        return STATEMENTS.get().stream().filter(SqlStatementCounter::isWrite).count();
+    }
+
+    public static List<String> statements() {
+        return new ArrayList<>(STATEMENTS.get());
+    }
+
+    private static boolean isWrite(String sql) {
+        String statement = sql.trim().toLowerCase(Locale.ROOT);
+        return statement.startsWith("insert")
+                || statement.startsWith("update")
+                || statement.startsWith("delete")
+                || statement.startsWith("merge");
+    }
+}